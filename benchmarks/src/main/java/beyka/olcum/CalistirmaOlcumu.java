@@ -0,0 +1,87 @@
+package beyka.olcum;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * CalistirmaOlcumu.java
+ *
+ * Çalıştırma ölçümleri: önceden parse edilip derlenmiş programların yorumlayıcıda (ast),
+ * bytecode VM'de (vm) ve JIT açık VM'de (jit) çalıştırılması. Süreler işlem başınadır:
+ * ifade için bir ifade atamasının turu, dongu ve kosul için iç döngünün bir turu, faktoriyel
+ * ölçümleri için bir fonksiyon çağrısı (Programlar). Her ölçüm programı baştan sona
+ * çalıştırır; yorumlayıcı/VM kurulumu da ölçüme dahildir. JIT yalnızca fonksiyonları
+ * derlediğinden ifade ve dongu'da jit, vm ile aynı yolu izler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalistirmaOlcumu {
+    @Param({ Motor.AST, Motor.VM, Motor.JIT })
+    public String motor;
+
+    private Motor.Calistirici ifade;
+    private Motor.Calistirici dongu;
+    private Motor.Calistirici faktoriyelOzyinelemeli;
+    private Motor.Calistirici faktoriyelYinelemeli;
+    private Motor.Calistirici kosul;
+    private PrintStream out;
+
+    @Setup
+    public void hazirla() {
+        // raporla ve yaz her çalıştırmada System.out'a yazar; ölçüm çıktısına karışmasın
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ifade = Motor.hazirla(Programlar.IFADE, motor);
+        dongu = Motor.hazirla(Programlar.DONGU, motor);
+        faktoriyelOzyinelemeli = Motor.hazirla(Programlar.FAKTORIYEL_OZYINELEMELI, motor);
+        faktoriyelYinelemeli = Motor.hazirla(Programlar.FAKTORIYEL_YINELEMELI, motor);
+        kosul = Motor.hazirla(Programlar.KOSUL, motor);
+    }
+
+    @TearDown
+    public void kapat() {
+        ifade.kapat();
+        dongu.kapat();
+        faktoriyelOzyinelemeli.kapat();
+        faktoriyelYinelemeli.kapat();
+        kosul.kapat();
+        System.setOut(out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Programlar.IFADE_TUR)
+    public void ifade() {
+        ifade.calistir();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Programlar.DONGU_TUR)
+    public void dongu() {
+        dongu.calistir();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Programlar.FAKTORIYEL_OZYINELEMELI_CAGRI)
+    public void faktoriyelOzyinelemeli() {
+        faktoriyelOzyinelemeli.calistir();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Programlar.FAKTORIYEL_YINELEMELI_CAGRI)
+    public void faktoriyelYinelemeli() {
+        faktoriyelYinelemeli.calistir();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Programlar.KOSUL_TUR)
+    public void kosul() {
+        kosul.calistir();
+    }
+}
@@ -0,0 +1,60 @@
+package beyka.olcum;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * KaynakOlcumu.java
+ *
+ * Ön yüz ölçümleri: üretilmiş büyük bir kaynağın tokenlara ayrılması (BeyKaLexer) ve
+ * hazır tokenların program ağacına ayrıştırılması (BeyKaParser). Sonuç saniyedeki kaynak
+ * sayısıdır; "token" sayacı aynı süreyi saniyedeki token sayısı olarak verir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KaynakOlcumu {
+    /** Üretilen kaynağın yaklaşık satır sayısı */
+    @Param({ "1000", "20000" })
+    public int satir;
+
+    private String kaynak;
+    private Object tokenlar;
+    private int tokenSayisi;
+
+    /** Ölçüm başına işlenen token sayısı (saniyede token olarak raporlanır). */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tokenlar {
+        public long token;
+
+        @Setup(Level.Iteration)
+        public void sifirla() {
+            token = 0;
+        }
+    }
+
+    @Setup
+    public void hazirla() {
+        kaynak = Programlar.buyukKaynak(satir);
+        tokenlar = Motor.tokenlar(kaynak);
+        tokenSayisi = Motor.tokenSayisi(tokenlar);
+        Motor.ayristir(tokenlar); // Üretilen kaynak hatasız olmalı
+    }
+
+    @Benchmark
+    public Object lexer(Tokenlar sayac) {
+        sayac.token += tokenSayisi;
+        return Motor.tokenlar(kaynak);
+    }
+
+    @Benchmark
+    public Object parser(Tokenlar sayac) {
+        sayac.token += tokenSayisi;
+        return Motor.ayristir(tokenlar);
+    }
+}
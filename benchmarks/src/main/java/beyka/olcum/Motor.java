@@ -0,0 +1,199 @@
+package beyka.olcum;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Motor.java
+ *
+ * Ölçümlerin BeyKa boru hattına (lexer, parser, resolver, tip denetimi, derleyici, yorumlayıcı, VM, JIT)
+ * erişimi. BeyKa sınıfları isimsiz pakettedir ve isimsiz paketteki sınıflar başka bir
+ * paketten import edilemez; JMH ise ölçüm sınıflarının bir pakette olmasını ister. Bu yüzden
+ * çağrılar sınıf yüklenirken bir kez bulunan static final MethodHandle'larla yapılır. JVM
+ * bunları doğrudan çağrı gibi derler; ölçülen işe yansıma (reflection) yükü eklenmez.
+ */
+final class Motor {
+    /** Ölçülen çalıştırma motorları (@Param değerleri) */
+    static final String AST = "ast"; // Ağaç yorumlayıcı (--ast)
+    static final String VM = "vm";   // Bytecode VM, JIT kapalı (--no-jit)
+    static final String JIT = "jit"; // Bytecode VM ve JIT (varsayılan)
+
+    // Handle'ların referans tipleri Object'e indirgenir (invokeExact çağrı yerleri BeyKa tiplerini bilemez)
+    private static final MethodHandle TAMPON;          // new BeyKaTokenBuffer()
+    private static final MethodHandle LEXER;           // new BeyKaLexer(CharBuffer)
+    private static final MethodHandle TOKENIZE;        // lexer.tokenize(tampon)
+    private static final MethodHandle BOYUT;           // tampon.boyut()
+    private static final MethodHandle PARSER;          // new BeyKaParser(tampon), parametre tipi BeyKaTokenKaynagi
+    private static final MethodHandle PARSE;           // parser.parseProgram()
+    private static final MethodHandle PARSER_HATALARI; // parser.getErrors()
+    private static final MethodHandle RESOLVER;        // new BeyKaResolver()
+    private static final MethodHandle RESOLVE;         // resolver.resolve(program)
+    private static final MethodHandle TIP_DENETIMI;    // new BeyKaTypeChecker()
+    private static final MethodHandle CHECK;           // denetim.check(program)
+    private static final MethodHandle COMPILER;        // new BeyKaCompiler(program)
+    private static final MethodHandle COMPILE;         // compiler.compile()
+    private static final MethodHandle FONKSIYONLAR;    // program.fonksiyonlar
+    private static final MethodHandle JIT_YENI;        // new BeyKaJit(fonksiyonlar, errors, esik)
+    private static final MethodHandle JIT_KAPAT;       // jit.kapat()
+    private static final MethodHandle YORUMLAYICI;     // new BeyKaInterpreter(program, errors, jit)
+    private static final MethodHandle YORUMLAYICI_RUN; // interpreter.run()
+    private static final MethodHandle VM_YENI;         // new BeyKaVM(bytecode, errors, jit)
+    private static final MethodHandle VM_RUN;          // vm.run()
+    private static final int JIT_ESIK;                 // BeyKaJit.VARSAYILAN_ESIK
+
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.publicLookup();
+            Class<?> tampon = Class.forName("BeyKaTokenBuffer");
+            Class<?> tokenKaynagi = Class.forName("BeyKaTokenKaynagi");
+            Class<?> lexer = Class.forName("BeyKaLexer");
+            Class<?> parser = Class.forName("BeyKaParser");
+            Class<?> resolver = Class.forName("BeyKaResolver");
+            Class<?> denetim = Class.forName("BeyKaTypeChecker");
+            Class<?> compiler = Class.forName("BeyKaCompiler");
+            Class<?> ast = Class.forName("BeyKaAst$Program");
+            Class<?> bytecode = Class.forName("BeyKaBytecode$Program");
+            Class<?> jit = Class.forName("BeyKaJit");
+            Class<?> yorumlayici = Class.forName("BeyKaInterpreter");
+            Class<?> vm = Class.forName("BeyKaVM");
+
+            TAMPON = genel(l.findConstructor(tampon, MethodType.methodType(void.class)));
+            LEXER = genel(l.findConstructor(lexer, MethodType.methodType(void.class, CharBuffer.class)));
+            TOKENIZE = genel(l.findVirtual(lexer, "tokenize", MethodType.methodType(tampon, tampon)));
+            BOYUT = genel(l.findVirtual(tampon, "boyut", MethodType.methodType(int.class)));
+            PARSER = genel(l.findConstructor(parser, MethodType.methodType(void.class, tokenKaynagi)));
+            PARSE = genel(l.findVirtual(parser, "parseProgram", MethodType.methodType(ast)));
+            PARSER_HATALARI = genel(l.findVirtual(parser, "getErrors", MethodType.methodType(List.class)));
+            RESOLVER = genel(l.findConstructor(resolver, MethodType.methodType(void.class)));
+            RESOLVE = genel(l.findVirtual(resolver, "resolve", MethodType.methodType(void.class, ast)));
+            TIP_DENETIMI = genel(l.findConstructor(denetim, MethodType.methodType(void.class)));
+            CHECK = genel(l.findVirtual(denetim, "check", MethodType.methodType(List.class, ast)));
+            COMPILER = genel(l.findConstructor(compiler, MethodType.methodType(void.class, ast)));
+            COMPILE = genel(l.findVirtual(compiler, "compile", MethodType.methodType(bytecode)));
+            FONKSIYONLAR = genel(l.findGetter(ast, "fonksiyonlar", Map.class));
+            JIT_YENI = genel(l.findConstructor(jit, MethodType.methodType(void.class, Map.class, List.class, int.class)));
+            JIT_KAPAT = genel(l.findVirtual(jit, "kapat", MethodType.methodType(void.class)));
+            YORUMLAYICI = genel(l.findConstructor(yorumlayici, MethodType.methodType(void.class, ast, List.class, jit)));
+            YORUMLAYICI_RUN = genel(l.findVirtual(yorumlayici, "run", MethodType.methodType(void.class)));
+            VM_YENI = genel(l.findConstructor(vm, MethodType.methodType(void.class, bytecode, List.class, jit)));
+            VM_RUN = genel(l.findVirtual(vm, "run", MethodType.methodType(void.class)));
+            JIT_ESIK = jit.getField("VARSAYILAN_ESIK").getInt(null);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Motor() {
+    }
+
+    private static MethodHandle genel(MethodHandle h) {
+        return h.asType(h.type().erase());
+    }
+
+    /** Kaynağı yeni bir token deposuna tokenlara ayırır ve depoyu döndürür. */
+    static Object tokenlar(String kaynak) {
+        try {
+            Object tampon = (Object) TAMPON.invokeExact();
+            Object lexer = (Object) LEXER.invokeExact((Object) CharBuffer.wrap(kaynak));
+            return (Object) TOKENIZE.invokeExact(lexer, tampon);
+        } catch (Throwable t) {
+            throw sar(t);
+        }
+    }
+
+    /** Depodaki token sayısı. */
+    static int tokenSayisi(Object tokenlar) {
+        try {
+            return (int) BOYUT.invokeExact(tokenlar);
+        } catch (Throwable t) {
+            throw sar(t);
+        }
+    }
+
+    /** Tokenları program ağacına ayrıştırır; ölçüm programında parse hatası olamaz. */
+    static Object ayristir(Object tokenlar) {
+        try {
+            Object parser = (Object) PARSER.invokeExact(tokenlar);
+            Object program = (Object) PARSE.invokeExact(parser);
+            List<?> hatalar = (List<?>) (Object) PARSER_HATALARI.invokeExact(parser);
+            if (!hatalar.isEmpty()) throw new IllegalStateException("Ölçüm programı ayrıştırılamadı: " + hatalar);
+            return program;
+        } catch (Throwable t) {
+            throw sar(t);
+        }
+    }
+
+    /** Kaynağı verilen motorda çalıştırılmaya hazırlar (tokenlar, parse, çözümleme, tip denetimi, derleme). */
+    static Calistirici hazirla(String kaynak, String motor) {
+        try {
+            Object program = ayristir(tokenlar(kaynak));
+            RESOLVE.invokeExact((Object) RESOLVER.invokeExact(), program);
+            // Tipi kanıtlanan atamalar ve işlemler özelleşir (BeyKa'daki gibi)
+            List<?> uyarilar = (List<?>) (Object) CHECK.invokeExact((Object) TIP_DENETIMI.invokeExact(), program);
+            if (!uyarilar.isEmpty()) throw new IllegalStateException("Ölçüm programında tip hatası: " + uyarilar);
+            List<String> jitHatalari = new ArrayList<>();
+            Object jit = null;
+            if (motor.equals(JIT)) {
+                Object fonksiyonlar = (Object) FONKSIYONLAR.invokeExact(program);
+                jit = (Object) JIT_YENI.invokeExact(fonksiyonlar, (Object) jitHatalari, JIT_ESIK);
+            } else if (!motor.equals(VM) && !motor.equals(AST)) {
+                throw new IllegalArgumentException("Bilinmeyen motor: " + motor);
+            }
+            if (!motor.equals(AST)) {
+                program = (Object) COMPILE.invokeExact((Object) COMPILER.invokeExact(program));
+            }
+            return new Calistirici(motor.equals(AST), program, jit);
+        } catch (Throwable t) {
+            throw sar(t);
+        }
+    }
+
+    /** Çalıştırılmaya hazır bir program; her çalıştırma yeni bir yorumlayıcı veya VM açar. */
+    static final class Calistirici {
+        private final boolean ast;
+        private final Object program; // ast ise BeyKaAst.Program, değilse BeyKaBytecode.Program
+        private final Object jit;     // JIT kapalıysa null; çalıştırmalar arasında ortaktır
+
+        private Calistirici(boolean ast, Object program, Object jit) {
+            this.ast = ast;
+            this.program = program;
+            this.jit = jit;
+        }
+
+        /** Programı baştan sona çalıştırır; ölçüm programı hata vermemelidir. */
+        void calistir() {
+            List<String> errors = new ArrayList<>();
+            try {
+                if (ast) {
+                    YORUMLAYICI_RUN.invokeExact((Object) YORUMLAYICI.invokeExact(program, (Object) errors, jit));
+                } else {
+                    VM_RUN.invokeExact((Object) VM_YENI.invokeExact(program, (Object) errors, jit));
+                }
+            } catch (Throwable t) {
+                throw sar(t);
+            }
+            if (!errors.isEmpty()) throw new IllegalStateException("Ölçüm programı hata verdi: " + errors);
+        }
+
+        /** JIT'in arka plan derleyicisini kapatır. */
+        void kapat() {
+            if (jit == null) return;
+            try {
+                JIT_KAPAT.invokeExact(jit);
+            } catch (Throwable t) {
+                throw sar(t);
+            }
+        }
+    }
+
+    private static RuntimeException sar(Throwable t) {
+        if (t instanceof RuntimeException r) return r;
+        if (t instanceof Error e) throw e;
+        return new IllegalStateException(t);
+    }
+}
@@ -0,0 +1,37 @@
+package beyka.olcum;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Olcum.java
+ *
+ * benchmarks.jar'ın giriş noktası: JMH'nin komut satırını aynen kabul eder ve ölçümleri
+ * GC profiler ile çalıştırır; böylece süre sonuçlarının yanında işlem başına ayrılan bayt
+ * (gc.alloc.rate.norm) da raporlanır. -prof verilirse yalnızca verilen profiler'lar
+ * kullanılır; -h, -l gibi seçenekler doğrudan JMH'ye bırakılır.
+ */
+public final class Olcum {
+    private Olcum() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd;
+        try {
+            cmd = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            Main.main(args); // Hatayı JMH'nin kendi mesajıyla gösterir
+            return;
+        }
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers()
+                || cmd.shouldListResultFormats() || !cmd.getProfilers().isEmpty()) {
+            Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package beyka.olcum;
+
+/**
+ * Programlar.java
+ *
+ * Ölçülen BeyKa programları. Ana program döngüleri sonsuz döngü korumasının
+ * (MAX_LOOP_COUNT = 100) altında, 90 tur döner; daha fazla iş iç içe döngü veya
+ * fonksiyon çağrısıyla elde edilir. Her programın tek yaz'ı sonucu kullanılmış tutar.
+ */
+final class Programlar {
+    static final int TUR = 90;
+
+    /** Karışık aritmetik: tur başına bir atama, 13 işlem (tamsayı ve ondalıklı) */
+    static final String IFADE = """
+            tamsayı i = 0;
+            ondalikli t = 0.0;
+            döngü (i < 90) {
+                t = t + (i * 3 + 7) % 5 - i / 4 + 2.5 * (i - 1);
+                i = i + 1;
+            }
+            yaz(t);
+            """;
+    static final int IFADE_TUR = TUR;
+
+    /** İç içe döngü: iç döngünün tur maliyeti (koşul, toplama, artırma) */
+    static final String DONGU = """
+            tamsayı i = 0;
+            tamsayı j = 0;
+            tamsayı s = 0;
+            döngü (i < 90) {
+                j = 0;
+                döngü (j < 90) {
+                    s = s + j;
+                    j = j + 1;
+                }
+                i = i + 1;
+            }
+            yaz(s);
+            """;
+    static final int DONGU_TUR = TUR * TUR;
+
+    /** Özyinelemeli faktoriyel(12): 90 dış çağrı, her biri 12 çağrı derinliğinde */
+    static final String FAKTORIYEL_OZYINELEMELI = """
+            fonksiyon faktoriyel(n) {
+                eğer (n <= 1) ise {
+                    dön 1;
+                }
+                dön n * faktoriyel(n - 1);
+            }
+            tamsayı i = 0;
+            tamsayı f = 0;
+            döngü (i < 90) {
+                f = faktoriyel(12);
+                i = i + 1;
+            }
+            yaz(f);
+            """;
+    static final int FAKTORIYEL_OZYINELEMELI_CAGRI = TUR * 12;
+
+    /** Döngüyle faktoriyel(12) (örnekler/örnek2.bka): 90 çağrı, her biri 11 tur */
+    static final String FAKTORIYEL_YINELEMELI = """
+            fonksiyon faktoriyel(n) {
+                tamsayı sonuc = 1;
+                döngü (n > 1) {
+                    sonuc = sonuc * n;
+                    n = n - 1;
+                }
+                dön sonuc;
+            }
+            tamsayı i = 0;
+            tamsayı f = 0;
+            döngü (i < 90) {
+                f = faktoriyel(12);
+                i = i + 1;
+            }
+            yaz(f);
+            """;
+    static final int FAKTORIYEL_YINELEMELI_CAGRI = TUR;
+
+    /**
+     * Koşul yoğun döngü: iç döngünün her turunda sağ tarafı pahalı bir fonksiyon çağrısı olan
+     * iki koşul. && turların onda birinde, || hiçbir turda sağ tarafa geçmez; kısa devre
+     * olmadan her tur iki çağrı (her biri 20 turluk bir döngü) yapılır.
+     */
+    static final String KOSUL = """
+            fonksiyon pahali(n) {
+                tamsayı k = 0;
+                tamsayı s = 0;
+                döngü (k < 20) {
+                    s = s + n % 7;
+                    k = k + 1;
+                }
+                dön s;
+            }
+            tamsayı i = 0;
+            tamsayı j = 0;
+            tamsayı s = 0;
+            döngü (i < 90) {
+                j = 0;
+                döngü (j < 90) {
+                    eğer (j % 10 == 0 && pahali(j) >= 0) ise {
+                        s = s + 1;
+                    }
+                    eğer (j < 90 || pahali(j) < 0) ise {
+                        s = s + j;
+                    }
+                    j = j + 1;
+                }
+                i = i + 1;
+            }
+            yaz(s);
+            """;
+    static final int KOSUL_TUR = TUR * TUR;
+
+    private Programlar() {
+    }
+
+    /**
+     * Lexer ve parser ölçümleri için yaklaşık satir satırlık kaynak: fonksiyon tanımları,
+     * bildirimler, koşullar, döngüler, kelime sabitleri ve yorum satırlarından oluşan
+     * 16 satırlık blokların tekrarı (her blokta adlar farklıdır).
+     */
+    static String buyukKaynak(int satir) {
+        StringBuilder sb = new StringBuilder(satir * 32);
+        for (int k = 0; k * 16 < satir; k++) {
+            sb.append("// blok ").append(k).append('\n');
+            sb.append("fonksiyon hesapla").append(k).append("(a, b) {\n");
+            sb.append("    tamsayı x = a * 3 + b - (a % 7);\n");
+            sb.append("    eğer (x > 10 && b != 0) ise {\n");
+            sb.append("        x = x - 1;\n");
+            sb.append("    }\n");
+            sb.append("    dön x;\n");
+            sb.append("}\n");
+            sb.append("tamsayı n").append(k).append(" = 0;\n");
+            sb.append("ondalikli d").append(k).append(" = hesapla").append(k).append('(').append(k).append(", 2) * 1.5;\n");
+            sb.append("kelime m").append(k).append(" = \"blok ").append(k).append(" tamamlandı\";\n");
+            sb.append("döngü (n").append(k).append(" < 3) {\n");
+            sb.append("    d").append(k).append(" = d").append(k).append(" + n").append(k).append(" / 2.0;\n");
+            sb.append("    n").append(k).append(" = n").append(k).append(" + 1;\n");
+            sb.append("}\n");
+            sb.append("yaz(m").append(k).append(");\n");
+        }
+        return sb.toString();
+    }
+}
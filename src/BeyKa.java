@@ -1,5 +1,11 @@
 import java.io.*;
-import java.util.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * BeyKa.java
@@ -7,95 +13,361 @@ import java.util.*;
  * BeyKa programlama dili için ana çalıştırıcı sınıf.
  * Derlenen kaynak dosyasını (örnek: ornek1.bka) tokenize eder,
  * token listesini ve analiz sonuçlarını log dosyalarına yazar,
- * ardından programı çalıştırır ve çıktı ile hataları kaydeder.
+ * programı bir kez AST'ye parse edip bytecode'a derler, sanal makinede çalıştırır
+ * ve çıktı ile hataları kaydeder.
  *
- * Çalıştırma: java BeyKa <ornekler/ornek1.bka>
+ * Çalıştırma: java BeyKa [seçenekler] <ornekler/ornek1.bka>
+ *   --ast          Programı bytecode VM yerine ağaç yorumlayıcı (BeyKaInterpreter) ile çalıştırır.
+ *   --disasm       Üretilen bytecode'u çalıştırmadan önce ekrana ve logs/bytecode.txt'ye yazar.
+ *   --no-jit       Sıcak fonksiyonları JVM koduna derlemez, her şeyi yorumlar.
+ *   --jit-esik=N   Bir fonksiyonun derlenmesi için gereken çağrı sayısı (varsayılan 1000).
+ *   --akis         Akış modu: dosya önceden tokenlara ayrılmaz; lexer parser istedikçe token
+ *                  üretir ve her üst seviye komut parse edilir edilmez ağaç yorumlayıcıda
+ *                  çalışır. Bellek kullanımı dosya boyutuyla değil en uzun komutla büyür.
+ *                  Bir fonksiyon, onu ilk çalıştıran üst seviye komuttan önce tanımlanmalıdır.
+ *   --log=S        Log seviyesi: hata (yalnızca errors.txt), bilgi (token logu da yazılır),
+ *                  ayrinti (token listesi ekrana da basılır; varsayılan).
+ *   --token-bicimi=B  Token logunun biçimi: metin (tokens.txt, varsayılan), csv (tokens.csv)
+ *                  veya ikili (tokens.bin). Loglar BeyKaLog ile arka planda toplu yazılır.
+ *   --onbellek[=D] Analiz sonucunu (tokenlar, parse hataları, AST) D dizininde (varsayılan
+ *                  .beyka-onbellek) .bkc dosyası olarak saklar; aynı içerikli kaynak tekrar
+ *                  çalıştırıldığında lexer ve parser atlanır (bkz. BeyKaCache). Akış modunda kullanılmaz.
+ *   --no-opt       Program ağacını iyileştirmeden (sabit katlama, ölü dal eleme, döngüde
+ *                  değişmeyen ifadelerin taşınması; bkz. BeyKaOptimizer) çalıştırır.
+ *   --opt-dump     İyileştirilmiş programı kaynak biçiminde ekrana ve logs/optimize.txt'ye yazar.
+ *   --profile      Fonksiyon başına çağrı sayısı ve süreleri ile satır başına çalışma sayılarını
+ *                  logs/profil.txt'ye, katlanmış yığınları logs/profil.folded'a yazar (bkz.
+ *                  BeyKaProfil). Satırların tamamı sayılsın diye JIT kapatılır.
+ *
+ * Sunucu modu: java BeyKa --sunucu[=SOKET] JVM'i açık tutar ve programları Unix soketinden
+ * gelen isteklerle çalıştırır; istemci BeyKaIstemci'dir (bkz. BeyKaSunucu).
+ * Toplu mod: java BeyKa --toplu[=N] [seçenekler] <dizin|dosya...> programları aynı JVM'de
+ * N iş parçacığıyla paralel çalıştırır ve özet rapor basar (bkz. BeyKaToplu).
  */
 public class BeyKa {
     public static void main(String[] args) {
-        // === Komut satırı argüman kontrolü ===
-        if (args.length != 1) {
-            System.out.println("Kullanım: java BeyKa <ornekler/ornek1.bka>");
+        if (args.length == 1 && (args[0].equals("--sunucu") || args[0].startsWith("--sunucu="))) {
+            BeyKaSunucu.calistir(args[0].startsWith("--sunucu=")
+                    ? Paths.get(args[0].substring("--sunucu=".length()))
+                    : BeyKaProtokol.varsayilanSoket());
             return;
         }
+        if (args.length > 0 && (args[0].equals("--toplu") || args[0].startsWith("--toplu="))) {
+            BeyKaToplu.calistir(args);
+            return;
+        }
+        calistir(args);
+    }
+
+    /**
+     * Argümanlara göre tek bir programı çalıştırır ve programın hata sayısını döndürür
+     * (program başlatılamadıysa -1). Sunucu ve toplu modda her program kendi oturumunda
+     * (BeyKaOturum) çağrılır; göreli yollar oturumun dizinine göre çözülür.
+     */
+    static int calistir(String[] args) {
+        // === Komut satırı argüman kontrolü ===
+        boolean agacYorumlayici = false;
+        boolean disasm = false;
+        boolean jitAcik = true;
+        boolean akis = false;
+        boolean profilAcik = false;
+        boolean optAcik = true;
+        boolean optDump = false;
+        int jitEsik = BeyKaJit.VARSAYILAN_ESIK;
+        int logSeviye = BeyKaLog.AYRINTI;
+        int tokenBicimi = BeyKaLog.METIN;
+        Path onbellekDizini = null;
+        String kaynak = null;
+        boolean gecersiz = false;
+        for (String arg : args) {
+            if (arg.equals("--ast")) agacYorumlayici = true;
+            else if (arg.equals("--disasm")) disasm = true;
+            else if (arg.equals("--no-jit")) jitAcik = false;
+            else if (arg.equals("--akis")) akis = true;
+            else if (arg.equals("--profile")) profilAcik = true;
+            else if (arg.equals("--no-opt")) optAcik = false;
+            else if (arg.equals("--opt-dump")) optDump = true;
+            else if (arg.startsWith("--jit-esik=")) {
+                try {
+                    jitEsik = Integer.parseInt(arg.substring("--jit-esik=".length()));
+                } catch (NumberFormatException e) {
+                    gecersiz = true;
+                }
+            }
+            else if (arg.equals("--onbellek")) onbellekDizini = BeyKaOturum.yol(".beyka-onbellek");
+            else if (arg.startsWith("--onbellek=")) onbellekDizini = BeyKaOturum.yol(arg.substring("--onbellek=".length()));
+            else if (arg.startsWith("--log=")) {
+                switch (arg.substring("--log=".length())) {
+                    case "hata": logSeviye = BeyKaLog.HATA; break;
+                    case "bilgi": logSeviye = BeyKaLog.BILGI; break;
+                    case "ayrinti": logSeviye = BeyKaLog.AYRINTI; break;
+                    default: gecersiz = true;
+                }
+            }
+            else if (arg.startsWith("--token-bicimi=")) {
+                switch (arg.substring("--token-bicimi=".length())) {
+                    case "metin": tokenBicimi = BeyKaLog.METIN; break;
+                    case "csv": tokenBicimi = BeyKaLog.CSV; break;
+                    case "ikili": tokenBicimi = BeyKaLog.IKILI; break;
+                    default: gecersiz = true;
+                }
+            }
+            else if (kaynak == null && !arg.startsWith("--")) kaynak = arg;
+            else gecersiz = true;
+        }
+        if (kaynak == null || gecersiz) {
+            System.out.println("Kullanım: java BeyKa [--ast] [--disasm] [--no-jit] [--jit-esik=N] [--akis] [--profile]"
+                    + " [--no-opt] [--opt-dump] [--log=hata|bilgi|ayrinti] [--token-bicimi=metin|csv|ikili] [--onbellek[=DIZIN]]"
+                    + " <ornekler/ornek1.bka>");
+            System.out.println("          java BeyKa --sunucu[=SOKET]");
+            System.out.println("          java BeyKa --toplu[=N] [seçenekler] <dizin|dosya.bka>...");
+            return -1;
+        }
+
+        kaynak = BeyKaOturum.yol(kaynak).toString();
+        if (profilAcik) jitAcik = false; // Derlenmiş fonksiyonların satırları ve iç çağrıları görünmez
 
         // === Log klasörü hazırlığı ===
-        File logDir = new File("logs");
+        File logDir = BeyKaOturum.logDizini();
         if (!logDir.exists()) logDir.mkdirs();
 
-        // Token listesini tutacak
-        List<BeyKaLexer.TokenInfo> tokenList = new ArrayList<>();
+        // Loglar arka planda yazılır; kapanışta kalan kayıtlar beklenir
+        try (BeyKaLog log = new BeyKaLog(logDir, logSeviye, tokenBicimi)) {
+            if (akis) {
+                return akisCalistir(kaynak, logDir, log, jitAcik, jitEsik, profilAcik);
+            }
+            return dosyaCalistir(kaynak, logDir, log, agacYorumlayici, disasm, jitAcik, jitEsik, onbellekDizini, profilAcik,
+                    optAcik, optDump);
+        }
+    }
 
-        // === 1. Tokenizasyon: Kaynak dosyadan tokenları çıkar ve logla ===
-        try (BeyKaLexer lexer = new BeyKaLexer(args[0]);
-             PrintWriter tokenWriter = new PrintWriter(new File(logDir, "tokens.txt"))) {
+    /**
+     * Kaynak dosyayı bütünüyle tokenlara ayırır, parse edip derler ve çalıştırır.
+     * onbellekDizini verilmişse analiz sonucu önce .bkc önbelleğinde aranır.
+     */
+    private static int dosyaCalistir(String kaynak, File logDir, BeyKaLog log, boolean agacYorumlayici,
+                                      boolean disasm, boolean jitAcik, int jitEsik, Path onbellekDizini,
+                                      boolean profilAcik, boolean optAcik, boolean optDump) {
+        BeyKaTokenBuffer tokens;
+        BeyKaAst.Program agac; // Parse edilen (önbelleğe yazılan) ağaç
+        List<String> errors; // Parse hataları; çalışma zamanı hataları da buraya eklenir
 
-            BeyKaLexer.TokenInfo token;
-            while ((token = lexer.nextToken()) != null) {
-                tokenList.add(token);
-                // Token bilgisini dosyaya yaz
-                tokenWriter.printf("Token: %d\tLexeme: %s [satır %d, sütun %d]%n",
-                        token.token, token.lexeme, token.line, token.column);
+        BeyKaCache onbellek = onbellekDizini == null ? null : new BeyKaCache(onbellekDizini);
+        byte[] icerik = null; // Önbellekte: anahtarı hesaplanan ve lexer'a verilen baytlar
+        String anahtar = null;
+        BeyKaCache.Kayit kayit = null;
+        if (onbellek != null) {
+            try {
+                icerik = Files.readAllBytes(Paths.get(kaynak));
+            } catch (IOException e) {
+                System.err.println("Dosya okuma hatası: " + e.getMessage());
+                return -1;
             }
+            anahtar = BeyKaCache.anahtar(icerik);
+            kayit = onbellek.oku(anahtar);
+        }
 
-        } catch (IOException e) {
-            System.err.println("Dosya okuma hatası: " + e.getMessage());
-            return;
+        if (kayit != null) {
+            // Önbellekte: lexer ve parser atlanır
+            tokens = kayit.tokens;
+            agac = kayit.program;
+            errors = kayit.hatalar;
+        } else {
+            // Tokenları paketlenmiş olarak tutacak
+            tokens = new BeyKaTokenBuffer();
+
+            // === 1. Tokenizasyon: Kaynak dosyadan tokenları çıkar ===
+            BeyKaOlaylar.Tokenizasyon tokenOlayi = BeyKaOlaylar.tokenizasyon(); // JFR yoksa null
+            try (BeyKaLexer lexer = icerik != null ? new BeyKaLexer(BeyKaLexer.coz(ByteBuffer.wrap(icerik)))
+                                                   : new BeyKaLexer(kaynak)) {
+                lexer.tokenize(tokens);
+            } catch (IOException e) {
+                System.err.println("Dosya okuma hatası: " + e.getMessage());
+                return -1;
+            }
+            if (tokenOlayi != null) tokenOlayi.bitir(kaynak, tokens.boyut());
+
+            // === 2. Parse: token listesi bir kez AST'ye dönüştürülür ===
+            BeyKaOlaylar.Ayristirma parseOlayi = BeyKaOlaylar.ayristirma();
+            BeyKaParser parser = new BeyKaParser(tokens);
+            agac = parser.parseProgram();
+            errors = parser.getErrors();
+            if (parseOlayi != null) parseOlayi.bitir(kaynak, agac.komutlar.size(), errors.size());
+            if (onbellek != null) onbellek.yaz(anahtar, new BeyKaCache.Kayit(tokens, agac, errors));
         }
+        log.tokenlar(tokens); // Token bilgisi arka planda dosyaya yazılır
 
         // Token listesini ekrana yazdır
-        System.out.println("=== TOKEN LİSTESİ ===");
-        for (BeyKaLexer.TokenInfo t : tokenList) {
-            System.out.printf("Token: %d\tLexeme: %s [satır %d, sütun %d]%n",
-                    t.token, t.lexeme, t.line, t.column);
+        if (log.ekranAcik()) {
+            StringBuilder liste = new StringBuilder("=== TOKEN LİSTESİ ===").append(System.lineSeparator());
+            for (int i = 0; i < tokens.boyut(); i++) {
+                liste.append(tokens.bicimle(i)).append(System.lineSeparator());
+            }
+            System.out.print(liste);
+        }
+
+        // === 3. İyileştirme: önbellekteki ağaç değişmez, yeni ağaç üretilir ===
+        BeyKaAst.Program program = optAcik ? iyilestir(agac, logDir, optDump) : agac;
+
+        // === 4. Derleme: AST çözümlenir ve bytecode'a dönüştürülür ===
+        BeyKaOlaylar.FonksiyonKaydi kayitOlayi = BeyKaOlaylar.fonksiyonKaydi();
+        new BeyKaResolver().resolve(program); // Fonksiyonlara indeks, değişkenlere çerçeve slotu ver
+        if (kayitOlayi != null) kayitOlayi.bitir(kaynak, program.fonksiyonlar.size());
+        program.kaynak = kaynak; // Çağrı olaylarında kullanılır
+
+        // Statik tip çıkarımı: kanıtlanan atamalar ve tamsayı işlemleri kontrolsüz çalışır;
+        // kesin hatalar çalıştırmadan önce bildirilir (çalışma zamanında da raporlanırlar)
+        List<String> tipUyarilari = new BeyKaTypeChecker().check(program);
+        if (!tipUyarilari.isEmpty()) {
+            System.out.println("\n=== TİP DENETİMİ ===");
+            for (String uyari : tipUyarilari) {
+                System.out.println(uyari);
+            }
+        }
+
+        BeyKaBytecode.Program bytecode = agacYorumlayici ? null : new BeyKaCompiler(program, profilAcik).compile();
+
+        if (disasm && bytecode != null) {
+            String listing = new BeyKaDisassembler(bytecode).disassemble();
+            System.out.println("\n=== BYTECODE ===");
+            System.out.print(listing);
+            try (PrintWriter bytecodeWriter = new PrintWriter(new File(logDir, "bytecode.txt"))) {
+                bytecodeWriter.print(listing);
+            } catch (IOException e) {
+                System.err.println("Bytecode dosyasına yazılamadı: " + e.getMessage());
+            }
         }
 
         System.out.println("\n=== BEYKA PARSER BAŞLIYOR ===");
 
-        // Çıktıyı hem ekrana hem dosyaya kaydetmek için stream ayarları
-        PrintStream originalOut = System.out;
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PrintStream tempOut = new PrintStream(baos);
+        // Programı sanal makinede (veya --ast ile ağaç yorumlayıcıda) çalıştır;
+        // sıcak fonksiyonlar JIT ile JVM koduna derlenir
+        BeyKaJit jit = jitAcik ? new BeyKaJit(program.fonksiyonlar, errors, jitEsik) : null;
+        BeyKaProfil profil = profilAcik ? new BeyKaProfil(program.fonksiyonlar) : null;
+        String motor = bytecode != null ? "bytecode VM" : "ağaç yorumlayıcı";
+        int hataSayisi = calistirVeKaydet(logDir, log, errors, kaynak, motor, () -> {
+            if (bytecode != null) {
+                new BeyKaVM(bytecode, errors, jit, profil).run();
+            } else {
+                new BeyKaInterpreter(program, errors, jit, profil).run();
+            }
+        });
+        if (jit != null) jit.kapat();
+        if (profil != null) profilYaz(profil, logDir, kaynak, motor);
+        return hataSayisi;
+    }
 
-        try {
-            /**
-             * Tee OutputStream:
-             * Terminale ve logs/output.txt'ye eşzamanlı çıktı gönderir.
-             */
-            PrintStream tee = new PrintStream(new OutputStream() {
-                @Override
-                public void write(int b) throws IOException {
-                    tempOut.write(b);      // output.txt için
-                    originalOut.write(b);  // terminal için
+    /** Program ağacını BeyKaOptimizer ile iyileştirir; optDump ise sonucu ekrana ve logs/optimize.txt'ye yazar. */
+    private static BeyKaAst.Program iyilestir(BeyKaAst.Program agac, File logDir, boolean optDump) {
+        BeyKaOptimizer optimizer = new BeyKaOptimizer(agac);
+        BeyKaAst.Program program = optimizer.optimize();
+        if (optDump) {
+            String listing = "// " + optimizer.ozet() + System.lineSeparator()
+                    + BeyKaOptimizer.kaynak(program).replace("\n", System.lineSeparator());
+            System.out.println("\n=== İYİLEŞTİRİLMİŞ PROGRAM ===");
+            System.out.print(listing);
+            try (PrintWriter optWriter = new PrintWriter(new File(logDir, "optimize.txt"))) {
+                optWriter.print(listing);
+            } catch (IOException e) {
+                System.err.println("İyileştirme dosyasına yazılamadı: " + e.getMessage());
+            }
+        }
+        return program;
+    }
+
+    /**
+     * Akış modu: kaynak okuyucudan parça parça okunur, tokenlar halka tamponda (BeyKaTokenStream)
+     * parser istedikçe üretilir ve üst seviye komutlar parse edildikçe çalıştırılır.
+     * Token listesi ekrana basılmaz (program çıktısıyla karışırdı); yalnızca token loguna yazılır.
+     */
+    private static int akisCalistir(String kaynak, File logDir, BeyKaLog log, boolean jitAcik, int jitEsik,
+                                    boolean profilAcik) {
+        try (BeyKaLexer lexer = new BeyKaLexer(new InputStreamReader(new FileInputStream(kaynak), Charset.defaultCharset()))) {
+
+            BeyKaParser parser = new BeyKaParser(new BeyKaTokenStream(lexer, log));
+            BeyKaAst.Program program = new BeyKaAst.Program(parser.getFonksiyonlar(), new ArrayList<>());
+            program.kaynak = kaynak;
+
+            System.out.println("=== BEYKA PARSER BAŞLIYOR (akış) ===");
+            BeyKaProfil profil = profilAcik ? new BeyKaProfil(program.fonksiyonlar) : null;
+            String motor = "ağaç yorumlayıcı (akış)";
+            int hataSayisi = calistirVeKaydet(logDir, log, parser.getErrors(), kaynak, motor, () -> {
+                BeyKaJit jit = jitAcik ? new BeyKaJit(program.fonksiyonlar, parser.getErrors(), jitEsik) : null;
+                try {
+                    new BeyKaInterpreter(program, parser.getErrors(), jit, profil).runAkis(parser, new BeyKaResolver(), program);
+                } finally {
+                    if (jit != null) jit.kapat();
                 }
-            }, true);
+            });
+            if (profil != null) profilYaz(profil, logDir, kaynak, motor);
+            return hataSayisi;
+
+        } catch (IOException e) {
+            System.err.println("Dosya okuma hatası: " + e.getMessage());
+            return -1;
+        }
+    }
 
-            System.setOut(tee);
-            // Parser'ı başlat ve programı çalıştır
-            new BeyKaParser(tokenList).parseProgram();
+    /**
+     * Programı çalıştırır; çıktıyı hem ekrana hem logs/output.txt'ye, program hatalarını ve
+     * beklenmedik hatayı log üzerinden logs/errors.txt'ye yazar. Hata sayısını döndürür.
+     * Çalışma, kaynak ve motor adıyla bir beyka.Calistirma JFR olayı olarak kaydedilir.
+     */
+    private static int calistirVeKaydet(File logDir, BeyKaLog log, List<String> errors, String kaynak, String motor,
+                                        Runnable calistir) {
+        // Çıktı toplu olarak hem ekrana hem logs/output.txt'ye akar; bellekte biriktirilmez
+        PrintStream originalOut = BeyKaOturum.konsol(); // Oturumda oturumun çıktısı
+        BeyKaOutput cikis;
+        try {
+            cikis = new BeyKaOutput(originalOut, new File(logDir, "output.txt").toPath());
+        } catch (IOException e) {
+            System.err.println("Çıktı dosyasına yazılamadı: " + e.getMessage());
+            try {
+                cikis = new BeyKaOutput(originalOut, null); // Yalnızca terminale
+            } catch (IOException imkansiz) {
+                throw new UncheckedIOException(imkansiz);
+            }
+        }
+        BeyKaOutput.kur(cikis); // yaz komutları doğrudan bu kanala yazar
+        BeyKaOturum.konsoluDegistir(new PrintStream(cikis, false, Charset.defaultCharset()));
 
+        BeyKaOlaylar.Calistirma olay = BeyKaOlaylar.calistirma(); // JFR yoksa null
+        try {
+            calistir.run();
         } catch (RuntimeException e) {
+            if (olay != null) olay.bitir(kaynak, motor, errors.size() + 1);
             // Beklenmedik hata olursa eski çıktı sistemine dön ve hatayı logla
-            System.setOut(originalOut);
-            try (PrintWriter errLog = new PrintWriter(new File(logDir, "errors.txt"))) {
-                errLog.println(e.getMessage());
-                System.err.println("Hata: " + e.getMessage());
-                return;
-            } catch (IOException io) {
-                System.err.println("Hata dosyasına yazılamadı: " + io.getMessage());
-            }
+            ciktiyiKapat(cikis, originalOut);
+            for (String hata : errors) log.hata(hata);
+            log.hata(e.getMessage());
+            System.err.println("Hata: " + e.getMessage());
+            return errors.size() + 1;
         }
 
+        if (olay != null) olay.bitir(kaynak, motor, errors.size());
         // Çıktıyı tekrar terminale döndür
-        System.setOut(originalOut);
+        ciktiyiKapat(cikis, originalOut);
+        for (String hata : errors) log.hata(hata);
 
-        // Program çıktısını dosyaya kaydet
-        try (PrintWriter outLog = new PrintWriter(new File(logDir, "output.txt"))) {
-            outLog.write(baos.toString());
+        System.out.println("BeyKa programı çalıştırıldı. Çıktılar 'logs/' klasörüne kaydedildi.");
+        return errors.size();
+    }
+
+    /** Profil raporunu ve katlanmış yığınları log klasörüne yazar. */
+    private static void profilYaz(BeyKaProfil profil, File logDir, String kaynak, String motor) {
+        profil.yaz(logDir, kaynak, motor);
+        System.out.println("Profil raporu 'logs/profil.txt', katlanmış yığınlar 'logs/profil.folded' dosyasına yazıldı.");
+    }
+
+    /** Bekleyen çıktıyı yazıp kanalı kapatır ve System.out'u terminale döndürür. */
+    private static void ciktiyiKapat(BeyKaOutput cikis, PrintStream originalOut) {
+        System.out.flush();
+        BeyKaOturum.konsoluDegistir(originalOut);
+        BeyKaOutput.kur(null);
+        try {
+            cikis.close();
         } catch (IOException e) {
             System.err.println("Çıktı dosyasına yazılamadı: " + e.getMessage());
         }
-
-        System.out.println("BeyKa programı çalıştırıldı. Çıktılar 'logs/' klasörüne kaydedildi.");
     }
 }
@@ -0,0 +1,357 @@
+import java.util.*;
+
+/**
+ * BeyKaAst.java
+ *
+ * BeyKa programlarının soyut sözdizimi ağacı (AST) düğümlerini içerir.
+ * Parser token listesini yalnızca bir kez bu düğümlere dönüştürür; yorumlayıcı
+ * döngü ve fonksiyon gövdelerini tekrar tekrar parse etmeden doğrudan ağaç üzerinde çalışır.
+ * Düğüm türleri, Token sınıfındaki gibi tamsayı sabitlerle ayırt edilir.
+ */
+public final class BeyKaAst {
+    private BeyKaAst() {}
+
+    /**
+     * Desteklenen veri tipleri. *_DIZI tipleri elemanları o tipte olan dizilerdir
+     * (dizi tamsayı a = [...]); değerleri BeyKaDizi'dir.
+     */
+    public enum Type {
+        TAMSAYI, ONDALIKLI, KELIME, TAMSAYI_DIZI, ONDALIKLI_DIZI, KELIME_DIZI;
+
+        /** Bu tipte elemanlar tutan dizi tipi; dizi tipinin dizisi yoktur (null). */
+        public Type dizisi() {
+            switch (this) {
+                case TAMSAYI: return TAMSAYI_DIZI;
+                case ONDALIKLI: return ONDALIKLI_DIZI;
+                case KELIME: return KELIME_DIZI;
+                default: return null;
+            }
+        }
+
+        /** Dizi tipinin eleman tipi; dizi tipi değilse null. */
+        public Type elemani() {
+            switch (this) {
+                case TAMSAYI_DIZI: return TAMSAYI;
+                case ONDALIKLI_DIZI: return ONDALIKLI;
+                case KELIME_DIZI: return KELIME;
+                default: return null;
+            }
+        }
+
+        /** Tamsayı veya ondalıklı mı (sayısal değişken). */
+        public boolean sayisal() {
+            return this == TAMSAYI || this == ONDALIKLI;
+        }
+    }
+
+    /** Komut (statement) düğüm türleri */
+    public static final int DEGISKEN_TANIMI = 1;   // tamsayı a = ...;
+    public static final int ATAMA           = 2;   // a = ...;
+    public static final int YAZDIRMA        = 3;   // yaz(...);
+    public static final int EGER            = 4;   // eğer (...) ise { ... }
+    public static final int DONGU           = 5;   // döngü (...) { ... }
+    public static final int DON             = 6;   // dön ...;
+    public static final int DURDUR          = 7;   // durdur;
+    public static final int DEVAM           = 8;   // devam;
+    public static final int PARALEL_DONGU   = 9;   // paralel döngü (i, bas, son) topla(s) { ... }
+    public static final int ELEMAN_ATAMA    = 10;  // a[i] = ...;
+
+    /** İfade (expression) düğüm türleri */
+    public static final int SABIT           = 20;  // 5, 2.5, "metin"
+    public static final int DEGISKEN        = 21;  // a
+    public static final int IKILI_ISLEM     = 22;  // a + b, a * b ...
+    public static final int KARSILASTIRMA   = 23;  // a < b, a == b ...
+    public static final int MANTIKSAL       = 24;  // kosul && kosul, kosul || kosul
+    public static final int FONKSIYON_CAGRI = 25;  // f(a, b) veya yerleşik oku("...")
+    public static final int DIZI_SABITI     = 26;  // [1, 2, 3]
+    public static final int DIZI_ERISIM     = 27;  // a[i]
+
+    /** Tüm düğümlerin atası: tür bilgisini ve hata mesajları için kaynak konumunu taşır. */
+    public abstract static class Node {
+        public final int kind;
+        public final int line;
+        public final int column;
+
+        Node(int kind, int line, int column) {
+            this.kind = kind;
+            this.line = line;
+            this.column = column;
+        }
+    }
+
+    /** Çalıştırılabilir komutların ortak atası. */
+    public abstract static class Stmt extends Node {
+        Stmt(int kind, int line, int column) { super(kind, line, column); }
+    }
+
+    /** Değer üreten ifadelerin ortak atası. */
+    public abstract static class Expr extends Node {
+        Expr(int kind, int line, int column) { super(kind, line, column); }
+    }
+
+    /** Parse edilmiş programın tamamı: fonksiyon tanımları ve üst seviye komutlar. */
+    public static class Program {
+        public final Map<String, FonksiyonTanimi> fonksiyonlar;
+        public final List<Stmt> komutlar;
+        public String[] slotAdlari; // Ana programın değişkenleri, slot sırasıyla (BeyKaResolver doldurur)
+        public String kaynak; // Kaynak dosyanın yolu (JFR olayları için; BeyKa doldurur, yoksa null)
+
+        public Program(Map<String, FonksiyonTanimi> fonksiyonlar, List<Stmt> komutlar) {
+            this.fonksiyonlar = fonksiyonlar;
+            this.komutlar = komutlar;
+        }
+    }
+
+    /** Kullanıcı tanımlı fonksiyon: parametre isimleri ve bir kez parse edilmiş gövde. */
+    public static class FonksiyonTanimi extends Node {
+        public final String ad;
+        public final List<String> parametreler;
+        public final List<Stmt> govde;
+        public String[] slotAdlari; // Parametreler ve yerel değişkenler, slot sırasıyla (BeyKaResolver doldurur)
+        public int indeks = -1;     // Fonksiyon tablosundaki sırası (BeyKaResolver doldurur)
+
+        public FonksiyonTanimi(String ad, List<String> parametreler, List<Stmt> govde, int line, int column) {
+            super(0, line, column);
+            this.ad = ad;
+            this.parametreler = parametreler;
+            this.govde = govde;
+        }
+    }
+
+    // --- Komutlar ---
+
+    /** tamsayı/ondalikli/kelime ad = deger; */
+    public static class DegiskenTanimi extends Stmt {
+        public final Type tip;
+        public final String ad;
+        public final Expr deger;
+        public int slot = -1; // Çerçevedeki değişken yeri (BeyKaResolver doldurur)
+        public boolean kontrolsuz; // Değer tipe kesinlikle uyuyor; tip kontrolü atlanır (BeyKaTypeChecker doldurur)
+
+        public DegiskenTanimi(Type tip, String ad, Expr deger, int line, int column) {
+            super(DEGISKEN_TANIMI, line, column);
+            this.tip = tip;
+            this.ad = ad;
+            this.deger = deger;
+        }
+    }
+
+    /** ad = deger; */
+    public static class Atama extends Stmt {
+        public final String ad;
+        public final Expr deger;
+        public int slot = -1; // Çerçevedeki değişken yeri (BeyKaResolver doldurur)
+        public boolean kontrolsuz; // Değişken kesinlikle tanımlı ve değer tipine uyuyor (BeyKaTypeChecker doldurur)
+
+        public Atama(String ad, Expr deger, int line, int column) {
+            super(ATAMA, line, column);
+            this.ad = ad;
+            this.deger = deger;
+        }
+    }
+
+    /** ad[indeks] = deger; indeks dizinin uzunluğuna eşitse eleman sona eklenir. */
+    public static class ElemanAtama extends Stmt {
+        public final String ad;
+        public final Expr indeks;
+        public final Expr deger;
+        public int slot = -1; // Çerçevedeki değişken yeri (BeyKaResolver doldurur)
+
+        public ElemanAtama(String ad, Expr indeks, Expr deger, int line, int column) {
+            super(ELEMAN_ATAMA, line, column);
+            this.ad = ad;
+            this.indeks = indeks;
+            this.deger = deger;
+        }
+    }
+
+    /** yaz(deger); */
+    public static class Yazdirma extends Stmt {
+        public final Expr deger;
+
+        public Yazdirma(Expr deger, int line, int column) {
+            super(YAZDIRMA, line, column);
+            this.deger = deger;
+        }
+    }
+
+    /** eğer (kosul) ise { govde } */
+    public static class Eger extends Stmt {
+        public final Expr kosul;
+        public final List<Stmt> govde;
+
+        public Eger(Expr kosul, List<Stmt> govde, int line, int column) {
+            super(EGER, line, column);
+            this.kosul = kosul;
+            this.govde = govde;
+        }
+    }
+
+    /** döngü (kosul) { govde } */
+    public static class Dongu extends Stmt {
+        public final Expr kosul;
+        public final List<Stmt> govde;
+
+        public Dongu(Expr kosul, List<Stmt> govde, int line, int column) {
+            super(DONGU, line, column);
+            this.kosul = kosul;
+            this.govde = govde;
+        }
+    }
+
+    /**
+     * paralel döngü (degisken, bas, son) topla(a, ...) enküçük(b) enbüyük(c) { govde }
+     * Gövde degisken = bas .. son - 1 için birbirinden bağımsız çalışır (BeyKaParalel).
+     * indirgemeTurleri BeyKaParalel.TOPLA, EN_KUCUK veya EN_BUYUK'tur.
+     */
+    public static class ParalelDongu extends Stmt {
+        public final String degisken;
+        public final Expr bas;
+        public final Expr son;
+        public final List<String> indirgemeAdlari;
+        public final int[] indirgemeTurleri;
+        public final List<Stmt> govde;
+        // BeyKaResolver doldurur
+        public int slot = -1;            // Döngü değişkeninin slotu
+        public int sonSlot = -1;         // Üst sınırın gizli slotu (bytecode döngüsü okur)
+        public int[] indirgemeSlotlari;  // indirgemeAdlari sırasıyla
+        public int[] yerelSlotlar;       // Gövdede tanımlanan değişkenler (her turda yeniden tanımlanır)
+
+        public ParalelDongu(String degisken, Expr bas, Expr son, List<String> indirgemeAdlari, int[] indirgemeTurleri,
+                            List<Stmt> govde, int line, int column) {
+            super(PARALEL_DONGU, line, column);
+            this.degisken = degisken;
+            this.bas = bas;
+            this.son = son;
+            this.indirgemeAdlari = indirgemeAdlari;
+            this.indirgemeTurleri = indirgemeTurleri;
+            this.govde = govde;
+        }
+    }
+
+    /** dön deger; */
+    public static class Don extends Stmt {
+        public final Expr deger;
+
+        public Don(Expr deger, int line, int column) {
+            super(DON, line, column);
+            this.deger = deger;
+        }
+    }
+
+    /** durdur; (break) veya devam; (continue). Yalnızca döngü gövdesinde bulunur. */
+    public static class DonguKontrol extends Stmt {
+        public DonguKontrol(int kind, int line, int column) {
+            super(kind, line, column);
+        }
+    }
+
+    // --- İfadeler ---
+
+    /** Sabit değer: Integer, Double veya String. */
+    public static class Sabit extends Expr {
+        public final Object deger;
+
+        public Sabit(Object deger, int line, int column) {
+            super(SABIT, line, column);
+            this.deger = deger;
+        }
+    }
+
+    /** Değişken okuma. */
+    public static class Degisken extends Expr {
+        public final String ad;
+        public int slot = -1; // Çerçevedeki değişken yeri (BeyKaResolver doldurur)
+
+        public Degisken(String ad, int line, int column) {
+            super(DEGISKEN, line, column);
+            this.ad = ad;
+        }
+    }
+
+    /** Aritmetik işlem; op Token.TOPLA, CIKAR, CARP, BOL veya MOD'dur. */
+    public static class IkiliIslem extends Expr {
+        public final int op;
+        public final Expr sol;
+        public final Expr sag;
+        public boolean tamIslem; // İki işlenen de kesinlikle tamsayı ve op + - * (BeyKaTypeChecker doldurur)
+
+        public IkiliIslem(int op, Expr sol, Expr sag, int line, int column) {
+            super(IKILI_ISLEM, line, column);
+            this.op = op;
+            this.sol = sol;
+            this.sag = sag;
+        }
+    }
+
+    /** Karşılaştırma; op Token.ESIT_ESIT, ESIT_DEGIL, KUCUK, KUCUK_ESIT, BUYUK veya BUYUK_ESIT'tir. */
+    public static class Karsilastirma extends Expr {
+        public final int op;
+        public final Expr sol;
+        public final Expr sag;
+
+        public Karsilastirma(int op, Expr sol, Expr sag, int line, int column) {
+            super(KARSILASTIRMA, line, column);
+            this.op = op;
+            this.sol = sol;
+            this.sag = sag;
+        }
+    }
+
+    /** Mantıksal birleştirme; op Token.VE veya Token.VEYA'dır. */
+    public static class Mantiksal extends Expr {
+        public final int op;
+        public final Expr sol;
+        public final Expr sag;
+
+        public Mantiksal(int op, Expr sol, Expr sag, int line, int column) {
+            super(MANTIKSAL, line, column);
+            this.op = op;
+            this.sol = sol;
+            this.sag = sag;
+        }
+    }
+
+    /**
+     * Fonksiyon çağrısı. İsim kullanıcı fonksiyonlarında yoksa çağrı
+     * yerleşik fonksiyon (uzunluk, karesi, tarih, oku) olarak değerlendirilir.
+     */
+    public static class FonksiyonCagri extends Expr {
+        public final String ad;
+        public final List<Expr> argumanlar;
+        public FonksiyonTanimi hedef; // Çağrılan kullanıcı fonksiyonu; yerleşikse null (BeyKaResolver doldurur)
+
+        public FonksiyonCagri(String ad, List<Expr> argumanlar, int line, int column) {
+            super(FONKSIYON_CAGRI, line, column);
+            this.ad = ad;
+            this.argumanlar = argumanlar;
+        }
+    }
+
+    /**
+     * Dizi sabiti [e1, e2, ...]. Eleman tipi dizi tanımından gelir (dizi tamsayı a = [...]);
+     * başka yerde yazılmışsa null'dır ve çalışırken elemanlardan çıkarılır (BeyKaDizi.sabit).
+     */
+    public static class DiziSabiti extends Expr {
+        public final Type eleman;
+        public final List<Expr> elemanlar;
+
+        public DiziSabiti(Type eleman, List<Expr> elemanlar, int line, int column) {
+            super(DIZI_SABITI, line, column);
+            this.eleman = eleman;
+            this.elemanlar = elemanlar;
+        }
+    }
+
+    /** Dizi elemanı okuma: dizi[indeks]. */
+    public static class DiziErisim extends Expr {
+        public final Expr dizi;
+        public final Expr indeks;
+
+        public DiziErisim(Expr dizi, Expr indeks, int line, int column) {
+            super(DIZI_ERISIM, line, column);
+            this.dizi = dizi;
+            this.indeks = indeks;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.*;
+
+/**
+ * BeyKaBytecode.java
+ *
+ * BeyKa programlarının derlenmiş (bytecode) biçimi.
+ * Bütün program tek bir int[] kod dizisinde tutulur: her komut bir opcode ve
+ * ardından gelen sabit sayıda tamsayı operanddan oluşur. Sabitler (sayılar, stringler,
+ * yerleşik fonksiyon isimleri) ortak bir sabit havuzunda (constant pool) durur; değişkenler
+ * BeyKaResolver'ın verdiği çerçeve slotlarıyla adreslenir.
+ * Yığın (stack) tabanlı bu komut akışını BeyKaVM çalıştırır, BeyKaDisassembler okunur hale getirir.
+ */
+public final class BeyKaBytecode {
+    private BeyKaBytecode() {}
+
+    /** Opcode'lar ve operand sayıları */
+    public static final int HALT          = 0;   // programı bitir
+    public static final int CONST         = 1;   // sabit: havuz indeksi -> yığına it
+    public static final int LOAD          = 2;   // değişken oku: slot
+    public static final int STORE         = 3;   // değişkene ata: slot
+    public static final int DECLARE       = 4;   // değişken tanımla (değerden önce, yığına dokunmaz): slot, tip (Type.ordinal)
+    public static final int POP           = 5;   // yığının tepesini at
+    public static final int ADD           = 6;   // +
+    public static final int SUB           = 7;   // -
+    public static final int MUL           = 8;   // *
+    public static final int DIV           = 9;   // /
+    public static final int MOD           = 10;  // %
+    public static final int EQ            = 11;  // ==
+    public static final int NE            = 12;  // !=
+    public static final int LT            = 13;  // <
+    public static final int LE            = 14;  // <=
+    public static final int GT            = 15;  // >
+    public static final int GE            = 16;  // >=
+    public static final int JUMP          = 17;  // koşulsuz atla: hedef adres
+    public static final int JUMP_IF_FALSE = 18;  // koşul yanlışsa atla: hedef adres
+    public static final int LOOP_INIT     = 19;  // döngü sayacını sıfırla: sayaç indeksi
+    public static final int LOOP_GUARD    = 20;  // sonsuz döngü koruması: sayaç indeksi, çıkış adresi
+    public static final int PRINT         = 21;  // yaz(...)
+    public static final int CALL          = 22;  // kullanıcı fonksiyonu: fonksiyon indeksi, argüman sayısı
+    public static final int BUILTIN       = 23;  // yerleşik fonksiyon: isim indeksi, argüman sayısı
+    public static final int RETURN        = 24;  // dön
+    public static final int SPAWN         = 25;  // başlat(f(...)): fonksiyon indeksi, argüman sayısı -> görev numarası
+    public static final int AWAIT         = 26;  // bekle(g): görev numarası -> görevin dönüş değeri
+    public static final int PARALLEL      = 27;  // paralel döngü (bas, son yığında): paralel indeksi, döngü sonrası adres
+    public static final int UNDECLARE     = 28;  // değişkeni tanımsız yap (paralel gövdenin her turu): slot
+    public static final int LINE          = 29;  // komut başı (yalnızca --profile ile derlenir): satır
+    // Tip denetiminin (BeyKaTypeChecker) kanıtladığı durumlar için özelleşmiş komutlar
+    public static final int STORE_FAST    = 30;  // tip kontrolsüz ata (değişken tanımlı, değer tipe uyuyor): slot
+    public static final int INIT          = 31;  // tanımın değerini tanımlanan tipe göre ata: slot, tip (Type.ordinal)
+    public static final int IADD          = 32;  // + (iki işlenen de tamsayı)
+    public static final int ISUB          = 33;  // - (iki işlenen de tamsayı)
+    public static final int IMUL          = 34;  // * (iki işlenen de tamsayı)
+    // Diziler (BeyKaDizi)
+    public static final int NEW_ARRAY     = 35;  // [e1, ...]: eleman tipi (Type.ordinal, -1 ise değerlerden), eleman sayısı
+    public static final int INDEX         = 36;  // dizi[indeks] (dizi ve indeks yığında)
+    public static final int STORE_INDEX   = 37;  // dizi elemanına ata (indeks ve değer yığında): slot
+
+    /** Opcode isimleri (disassembler için) */
+    static final String[] NAMES = {
+            "HALT", "CONST", "LOAD", "STORE", "DECLARE", "POP",
+            "ADD", "SUB", "MUL", "DIV", "MOD",
+            "EQ", "NE", "LT", "LE", "GT", "GE",
+            "JUMP", "JUMP_IF_FALSE", "LOOP_INIT", "LOOP_GUARD",
+            "PRINT", "CALL", "BUILTIN", "RETURN",
+            "SPAWN", "AWAIT", "PARALLEL", "UNDECLARE", "LINE",
+            "STORE_FAST", "INIT", "IADD", "ISUB", "IMUL",
+            "NEW_ARRAY", "INDEX", "STORE_INDEX"
+    };
+
+    /** Her opcode'un ardından gelen operand sayısı */
+    static final int[] OPERANDS = {
+            0, 1, 1, 1, 2, 0,
+            0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0,
+            1, 1, 1, 2,
+            0, 2, 2, 0,
+            2, 0, 2, 1, 1,
+            1, 2, 0, 0, 0,
+            2, 0, 1
+    };
+
+    /** Derlenmiş bir fonksiyon (veya ana program): kod dizisindeki yeri ve çerçeve bilgileri. */
+    public static class Function {
+        public final String name;
+        public final String[] parametreler;
+        public final String[] slotAdlari; // slot indeksine göre değişken isimleri (parametreler başta)
+        public final int entry;     // kod dizisindeki ilk komut
+        public final int end;       // son komuttan sonraki adres
+        public final int loopCount; // döngü sayacı adedi
+        public final int maxStack;  // yığında kullanılan en fazla eleman
+
+        public Function(String name, String[] parametreler, String[] slotAdlari,
+                        int entry, int end, int loopCount, int maxStack) {
+            this.name = name;
+            this.parametreler = parametreler;
+            this.slotAdlari = slotAdlari;
+            this.entry = entry;
+            this.end = end;
+            this.loopCount = loopCount;
+            this.maxStack = maxStack;
+        }
+    }
+
+    /**
+     * Derlenmiş paralel döngü. Gövde, çevreleyen fonksiyonun slotlarını kullanan ayrı bir
+     * giriş noktası (govde) olarak derlenir; her parça onu kendi VM'inde HALT'a kadar çalıştırır.
+     */
+    public static class Paralel {
+        public final Function govde;
+        public final int degisken;            // Döngü değişkeninin slotu
+        public final int sonSlot;             // Üst sınırın gizli slotu
+        public final int[] indirgemeSlotlari;
+        public final int[] indirgemeTurleri;  // BeyKaParalel.TOPLA, EN_KUCUK, EN_BUYUK
+        public final List<String> indirgemeAdlari;
+
+        public Paralel(Function govde, int degisken, int sonSlot, int[] indirgemeSlotlari,
+                       int[] indirgemeTurleri, List<String> indirgemeAdlari) {
+            this.govde = govde;
+            this.degisken = degisken;
+            this.sonSlot = sonSlot;
+            this.indirgemeSlotlari = indirgemeSlotlari;
+            this.indirgemeTurleri = indirgemeTurleri;
+            this.indirgemeAdlari = indirgemeAdlari;
+        }
+    }
+
+    /** Derlenmiş program: ortak kod dizisi, satır tablosu, sabit havuzu, fonksiyon ve paralel döngü tabloları. */
+    public static class Program {
+        public final int[] code;
+        public final int[] lines;       // her kod kelimesinin kaynak satırı
+        public final Object[] constants;
+        public final Function[] functions;
+        public final Function main;
+        public final Paralel[] paraleller;
+        public String kaynak; // Kaynak dosyanın yolu (JFR olayları için; BeyKaCompiler ağaçtan aktarır)
+
+        public Program(int[] code, int[] lines, Object[] constants, Function[] functions, Function main,
+                       Paralel[] paraleller) {
+            this.code = code;
+            this.lines = lines;
+            this.constants = constants;
+            this.functions = functions;
+            this.main = main;
+            this.paraleller = paraleller;
+        }
+    }
+}
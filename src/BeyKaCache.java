@@ -0,0 +1,500 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+/**
+ * BeyKaCache.java
+ *
+ * Analiz edilmiş programların kalıcı önbelleği (.bkc dosyaları). Bir kaynak dosya ilk kez
+ * çalıştırıldığında tokenları, parse hataları ve program ağacı (AST) ikili biçimde
+ * önbellek dizinine yazılır; aynı içerik tekrar çalıştırıldığında lexer ve parser atlanır,
+ * kayıt belleğe eşlenerek (FileChannel.map) okunur. Çözümleme ve bytecode derleme kayıttan
+ * yeniden yapılır; bunlar ağaç üzerinde tek geçiştir.
+ *
+ * Anahtar, kaynak içeriğinin ve önbellek sürümünün SHA-256 özetidir: kaynak değişince veya
+ * AST/biçim değişip SURUM artırılınca eski kayıt kendiliğinden kullanılmaz olur. Özet,
+ * lexer'a verilen baytların kendisinden hesaplanır; dosya arada değişse de kayıt yanlış
+ * anahtarla yazılmaz. Kayıtlar önce geçici dosyaya yazılıp atomik olarak yerine taşınır;
+ * aynı anda çalışan süreçler yarım yazılmış bir kaydı göremez.
+ *
+ * Dosya biçimi: MAGIC, SURUM, anahtar, içerik uzunluğu, içeriğin CRC32C'si ve içerik.
+ * CRC tutmayan, uzunluğu dosyaya uymayan veya okunurken bir sayısı kalan bayta sığmayan
+ * (bozuk) kayıt okunmaz, yeniden üretilir.
+ */
+public final class BeyKaCache {
+    /** Önbellek biçiminin sürümü: AST düğümleri veya dosya biçimi değiştiğinde artırılır. */
+    static final int SURUM = 4;
+    private static final int MAGIC = 0x424B4331; // "BKC1"
+
+    // Sabit değer türleri
+    private static final int SABIT_TAM = 0;
+    private static final int SABIT_ONDALIK = 1;
+    private static final int SABIT_KELIME = 2;
+    private static final int YOK = -1; // null düğüm
+
+    private final Path dizin;
+
+    public BeyKaCache(Path dizin) {
+        this.dizin = dizin;
+    }
+
+    /** Önbellekten okunan veya önbelleğe yazılacak analiz sonucu. */
+    public static final class Kayit {
+        public final BeyKaTokenBuffer tokens;
+        public final BeyKaAst.Program program;
+        public final List<String> hatalar; // Parse hataları
+
+        public Kayit(BeyKaTokenBuffer tokens, BeyKaAst.Program program, List<String> hatalar) {
+            this.tokens = tokens;
+            this.program = program;
+            this.hatalar = hatalar;
+        }
+    }
+
+    /**
+     * Kaynak içeriğinin önbellek anahtarı: SHA-256(sürüm, içerik), onaltılık. icerik lexer'a
+     * verilecek baytların kendisi olmalıdır (dosya ayrıca okunmaz).
+     */
+    public static String anahtar(byte[] icerik) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        sha.update(ByteBuffer.allocate(4).putInt(SURUM).flip());
+        sha.update(icerik);
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    private Path dosya(String anahtar) {
+        return dizin.resolve(anahtar + ".bkc");
+    }
+
+    /** Anahtarın kaydını okur; kayıt yoksa, bozuksa veya başka sürüme aitse null döner. */
+    public Kayit oku(String anahtar) {
+        Path yol = dosya(anahtar);
+        if (!Files.isRegularFile(yol)) return null;
+        try (FileChannel ch = FileChannel.open(yol, StandardOpenOption.READ)) {
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (b.getInt() != MAGIC || b.getInt() != SURUM || !anahtar.equals(metinOku(b))) return null;
+            int uzunluk = b.getInt();
+            int crc = b.getInt();
+            if (uzunluk != b.remaining()) return null;
+            CRC32C c = new CRC32C();
+            c.update(b.duplicate());
+            if ((int) c.getValue() != crc) return null;
+            return new Okuyucu(b).kayit();
+        } catch (IOException | RuntimeException e) {
+            return null; // Okunamayan kayıt yok sayılır; kaynak yeniden analiz edilir
+        }
+    }
+
+    /**
+     * Kaydı önbelleğe yazar. Önce geçici dosyaya yazılır, sonra atomik olarak taşınır.
+     * Yazılamazsa program yine de çalışır; yalnızca uyarı basılır.
+     */
+    public void yaz(String anahtar, Kayit kayit) {
+        Path gecici = null;
+        try {
+            Files.createDirectories(dizin);
+            gecici = Files.createTempFile(dizin, anahtar, ".tmp");
+            ByteArrayOutputStream icerik = new ByteArrayOutputStream();
+            new Yazici(new DataOutputStream(icerik)).kayit(kayit);
+            CRC32C crc = new CRC32C();
+            crc.update(icerik.toByteArray());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(gecici)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(SURUM);
+                metinYaz(out, anahtar);
+                out.writeInt(icerik.size());
+                out.writeInt((int) crc.getValue());
+                icerik.writeTo(out);
+            }
+            try {
+                Files.move(gecici, dosya(anahtar), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(gecici, dosya(anahtar), StandardCopyOption.REPLACE_EXISTING);
+            }
+            gecici = null;
+        } catch (IOException e) {
+            System.err.println("Önbellek yazılamadı: " + e.getMessage());
+        } finally {
+            if (gecici != null) {
+                try {
+                    Files.deleteIfExists(gecici);
+                } catch (IOException e) {
+                    // Geçici dosya sonraki temizlikte silinebilir
+                }
+            }
+        }
+    }
+
+    private static void metinYaz(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String metinOku(ByteBuffer b) {
+        byte[] bytes = new byte[sayi(b, 1)];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Kayıttaki bir uzunluk veya eleman sayısı. Her eleman en az enAz bayt tuttuğundan sayı
+     * kalan baytlara sığmalıdır; sığmayan (bozuk) sayı için ayırma yapılmadan hata atılır.
+     */
+    private static int sayi(ByteBuffer b, int enAz) {
+        int n = b.getInt();
+        if (n < 0 || n > b.remaining() / enAz) throw new IllegalStateException("Bozuk önbellek kaydı");
+        return n;
+    }
+
+    // --- Yazma ---
+
+    /** Tokenları, hataları ve AST'yi ikili biçime çevirir. */
+    private static final class Yazici {
+        private final DataOutputStream out;
+
+        Yazici(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void kayit(Kayit k) throws IOException {
+            // Tokenlar: tekrar etmeyen lexeme tablosu, ardından token başına dört int
+            Map<String, Integer> lexemeler = new LinkedHashMap<>();
+            int[] lexemeIndeksleri = new int[k.tokens.boyut()];
+            for (int i = 0; i < k.tokens.boyut(); i++) {
+                lexemeIndeksleri[i] = lexemeler.computeIfAbsent(k.tokens.lexeme(i), l -> lexemeler.size());
+            }
+            out.writeInt(lexemeler.size());
+            for (String l : lexemeler.keySet()) metinYaz(out, l);
+            out.writeInt(k.tokens.boyut());
+            for (int i = 0; i < k.tokens.boyut(); i++) {
+                out.writeInt(k.tokens.tip(i));
+                out.writeInt(lexemeIndeksleri[i]);
+                out.writeInt(k.tokens.satir(i));
+                out.writeInt(k.tokens.sutun(i));
+            }
+
+            out.writeInt(k.hatalar.size());
+            for (String h : k.hatalar) metinYaz(out, h);
+
+            out.writeInt(k.program.fonksiyonlar.size());
+            for (BeyKaAst.FonksiyonTanimi f : k.program.fonksiyonlar.values()) {
+                metinYaz(out, f.ad);
+                out.writeInt(f.parametreler.size());
+                for (String p : f.parametreler) metinYaz(out, p);
+                blok(f.govde);
+                out.writeInt(f.line);
+                out.writeInt(f.column);
+            }
+            blok(k.program.komutlar);
+        }
+
+        private void blok(List<BeyKaAst.Stmt> govde) throws IOException {
+            out.writeInt(govde.size());
+            for (BeyKaAst.Stmt komut : govde) komut(komut);
+        }
+
+        private void komut(BeyKaAst.Stmt komut) throws IOException {
+            out.writeInt(komut.kind);
+            out.writeInt(komut.line);
+            out.writeInt(komut.column);
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi t = (BeyKaAst.DegiskenTanimi) komut;
+                    out.writeInt(t.tip.ordinal());
+                    metinYaz(out, t.ad);
+                    ifade(t.deger);
+                    break;
+                }
+                case BeyKaAst.ATAMA: {
+                    BeyKaAst.Atama a = (BeyKaAst.Atama) komut;
+                    metinYaz(out, a.ad);
+                    ifade(a.deger);
+                    break;
+                }
+                case BeyKaAst.ELEMAN_ATAMA: {
+                    BeyKaAst.ElemanAtama a = (BeyKaAst.ElemanAtama) komut;
+                    metinYaz(out, a.ad);
+                    ifade(a.indeks);
+                    ifade(a.deger);
+                    break;
+                }
+                case BeyKaAst.YAZDIRMA:
+                    ifade(((BeyKaAst.Yazdirma) komut).deger);
+                    break;
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                    ifade(e.kosul);
+                    blok(e.govde);
+                    break;
+                }
+                case BeyKaAst.DONGU: {
+                    BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                    ifade(d.kosul);
+                    blok(d.govde);
+                    break;
+                }
+                case BeyKaAst.PARALEL_DONGU: {
+                    BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                    metinYaz(out, p.degisken);
+                    ifade(p.bas);
+                    ifade(p.son);
+                    out.writeInt(p.indirgemeAdlari.size());
+                    for (int i = 0; i < p.indirgemeTurleri.length; i++) {
+                        metinYaz(out, p.indirgemeAdlari.get(i));
+                        out.writeInt(p.indirgemeTurleri[i]);
+                    }
+                    blok(p.govde);
+                    break;
+                }
+                case BeyKaAst.DON:
+                    ifade(((BeyKaAst.Don) komut).deger);
+                    break;
+                case BeyKaAst.DURDUR:
+                case BeyKaAst.DEVAM:
+                    break;
+                default:
+                    throw new IllegalStateException("Beklenmeyen komut türü: " + komut.kind);
+            }
+        }
+
+        private void ifade(BeyKaAst.Expr ifade) throws IOException {
+            if (ifade == null) {
+                out.writeInt(YOK);
+                return;
+            }
+            out.writeInt(ifade.kind);
+            out.writeInt(ifade.line);
+            out.writeInt(ifade.column);
+            switch (ifade.kind) {
+                case BeyKaAst.SABIT: {
+                    Object v = ((BeyKaAst.Sabit) ifade).deger;
+                    if (v instanceof Integer i) {
+                        out.writeInt(SABIT_TAM);
+                        out.writeInt(i);
+                    } else if (v instanceof Double d) {
+                        out.writeInt(SABIT_ONDALIK);
+                        out.writeDouble(d);
+                    } else {
+                        out.writeInt(SABIT_KELIME);
+                        metinYaz(out, (String) v);
+                    }
+                    break;
+                }
+                case BeyKaAst.DEGISKEN:
+                    metinYaz(out, ((BeyKaAst.Degisken) ifade).ad);
+                    break;
+                case BeyKaAst.IKILI_ISLEM: {
+                    BeyKaAst.IkiliIslem i = (BeyKaAst.IkiliIslem) ifade;
+                    out.writeInt(i.op);
+                    ifade(i.sol);
+                    ifade(i.sag);
+                    break;
+                }
+                case BeyKaAst.KARSILASTIRMA: {
+                    BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) ifade;
+                    out.writeInt(k.op);
+                    ifade(k.sol);
+                    ifade(k.sag);
+                    break;
+                }
+                case BeyKaAst.MANTIKSAL: {
+                    BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) ifade;
+                    out.writeInt(m.op);
+                    ifade(m.sol);
+                    ifade(m.sag);
+                    break;
+                }
+                case BeyKaAst.FONKSIYON_CAGRI: {
+                    BeyKaAst.FonksiyonCagri c = (BeyKaAst.FonksiyonCagri) ifade;
+                    metinYaz(out, c.ad);
+                    out.writeInt(c.argumanlar.size());
+                    for (BeyKaAst.Expr arg : c.argumanlar) ifade(arg);
+                    break;
+                }
+                case BeyKaAst.DIZI_SABITI: {
+                    BeyKaAst.DiziSabiti d = (BeyKaAst.DiziSabiti) ifade;
+                    out.writeInt(d.eleman != null ? d.eleman.ordinal() : YOK);
+                    out.writeInt(d.elemanlar.size());
+                    for (BeyKaAst.Expr e : d.elemanlar) ifade(e);
+                    break;
+                }
+                case BeyKaAst.DIZI_ERISIM: {
+                    BeyKaAst.DiziErisim d = (BeyKaAst.DiziErisim) ifade;
+                    ifade(d.dizi);
+                    ifade(d.indeks);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Beklenmeyen ifade türü: " + ifade.kind);
+            }
+        }
+    }
+
+    // --- Okuma ---
+
+    /** Belleğe eşlenmiş kayıttan tokenları, hataları ve AST'yi geri kurar. */
+    private static final class Okuyucu {
+        private final ByteBuffer b;
+
+        Okuyucu(ByteBuffer b) {
+            this.b = b;
+        }
+
+        Kayit kayit() {
+            String[] lexemeler = new String[sayi(b, 4)];
+            for (int i = 0; i < lexemeler.length; i++) lexemeler[i] = metinOku(b);
+            BeyKaTokenBuffer tokens = new BeyKaTokenBuffer();
+            int tokenSayisi = sayi(b, 16);
+            for (int i = 0; i < tokenSayisi; i++) {
+                int tip = b.getInt();
+                String lexeme = lexemeler[b.getInt()];
+                int satir = b.getInt();
+                tokens.ekle(tip, lexeme, satir, b.getInt());
+            }
+
+            int hataSayisi = sayi(b, 4);
+            List<String> hatalar = new ArrayList<>(hataSayisi);
+            for (int i = 0; i < hataSayisi; i++) hatalar.add(metinOku(b));
+
+            int fonksiyonSayisi = sayi(b, 4);
+            Map<String, BeyKaAst.FonksiyonTanimi> fonksiyonlar = new LinkedHashMap<>();
+            for (int i = 0; i < fonksiyonSayisi; i++) {
+                String ad = metinOku(b);
+                List<String> parametreler = new ArrayList<>();
+                for (int p = sayi(b, 4); p > 0; p--) parametreler.add(metinOku(b));
+                List<BeyKaAst.Stmt> govde = blok();
+                int line = b.getInt();
+                fonksiyonlar.put(ad, new BeyKaAst.FonksiyonTanimi(ad, parametreler, govde, line, b.getInt()));
+            }
+            List<BeyKaAst.Stmt> komutlar = blok();
+            return new Kayit(tokens, new BeyKaAst.Program(fonksiyonlar, komutlar), hatalar);
+        }
+
+        private List<BeyKaAst.Stmt> blok() {
+            int n = sayi(b, 12); // Komut başına en az tür, satır, sütun
+            List<BeyKaAst.Stmt> govde = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) govde.add(komut());
+            return govde;
+        }
+
+        private BeyKaAst.Stmt komut() {
+            int kind = b.getInt();
+            int line = b.getInt();
+            int column = b.getInt();
+            switch (kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.Type tip = BeyKaAst.Type.values()[b.getInt()];
+                    String ad = metinOku(b);
+                    return new BeyKaAst.DegiskenTanimi(tip, ad, ifade(), line, column);
+                }
+                case BeyKaAst.ATAMA: {
+                    String ad = metinOku(b);
+                    return new BeyKaAst.Atama(ad, ifade(), line, column);
+                }
+                case BeyKaAst.ELEMAN_ATAMA: {
+                    String ad = metinOku(b);
+                    BeyKaAst.Expr indeks = ifade();
+                    return new BeyKaAst.ElemanAtama(ad, indeks, ifade(), line, column);
+                }
+                case BeyKaAst.YAZDIRMA:
+                    return new BeyKaAst.Yazdirma(ifade(), line, column);
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Expr kosul = ifade();
+                    return new BeyKaAst.Eger(kosul, blok(), line, column);
+                }
+                case BeyKaAst.DONGU: {
+                    BeyKaAst.Expr kosul = ifade();
+                    return new BeyKaAst.Dongu(kosul, blok(), line, column);
+                }
+                case BeyKaAst.PARALEL_DONGU: {
+                    String degisken = metinOku(b);
+                    BeyKaAst.Expr bas = ifade();
+                    BeyKaAst.Expr son = ifade();
+                    int n = sayi(b, 8);
+                    List<String> adlar = new ArrayList<>(n);
+                    int[] turler = new int[n];
+                    for (int i = 0; i < n; i++) {
+                        adlar.add(metinOku(b));
+                        turler[i] = b.getInt();
+                    }
+                    return new BeyKaAst.ParalelDongu(degisken, bas, son, adlar, turler, blok(), line, column);
+                }
+                case BeyKaAst.DON:
+                    return new BeyKaAst.Don(ifade(), line, column);
+                case BeyKaAst.DURDUR:
+                case BeyKaAst.DEVAM:
+                    return new BeyKaAst.DonguKontrol(kind, line, column);
+                default:
+                    throw new IllegalStateException("Beklenmeyen komut türü: " + kind);
+            }
+        }
+
+        private BeyKaAst.Expr ifade() {
+            int kind = b.getInt();
+            if (kind == YOK) return null;
+            int line = b.getInt();
+            int column = b.getInt();
+            switch (kind) {
+                case BeyKaAst.SABIT: {
+                    Object v;
+                    switch (b.getInt()) {
+                        case SABIT_TAM: v = b.getInt(); break;
+                        case SABIT_ONDALIK: v = b.getDouble(); break;
+                        default: v = metinOku(b);
+                    }
+                    return new BeyKaAst.Sabit(v, line, column);
+                }
+                case BeyKaAst.DEGISKEN:
+                    return new BeyKaAst.Degisken(metinOku(b), line, column);
+                case BeyKaAst.IKILI_ISLEM: {
+                    int op = b.getInt();
+                    BeyKaAst.Expr sol = ifade();
+                    return new BeyKaAst.IkiliIslem(op, sol, ifade(), line, column);
+                }
+                case BeyKaAst.KARSILASTIRMA: {
+                    int op = b.getInt();
+                    BeyKaAst.Expr sol = ifade();
+                    return new BeyKaAst.Karsilastirma(op, sol, ifade(), line, column);
+                }
+                case BeyKaAst.MANTIKSAL: {
+                    int op = b.getInt();
+                    BeyKaAst.Expr sol = ifade();
+                    return new BeyKaAst.Mantiksal(op, sol, ifade(), line, column);
+                }
+                case BeyKaAst.FONKSIYON_CAGRI: {
+                    String ad = metinOku(b);
+                    int n = sayi(b, 4);
+                    List<BeyKaAst.Expr> argumanlar = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) argumanlar.add(ifade());
+                    return new BeyKaAst.FonksiyonCagri(ad, argumanlar, line, column);
+                }
+                case BeyKaAst.DIZI_SABITI: {
+                    int tip = b.getInt();
+                    int n = sayi(b, 4);
+                    List<BeyKaAst.Expr> elemanlar = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) elemanlar.add(ifade());
+                    return new BeyKaAst.DiziSabiti(tip != YOK ? BeyKaAst.Type.values()[tip] : null, elemanlar, line, column);
+                }
+                case BeyKaAst.DIZI_ERISIM: {
+                    BeyKaAst.Expr dizi = ifade();
+                    return new BeyKaAst.DiziErisim(dizi, ifade(), line, column);
+                }
+                default:
+                    throw new IllegalStateException("Beklenmeyen ifade türü: " + kind);
+            }
+        }
+    }
+}
@@ -0,0 +1,470 @@
+import java.util.*;
+
+/**
+ * BeyKaCompiler.java
+ *
+ * Program ağacını (BeyKaAst) BeyKaVM'in çalıştırdığı yığın tabanlı bytecode'a indirger.
+ * Ana program kod dizisinin başına, kullanıcı fonksiyonları ardına yerleştirilir.
+ * Fonksiyon çağrıları derleme sırasında fonksiyon tablosundaki indekse çözülür.
+ */
+public class BeyKaCompiler {
+    private final BeyKaAst.Program ast;
+    private final boolean profil; // Her komutun başına LINE yazılır (--profile)
+
+    private int[] code = new int[256];
+    private int[] lines = new int[256];
+    private int size = 0;
+
+    private final List<Object> constants = new ArrayList<>();
+    private final Map<Object, Integer> constantIndex = new HashMap<>();
+    private final List<BeyKaBytecode.Paralel> paraleller = new ArrayList<>();
+
+    // Derlenmekte olan fonksiyonun durumu
+    private int depth;
+    private int maxDepth;
+    private int loopCount;
+    private List<Integer> durdurAtlamalari; // En içteki döngünün durdur JUMP'ları (döngü sonuna yamalanır)
+    private List<Integer> devamAtlamalari;  // En içteki döngünün devam JUMP'ları (LOOP_GUARD'a yamalanır)
+    private List<int[]> paralelGovdeleri;   // Fonksiyondaki paralel gövdeler: {paralel indeksi, giriş, son}
+    private List<BeyKaAst.ParalelDongu> paralelDugumleri; // paralelGovdeleri ile aynı sırada
+
+    public BeyKaCompiler(BeyKaAst.Program ast) {
+        this(ast, false);
+    }
+
+    /** profil açıksa her komutun başına, VM'in satır sayacını artıran LINE komutu eklenir. */
+    public BeyKaCompiler(BeyKaAst.Program ast, boolean profil) {
+        this.ast = ast;
+        this.profil = profil;
+    }
+
+    /** Programın tamamını derler. */
+    public BeyKaBytecode.Program compile() {
+        // Fonksiyon indeksleri ve çağrı hedefleri BeyKaResolver'dan gelir.
+        List<BeyKaAst.FonksiyonTanimi> tanimlar = new ArrayList<>(ast.fonksiyonlar.values());
+
+        BeyKaBytecode.Function main = compileFunction("<ana>", new String[0], ast.slotAdlari, ast.komutlar, BeyKaBytecode.HALT);
+        BeyKaBytecode.Function[] functions = new BeyKaBytecode.Function[tanimlar.size()];
+        for (int i = 0; i < tanimlar.size(); i++) {
+            BeyKaAst.FonksiyonTanimi f = tanimlar.get(i);
+            functions[i] = compileFunction(f.ad, f.parametreler.toArray(new String[0]), f.slotAdlari, f.govde, BeyKaBytecode.RETURN);
+        }
+
+        BeyKaBytecode.Program program = new BeyKaBytecode.Program(Arrays.copyOf(code, size), Arrays.copyOf(lines, size),
+                constants.toArray(), functions, main, paraleller.toArray(new BeyKaBytecode.Paralel[0]));
+        program.kaynak = ast.kaynak;
+        return program;
+    }
+
+    /** Bir gövdeyi derler; sona düşen akış için 0 döndüren (veya programı bitiren) komut ekler. */
+    private BeyKaBytecode.Function compileFunction(String name, String[] params, String[] slotAdlari,
+                                                   List<BeyKaAst.Stmt> govde, int sonKomut) {
+        int entry = size;
+        depth = 0;
+        maxDepth = 0;
+        loopCount = 0;
+        paralelGovdeleri = new ArrayList<>();
+        paralelDugumleri = new ArrayList<>();
+        compileBlok(govde);
+        int line = govde.isEmpty() ? 0 : govde.get(govde.size() - 1).line;
+        if (sonKomut == BeyKaBytecode.RETURN) {
+            emit(BeyKaBytecode.CONST, constant(0), line);
+            push();
+        }
+        emit(sonKomut, line);
+        // Paralel gövdeler fonksiyonun çerçevesini kullanır: slotları, sayaç ve yığın ihtiyacı bilinince kaydedilir
+        for (int i = 0; i < paralelGovdeleri.size(); i++) {
+            int[] g = paralelGovdeleri.get(i);
+            BeyKaAst.ParalelDongu p = paralelDugumleri.get(i);
+            BeyKaBytecode.Function f = new BeyKaBytecode.Function(name + "/paralel:" + p.line, new String[0],
+                    slotAdlari, g[1], g[2], loopCount, maxDepth);
+            paraleller.set(g[0], new BeyKaBytecode.Paralel(f, p.slot, p.sonSlot, p.indirgemeSlotlari,
+                    p.indirgemeTurleri, p.indirgemeAdlari));
+        }
+        return new BeyKaBytecode.Function(name, params, slotAdlari, entry, size, loopCount, maxDepth);
+    }
+
+    private void compileBlok(List<BeyKaAst.Stmt> govde) {
+        for (BeyKaAst.Stmt komut : govde) {
+            compileKomut(komut);
+        }
+    }
+
+    private void compileKomut(BeyKaAst.Stmt komut) {
+        if (profil) emit(BeyKaBytecode.LINE, komut.line, komut.line);
+        switch (komut.kind) {
+            case BeyKaAst.DEGISKEN_TANIMI: {
+                BeyKaAst.DegiskenTanimi tanim = (BeyKaAst.DegiskenTanimi) komut;
+                // Yeniden tanım hatası, yorumlayıcıdaki gibi değerin hatalarından önce bildirilir
+                emit(BeyKaBytecode.DECLARE, tanim.slot, tanim.tip.ordinal(), tanim.line);
+                compileIfade(tanim.deger);
+                if (tanim.kontrolsuz) {
+                    emit(BeyKaBytecode.STORE_FAST, tanim.slot, tanim.line);
+                } else {
+                    emit(BeyKaBytecode.INIT, tanim.slot, tanim.tip.ordinal(), tanim.line);
+                }
+                pop(1);
+                break;
+            }
+            case BeyKaAst.ATAMA: {
+                BeyKaAst.Atama atama = (BeyKaAst.Atama) komut;
+                compileIfade(atama.deger);
+                emit(atama.kontrolsuz ? BeyKaBytecode.STORE_FAST : BeyKaBytecode.STORE, atama.slot, atama.line);
+                pop(1);
+                break;
+            }
+            case BeyKaAst.ELEMAN_ATAMA: {
+                BeyKaAst.ElemanAtama atama = (BeyKaAst.ElemanAtama) komut;
+                compileIfade(atama.indeks);
+                compileIfade(atama.deger);
+                emit(BeyKaBytecode.STORE_INDEX, atama.slot, atama.line);
+                pop(2);
+                break;
+            }
+            case BeyKaAst.YAZDIRMA:
+                compileIfade(((BeyKaAst.Yazdirma) komut).deger);
+                emit(BeyKaBytecode.PRINT, komut.line);
+                pop(1);
+                break;
+            case BeyKaAst.EGER: {
+                BeyKaAst.Eger eger = (BeyKaAst.Eger) komut;
+                compileKosul(eger.kosul);
+                int jump = emitJump(BeyKaBytecode.JUMP_IF_FALSE, eger.line);
+                pop(1);
+                compileBlok(eger.govde);
+                patch(jump, size);
+                break;
+            }
+            case BeyKaAst.DONGU:
+                compileIken((BeyKaAst.Dongu) komut);
+                break;
+            case BeyKaAst.PARALEL_DONGU:
+                compileParalel((BeyKaAst.ParalelDongu) komut);
+                break;
+            case BeyKaAst.DON:
+                compileIfade(((BeyKaAst.Don) komut).deger);
+                emit(BeyKaBytecode.RETURN, komut.line);
+                pop(1);
+                break;
+            case BeyKaAst.DURDUR:
+                durdurAtlamalari.add(emitJump(BeyKaBytecode.JUMP, komut.line));
+                break;
+            case BeyKaAst.DEVAM:
+                devamAtlamalari.add(emitJump(BeyKaBytecode.JUMP, komut.line));
+                break;
+            default:
+                throw new IllegalStateException("Beklenmeyen komut türü: " + komut.kind);
+        }
+    }
+
+    /**
+     * döngü (kosul) { govde } şu şekilde derlenir:
+     *   LOOP_INIT n; bas: kosul; JUMP_IF_FALSE son; govde; koruma: LOOP_GUARD n son; JUMP bas; son:
+     * durdur "JUMP son", devam "JUMP koruma" olur; böylece devam edilen turlar da sayılır.
+     */
+    private void compileIken(BeyKaAst.Dongu dongu) {
+        List<Integer> disDurdur = durdurAtlamalari, disDevam = devamAtlamalari;
+        durdurAtlamalari = new ArrayList<>();
+        devamAtlamalari = new ArrayList<>();
+        int sayac = loopCount++;
+        emit(BeyKaBytecode.LOOP_INIT, sayac, dongu.line);
+        int bas = size;
+        compileKosul(dongu.kosul);
+        int cikis = emitJump(BeyKaBytecode.JUMP_IF_FALSE, dongu.line);
+        pop(1);
+        compileBlok(dongu.govde);
+        int koruma = size;
+        emit(BeyKaBytecode.LOOP_GUARD, sayac, 0, dongu.line);
+        int guard = size - 1;
+        emit(BeyKaBytecode.JUMP, bas, dongu.line);
+        patch(cikis, size);
+        patch(guard, size);
+        for (int atlama : durdurAtlamalari) patch(atlama, size);
+        for (int atlama : devamAtlamalari) patch(atlama, koruma);
+        durdurAtlamalari = disDurdur;
+        devamAtlamalari = disDevam;
+    }
+
+    /**
+     * paralel döngü (i, bas, son) { govde } şu şekilde derlenir:
+     *   bas; son; PARALLEL p sonra;
+     *   govde: LOAD i; LOAD <son>; LT; JUMP_IF_FALSE cik; UNDECLARE (gövdedeki tanımlar);
+     *          govde; artir: i = i + 1; JUMP govde; cik: HALT
+     *   sonra:
+     * Gövde bölgesi yerinde çalışmaz; PARALLEL onu her parçada ayrı bir VM'de HALT'a kadar
+     * çalıştırır. devam "JUMP artir" olur. Tur sayısı bilindiğinden LOOP_GUARD yoktur.
+     */
+    private void compileParalel(BeyKaAst.ParalelDongu p) {
+        compileIfade(p.bas);
+        compileIfade(p.son);
+        int indeks = paraleller.size();
+        paraleller.add(null); // Fonksiyon bitince doldurulur
+        emit(BeyKaBytecode.PARALLEL, indeks, 0, p.line);
+        int sonra = size - 1;
+        pop(2);
+
+        List<Integer> disDurdur = durdurAtlamalari, disDevam = devamAtlamalari;
+        durdurAtlamalari = new ArrayList<>();
+        devamAtlamalari = new ArrayList<>();
+        int govde = size;
+        emit(BeyKaBytecode.LOAD, p.slot, p.line);
+        emit(BeyKaBytecode.LOAD, p.sonSlot, p.line);
+        push();
+        push();
+        emit(BeyKaBytecode.LT, p.line);
+        pop(1);
+        int cikis = emitJump(BeyKaBytecode.JUMP_IF_FALSE, p.line);
+        pop(1);
+        for (int slot : p.yerelSlotlar) {
+            emit(BeyKaBytecode.UNDECLARE, slot, p.line);
+        }
+        compileBlok(p.govde);
+        int artir = size;
+        emit(BeyKaBytecode.LOAD, p.slot, p.line);
+        emit(BeyKaBytecode.CONST, constant(1), p.line);
+        push();
+        push();
+        emit(BeyKaBytecode.ADD, p.line);
+        emit(BeyKaBytecode.STORE, p.slot, p.line);
+        pop(2);
+        emit(BeyKaBytecode.JUMP, govde, p.line);
+        patch(cikis, size);
+        for (int atlama : durdurAtlamalari) patch(atlama, size); // Parser izin vermez
+        for (int atlama : devamAtlamalari) patch(atlama, artir);
+        emit(BeyKaBytecode.HALT, p.line);
+        durdurAtlamalari = disDurdur;
+        devamAtlamalari = disDevam;
+
+        paralelGovdeleri.add(new int[] { indeks, govde, size });
+        paralelDugumleri.add(p);
+        patch(sonra, size);
+    }
+
+    /**
+     * Koşulu derler; yığına doğruysa 1, yanlışsa 0 bırakır. ve/veya kısa devre yapar: sol
+     * taraf sonucu belirlerse (ve'de 0, veya'da 1) sağ tarafın kodu atlanır.
+     */
+    private void compileKosul(BeyKaAst.Expr kosul) {
+        switch (kosul.kind) {
+            case BeyKaAst.MANTIKSAL: {
+                BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) kosul;
+                compileKosul(m.sol);
+                int sag = emitJump(BeyKaBytecode.JUMP_IF_FALSE, m.line);
+                pop(1);
+                if (m.op == Token.VE) {
+                    // sol doğru: sonuç sağ taraftır; yanlış: 0
+                    compileKosul(m.sag);
+                    int son = emitJump(BeyKaBytecode.JUMP, m.line);
+                    patch(sag, size);
+                    emit(BeyKaBytecode.CONST, constant(0), m.line);
+                    patch(son, size);
+                } else {
+                    // sol doğru: 1; yanlış: sonuç sağ taraftır
+                    emit(BeyKaBytecode.CONST, constant(1), m.line);
+                    int son = emitJump(BeyKaBytecode.JUMP, m.line);
+                    patch(sag, size);
+                    compileKosul(m.sag);
+                    patch(son, size);
+                }
+                break;
+            }
+            case BeyKaAst.KARSILASTIRMA: {
+                BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) kosul;
+                compileIfade(k.sol);
+                compileIfade(k.sag);
+                int opcode = karsilastirmaOpcode(k.op);
+                if (opcode < 0) {
+                    // Bilinmeyen operatör (parse hatası): işlenenler hesaplanır, sonuç yanlıştır.
+                    emit(BeyKaBytecode.POP, k.line);
+                    emit(BeyKaBytecode.POP, k.line);
+                    pop(2);
+                    emit(BeyKaBytecode.CONST, constant(0), k.line);
+                    push();
+                } else {
+                    emit(opcode, k.line);
+                    pop(1);
+                }
+                break;
+            }
+            default:
+                // Karşılaştırma olmayan koşul: ifade hesaplanır, sonuç her zaman yanlıştır.
+                compileIfade(kosul);
+                emit(BeyKaBytecode.POP, kosul.line);
+                pop(1);
+                emit(BeyKaBytecode.CONST, constant(0), kosul.line);
+                push();
+        }
+    }
+
+    /** İfadeyi derler; yığına tek bir değer bırakır. */
+    private void compileIfade(BeyKaAst.Expr ifade) {
+        switch (ifade.kind) {
+            case BeyKaAst.SABIT:
+                emit(BeyKaBytecode.CONST, constant(((BeyKaAst.Sabit) ifade).deger), ifade.line);
+                push();
+                break;
+            case BeyKaAst.DEGISKEN:
+                emit(BeyKaBytecode.LOAD, ((BeyKaAst.Degisken) ifade).slot, ifade.line);
+                push();
+                break;
+            case BeyKaAst.IKILI_ISLEM: {
+                BeyKaAst.IkiliIslem islem = (BeyKaAst.IkiliIslem) ifade;
+                compileIfade(islem.sol);
+                compileIfade(islem.sag);
+                emit(islem.tamIslem ? tamOpcode(islem.op) : aritmetikOpcode(islem.op), islem.line);
+                pop(1);
+                break;
+            }
+            case BeyKaAst.FONKSIYON_CAGRI: {
+                BeyKaAst.FonksiyonCagri cagri = (BeyKaAst.FonksiyonCagri) ifade;
+                if (BeyKaGorevler.baslatma(cagri)) {
+                    // başlat(f(...)): f'nin argümanları burada hesaplanır, çağrı görevde yapılır
+                    BeyKaAst.FonksiyonCagri ic = (BeyKaAst.FonksiyonCagri) cagri.argumanlar.get(0);
+                    for (BeyKaAst.Expr arg : ic.argumanlar) {
+                        compileIfade(arg);
+                    }
+                    emit(BeyKaBytecode.SPAWN, ic.hedef.indeks, ic.argumanlar.size(), cagri.line);
+                    pop(ic.argumanlar.size());
+                    push();
+                    break;
+                }
+                if (BeyKaGorevler.bekleme(cagri)) {
+                    compileIfade(cagri.argumanlar.get(0));
+                    emit(BeyKaBytecode.AWAIT, cagri.line);
+                    break;
+                }
+                if (cagri.hedef == null && !BeyKaInterpreter.argumanKullanir(cagri)) {
+                    // Argümanını kullanmayan yerleşik: argüman hesaplanmaz
+                    emit(BeyKaBytecode.BUILTIN, constant(cagri.ad), 0, cagri.line);
+                    push();
+                    break;
+                }
+                for (BeyKaAst.Expr arg : cagri.argumanlar) {
+                    compileIfade(arg);
+                }
+                int argc = cagri.argumanlar.size();
+                if (cagri.hedef != null) {
+                    emit(BeyKaBytecode.CALL, cagri.hedef.indeks, argc, cagri.line);
+                } else {
+                    emit(BeyKaBytecode.BUILTIN, constant(cagri.ad), argc, cagri.line);
+                }
+                pop(argc);
+                push();
+                break;
+            }
+            case BeyKaAst.KARSILASTIRMA:
+            case BeyKaAst.MANTIKSAL: {
+                // İfade içinde koşul: doğruysa 1, yanlışsa 0
+                compileKosul(ifade);
+                int yanlis = emitJump(BeyKaBytecode.JUMP_IF_FALSE, ifade.line);
+                pop(1);
+                emit(BeyKaBytecode.CONST, constant(1), ifade.line);
+                int son = emitJump(BeyKaBytecode.JUMP, ifade.line);
+                patch(yanlis, size);
+                emit(BeyKaBytecode.CONST, constant(0), ifade.line);
+                patch(son, size);
+                push();
+                break;
+            }
+            case BeyKaAst.DIZI_SABITI: {
+                BeyKaAst.DiziSabiti sabit = (BeyKaAst.DiziSabiti) ifade;
+                for (BeyKaAst.Expr e : sabit.elemanlar) {
+                    compileIfade(e);
+                }
+                emit(BeyKaBytecode.NEW_ARRAY, sabit.eleman != null ? sabit.eleman.ordinal() : -1,
+                        sabit.elemanlar.size(), sabit.line);
+                pop(sabit.elemanlar.size());
+                push();
+                break;
+            }
+            case BeyKaAst.DIZI_ERISIM: {
+                BeyKaAst.DiziErisim erisim = (BeyKaAst.DiziErisim) ifade;
+                compileIfade(erisim.dizi);
+                compileIfade(erisim.indeks);
+                emit(BeyKaBytecode.INDEX, erisim.line);
+                pop(1);
+                break;
+            }
+            default:
+                throw new IllegalStateException("Beklenmeyen ifade türü: " + ifade.kind);
+        }
+    }
+
+    private static int aritmetikOpcode(int op) {
+        switch (op) {
+            case Token.TOPLA: return BeyKaBytecode.ADD;
+            case Token.CIKAR: return BeyKaBytecode.SUB;
+            case Token.CARP:  return BeyKaBytecode.MUL;
+            case Token.BOL:   return BeyKaBytecode.DIV;
+            default:          return BeyKaBytecode.MOD;
+        }
+    }
+
+    /** Tamsayı işlenenli (BeyKaTypeChecker'ın kanıtladığı) + - * işleminin opcode'u. */
+    private static int tamOpcode(int op) {
+        switch (op) {
+            case Token.TOPLA: return BeyKaBytecode.IADD;
+            case Token.CIKAR: return BeyKaBytecode.ISUB;
+            default:          return BeyKaBytecode.IMUL;
+        }
+    }
+
+    /** Karşılaştırma token'ının opcode'u; bilinmeyen operatör için -1. */
+    private static int karsilastirmaOpcode(int op) {
+        switch (op) {
+            case Token.ESIT_ESIT:  return BeyKaBytecode.EQ;
+            case Token.ESIT_DEGIL: return BeyKaBytecode.NE;
+            case Token.KUCUK:      return BeyKaBytecode.LT;
+            case Token.KUCUK_ESIT: return BeyKaBytecode.LE;
+            case Token.BUYUK:      return BeyKaBytecode.GT;
+            case Token.BUYUK_ESIT: return BeyKaBytecode.GE;
+            default:               return -1;
+        }
+    }
+
+    // --- Yardımcı fonksiyonlar ---
+    private int constant(Object value) {
+        Integer idx = constantIndex.get(value);
+        if (idx == null) {
+            idx = constants.size();
+            constants.add(value);
+            constantIndex.put(value, idx);
+        }
+        return idx;
+    }
+    private void emit(int op, int line) {
+        word(op, line);
+    }
+    private void emit(int op, int a, int line) {
+        word(op, line);
+        word(a, line);
+    }
+    private void emit(int op, int a, int b, int line) {
+        word(op, line);
+        word(a, line);
+        word(b, line);
+    }
+    /** Hedefi sonradan doldurulacak bir atlama yazar, operandın adresini döndürür. */
+    private int emitJump(int op, int line) {
+        emit(op, -1, line);
+        return size - 1;
+    }
+    private void patch(int operand, int target) {
+        code[operand] = target;
+    }
+    private void word(int w, int line) {
+        if (size == code.length) {
+            code = Arrays.copyOf(code, size * 2);
+            lines = Arrays.copyOf(lines, size * 2);
+        }
+        code[size] = w;
+        lines[size] = line;
+        size++;
+    }
+    private void push() {
+        if (++depth > maxDepth) maxDepth = depth;
+    }
+    private void pop(int n) {
+        depth -= n;
+    }
+}
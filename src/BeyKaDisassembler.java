@@ -0,0 +1,104 @@
+import java.util.*;
+
+/**
+ * BeyKaDisassembler.java
+ *
+ * Derlenmiş BeyKa bytecode'unu okunabilir metne çevirir.
+ * Her satırda adres, kaynak satırı, opcode adı, operandlar ve (varsa) operandın
+ * sabit havuzundaki karşılığı gösterilir. Üretilen kodu kontrol etmek için kullanılır.
+ */
+public class BeyKaDisassembler {
+    private final BeyKaBytecode.Program program;
+
+    public BeyKaDisassembler(BeyKaBytecode.Program program) {
+        this.program = program;
+    }
+
+    /** Programın tamamını (ana program ve tüm fonksiyonlar) metne çevirir. */
+    public String disassemble() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== SABİT HAVUZU ===\n");
+        for (int i = 0; i < program.constants.length; i++) {
+            sb.append(String.format("#%-4d %s%n", i, literal(program.constants[i])));
+        }
+        disassembleFunction(sb, program.main);
+        for (BeyKaBytecode.Function f : program.functions) {
+            disassembleFunction(sb, f);
+        }
+        return sb.toString();
+    }
+
+    private void disassembleFunction(StringBuilder sb, BeyKaBytecode.Function f) {
+        sb.append(String.format("%n=== %s(%s) [slot: %d, döngü: %d, yığın: %d] ===%n",
+                f.name, String.join(", ", f.parametreler), f.slotAdlari.length, f.loopCount, f.maxStack));
+        int pc = f.entry;
+        while (pc < f.end) {
+            pc = disassembleInstruction(sb, f, pc);
+        }
+    }
+
+    /** Tek bir komutu yazar ve bir sonraki komutun adresini döndürür. */
+    private int disassembleInstruction(StringBuilder sb, BeyKaBytecode.Function f, int pc) {
+        int[] code = program.code;
+        int op = code[pc];
+        if (op < 0 || op >= BeyKaBytecode.NAMES.length) {
+            sb.append(String.format("%04d  [%3d] ??? %d%n", pc, program.lines[pc], op));
+            return pc + 1;
+        }
+        int operands = BeyKaBytecode.OPERANDS[op];
+        StringBuilder line = new StringBuilder();
+        line.append(String.format("%04d  [%3d] %-14s", pc, program.lines[pc], BeyKaBytecode.NAMES[op]));
+        for (int i = 1; i <= operands; i++) {
+            line.append(String.format(" %4d", code[pc + i]));
+        }
+        String yorum = yorum(f, op, pc);
+        if (yorum != null) {
+            line.append("    ; ").append(yorum);
+        }
+        sb.append(line.toString().stripTrailing()).append('\n');
+        return pc + 1 + operands;
+    }
+
+    /** Operandların anlamını açıklayan yorum. */
+    private String yorum(BeyKaBytecode.Function f, int op, int pc) {
+        int[] code = program.code;
+        switch (op) {
+            case BeyKaBytecode.CONST:
+                return literal(program.constants[code[pc + 1]]);
+            case BeyKaBytecode.LOAD:
+            case BeyKaBytecode.STORE:
+            case BeyKaBytecode.STORE_FAST:
+            case BeyKaBytecode.UNDECLARE:
+            case BeyKaBytecode.STORE_INDEX:
+                return f.slotAdlari[code[pc + 1]];
+            case BeyKaBytecode.DECLARE:
+            case BeyKaBytecode.INIT:
+                return BeyKaAst.Type.values()[code[pc + 2]] + " " + f.slotAdlari[code[pc + 1]];
+            case BeyKaBytecode.CALL:
+            case BeyKaBytecode.SPAWN:
+                return program.functions[code[pc + 1]].name;
+            case BeyKaBytecode.BUILTIN:
+                return String.valueOf(program.constants[code[pc + 1]]);
+            case BeyKaBytecode.JUMP:
+            case BeyKaBytecode.JUMP_IF_FALSE:
+                return "-> " + String.format("%04d", code[pc + 1]);
+            case BeyKaBytecode.PARALLEL: {
+                BeyKaBytecode.Paralel p = program.paraleller[code[pc + 1]];
+                return f.slotAdlari[p.degisken] + ", gövde " + String.format("%04d", p.govde.entry)
+                        + ", sonra -> " + String.format("%04d", code[pc + 2]);
+            }
+            case BeyKaBytecode.LOOP_GUARD:
+                return "çıkış -> " + String.format("%04d", code[pc + 2]);
+            case BeyKaBytecode.NEW_ARRAY:
+                return (code[pc + 1] >= 0 ? BeyKaAst.Type.values()[code[pc + 1]] : "?") + " x " + code[pc + 2];
+            default:
+                return null;
+        }
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof String s) return "\"" + s + "\"";
+        if (value == null) return "null";
+        return value + " (" + value.getClass().getSimpleName() + ")";
+    }
+}
@@ -0,0 +1,174 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BeyKaDizi.java
+ *
+ * dizi tipinin çalışma zamanı değeri. Motorlarda NESNE etiketli değerin referansı olarak
+ * taşınır; elemanlar ise kutulanmadan eleman tipine göre tek bir ilkel dizide tutulur:
+ * tamsayı dizisi long[] (değer BeyKaValue'daki gibi int olarak), ondalıklı dizisi double[],
+ * kelime dizisi String[]. Okuma ve yazma indeksi dizinin sınırlarıyla denetlenir; uzunluğa
+ * eşit indekse yazmak elemanı sona ekler, kapasite dolunca iki katına çıkarılır.
+ *
+ * Dizi atama ve fonksiyon argümanı olarak kopyalanmaz, aynı diziyi gösterir. Eşzamanlı
+ * erişime karşı kilitlenmez; bir dizi hiçbir zaman iki iş parçacığında birden kullanılmaz:
+ * görevlere (BeyKaGorevler) ve paralel döngünün her parçasına (BeyKaParalel) kopyası geçer.
+ */
+public final class BeyKaDizi {
+    /** indeks() değeri tamsayı değilse döner. */
+    static final long YOK = Long.MIN_VALUE;
+    static final String INDEKS_HATASI = "Dizi indeksi tamsayı olmalı";
+    static final String DIZI_DEGIL = "Dizi olmayan değer indekslendi";
+
+    private static final int ILK_KAPASITE = 8;
+
+    final BeyKaAst.Type tip; // Eleman tipi: TAMSAYI, ONDALIKLI veya KELIME
+    private long[] tamlar;
+    private double[] ondaliklar;
+    private String[] kelimeler;
+    int uzunluk;
+
+    BeyKaDizi(BeyKaAst.Type tip, int kapasite) {
+        this.tip = tip;
+        kapasite = Math.max(kapasite, ILK_KAPASITE);
+        switch (tip) {
+            case TAMSAYI: tamlar = new long[kapasite]; break;
+            case ONDALIKLI: ondaliklar = new double[kapasite]; break;
+            default: kelimeler = new String[kapasite];
+        }
+    }
+
+    /**
+     * [e1, e2, ...] sabitinden dizi oluşturur; değerler tags/bits/refs dizilerinin bas'tan
+     * başlayan n elemanıdır. eleman null ise tip değerlerden çıkarılır: hepsi tamsayıysa
+     * tamsayı, sayılar arasında ondalıklı varsa ondalıklı, hepsi kelimeyse kelime; boş sabit
+     * tamsayı dizisidir. Uymayan değerde hata eklenir ve o eleman atlanır.
+     */
+    static BeyKaDizi sabit(BeyKaAst.Type eleman, byte[] tags, long[] bits, Object[] refs, int bas, int n,
+                           List<String> errors) {
+        if (eleman == null) eleman = cikar(tags, refs, bas, n);
+        BeyKaDizi d = new BeyKaDizi(eleman, n);
+        for (int k = bas; k < bas + n; k++) {
+            String hata = d.yaz(d.uzunluk, tags[k], bits[k], refs[k]);
+            if (hata != null) errors.add(hata + ": [...]");
+        }
+        return d;
+    }
+
+    private static BeyKaAst.Type cikar(byte[] tags, Object[] refs, int bas, int n) {
+        boolean sayi = false, ondalik = false, kelime = false;
+        for (int k = bas; k < bas + n; k++) {
+            if (tags[k] == BeyKaValue.NESNE) kelime |= !(refs[k] instanceof BeyKaDizi);
+            else sayi = true;
+            ondalik |= tags[k] == BeyKaValue.ONDALIK;
+        }
+        if (kelime && !sayi) return BeyKaAst.Type.KELIME;
+        return ondalik ? BeyKaAst.Type.ONDALIKLI : BeyKaAst.Type.TAMSAYI;
+    }
+
+    /** İndeks değerinin tamsayı karşılığı; tam değerli ondalıklı kabul edilir, değilse YOK. */
+    static long indeks(int tag, long bits) {
+        if (tag == BeyKaValue.TAM) return (int) bits;
+        if (tag == BeyKaValue.ONDALIK) {
+            double d = Double.longBitsToDouble(bits);
+            if (BeyKaValue.tamMi(d) && d >= Integer.MIN_VALUE && d <= Integer.MAX_VALUE) return (long) d;
+        }
+        return YOK;
+    }
+
+    /** Okuma indeksi sınırlar içinde değilse hata mesajı; geçerliyse null. */
+    String sinirHatasi(long i) {
+        return i >= 0 && i < uzunluk ? null : "Dizi sınırı aşıldı: indeks " + i + ", uzunluk " + uzunluk;
+    }
+
+    /** Elemanların değer etiketi. */
+    int etiket() {
+        switch (tip) {
+            case TAMSAYI: return BeyKaValue.TAM;
+            case ONDALIKLI: return BeyKaValue.ONDALIK;
+            default: return BeyKaValue.NESNE;
+        }
+    }
+
+    /** i. elemanın ham bitleri (kelime dizisinde 0). İndeks denetlenmiş olmalıdır. */
+    long bitler(int i) {
+        switch (tip) {
+            case TAMSAYI: return tamlar[i];
+            case ONDALIKLI: return BeyKaValue.ondalik(ondaliklar[i]);
+            default: return 0;
+        }
+    }
+
+    /** i. elemanın referansı (yalnızca kelime dizisinde). İndeks denetlenmiş olmalıdır. */
+    Object ref(int i) {
+        return kelimeler != null ? kelimeler[i] : null;
+    }
+
+    /**
+     * i. elemana yazar; i uzunluğa eşitse eleman sona eklenir. Değer eleman tipine çevrilir:
+     * tamsayı dizisine ondalıklı değer tamsayıya kesilir, ondalıklı dizisine tamsayı ondalıklı
+     * olur; kelime dizisine yalnızca kelime yazılır. Hata mesajını, başarılıysa null döndürür.
+     */
+    String yaz(long i, int tag, long bits, Object ref) {
+        if (i < 0 || i > uzunluk) return sinirHatasi(i);
+        boolean sayi = tag != BeyKaValue.NESNE;
+        if (sayi == (tip == BeyKaAst.Type.KELIME) || (!sayi && ref instanceof BeyKaDizi)) {
+            return "Tip uyuşmazlığı";
+        }
+        int k = (int) i;
+        if (k == uzunluk) buyut();
+        switch (tip) {
+            case TAMSAYI:
+                tamlar[k] = tag == BeyKaValue.TAM ? (int) bits : (int) Double.longBitsToDouble(bits);
+                break;
+            case ONDALIKLI:
+                ondaliklar[k] = BeyKaValue.sayi(tag, bits);
+                break;
+            default:
+                kelimeler[k] = String.valueOf(ref);
+        }
+        return null;
+    }
+
+    /** Aynı tip ve elemanlarla bağımsız bir kopya; görevlere geçen diziler için (BeyKaGorevler). */
+    BeyKaDizi kopya() {
+        BeyKaDizi k = new BeyKaDizi(tip, uzunluk);
+        switch (tip) {
+            case TAMSAYI: System.arraycopy(tamlar, 0, k.tamlar, 0, uzunluk); break;
+            case ONDALIKLI: System.arraycopy(ondaliklar, 0, k.ondaliklar, 0, uzunluk); break;
+            default: System.arraycopy(kelimeler, 0, k.kelimeler, 0, uzunluk);
+        }
+        k.uzunluk = uzunluk;
+        return k;
+    }
+
+    /** Sona eklenecek yer yoksa kapasiteyi iki katına çıkarır, sonra uzunluğu bir artırır. */
+    private void buyut() {
+        switch (tip) {
+            case TAMSAYI:
+                if (uzunluk == tamlar.length) tamlar = Arrays.copyOf(tamlar, uzunluk * 2);
+                break;
+            case ONDALIKLI:
+                if (uzunluk == ondaliklar.length) ondaliklar = Arrays.copyOf(ondaliklar, uzunluk * 2);
+                break;
+            default:
+                if (uzunluk == kelimeler.length) kelimeler = Arrays.copyOf(kelimeler, uzunluk * 2);
+        }
+        uzunluk++;
+    }
+
+    /** yaz(...) çıktısı: [1, 2, 3]; elemanlar yaz'daki gibi biçimlenir. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < uzunluk; i++) {
+            if (i > 0) sb.append(", ");
+            switch (tip) {
+                case TAMSAYI: sb.append((int) tamlar[i]); break;
+                case ONDALIKLI: sb.append(ondaliklar[i]); break;
+                default: sb.append(kelimeler[i]);
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * BeyKaGorevler.java
+ *
+ * başlat/bekle ile dil seviyesinde eşzamanlılık:
+ *   tamsayı g = başlat(f(a, b));   f'yi sanal iş parçacığında (virtual thread) başlatır
+ *   tamsayı s = bekle(g);          f bitene kadar bekler ve dönüş değerini verir
+ * başlat'ın argümanı bir kullanıcı fonksiyonu çağrısı olmalıdır; çağrının argümanları
+ * başlatanın iş parçacığında hesaplanır, görev numarası (tamsayı) hemen döner. Böylece oku
+ * gibi G/Ç bekleyen çağrılar sırayla değil üst üste çalışır.
+ *
+ * Her görev kendi yorumlayıcısında (veya VM'inde), kendi slotları ve hata listesiyle çalışır;
+ * fonksiyonlar yalnızca parametrelerini ve yerel değişkenlerini gördüğünden görevler arasında
+ * paylaşılan değişken yoktur. Başka yerde referansla paylaşılan diziler de görev sınırında
+ * kopyalanır (ayri): argüman olarak görevin, bekle'nin sonucu olarak bekleyenin kendi kopyası
+ * olur. Görevin hataları bekle'de bekleyenin hata listesine eklenir;
+ * beklenmemiş görevler program sonunda başlatılma sırasıyla beklenir. yaz çıktısı ortak
+ * kanala satır satır yazılır. Görev tablosu bir programın ana motoru ve bütün görevleri
+ * arasında ortaktır.
+ */
+final class BeyKaGorevler {
+    static final String BASLAT = "başlat";
+    static final String BEKLE = "bekle";
+
+    /** Görevin gövdesi: fonksiyonu çalıştırıp sonucu görevin sonuç alanlarına yazar. */
+    interface Govde {
+        void calistir(Gorev g);
+    }
+
+    /** Başlatılmış bir görev. Sonuç alanları görev bittikten (is.get) sonra okunur. */
+    static final class Gorev {
+        final List<String> hatalar = new ArrayList<>(); // Yalnızca görevin kendisi yazar
+        private final FutureTask<Void> is;
+        private boolean hatalarAktarildi = false;
+        int tag = BeyKaValue.TAM;
+        long bits;
+        Object ref;
+
+        Gorev(Govde govde) {
+            this.is = new FutureTask<>(() -> govde.calistir(this), null);
+        }
+    }
+
+    private final List<Gorev> gorevler = new ArrayList<>(); // Görev numarası - 1
+    private ExecutorService sanal; // İlk başlat'ta açılır
+
+    /** Dizi değerinin kopyası, diğer değerler aynen; görev sınırını geçen değerler için. */
+    static Object ayri(Object ref) {
+        return ref instanceof BeyKaDizi d ? d.kopya() : ref;
+    }
+
+    /** başlat(f(...)) çağrısı mı: tek argümanı bir kullanıcı fonksiyonu çağrısı olan yerleşik başlat. */
+    static boolean baslatma(BeyKaAst.FonksiyonCagri cagri) {
+        return cagri.hedef == null && cagri.ad.equals(BASLAT) && cagri.argumanlar.size() == 1
+                && cagri.argumanlar.get(0).kind == BeyKaAst.FONKSIYON_CAGRI
+                && ((BeyKaAst.FonksiyonCagri) cagri.argumanlar.get(0)).hedef != null;
+    }
+
+    /** bekle(g) çağrısı mı: tek argümanlı yerleşik bekle. */
+    static boolean bekleme(BeyKaAst.FonksiyonCagri cagri) {
+        return cagri.hedef == null && cagri.ad.equals(BEKLE) && cagri.argumanlar.size() == 1;
+    }
+
+    /** Görevi sanal bir iş parçacığında başlatır ve numarasını döndürür (1'den başlar). */
+    int baslat(Govde govde) {
+        Gorev g = new Gorev(govde);
+        int no;
+        synchronized (gorevler) {
+            if (sanal == null) sanal = Executors.newVirtualThreadPerTaskExecutor();
+            gorevler.add(g);
+            no = gorevler.size();
+            sanal.execute(g.is);
+        }
+        return no;
+    }
+
+    /**
+     * bekle(deger): deger bir görev numarasıysa görev bitene kadar bekler ve görevi döndürür;
+     * görevin hataları ilk beklemede errors'a eklenir. Geçersiz numarada hata ekleyip null döner.
+     */
+    Gorev bekle(int tag, long bits, Object ref, List<String> errors) {
+        Gorev g = null;
+        if (tag == BeyKaValue.TAM) {
+            synchronized (gorevler) {
+                if (bits >= 1 && bits <= gorevler.size()) g = gorevler.get((int) bits - 1);
+            }
+        }
+        if (g == null) {
+            errors.add("Geçersiz görev: " + BeyKaValue.kutula(tag, bits, ref));
+            return null;
+        }
+        try {
+            g.is.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Görev beklenirken kesildi", e);
+        } catch (ExecutionException e) {
+            // Görevde beklenmedik hata: bekleyende de aynı hata olarak görünür
+            if (e.getCause() instanceof RuntimeException r) throw r;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        }
+        synchronized (g) {
+            if (!g.hatalarAktarildi) {
+                errors.addAll(g.hatalar);
+                g.hatalarAktarildi = true;
+            }
+        }
+        return g;
+    }
+
+    /** Program sonunda beklenmemiş görevleri başlatılma sırasıyla bekler ve iş parçacıklarını kapatır. */
+    void hepsiniBekle(List<String> errors) {
+        for (int no = 1; ; no++) {
+            synchronized (gorevler) {
+                if (no > gorevler.size()) {
+                    if (sanal != null) sanal.shutdown();
+                    return;
+                }
+            }
+            bekle(BeyKaValue.TAM, no, null, errors);
+        }
+    }
+}
@@ -0,0 +1,699 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * BeyKaInterpreter.java
+ *
+ * BeyKaParser'ın ürettiği program ağacını (BeyKaAst) doğrudan yürüterek çalıştıran yorumlayıcı.
+ * Değişken tanımlama/atama, koşullu ifadeler, döngüler, kullanıcı ve yerleşik fonksiyon
+ * çağrıları ile tip kontrolünü içerir. Token'lara geri dönülmez; her düğüm yalnızca çalıştırılır.
+ */
+public class BeyKaInterpreter {
+    // Komutların tamamlanma sinyalleri: blok çalıştırıcıları bunları yukarı iletir.
+    // Exception kullanılmaz; dön, durdur ve devam birer dal maliyetindedir.
+    private static final int NORMAL = 0; // Sıradaki komutla devam
+    private static final int DONUS  = 1; // dön: değer sonuç yazmaçlarında, etiketi donusTag'de
+    private static final int DURDUR = 2; // durdur: en içteki döngüden çık
+    private static final int DEVAM  = 3; // devam: en içteki döngünün sıradaki turuna geç
+
+    private final List<BeyKaAst.Stmt> komutlar; // Üst seviye komutlar
+    private final List<String> errors; // Toplanan hata mesajları
+    private final BeyKaJit jit; // Sıcak fonksiyonlar için JIT (kapalıysa null)
+    private BeyKaJit.Entry[] jitEntries; // Fonksiyon indeksine göre JIT kayıtları (akış modunda büyür)
+    private final BeyKaGorevler gorevler; // başlat ile açılan görevler (ana program ve görevleri ortak kullanır)
+    private final BeyKaProfil.Iz profil; // --profile kayıtları (kapalıysa null)
+    private final String kaynak; // Kaynak dosyanın yolu (JFR çağrı olayları için)
+
+    // --- Çağrı yığını ---
+    // Bütün çağrıların yerel değişkenleri aynı dizilerde ardışık durur: her çağrı
+    // [base, base + slot sayısı) aralığını kullanır ve dönüşte bu alan serbest kalır.
+    // Değişkenler BeyKaResolver'ın verdiği slotlarla adreslenir; tipi null olan slot
+    // henüz tanımlanmamış değişkendir. Değerler BeyKaValue modeliyle kutulanmadan tutulur.
+    private BeyKaAst.Type[] slotTypes = new BeyKaAst.Type[64]; // Slot başına değişken tipi
+    private byte[]   slotTags = new byte[64];   // Slot başına değer etiketi
+    private long[]   slotBits = new long[64];   // Slot başına sayısal değer
+    private Object[] slotRefs = new Object[64]; // Slot başına kelime değeri
+    private int base; // Çalışan çağrının ilk slotu
+    private int top;  // İlk boş slot
+
+    // evaluateIfade'nin sonuç yazmaçları: etiket dönüş değeridir, değer buradadır.
+    private long bits;  // Sayısal sonuç (BeyKaValue kodlamasıyla)
+    private Object ref; // Kelime sonucu
+    private int donusTag; // DONUS sinyalinde dönüş değerinin etiketi
+
+    static final int MAX_LOOP_COUNT = 100; // Sonsuz döngü koruması
+
+    /**
+     * Program ağacından yorumlayıcı oluşturur. Çalışma hataları verilen listeye
+     * (genellikle parser'ın hata listesi) eklenir. jit null ise bütün çağrılar yorumlanır.
+     * Program önceden BeyKaResolver ile çözümlenmiş olmalıdır.
+     */
+    public BeyKaInterpreter(BeyKaAst.Program program, List<String> errors, BeyKaJit jit) {
+        this(program, errors, jit, null);
+    }
+
+    /** Profil açıkken (profil null değil) çağrıları ve çalışan komutların satırlarını da kaydeder. */
+    public BeyKaInterpreter(BeyKaAst.Program program, List<String> errors, BeyKaJit jit, BeyKaProfil profil) {
+        this.komutlar = program.komutlar;
+        this.errors = errors;
+        this.jit = jit;
+        this.jitEntries = new BeyKaJit.Entry[program.fonksiyonlar.size()];
+        if (jit != null) {
+            for (BeyKaAst.FonksiyonTanimi f : program.fonksiyonlar.values()) {
+                jitEntries[f.indeks] = jit.entry(f.ad);
+            }
+        }
+        this.top = program.slotAdlari != null ? program.slotAdlari.length : 0; // Akış modunda henüz çözümlenmemiş olabilir
+        ensureSlots(top);
+        this.gorevler = new BeyKaGorevler();
+        this.profil = profil != null ? profil.iz() : null;
+        this.kaynak = program.kaynak;
+    }
+
+    /**
+     * başlat ile açılan bir görevin (veya paralel döngü parçasının) yorumlayıcısı: fonksiyon
+     * tablosu ve görevler ortak, slotlar, hatalar ve profil izi kendine ait.
+     */
+    private BeyKaInterpreter(BeyKaInterpreter ana, List<String> errors, BeyKaProfil.Iz profil) {
+        this.komutlar = List.of();
+        this.errors = errors;
+        this.jit = ana.jit != null ? ana.jit.gorev(errors) : null;
+        this.jitEntries = ana.jitEntries;
+        this.gorevler = ana.gorevler;
+        this.profil = profil;
+        this.kaynak = ana.kaynak;
+    }
+
+    /**
+     * Programı baştan sona çalıştırır.
+     * Hataları toplar ve ekrana basar.
+     */
+    public void run() {
+        executeBlok(komutlar); // Üst seviyede dön: program sonlanır.
+        gorevler.hepsiniBekle(errors);
+        if (profil != null) profil.bitir();
+        raporla(errors);
+    }
+
+    /**
+     * Akış modu: üst seviye komutları parser'dan tek tek alır, çözümler ve hemen çalıştırır.
+     * Dosyanın geri kalanı, önceki komutlar çalışırken henüz okunmamış olabilir.
+     */
+    public void runAkis(BeyKaParser parser, BeyKaResolver resolver, BeyKaAst.Program program) {
+        BeyKaAst.Stmt komut;
+        while ((komut = parser.parseSonrakiKomut()) != null) {
+            resolver.resolveKomut(program, komut);
+            akisHazirla(program);
+            if (executeKomut(komut) != NORMAL) break; // Üst seviyede dön: program sonlanır.
+        }
+        gorevler.hepsiniBekle(errors);
+        if (profil != null) profil.bitir();
+        raporla(errors);
+    }
+
+    /**
+     * Son çözümlenen komutla gelen yeni ana program değişkenleri ve fonksiyonlar için
+     * slot ve JIT kayıtlarını hazırlar.
+     */
+    private void akisHazirla(BeyKaAst.Program program) {
+        int n = program.slotAdlari.length;
+        if (n > top) {
+            ensureSlots(n);
+            for (int i = top; i < n; i++) { // Önceki çağrılardan kalan değerleri temizle
+                slotTypes[i] = null;
+                slotTags[i] = BeyKaValue.TAM;
+                slotBits[i] = 0;
+                slotRefs[i] = null;
+            }
+            top = n;
+        }
+        for (BeyKaAst.FonksiyonTanimi f : program.fonksiyonlar.values()) {
+            if (f.indeks >= jitEntries.length) {
+                jitEntries = Arrays.copyOf(jitEntries, Math.max(f.indeks + 1, jitEntries.length * 2));
+            }
+            if (jit != null && jitEntries[f.indeks] == null) jitEntries[f.indeks] = jit.kaydet(f);
+        }
+    }
+
+    /** Program sonunda hata özetini basar. Bytecode VM de aynı raporu kullanır. */
+    static void raporla(List<String> errors) {
+        if (errors.isEmpty()) {
+            System.out.println("Program geçerli.");
+        } else {
+            System.out.println("Programda " + errors.size() + " hata bulundu:");
+            System.out.flush(); // Tamponlu çıktı hata satırlarından önce görünsün
+            for (String e : errors) {
+                System.err.println(e);
+            }
+        }
+    }
+
+    /**
+     * Komut listesini sırasıyla çalıştırır. NORMAL dışındaki bir sinyalde
+     * kalan komutlar atlanır ve sinyal çağırana döndürülür.
+     */
+    private int executeBlok(List<BeyKaAst.Stmt> govde) {
+        for (int i = 0, n = govde.size(); i < n; i++) {
+            int sinyal = executeKomut(govde.get(i));
+            if (sinyal != NORMAL) return sinyal;
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Tek bir komutu çalıştırır: değişken tanımı, atama, dizi elemanına atama, yazdırma,
+     * koşul, döngü, dön, durdur, devam. Tamamlanma sinyalini döndürür.
+     */
+    private int executeKomut(BeyKaAst.Stmt komut) {
+        if (profil != null) profil.satir(komut.line);
+        switch (komut.kind) {
+            case BeyKaAst.DEGISKEN_TANIMI:
+                executeDegiskenTanimla((BeyKaAst.DegiskenTanimi) komut);
+                return NORMAL;
+            case BeyKaAst.ATAMA:
+                executeAtama((BeyKaAst.Atama) komut);
+                return NORMAL;
+            case BeyKaAst.ELEMAN_ATAMA:
+                executeElemanAtama((BeyKaAst.ElemanAtama) komut);
+                return NORMAL;
+            case BeyKaAst.YAZDIRMA: {
+                int tag = evaluateIfade(((BeyKaAst.Yazdirma) komut).deger);
+                BeyKaValue.yazdir(tag, bits, ref);
+                return NORMAL;
+            }
+            case BeyKaAst.EGER: {
+                BeyKaAst.Eger eger = (BeyKaAst.Eger) komut;
+                if (evaluateKosul(eger.kosul)) return executeBlok(eger.govde);
+                return NORMAL;
+            }
+            case BeyKaAst.DONGU:
+                return executeIken((BeyKaAst.Dongu) komut);
+            case BeyKaAst.PARALEL_DONGU:
+                executeParalel((BeyKaAst.ParalelDongu) komut);
+                return NORMAL;
+            case BeyKaAst.DON:
+                donusTag = evaluateIfade(((BeyKaAst.Don) komut).deger);
+                return DONUS;
+            case BeyKaAst.DURDUR:
+                return DURDUR;
+            case BeyKaAst.DEVAM:
+                return DEVAM;
+            default:
+                errors.add("Beklenmeyen komut türü: " + komut.kind);
+                return NORMAL;
+        }
+    }
+
+    /** Değişken tanımlarını çalıştırır. (ör. tamsayı a = 5;) */
+    private void executeDegiskenTanimla(BeyKaAst.DegiskenTanimi tanim) {
+        if (slotTypes[base + tanim.slot] != null) {
+            errors.add("Değişken önceden tanımlı: " + tanim.ad);
+        } else {
+            slotTypes[base + tanim.slot] = tanim.tip;
+        }
+        int tag = evaluateIfade(tanim.deger);
+        if (tanim.kontrolsuz) {
+            yazKontrolsuz(tanim.slot, tag);
+        } else {
+            store(tanim.slot, tanim.ad, tanim.tip, tag);
+        }
+    }
+
+    /** Değişken atamalarını çalıştırır. (ör. a = 3 + 2;) */
+    private void executeAtama(BeyKaAst.Atama atama) {
+        if (atama.kontrolsuz) {
+            yazKontrolsuz(atama.slot, evaluateIfade(atama.deger));
+            return;
+        }
+        BeyKaAst.Type expected = slotTypes[base + atama.slot];
+        if (expected == null) {
+            errors.add("Tanımsız değişken: " + atama.ad);
+            evaluateIfade(atama.deger);
+            return;
+        }
+        store(atama.slot, atama.ad, expected, evaluateIfade(atama.deger));
+    }
+
+    /**
+     * Dizi elemanına atamayı çalıştırır. (ör. a[i] = 5;) İndeks uzunluğa eşitse
+     * eleman sona eklenir.
+     */
+    private void executeElemanAtama(BeyKaAst.ElemanAtama atama) {
+        int ti = evaluateIfade(atama.indeks);
+        long indeks = BeyKaDizi.indeks(ti, bits);
+        int tag = evaluateIfade(atama.deger);
+        int i = base + atama.slot;
+        Object dizi = slotRefs[i];
+        if (slotTypes[i] == null) {
+            errors.add("Tanımsız değişken: " + atama.ad);
+        } else if (!(dizi instanceof BeyKaDizi d) || slotTags[i] != BeyKaValue.NESNE) {
+            errors.add(BeyKaDizi.DIZI_DEGIL + ": " + atama.ad);
+        } else if (indeks == BeyKaDizi.YOK) {
+            errors.add(BeyKaDizi.INDEKS_HATASI + ": " + atama.ad);
+        } else {
+            String hata = d.yaz(indeks, tag, bits, ref);
+            if (hata != null) errors.add(hata + ": " + atama.ad);
+        }
+    }
+
+    /**
+     * Sonuç yazmaçlarındaki değeri tip kontrolünden geçirip slota yazar;
+     * ondalıklı değer tamsayıya kesilebilir.
+     */
+    private void store(int slot, String ad, BeyKaAst.Type expected, int tag) {
+        int i = base + slot;
+        if (!BeyKaValue.uyumlu(expected, tag, bits, ref)) {
+            if (expected == BeyKaAst.Type.TAMSAYI && tag == BeyKaValue.ONDALIK) {
+                slotTags[i] = BeyKaValue.TAM;
+                slotBits[i] = (int) Double.longBitsToDouble(bits);
+            } else {
+                errors.add("Tip uyuşmazlığı: " + ad);
+            }
+        } else {
+            slotTags[i] = (byte) tag;
+            slotBits[i] = bits;
+            slotRefs[i] = ref;
+        }
+    }
+
+    /** Tipi statik olarak kanıtlanmış değeri kontrolsüz slota yazar. */
+    private void yazKontrolsuz(int slot, int tag) {
+        int i = base + slot;
+        slotTags[i] = (byte) tag;
+        slotBits[i] = bits;
+        slotRefs[i] = ref;
+    }
+
+    /**
+     * döngü (...) { ... } bloklarını çalıştırır (while mantığı). durdur döngüyü bitirir,
+     * devam gövdenin kalanını atlar; devam edilen turlar da sonsuz döngü korumasına sayılır.
+     */
+    private int executeIken(BeyKaAst.Dongu dongu) {
+        int iter = 0;
+        while (evaluateKosul(dongu.kosul)) {
+            int sinyal = executeBlok(dongu.govde);
+            if (sinyal == DURDUR) break;
+            if (sinyal == DONUS) return DONUS;
+
+            if (++iter >= MAX_LOOP_COUNT) {
+                errors.add("Sonsuz döngü şüphesi: " + MAX_LOOP_COUNT + " kez tekrar edildi.");
+                break;
+            }
+        }
+        return NORMAL;
+    }
+
+    /**
+     * paralel döngü (i, bas, son) ... { ... }: sınırları bir kez hesaplar, turları BeyKaParalel
+     * ile parçalara bölüp her parçayı çerçevenin kopyasıyla ayrı bir yorumlayıcıda çalıştırır
+     * ve indirgeme değişkenlerini birleştirir.
+     */
+    private void executeParalel(BeyKaAst.ParalelDongu p) {
+        int tb = evaluateIfade(p.bas);
+        long bas = bits;
+        int ts = evaluateIfade(p.son);
+        if (tb != BeyKaValue.TAM || ts != BeyKaValue.TAM) {
+            errors.add("Paralel döngü sınırları tamsayı olmalı");
+            return;
+        }
+        if ((int) bas >= (int) bits || !BeyKaParalel.hazir(p.indirgemeAdlari, p.indirgemeSlotlari, slotTypes, base, errors)) return;
+        BeyKaParalel.Cerceve cerceve = new BeyKaParalel.Cerceve(slotTypes, slotTags, slotBits, slotRefs, base, top - base);
+        BeyKaInterpreter ana = this;
+        BeyKaParalel.Sonuc sonuc = BeyKaParalel.calistir((int) bas, (int) bits, p.indirgemeTurleri,
+                (lo, hi, hatalar) -> new BeyKaInterpreter(ana, hatalar, profil != null ? profil.cocuk() : null)
+                        .paralelParca(p, cerceve, lo, hi));
+        errors.addAll(sonuc.hatalar);
+        BeyKaParalel.uygula(p.indirgemeSlotlari, p.indirgemeTurleri, sonuc, slotTypes, slotTags, slotBits, base);
+    }
+
+    /** Paralel döngünün [bas, son) turlarını çerçevenin kopyası üzerinde çalıştırır. */
+    private BeyKaParalel.Sonuc paralelParca(BeyKaAst.ParalelDongu p, BeyKaParalel.Cerceve c, int bas, int son) {
+        int n = c.tags.length;
+        ensureSlots(n);
+        System.arraycopy(c.types, 0, slotTypes, 0, n);
+        System.arraycopy(c.tags, 0, slotTags, 0, n);
+        System.arraycopy(c.bits, 0, slotBits, 0, n);
+        System.arraycopy(c.refler(), 0, slotRefs, 0, n);
+        top = n;
+        BeyKaParalel.parcaHazirla(p.slot, p.sonSlot, p.indirgemeSlotlari, p.indirgemeTurleri,
+                slotTypes, slotTags, slotBits, bas, son);
+        for (int i = bas; i < son; i++) {
+            slotBits[p.slot] = i;
+            for (int s : p.yerelSlotlar) slotTypes[s] = null; // Gövdedeki tanımlar her turda yenidir
+            executeBlok(p.govde); // devam turun kalanını atlar; durdur ve dön gövdede bulunmaz
+        }
+        if (profil != null) profil.bitir();
+        return BeyKaParalel.parcaSonucu(p.indirgemeSlotlari, slotTags, slotBits, errors);
+    }
+
+    /**
+     * Koşul ifadesini (karşılaştırma veya ve/veya zinciri) değerlendirir. ve/veya kısa devre
+     * yapar: sonuç sol taraftan belliyse (ve'de yanlış, veya'da doğru) sağ taraf hiç
+     * hesaplanmaz; içindeki fonksiyon çağrıları ve oku çalışmaz.
+     */
+    private boolean evaluateKosul(BeyKaAst.Expr kosul) {
+        if (kosul.kind == BeyKaAst.MANTIKSAL) {
+            BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) kosul;
+            boolean res = evaluateKosul(m.sol);
+            if (res == (m.op == Token.VEYA)) return res;
+            return evaluateKosul(m.sag);
+        }
+        if (kosul.kind != BeyKaAst.KARSILASTIRMA) {
+            evaluateIfade(kosul);
+            return false;
+        }
+        BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) kosul;
+        int tl = evaluateIfade(k.sol);
+        long l = bits;
+        int tr = evaluateIfade(k.sag);
+        if (tl == BeyKaValue.NESNE || tr == BeyKaValue.NESNE) return false;
+        double a = BeyKaValue.sayi(tl, l), b = BeyKaValue.sayi(tr, bits);
+        switch (k.op) {
+            case Token.ESIT_ESIT: return a == b;
+            case Token.ESIT_DEGIL: return a != b;
+            case Token.KUCUK: return a < b;
+            case Token.KUCUK_ESIT: return a <= b;
+            case Token.BUYUK: return a > b;
+            case Token.BUYUK_ESIT: return a >= b;
+            default: return false;
+        }
+    }
+
+    /**
+     * Matematiksel ifadeleri değerlendirir. (Örn: 2 + 3 * 5)
+     * Sonucun etiketini döndürür; değer bits (sayılar) veya ref (kelimeler) yazmacındadır.
+     */
+    private int evaluateIfade(BeyKaAst.Expr ifade) {
+        switch (ifade.kind) {
+            case BeyKaAst.SABIT: {
+                Object deger = ((BeyKaAst.Sabit) ifade).deger;
+                bits = BeyKaValue.bitler(deger);
+                ref = deger;
+                return BeyKaValue.etiket(deger);
+            }
+            case BeyKaAst.DEGISKEN: {
+                int i = base + ((BeyKaAst.Degisken) ifade).slot;
+                bits = slotBits[i]; // Değer atanmamış slot tamsayı 0 okunur
+                ref = slotRefs[i];
+                return slotTags[i];
+            }
+            case BeyKaAst.IKILI_ISLEM:
+                return evaluateAritmetik((BeyKaAst.IkiliIslem) ifade);
+            case BeyKaAst.FONKSIYON_CAGRI: {
+                BeyKaAst.FonksiyonCagri cagri = (BeyKaAst.FonksiyonCagri) ifade;
+                if (cagri.hedef != null) return evaluateFonksiyonCagri(cagri);
+                return evaluateYerlesikFonksiyon(cagri);
+            }
+            case BeyKaAst.KARSILASTIRMA:
+            case BeyKaAst.MANTIKSAL:
+                bits = evaluateKosul(ifade) ? 1 : 0;
+                return BeyKaValue.TAM;
+            case BeyKaAst.DIZI_SABITI:
+                return evaluateDiziSabiti((BeyKaAst.DiziSabiti) ifade);
+            case BeyKaAst.DIZI_ERISIM:
+                return evaluateDiziErisim((BeyKaAst.DiziErisim) ifade);
+            default:
+                errors.add("Beklenmeyen ifade türü: " + ifade.kind);
+                bits = 0;
+                return BeyKaValue.TAM;
+        }
+    }
+
+    /**
+     * İki sayı üzerinde aritmetik işlem yapar. Toplama, çıkarma ve çarpmanın
+     * tam sayı sonuçları tamsayıya, diğerleri ondalıklıya dönüşür. Sayı olmayan
+     * işlenenlerde sol değer aynen döner. Ara sonuçlar kutulanmaz.
+     */
+    private int evaluateAritmetik(BeyKaAst.IkiliIslem islem) {
+        int ta = evaluateIfade(islem.sol);
+        long a = bits;
+        if (islem.tamIslem) { // İşlenenler statik olarak tamsayı
+            evaluateIfade(islem.sag);
+            bits = BeyKaValue.tamIslem(islem.op, (int) a, (int) bits);
+            return BeyKaValue.TAM;
+        }
+        Object ra = ref;
+        int tb = evaluateIfade(islem.sag);
+        int op = islem.op;
+        if (ta == BeyKaValue.TAM && tb == BeyKaValue.TAM && op != Token.BOL && op != Token.MOD) {
+            bits = BeyKaValue.tamIslem(op, (int) a, (int) bits);
+            return BeyKaValue.TAM;
+        }
+        if (ta != BeyKaValue.NESNE && tb != BeyKaValue.NESNE) {
+            double r = BeyKaValue.hesapla(op, BeyKaValue.sayi(ta, a), BeyKaValue.sayi(tb, bits));
+            if (BeyKaValue.tamSonuc(op, r)) {
+                bits = (int) Math.round(r);
+                return BeyKaValue.TAM;
+            }
+            bits = BeyKaValue.ondalik(r);
+            return BeyKaValue.ONDALIK;
+        }
+        bits = a;
+        ref = ra;
+        return ta;
+    }
+
+    /** [e1, e2, ...] sabitinden yeni dizi oluşturur; dizi ref yazmacındadır. */
+    private int evaluateDiziSabiti(BeyKaAst.DiziSabiti sabit) {
+        int n = sabit.elemanlar.size();
+        byte[] tags = new byte[n];
+        long[] degerler = new long[n];
+        Object[] refs = new Object[n];
+        for (int k = 0; k < n; k++) {
+            tags[k] = (byte) evaluateIfade(sabit.elemanlar.get(k));
+            degerler[k] = bits;
+            refs[k] = ref;
+        }
+        ref = BeyKaDizi.sabit(sabit.eleman, tags, degerler, refs, 0, n, errors);
+        bits = 0;
+        return BeyKaValue.NESNE;
+    }
+
+    /** dizi[indeks] okur; dizi olmayan değerde veya sınır dışında hata verip 0 döner. */
+    private int evaluateDiziErisim(BeyKaAst.DiziErisim erisim) {
+        int td = evaluateIfade(erisim.dizi);
+        Object dizi = ref;
+        int ti = evaluateIfade(erisim.indeks);
+        long indeks = BeyKaDizi.indeks(ti, bits);
+        String hata;
+        if (td != BeyKaValue.NESNE || !(dizi instanceof BeyKaDizi d)) {
+            hata = BeyKaDizi.DIZI_DEGIL;
+        } else if (indeks == BeyKaDizi.YOK) {
+            hata = BeyKaDizi.INDEKS_HATASI;
+        } else if ((hata = d.sinirHatasi(indeks)) == null) {
+            bits = d.bitler((int) indeks);
+            ref = d.ref((int) indeks);
+            return d.etiket();
+        }
+        errors.add(hata);
+        bits = 0;
+        return BeyKaValue.TAM;
+    }
+
+    /** Yerleşik fonksiyon çağrılarını işler (uzunluk, karesi, tarih, oku, başlat, bekle). */
+    private int evaluateYerlesikFonksiyon(BeyKaAst.FonksiyonCagri fn) {
+        if (BeyKaGorevler.baslatma(fn)) return evaluateBaslat((BeyKaAst.FonksiyonCagri) fn.argumanlar.get(0));
+        if (BeyKaGorevler.bekleme(fn)) {
+            int tag = evaluateIfade(fn.argumanlar.get(0));
+            BeyKaGorevler.Gorev g = gorevler.bekle(tag, bits, ref, errors);
+            if (g == null) {
+                bits = 0;
+                return BeyKaValue.TAM;
+            }
+            bits = g.bits;
+            ref = BeyKaGorevler.ayri(g.ref);
+            return g.tag;
+        }
+        Object arg = null;
+        if (argumanKullanir(fn)) {
+            for (BeyKaAst.Expr a : fn.argumanlar) {
+                int tag = evaluateIfade(a);
+                arg = BeyKaValue.kutula(tag, bits, ref);
+            }
+        }
+        Object res;
+        if (fn.argumanlar.size() > 1) {
+            errors.add("Fonksiyon hatası/argüman sayısı: " + fn.ad);
+            res = 0;
+        } else {
+            res = yerlesikFonksiyon(fn.ad, arg, errors);
+        }
+        bits = BeyKaValue.bitler(res);
+        ref = res;
+        return BeyKaValue.etiket(res);
+    }
+    /**
+     * Yerleşik çağrının argümanı hesaplanmalı mı. Argümanını kullanmayan yerleşiğin (tarih)
+     * tek argümanı hesaplanmaz; argüman sayısı hatasında argümanlar eskisi gibi hesaplanır.
+     * Derleyici de BUILTIN'i bu durumda argümansız üretir.
+     */
+    static boolean argumanKullanir(BeyKaAst.FonksiyonCagri fn) {
+        return fn.argumanlar.size() != 1 || !fn.ad.equals("tarih");
+    }
+
+    /** Yerleşik fonksiyonu tek argümanla (veya argümansız, null) çalıştırır. */
+    static Object yerlesikFonksiyon(String ad, Object arg, List<String> errors) {
+        switch (ad) {
+            case "uzunluk":
+                if (arg instanceof BeyKaDizi d) return d.uzunluk;
+                return (arg instanceof String s) ? s.length() : 0;
+            case "karesi":  return (arg instanceof Number n) ? Math.pow(n.doubleValue(),2) : 0;
+            case "tarih":   return LocalDate.now().toString();
+            case BeyKaGorevler.BASLAT: // Kullanıcı fonksiyonu çağrısı olmayan argüman
+                errors.add("başlat yalnızca kullanıcı fonksiyonu çağrısı alır");
+                return 0;
+            case BeyKaGorevler.BEKLE: // Argümansız
+                errors.add("Fonksiyon hatası/argüman sayısı: " + ad);
+                return 0;
+            case "oku":
+                if (arg instanceof String filename) {
+                    Path yol = BeyKaOturum.yol(filename); // Oturumda (sunucu, toplu) oturumun dizinine göre
+                    BeyKaOlaylar.DosyaOkuma olay = BeyKaOlaylar.dosyaOkuma(); // JFR yoksa null
+                    long bayt = -1;
+                    try {
+                        byte[] veri = Files.readAllBytes(yol);
+                        bayt = veri.length;
+                        // Files.readString gibi: geçersiz UTF-8 okuma hatasıdır
+                        return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(veri)).toString();
+                    } catch (Exception e) {
+                        errors.add("Dosya okunamadı: " + filename);
+                        return "";
+                    } finally {
+                        if (olay != null) olay.bitir(yol.toString(), bayt);
+                    }
+                }
+                return "";
+            default:
+                errors.add("Bilinmeyen fonksiyon: " + ad);
+                return 0;
+        }
+    }
+
+    /**
+     * başlat(f(...)): argümanları bu iş parçacığında hesaplar, f'yi yeni bir görevde başlatır
+     * ve görev numarasını döndürür.
+     */
+    private int evaluateBaslat(BeyKaAst.FonksiyonCagri cagri) {
+        BeyKaAst.FonksiyonTanimi f = cagri.hedef;
+        int argc = cagri.argumanlar.size();
+        byte[] argTags = new byte[argc];
+        long[] argBits = new long[argc];
+        Object[] argRefs = new Object[argc];
+        for (int i = 0; i < argc; i++) {
+            argTags[i] = (byte) evaluateIfade(cagri.argumanlar.get(i));
+            argBits[i] = bits;
+            argRefs[i] = BeyKaGorevler.ayri(ref);
+        }
+        if (f.parametreler.size() != argc) {
+            errors.add("Fonksiyon hatası/argüman sayısı: " + cagri.ad);
+            bits = 0;
+            return BeyKaValue.TAM;
+        }
+        BeyKaInterpreter ana = this;
+        BeyKaProfil.Iz iz = profil != null ? profil.cocuk() : null; // Başlatanın yığını şimdi okunur
+        bits = gorevler.baslat(g -> {
+            BeyKaInterpreter gorev = new BeyKaInterpreter(ana, g.hatalar, iz);
+            g.tag = gorev.gorevCalistir(f, argTags, argBits, argRefs, cagri.line);
+            g.bits = gorev.bits;
+            g.ref = gorev.ref;
+            if (iz != null) iz.bitir();
+        });
+        return BeyKaValue.TAM;
+    }
+
+    /**
+     * Görevin gövdesi: boş yığında f'yi verilen argümanlarla çağırır, sonucun etiketini döndürür.
+     * satir başlat'ın satırıdır.
+     */
+    private int gorevCalistir(BeyKaAst.FonksiyonTanimi f, byte[] argTags, long[] argBits, Object[] argRefs, int satir) {
+        top = f.slotAdlari.length;
+        ensureSlots(top);
+        for (int i = 0; i < argTags.length; i++) {
+            slotTypes[i] = BeyKaAst.Type.TAMSAYI; // Genellikle tamsayı bekleniyor.
+            slotTags[i] = argTags[i];
+            slotBits[i] = argBits[i];
+            slotRefs[i] = argRefs[i];
+        }
+        return cagir(f, 0, argTags.length, satir);
+    }
+
+    /** Kullanıcı tanımlı fonksiyon çağrısını işler. */
+    private int evaluateFonksiyonCagri(BeyKaAst.FonksiyonCagri cagri) {
+        BeyKaAst.FonksiyonTanimi f = cagri.hedef;
+        int argc = cagri.argumanlar.size();
+        if (f.parametreler.size() != argc) {
+            for (BeyKaAst.Expr arg : cagri.argumanlar) {
+                evaluateIfade(arg);
+            }
+            errors.add("Fonksiyon hatası/argüman sayısı: " + cagri.ad);
+            bits = 0;
+            return BeyKaValue.TAM;
+        }
+
+        // --- FONKSİYON LOKALİTESİ BURADA ---
+        // Çağrının slot alanı yığının tepesinde ayrılır; argümanlar doğrudan parametre
+        // slotlarına yazılır. Argümanlardaki iç içe çağrılar bu alanın üstünü kullanır.
+        int yeniBase = top;
+        int slotSayisi = f.slotAdlari.length;
+        top += slotSayisi;
+        ensureSlots(top);
+        for (int i = 0; i < argc; i++) {
+            int tag = evaluateIfade(cagri.argumanlar.get(i));
+            slotTypes[yeniBase + i] = BeyKaAst.Type.TAMSAYI; // Genellikle tamsayı bekleniyor.
+            slotTags[yeniBase + i] = (byte) tag;
+            slotBits[yeniBase + i] = bits;
+            slotRefs[yeniBase + i] = ref;
+        }
+        return cagir(f, yeniBase, argc, cagri.line);
+    }
+
+    /**
+     * Argümanları [yeniBase, yeniBase + argc) slotlarına yazılmış çağrıyı çalıştırır;
+     * çağrının slot alanı top'a kadar ayrılmıştır. Dönüşte alan serbest kalır.
+     * satir çağrının kaynak satırıdır (JFR çağrı olayı için).
+     */
+    private int cagir(BeyKaAst.FonksiyonTanimi f, int yeniBase, int argc, int satir) {
+        BeyKaOlaylar.FonksiyonCagrisi olay = BeyKaOlaylar.cagri(kaynak, f.ad, argc, satir); // Kayıt yoksa null
+        if (jit != null) {
+            // Sıcak fonksiyon derlenmişse doğrudan JVM kodu çalışır
+            int tag = jit.cagir(jitEntries[f.indeks], slotTags, slotBits, yeniBase, argc);
+            if (tag != BeyKaJit.YORUMLA) {
+                top = yeniBase;
+                bits = jit.sonucBits();
+                if (olay != null) olay.bitir();
+                return tag;
+            }
+        }
+        for (int i = yeniBase + argc; i < top; i++) {
+            slotTypes[i] = null;
+            slotTags[i] = BeyKaValue.TAM;
+            slotBits[i] = 0;
+            slotRefs[i] = null; // Önceki çağrıların kelime/dizi değerleri tutulmaz
+        }
+
+        int callerBase = base;
+        base = yeniBase;
+        if (profil != null) profil.gir(f.indeks);
+        int sinyal = executeBlok(f.govde);
+        if (profil != null) profil.cik();
+        if (olay != null) olay.bitir();
+        base = callerBase;
+        top = yeniBase;
+        if (sinyal == DONUS) return donusTag; // Değer sonuç yazmaçlarında
+        bits = 0;
+        return BeyKaValue.TAM;
+    }
+
+    /** Slot dizilerini en az n elemanlık olacak şekilde büyütür. */
+    private void ensureSlots(int n) {
+        if (n <= slotTags.length) return;
+        int yeni = Math.max(n, slotTags.length * 2);
+        slotTypes = Arrays.copyOf(slotTypes, yeni);
+        slotTags = Arrays.copyOf(slotTags, yeni);
+        slotBits = Arrays.copyOf(slotBits, yeni);
+        slotRefs = Arrays.copyOf(slotRefs, yeni);
+    }
+}
@@ -0,0 +1,74 @@
+import java.io.*;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * BeyKaIstemci.java
+ *
+ * Sunucu modunun ince istemcisi. Argümanları ve çalışma dizinini çalışan BeyKa sunucusuna
+ * (BeyKaSunucu) gönderir, programın çıktısını ve hatalarını geldikçe kendi çıktı ve hata
+ * akışına yazar ve sunucunun döndürdüğü kodla çıkar. Sunucu ile ortak olarak yalnızca
+ * BeyKaProtokol'ü kullanır, sunucu ve yorumlayıcı sınıflarının hiçbirini yüklemez;
+ * çalıştırma maliyeti yalnızca küçük bir JVM açılışıdır.
+ *
+ * Çalıştırma:
+ *   java BeyKa --sunucu[=SOKET]                    (bir kez, arka planda)
+ *   java BeyKaIstemci [--soket=SOKET] [BeyKa seçenekleri] <ornekler/ornek1.bka>
+ */
+public class BeyKaIstemci {
+    public static void main(String[] args) throws IOException {
+        Path soket = BeyKaProtokol.varsayilanSoket();
+        int ilk = 0;
+        if (args.length > 0 && args[0].startsWith("--soket=")) {
+            soket = Paths.get(args[0].substring("--soket=".length()));
+            ilk = 1;
+        }
+
+        SocketChannel baglanti;
+        try {
+            baglanti = SocketChannel.open(UnixDomainSocketAddress.of(soket));
+        } catch (IOException e) {
+            System.err.println("BeyKa sunucusuna bağlanılamadı (" + soket + "): " + e.getMessage());
+            System.err.println("Sunucuyu başlatın: java BeyKa --sunucu");
+            System.exit(2);
+            return;
+        }
+
+        int kod;
+        try (baglanti) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(baglanti)));
+            out.writeUTF(Paths.get("").toAbsolutePath().toString());
+            out.writeInt(args.length - ilk);
+            for (int i = ilk; i < args.length; i++) out.writeUTF(args[i]);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(baglanti)));
+            byte[] tampon = new byte[8192];
+            while (true) {
+                int kanal = in.readByte();
+                if (kanal == BeyKaProtokol.BITTI) {
+                    kod = in.readInt();
+                    break;
+                }
+                int uzunluk = in.readInt();
+                PrintStream hedef = kanal == BeyKaProtokol.HATA ? System.err : System.out;
+                if (kanal == BeyKaProtokol.HATA) System.out.flush(); // Hata satırları önceki çıktıdan sonra görünsün
+                while (uzunluk > 0) {
+                    int n = in.read(tampon, 0, Math.min(uzunluk, tampon.length));
+                    if (n < 0) throw new EOFException();
+                    hedef.write(tampon, 0, n);
+                    uzunluk -= n;
+                }
+                if (kanal == BeyKaProtokol.HATA) System.err.flush();
+            }
+        } catch (EOFException e) {
+            System.err.println("BeyKa sunucusu bağlantıyı kapattı.");
+            kod = 2;
+        }
+        System.out.flush();
+        System.exit(kod);
+    }
+}
@@ -0,0 +1,652 @@
+import java.io.*;
+import java.lang.invoke.*;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.*;
+import javax.tools.*;
+
+/**
+ * BeyKaJit.java
+ *
+ * Sık çağrılan (sıcak) kullanıcı fonksiyonlarını gerçek JVM sınıflarına derleyen JIT.
+ * Bir fonksiyon belirli sayıda çağrıldıktan sonra, kendisi ve çağırdığı fonksiyonlar
+ * Java kaynağına çevrilir, JDK derleyicisi (javax.tools) ile bellekte derlenir, gizli sınıf
+ * (hidden class) olarak yüklenir ve MethodHandle üzerinden çağrılır. Böylece HotSpot
+ * BeyKa aritmetiğini ve döngülerini Java kodu gibi optimize eder.
+ *
+ * Sayılar double + "tamsayı mı" bayrağı çifti olarak tutulur; böylece Integer/Double ayrımı,
+ * tip kontrolü, hata mesajları ve sonsuz döngü koruması yorumlayıcı ile birebir aynıdır.
+ * Desteklenmeyen (string, oku/tarih/uzunluk, aynı ismin birden fazla tanımı vb.) fonksiyonlar,
+ * JDK derleyicisi bulunmayan ortamlar ve sayı olmayan argümanlı çağrılar yorumlayıcıda kalır.
+ */
+public class BeyKaJit {
+    /** cagir: çağrının yorumlayıcıda çalıştırılması gerektiğini belirten sonuç. */
+    public static final int YORUMLA = -1;
+
+    /** Varsayılan sıcaklık eşiği: bu kadar çağrıdan sonra fonksiyon derlenir. */
+    public static final int VARSAYILAN_ESIK = 1000;
+
+    /** Derlenmiş kodun çalışma zamanı bağlamı: hata listesi ve son dönüş değerinin türü. */
+    public static final class Context {
+        final List<String> errors;
+        boolean tam; // son dönen değer Integer mı?
+
+        Context(List<String> errors) {
+            this.errors = errors;
+        }
+
+        void hata(String mesaj) {
+            errors.add(mesaj);
+        }
+
+        void yaz(double deger, boolean tamsayi) {
+            BeyKaOutput.yaz(tamsayi ? String.valueOf((int) deger) : String.valueOf(deger));
+        }
+
+        /** r % 1 == 0 ile aynı sonucu verir (bkz. BeyKaValue.tamMi). */
+        static boolean tamMi(double r) {
+            return BeyKaValue.tamMi(r);
+        }
+
+        /** Toplama/çıkarma/çarpma sonucunu yorumlayıcıdaki gibi tamsayıya yuvarlar. */
+        static double normalize(double r) {
+            return tamMi(r) ? (double) (int) Math.round(r) : r;
+        }
+    }
+
+    /** Bir kullanıcı fonksiyonunun JIT durumu. */
+    public static final class Entry {
+        final BeyKaAst.FonksiyonTanimi tanim;
+        int cagriSayisi;
+        volatile MethodHandle handle;
+        volatile boolean kuyrukta;
+
+        Entry(BeyKaAst.FonksiyonTanimi tanim) {
+            this.tanim = tanim;
+        }
+
+        /** Çağrıyı sayar; eşik aşılmışsa derlemeyi başlatır. Derlenmiş kod hazırsa true döner. */
+        boolean sicak(BeyKaJit jit) {
+            if (handle != null) return true;
+            if (++cagriSayisi >= jit.esik && !kuyrukta) {
+                kuyrukta = true;
+                jit.derlemeKuyrugu.execute(() -> jit.derle(this));
+            }
+            return false;
+        }
+    }
+
+    private static final MethodType GIRIS_TIPI =
+            MethodType.methodType(double.class, Context.class, byte[].class, long[].class, int.class);
+    private static final String SINIF_ADI = "BeyKaJitKod"; // Gizli sınıf olarak tanımlandığından çakışmaz
+    private static final int KOD_ONBELLEGI = 256;
+
+    // Üretilen kaynak -> sınıf dosyası. Aynı süreçte (sunucu modu) tekrar çalışan programların
+    // fonksiyonları javac'a yeniden gönderilmez.
+    private static final Map<String, byte[]> derlenmisKod = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> entries; // Akış modunda çalışırken de eklenir
+    private final Context context;
+    private final int esik;
+    private long sonucBits; // Son derlenmiş çağrının sonucu (BeyKaValue kodlamasıyla)
+    private final ExecutorService derlemeKuyrugu;
+
+    public BeyKaJit(Map<String, BeyKaAst.FonksiyonTanimi> fonksiyonTablosu, List<String> errors, int esik) {
+        this.context = new Context(errors);
+        this.esik = esik;
+        this.entries = new ConcurrentHashMap<>();
+        this.derlemeKuyrugu = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "beyka-jit");
+            t.setDaemon(true);
+            return t;
+        });
+        for (BeyKaAst.FonksiyonTanimi f : fonksiyonTablosu.values()) {
+            entries.put(f.ad, new Entry(f));
+        }
+    }
+
+    private BeyKaJit(BeyKaJit ana, List<String> errors) {
+        this.context = new Context(errors);
+        this.esik = ana.esik;
+        this.entries = ana.entries;
+        this.derlemeKuyrugu = ana.derlemeKuyrugu;
+    }
+
+    /**
+     * başlat ile açılan görev için JIT: kayıtları ve derlenmiş kodu bununla paylaşır, hata
+     * listesi ve sonuç yazmacı göreve aittir.
+     */
+    public BeyKaJit gorev(List<String> errors) {
+        return new BeyKaJit(this, errors);
+    }
+
+    /**
+     * Program çalışırken tanımlanan fonksiyonu kaydeder (akış modu). Aynı isimli eski
+     * tanımın kaydı yenisiyle değişir.
+     */
+    public Entry kaydet(BeyKaAst.FonksiyonTanimi f) {
+        Entry e = new Entry(f);
+        entries.put(f.ad, e);
+        return e;
+    }
+
+    /** İsmi verilen fonksiyonun JIT kaydı (yoksa null). */
+    public Entry entry(String ad) {
+        return entries.get(ad);
+    }
+
+    /**
+     * Fonksiyonu derlenmiş koduyla çağırmayı dener. Argümanlar çağıranın etiket ve bit
+     * dizilerinden [base, base + argc) aralığında kutulanmadan okunur. Sonucun etiketini
+     * döndürür (değeri sonucBits verir); fonksiyon henüz sıcak değilse, derlenemiyorsa
+     * veya argümanlardan biri sayı değilse YORUMLA döner.
+     */
+    public int cagir(Entry e, byte[] tags, long[] bits, int base, int argc) {
+        if (e == null || !e.sicak(this)) return YORUMLA;
+        for (int i = base; i < base + argc; i++) {
+            if (tags[i] == BeyKaValue.NESNE) return YORUMLA;
+        }
+        double r;
+        try {
+            r = (double) e.handle.invokeExact(context, tags, bits, base);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        if (context.tam) {
+            sonucBits = (int) r;
+            return BeyKaValue.TAM;
+        }
+        sonucBits = BeyKaValue.ondalik(r);
+        return BeyKaValue.ONDALIK;
+    }
+
+    /** Kuyruktaki derlemeler bitince derleme iş parçacığını sonlandırır; program bittikten sonra çağrılır. */
+    public void kapat() {
+        derlemeKuyrugu.shutdown();
+    }
+
+    /** cagir'ın döndürdüğü sonucun ham bitleri. */
+    public long sonucBits() {
+        return sonucBits;
+    }
+
+    // --- Derleme ---
+
+    /** Fonksiyonu ve çağırdığı fonksiyonları derler; başarısız olursa fonksiyon yorumlayıcıda kalır. */
+    private void derle(Entry e) {
+        List<BeyKaAst.FonksiyonTanimi> kapanis = new ArrayList<>();
+        if (!desteklenir(e.tanim, kapanis)) return;
+
+        String kaynak = new KaynakUretici(SINIF_ADI, kapanis).uret();
+        byte[] bytes = derlenmisKod.get(kaynak);
+        if (bytes == null) {
+            bytes = javacIleDerle(SINIF_ADI, kaynak);
+            if (bytes == null) return;
+            if (derlenmisKod.size() < KOD_ONBELLEGI) derlenmisKod.put(kaynak, bytes);
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            for (int i = 0; i < kapanis.size(); i++) {
+                Entry hedef = entries.get(kapanis.get(i).ad);
+                if (hedef != null && hedef.handle == null && hedef.tanim == kapanis.get(i)) {
+                    hedef.handle = lookup.findStatic(lookup.lookupClass(), "giris" + i, GIRIS_TIPI);
+                }
+            }
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            // Yüklenemeyen kod: fonksiyon yorumlayıcıda çalışmaya devam eder.
+        }
+    }
+
+    /** Kaynağı bellekte derler ve sınıf dosyasını döndürür; JDK derleyicisi yoksa null. */
+    private static byte[] javacIleDerle(String sinifAdi, String kaynak) {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null) return null;
+
+        ByteArrayOutputStream sinif = new ByteArrayOutputStream();
+        JavaFileObject kaynakDosya = new SimpleJavaFileObject(
+                URI.create("string:///" + sinifAdi + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return kaynak;
+            }
+        };
+        JavaFileManager dosyalar = new ForwardingJavaFileManager<>(javac.getStandardFileManager(null, null, null)) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                       JavaFileObject.Kind kind, FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("mem:///" + className + ".class"), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        return className.equals(sinifAdi) ? sinif : new ByteArrayOutputStream();
+                    }
+                };
+            }
+        };
+        List<String> secenekler = List.of("-classpath", System.getProperty("java.class.path"),
+                "-proc:none", "-g:none", "-nowarn");
+        Boolean ok = javac.getTask(null, dosyalar, d -> { }, secenekler, null, List.of(kaynakDosya)).call();
+        return Boolean.TRUE.equals(ok) ? sinif.toByteArray() : null;
+    }
+
+    /**
+     * Fonksiyonun derlenebilir alt kümede olup olmadığını kontrol eder ve çağırdığı
+     * bütün kullanıcı fonksiyonlarını (kendisi ilk sırada) kapanis listesine ekler.
+     */
+    private boolean desteklenir(BeyKaAst.FonksiyonTanimi f, List<BeyKaAst.FonksiyonTanimi> kapanis) {
+        if (kapanis.contains(f)) return true;
+        kapanis.add(f);
+        Set<String> tanimlar = new HashSet<>(f.parametreler);
+        if (tanimlar.size() != f.parametreler.size()) return false;
+        return komutlarDesteklenir(f.govde, tanimlar, kapanis);
+    }
+
+    private boolean komutlarDesteklenir(List<BeyKaAst.Stmt> govde, Set<String> tanimlar,
+                                        List<BeyKaAst.FonksiyonTanimi> kapanis) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi t = (BeyKaAst.DegiskenTanimi) komut;
+                    // Her isim yalnızca bir kez ve sayısal tiple tanımlanabilir: tipi derlemede bilinir.
+                    if (!t.tip.sayisal() || !tanimlar.add(t.ad)) return false;
+                    if (!ifadeDesteklenir(t.deger, kapanis)) return false;
+                    break;
+                }
+                case BeyKaAst.ATAMA:
+                    if (!ifadeDesteklenir(((BeyKaAst.Atama) komut).deger, kapanis)) return false;
+                    break;
+                case BeyKaAst.YAZDIRMA:
+                    if (!ifadeDesteklenir(((BeyKaAst.Yazdirma) komut).deger, kapanis)) return false;
+                    break;
+                case BeyKaAst.DON:
+                    if (!ifadeDesteklenir(((BeyKaAst.Don) komut).deger, kapanis)) return false;
+                    break;
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                    if (!ifadeDesteklenir(e.kosul, kapanis) || !komutlarDesteklenir(e.govde, tanimlar, kapanis)) return false;
+                    break;
+                }
+                case BeyKaAst.DONGU: {
+                    BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                    if (!ifadeDesteklenir(d.kosul, kapanis) || !komutlarDesteklenir(d.govde, tanimlar, kapanis)) return false;
+                    break;
+                }
+                case BeyKaAst.DURDUR:
+                case BeyKaAst.DEVAM:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean ifadeDesteklenir(BeyKaAst.Expr ifade, List<BeyKaAst.FonksiyonTanimi> kapanis) {
+        switch (ifade.kind) {
+            case BeyKaAst.SABIT: {
+                Object v = ((BeyKaAst.Sabit) ifade).deger;
+                return v instanceof Integer || v instanceof Double;
+            }
+            case BeyKaAst.DEGISKEN:
+                return true;
+            case BeyKaAst.IKILI_ISLEM: {
+                BeyKaAst.IkiliIslem i = (BeyKaAst.IkiliIslem) ifade;
+                return ifadeDesteklenir(i.sol, kapanis) && ifadeDesteklenir(i.sag, kapanis);
+            }
+            case BeyKaAst.KARSILASTIRMA: {
+                BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) ifade;
+                return ifadeDesteklenir(k.sol, kapanis) && ifadeDesteklenir(k.sag, kapanis);
+            }
+            case BeyKaAst.MANTIKSAL: {
+                BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) ifade;
+                return ifadeDesteklenir(m.sol, kapanis) && ifadeDesteklenir(m.sag, kapanis);
+            }
+            case BeyKaAst.FONKSIYON_CAGRI: {
+                BeyKaAst.FonksiyonCagri c = (BeyKaAst.FonksiyonCagri) ifade;
+                for (BeyKaAst.Expr arg : c.argumanlar) {
+                    if (!ifadeDesteklenir(arg, kapanis)) return false;
+                }
+                if (c.hedef != null) return desteklenir(c.hedef, kapanis);
+                return c.ad.equals("karesi");
+            }
+            default:
+                return false;
+        }
+    }
+
+    /** Desteklenen fonksiyonlar için Java kaynak kodu üretir. */
+    private static final class KaynakUretici {
+        private final String sinifAdi;
+        private final List<BeyKaAst.FonksiyonTanimi> fonksiyonlar;
+        private final Map<String, Integer> fonksiyonIndeksi = new HashMap<>();
+        private final StringBuilder sb = new StringBuilder();
+
+        // Üretilmekte olan fonksiyonun durumu
+        private Map<String, Integer> degiskenler;
+        private Map<Integer, BeyKaAst.Type> tipler;
+        private int gecici;
+        private int girinti;
+        private final Deque<String> devamEtiketleri = new ArrayDeque<>(); // İç içe döngülerin gövde etiketleri
+        private final Set<String> kullanilanEtiketler = new HashSet<>();  // devam ile atlanan gövde etiketleri
+
+        KaynakUretici(String sinifAdi, List<BeyKaAst.FonksiyonTanimi> fonksiyonlar) {
+            this.sinifAdi = sinifAdi;
+            this.fonksiyonlar = fonksiyonlar;
+            for (int i = 0; i < fonksiyonlar.size(); i++) {
+                fonksiyonIndeksi.put(fonksiyonlar.get(i).ad, i);
+            }
+        }
+
+        String uret() {
+            sb.append("final class ").append(sinifAdi).append(" {\n");
+            for (int i = 0; i < fonksiyonlar.size(); i++) {
+                giris(i, fonksiyonlar.get(i));
+                fonksiyon(i, fonksiyonlar.get(i));
+            }
+            sb.append("}\n");
+            return sb.toString();
+        }
+
+        /** Yorumlayıcının etiketli argümanlarını (t, b dizileri, s başlangıcı) tipli metoda aktaran köprü. */
+        private void giris(int idx, BeyKaAst.FonksiyonTanimi f) {
+            sb.append("  public static double giris").append(idx)
+                    .append("(BeyKaJit.Context ctx, byte[] t, long[] b, int s) {\n");
+            sb.append("    return f").append(idx).append("(ctx");
+            for (int i = 0; i < f.parametreler.size(); i++) {
+                sb.append(", BeyKaValue.sayi(t[s + ").append(i).append("], b[s + ").append(i)
+                        .append("]), t[s + ").append(i).append("] == BeyKaValue.TAM");
+            }
+            sb.append(");\n");
+            sb.append("  }\n");
+        }
+
+        private void fonksiyon(int idx, BeyKaAst.FonksiyonTanimi f) {
+            degiskenler = new LinkedHashMap<>();
+            tipler = new HashMap<>();
+            gecici = 0;
+            for (String p : f.parametreler) {
+                tipler.put(degiskenler.size(), BeyKaAst.Type.TAMSAYI);
+                degiskenler.put(p, degiskenler.size());
+            }
+            tanimlariTopla(f.govde);
+
+            sb.append("  static double f").append(idx).append("(BeyKaJit.Context ctx");
+            for (int i = 0; i < f.parametreler.size(); i++) {
+                sb.append(", double v").append(i).append(", boolean i").append(i);
+            }
+            sb.append(") {\n");
+            girinti = 2;
+            for (Map.Entry<String, Integer> d : degiskenler.entrySet()) {
+                int k = d.getValue();
+                if (k < f.parametreler.size()) {
+                    satir("boolean d" + k + " = true; // " + d.getKey());
+                } else {
+                    satir("double v" + k + " = 0; boolean i" + k + " = true; boolean d" + k + " = false; // " + d.getKey());
+                }
+            }
+            if (!blok(f.govde)) {
+                satir("ctx.tam = true;");
+                satir("return 0;");
+            }
+            sb.append("  }\n");
+        }
+
+        private void tanimlariTopla(List<BeyKaAst.Stmt> govde) {
+            for (BeyKaAst.Stmt komut : govde) {
+                if (komut.kind == BeyKaAst.DEGISKEN_TANIMI) {
+                    BeyKaAst.DegiskenTanimi t = (BeyKaAst.DegiskenTanimi) komut;
+                    if (!degiskenler.containsKey(t.ad)) {
+                        tipler.put(degiskenler.size(), t.tip);
+                        degiskenler.put(t.ad, degiskenler.size());
+                    }
+                } else if (komut.kind == BeyKaAst.EGER) {
+                    tanimlariTopla(((BeyKaAst.Eger) komut).govde);
+                } else if (komut.kind == BeyKaAst.DONGU) {
+                    tanimlariTopla(((BeyKaAst.Dongu) komut).govde);
+                }
+            }
+        }
+
+        /** Komut listesini üretir; bloğun sonuna ulaşılamıyorsa (dön, durdur, devam) true döner. */
+        private boolean blok(List<BeyKaAst.Stmt> govde) {
+            for (BeyKaAst.Stmt komut : govde) {
+                if (komut(komut)) return true; // dön'den sonraki komutlara ulaşılamaz
+            }
+            return false;
+        }
+
+        private boolean komut(BeyKaAst.Stmt komut) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi t = (BeyKaAst.DegiskenTanimi) komut;
+                    int k = degiskenler.get(t.ad);
+                    satir("if (d" + k + ") ctx.hata(" + metin("Değişken önceden tanımlı: " + t.ad) + "); else d" + k + " = true;");
+                    sakla(k, ifade(t.deger));
+                    return false;
+                }
+                case BeyKaAst.ATAMA: {
+                    BeyKaAst.Atama a = (BeyKaAst.Atama) komut;
+                    String[] v = ifade(a.deger);
+                    Integer k = degiskenler.get(a.ad);
+                    if (k == null) {
+                        satir("ctx.hata(" + metin("Tanımsız değişken: " + a.ad) + ");");
+                    } else {
+                        satir("if (!d" + k + ") ctx.hata(" + metin("Tanımsız değişken: " + a.ad) + "); else {");
+                        girinti++;
+                        sakla(k, v);
+                        girinti--;
+                        satir("}");
+                    }
+                    return false;
+                }
+                case BeyKaAst.YAZDIRMA: {
+                    String[] v = ifade(((BeyKaAst.Yazdirma) komut).deger);
+                    satir("ctx.yaz(" + v[0] + ", " + v[1] + ");");
+                    return false;
+                }
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                    String c = kosul(e.kosul);
+                    satir("if (" + c + ") {");
+                    girinti++;
+                    blok(e.govde);
+                    girinti--;
+                    satir("}");
+                    return false;
+                }
+                case BeyKaAst.DONGU: {
+                    // durdur -> break; devam -> gövde bloğundan çıkış (break gN), ardından koruma sayacı işler.
+                    BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                    String sayac = "n" + (gecici++);
+                    String etiket = "g" + (gecici++);
+                    satir("int " + sayac + " = 0;");
+                    satir("while (true) {");
+                    girinti++;
+                    String c = kosul(d.kosul);
+                    satir("if (!" + c + ") break;");
+                    satir(etiket + ": {");
+                    girinti++;
+                    devamEtiketleri.push(etiket);
+                    boolean sonaUlasilmaz = blok(d.govde);
+                    devamEtiketleri.pop();
+                    girinti--;
+                    satir("}");
+                    if (!sonaUlasilmaz || kullanilanEtiketler.contains(etiket)) {
+                        satir("if (++" + sayac + " >= " + BeyKaInterpreter.MAX_LOOP_COUNT + ") {");
+                        satir("  ctx.hata(" + metin("Sonsuz döngü şüphesi: " + BeyKaInterpreter.MAX_LOOP_COUNT
+                                + " kez tekrar edildi.") + ");");
+                        satir("  break;");
+                        satir("}");
+                    }
+                    girinti--;
+                    satir("}");
+                    return false;
+                }
+                case BeyKaAst.DON: {
+                    String[] v = ifade(((BeyKaAst.Don) komut).deger);
+                    satir("ctx.tam = " + v[1] + ";");
+                    satir("return " + v[0] + ";");
+                    return true;
+                }
+                case BeyKaAst.DURDUR:
+                    satir("break;");
+                    return true;
+                case BeyKaAst.DEVAM: {
+                    String etiket = devamEtiketleri.peek();
+                    kullanilanEtiketler.add(etiket);
+                    satir("break " + etiket + ";");
+                    return true;
+                }
+                default:
+                    throw new IllegalStateException("Beklenmeyen komut türü: " + komut.kind);
+            }
+        }
+
+        /** Değeri değişkenin tipine göre saklar; tamsayıya kesirli değer kesilerek yazılır. */
+        private void sakla(int k, String[] v) {
+            if (tipler.get(k) == BeyKaAst.Type.TAMSAYI) {
+                satir("if (" + v[1] + " || BeyKaJit.Context.tamMi(" + v[0] + ")) { v" + k + " = " + v[0] + "; i" + k + " = " + v[1]
+                        + "; } else { v" + k + " = (int) " + v[0] + "; i" + k + " = true; }");
+            } else {
+                satir("v" + k + " = " + v[0] + "; i" + k + " = " + v[1] + ";");
+            }
+        }
+
+        /** İfadeyi geçici değişkenlere üretir; {değer, tamsayı-bayrağı} Java ifadelerini döndürür. */
+        private String[] ifade(BeyKaAst.Expr ifade) {
+            switch (ifade.kind) {
+                case BeyKaAst.SABIT: {
+                    Object v = ((BeyKaAst.Sabit) ifade).deger;
+                    String t = "t" + (gecici++);
+                    if (v instanceof Integer n) {
+                        satir("double " + t + " = " + n + "; boolean " + t + "i = true;");
+                    } else {
+                        satir("double " + t + " = " + v + "; boolean " + t + "i = false;");
+                    }
+                    return new String[]{t, t + "i"};
+                }
+                case BeyKaAst.DEGISKEN: {
+                    Integer k = degiskenler.get(((BeyKaAst.Degisken) ifade).ad);
+                    if (k == null) return new String[]{"0.0", "true"}; // tanımsız değişken 0 okunur
+                    return new String[]{"v" + k, "i" + k};
+                }
+                case BeyKaAst.IKILI_ISLEM: {
+                    BeyKaAst.IkiliIslem islem = (BeyKaAst.IkiliIslem) ifade;
+                    String[] l = ifade(islem.sol);
+                    String[] r = ifade(islem.sag);
+                    String t = "t" + (gecici++);
+                    switch (islem.op) {
+                        case Token.TOPLA:
+                        case Token.CIKAR:
+                        case Token.CARP: {
+                            String op = islem.op == Token.TOPLA ? " + " : islem.op == Token.CIKAR ? " - " : " * ";
+                            satir("double " + t + " = BeyKaJit.Context.normalize(" + l[0] + op + r[0] + "); boolean "
+                                    + t + "i = BeyKaJit.Context.tamMi(" + t + ");");
+                            break;
+                        }
+                        case Token.BOL:
+                            satir("double " + t + " = " + r[0] + " != 0 ? " + l[0] + " / " + r[0] + " : 0; boolean " + t + "i = false;");
+                            break;
+                        default:
+                            satir("double " + t + " = " + l[0] + " % " + r[0] + "; boolean " + t + "i = false;");
+                    }
+                    return new String[]{t, t + "i"};
+                }
+                case BeyKaAst.FONKSIYON_CAGRI:
+                    return cagri((BeyKaAst.FonksiyonCagri) ifade);
+                default: {
+                    String c = kosul(ifade);
+                    String t = "t" + (gecici++);
+                    satir("double " + t + " = " + c + " ? 1 : 0; boolean " + t + "i = true;");
+                    return new String[]{t, t + "i"};
+                }
+            }
+        }
+
+        private String[] cagri(BeyKaAst.FonksiyonCagri c) {
+            List<String[]> args = new ArrayList<>();
+            for (BeyKaAst.Expr arg : c.argumanlar) {
+                args.add(ifade(arg));
+            }
+            String t = "t" + (gecici++);
+            Integer hedef = fonksiyonIndeksi.get(c.ad);
+            if (hedef == null) { // karesi
+                if (args.size() > 1) {
+                    satir("ctx.hata(" + metin("Fonksiyon hatası/argüman sayısı: " + c.ad) + ");");
+                    satir("double " + t + " = 0; boolean " + t + "i = true;");
+                } else if (args.isEmpty()) {
+                    satir("double " + t + " = 0; boolean " + t + "i = true;");
+                } else {
+                    satir("double " + t + " = Math.pow(" + args.get(0)[0] + ", 2); boolean " + t + "i = false;");
+                }
+            } else if (fonksiyonlar.get(hedef).parametreler.size() != args.size()) {
+                satir("ctx.hata(" + metin("Fonksiyon hatası/argüman sayısı: " + c.ad) + ");");
+                satir("double " + t + " = 0; boolean " + t + "i = true;");
+            } else {
+                StringBuilder call = new StringBuilder("f" + hedef + "(ctx");
+                for (String[] a : args) {
+                    call.append(", ").append(a[0]).append(", ").append(a[1]);
+                }
+                call.append(")");
+                satir("double " + t + " = " + call + "; boolean " + t + "i = ctx.tam;");
+            }
+            return new String[]{t, t + "i"};
+        }
+
+        /** Koşulu geçici bir boolean değişkene üretir ve adını döndürür. */
+        private String kosul(BeyKaAst.Expr kosul) {
+            String c;
+            switch (kosul.kind) {
+                case BeyKaAst.MANTIKSAL: {
+                    // Kısa devre: sağ tarafın kodu yalnızca sol sonucu belirlemezse çalışır
+                    BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) kosul;
+                    String l = kosul(m.sol);
+                    c = "c" + (gecici++);
+                    satir("boolean " + c + " = " + l + ";");
+                    satir("if (" + (m.op == Token.VE ? c : "!" + c) + ") {");
+                    girinti++;
+                    String r = kosul(m.sag);
+                    satir(c + " = " + r + ";");
+                    girinti--;
+                    satir("}");
+                    return c;
+                }
+                case BeyKaAst.KARSILASTIRMA: {
+                    BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) kosul;
+                    String[] l = ifade(k.sol);
+                    String[] r = ifade(k.sag);
+                    String op = karsilastirmaOperatoru(k.op);
+                    c = "c" + (gecici++);
+                    satir("boolean " + c + " = " + (op == null ? "false" : l[0] + op + r[0]) + ";");
+                    return c;
+                }
+                default:
+                    ifade(kosul);
+                    return "false";
+            }
+        }
+
+        private static String karsilastirmaOperatoru(int op) {
+            switch (op) {
+                case Token.ESIT_ESIT:  return " == ";
+                case Token.ESIT_DEGIL: return " != ";
+                case Token.KUCUK:      return " < ";
+                case Token.KUCUK_ESIT: return " <= ";
+                case Token.BUYUK:      return " > ";
+                case Token.BUYUK_ESIT: return " >= ";
+                default:               return null;
+            }
+        }
+
+        private void satir(String s) {
+            for (int i = 0; i < girinti; i++) sb.append("  ");
+            sb.append(s).append('\n');
+        }
+
+        /** Java string sabiti (BeyKa isimleri yalnızca harf, rakam ve _ içerir). */
+        private static String metin(String s) {
+            return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }
+    }
+}
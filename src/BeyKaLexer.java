@@ -1,5 +1,10 @@
 import java.io.*;
-import java.util.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.Arrays;
 
 /**
  * BeyKaLexer.java
@@ -7,268 +12,368 @@ import java.util.*;
  * BeyKa programlama dili için temel Lexical Analyzer (tokenizer) sınıfıdır.
  * Girilen kaynak dosyadan tokenları çıkarır, satır ve sütun bilgisi ile birlikte döndürür.
  * Türkçe karakter desteği ve satır içi yorum satırı (//) algılaması mevcuttur.
+ *
+ * Kaynak dosya FileChannel.map ile belleğe eşlenip bir kez karakter dizisine çözülür ve
+ * tek bir ileri geçişte taranır; satır satır okuma ve satır kopyalama yapılmaz. Her token
+ * kaynaktaki konumunu (offset, length) taşır. Yeni String yalnızca parser'ın ihtiyaç
+ * duyduğu değişken isimleri, sayılar ve string literalleri için üretilir; operatör ve
+ * anahtar kelimelerin lexeme'leri sabit (intern edilmiş) stringlerdir.
+ *
+ * Akış modunda (Reader ile oluşturulduğunda) kaynak tamamen belleğe alınmaz: tampon parça
+ * parça doldurulur ve token aralarında tüketilmiş kısım atılır; bellek kullanımı en uzun
+ * token ile sınırlı kalır.
  */
 public class BeyKaLexer implements AutoCloseable {
 
-    // Okuma işlemleri için reader ve satır kontrolü
-    private BufferedReader reader;
-    private String line;
+    // Kaynak metin ve tarama durumu
+    private char[] buf;
+    private int end;
     private int pos;
-    private int lineNumber = 0;
+    private int taban; // buf[0]'ın kaynaktaki konumu (akış modunda tampon kaydıkça artar)
+    private final Reader okuyucu; // Akış modunda kaynak; null ise buf kaynağın tamamıdır
+    private boolean kaynakBitti;
+    private boolean kaydirilabilir; // Tarama ortasında değilken tampon kaydırılabilir
+
+    private static final int AKIS_TAMPONU = 8192;
+    private int lineNumber = 1;
+    private int lineStart = 0; // Şu anki satırın ilk karakterinin konumu (sütun hesabı için)
+
+    // Son taranan token (nesne üretmeden tokenize için)
+    private int tokTip, tokSatir, tokSutun, tokOffset, tokUzunluk;
+    private String tokLexeme;
 
-    // Desteklenen anahtar kelimeler
-    private Set<String> keywords = new HashSet<>(Arrays.asList(
-            "tamsayı", "ondalikli", "kelime", "yaz", "ise", "değilse",
+    // Desteklenen anahtar kelimeler ve token karşılıkları
+    private static final String[] KEYWORDS = {
+            "tamsayı", "ondalikli", "kelime", "dizi", "yaz", "ise", "değilse",
             "döngü", "durdur", "devam", "eğer", "fonksiyon", "dön"
-    ));
+    };
+    private static final int[] KEYWORD_TOKENS = {
+            Token.TAMSAYI, Token.ONDALIKLI, Token.KELIME, Token.DIZI, Token.YAZ, Token.ISE, Token.DEGILSE,
+            Token.DONGU, Token.DURDUR, Token.DEVAM, Token.EGER, Token.FONKSIYON, Token.DON
+    };
 
     /**
-     * BeyKaLexer oluşturucu. Dosya yolunu alır ve dosyayı okumaya hazırlar.
+     * BeyKaLexer oluşturucu. Dosyayı belleğe eşler ve varsayılan karakter kodlamasıyla çözer.
      */
     public BeyKaLexer(String filename) throws IOException {
-        reader = new BufferedReader(new FileReader(filename));
-        line = "";
-        pos = 0;
+        this(oku(Path.of(filename)));
     }
 
     /**
-     * Boşluk karakterlerini atlar.
+     * Bellekteki kaynak metinden lexer oluşturur (dosya okunmaz).
      */
-    private void skipWhitespace() {
-        while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
-            pos++;
+    public BeyKaLexer(CharBuffer kaynak) {
+        this.okuyucu = null;
+        if (kaynak.hasArray()) {
+            this.buf = kaynak.array();
+            this.pos = kaynak.arrayOffset() + kaynak.position();
+            this.end = kaynak.arrayOffset() + kaynak.limit();
+        } else {
+            this.buf = new char[kaynak.remaining()];
+            kaynak.duplicate().get(buf);
+            this.pos = 0;
+            this.end = buf.length;
         }
+        this.lineStart = pos;
+        this.taban = -pos; // Tokenların offset'i kaynağın başına göredir
     }
 
     /**
-     * Bir sonraki tokenı okur ve TokenInfo olarak döndürür.
-     * Satır sonuna gelindiğinde yeni satır okur, dosya bittiğinde null döner.
+     * Akış modu: kaynak okuyucudan parça parça okunur. Token üretildikçe tüketilen
+     * karakterler tampondan atılır.
      */
-    public TokenInfo nextToken() throws IOException {
-        while (true) {
-            // Satır bitti, yenisini oku
-            if (pos >= line.length()) {
-                line = reader.readLine();
-                if (line == null) return null; // Dosya bitti
-                lineNumber++;
-                pos = 0;
-                continue;
-            }
+    public BeyKaLexer(Reader okuyucu) {
+        this.okuyucu = okuyucu;
+        this.buf = new char[AKIS_TAMPONU];
+        this.end = 0;
+        this.pos = 0;
+    }
 
-            // Yorum satırı desteği: // sonrası atlanır
-            int commentIdx = line.indexOf("//");
-            if (commentIdx != -1) {
-                line = line.substring(0, commentIdx);
-            }
+    /** Dosyayı FileChannel.map ile eşleyip tek seferde karakterlere çözer. */
+    private static CharBuffer oku(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            return coz(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
 
-            skipWhitespace();
-            if (pos >= line.length()) {
-                line = "";
-                pos = 0;
-                continue;
+    /** Kaynak baytlarını dosyadan okunurkenki gibi varsayılan karakter kodlamasıyla çözer. */
+    static CharBuffer coz(ByteBuffer baytlar) {
+        return Charset.defaultCharset().decode(baytlar);
+    }
+
+    /**
+     * Boşluk karakterlerini ve yorum satırlarını atlar; satır sonlarını sayar.
+     * \n, \r\n ve \r satır sonu kabul edilir.
+     */
+    private void skipWhitespace() {
+        while (var(0)) {
+            char c = buf[pos];
+            if (c == '\n' || c == '\r') {
+                satirSonu();
+            } else if (c == '/' && var(1) && buf[pos + 1] == '/') {
+                // Yorum satırı desteği: // sonrası satır sonuna kadar atlanır
+                while (var(0) && buf[pos] != '\n' && buf[pos] != '\r') pos++;
+            } else if (Character.isWhitespace(c)) {
+                pos++;
+            } else {
+                return;
             }
+        }
+    }
 
-            char ch = line.charAt(pos);
-            int startPos = pos;
+    /** pos bir satır sonu karakterindeyken onu tüketir ve satır sayacını ilerletir. */
+    private void satirSonu() {
+        if (buf[pos] == '\r' && var(1) && buf[pos + 1] == '\n') pos++;
+        pos++;
+        lineNumber++;
+        lineStart = pos;
+    }
 
-            // --- String (tırnak içinde) desteği ---
-            if (ch == '"') {
-                pos++;
-                StringBuilder sb = new StringBuilder();
-                boolean closed = false;
-                while (true) {
-                    if (pos >= line.length()) {
-                        line = reader.readLine();
-                        if (line == null) break;
-                        lineNumber++;
-                        pos = 0;
-                        sb.append('\n');
-                        continue;
-                    }
-                    char c = line.charAt(pos);
-                    if (c == '"') {
-                        closed = true;
-                        pos++;
-                        break;
-                    }
-                    sb.append(c);
-                    pos++;
-                }
-                if (!closed) {
-                    // Hatalı string, kapanmamış
-                    return new TokenInfo(Token.DIGER, sb.toString(), lineNumber, startPos);
-                }
-                return new TokenInfo(Token.STRING, sb.toString(), lineNumber, startPos);
+    /**
+     * buf[pos + k] mevcut mu? Akış modunda gerekirse tampon okuyucudan doldurulur.
+     * Dosya modunda yalnızca sınır kontrolüdür.
+     */
+    private boolean var(int k) {
+        while (pos + k >= end) {
+            if (!doldur()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Tamponu okuyucudan doldurur. Tampon doluysa boşluk atlanırken tüketilmiş kısım
+     * atılır, token taranırken ise tampon büyütülür. Kaynak bittiyse false döner.
+     */
+    private boolean doldur() {
+        if (okuyucu == null || kaynakBitti) return false;
+        if (end == buf.length) {
+            if (kaydirilabilir && pos > 0) kaydir();
+            else buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        try {
+            int n = okuyucu.read(buf, end, buf.length - end);
+            if (n < 0) {
+                kaynakBitti = true;
+                return false;
             }
+            end += n;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            // --- Operatör ve sembol ayrıştırma ---
-            if (ch == '=') {
-                if (pos + 1 < line.length() && line.charAt(pos + 1) == '=') {
-                    pos += 2;
-                    return new TokenInfo(Token.ESIT_ESIT, "==", lineNumber, startPos);
-                }
-                pos++;
-                return new TokenInfo(Token.ESITTIR, "=", lineNumber, startPos);
-            } else if (ch == '!') {
-                if (pos + 1 < line.length() && line.charAt(pos + 1) == '=') {
-                    pos += 2;
-                    return new TokenInfo(Token.ESIT_DEGIL, "!=", lineNumber, startPos);
-                }
-                pos++;
-                return new TokenInfo(Token.DIGER, "!", lineNumber, startPos);
-            } else if (ch == '<') {
-                if (pos + 1 < line.length() && line.charAt(pos + 1) == '=') {
-                    pos += 2;
-                    return new TokenInfo(Token.KUCUK_ESIT, "<=", lineNumber, startPos);
-                }
-                pos++;
-                return new TokenInfo(Token.KUCUK, "<", lineNumber, startPos);
-            } else if (ch == '>') {
-                if (pos + 1 < line.length() && line.charAt(pos + 1) == '=') {
-                    pos += 2;
-                    return new TokenInfo(Token.BUYUK_ESIT, ">=", lineNumber, startPos);
-                }
-                pos++;
-                return new TokenInfo(Token.BUYUK, ">", lineNumber, startPos);
-            } else if (ch == '&') {
-                if (pos + 1 < line.length() && line.charAt(pos + 1) == '&') {
-                    pos += 2;
-                    return new TokenInfo(Token.VE, "&&", lineNumber, startPos);
-                }
-                pos++;
-                return new TokenInfo(Token.DIGER, "&", lineNumber, startPos);
-            } else if (ch == '|') {
-                if (pos + 1 < line.length() && line.charAt(pos + 1) == '|') {
-                    pos += 2;
-                    return new TokenInfo(Token.VEYA, "||", lineNumber, startPos);
-                }
-                pos++;
-                return new TokenInfo(Token.DIGER, "|", lineNumber, startPos);
-            } else if (ch == '+') {
-                if (pos + 1 < line.length() && line.charAt(pos + 1) == '+') {
-                    pos += 2;
-                    return new TokenInfo(Token.ARTTIR, "++", lineNumber, startPos);
+    /**
+     * Akış modunda tüketilmiş karakterleri tampondan atar. Yalnızca token sınırında
+     * (tarama ortasında değil) çağrılır, çünkü tampondaki konumlar kayar.
+     */
+    private void kaydir() {
+        int n = end - pos;
+        System.arraycopy(buf, pos, buf, 0, n);
+        taban += pos;
+        lineStart -= pos;
+        end = n;
+        pos = 0;
+    }
+
+    /**
+     * Bir sonraki tokenı okur ve TokenInfo olarak döndürür.
+     * Dosya bittiğinde null döner.
+     */
+    public TokenInfo nextToken() {
+        if (!tara()) return null; // Dosya bitti
+        return new TokenInfo(tokTip, tokLexeme, tokSatir, tokSutun, tokOffset, tokUzunluk);
+    }
+
+    /**
+     * Kaynağın kalanını tokenlara ayırıp paketlenmiş token deposuna ekler.
+     * Token başına TokenInfo nesnesi üretilmez.
+     */
+    public BeyKaTokenBuffer tokenize(BeyKaTokenBuffer hedef) {
+        while (sonrakiniEkle(hedef)) {
+        }
+        return hedef;
+    }
+
+    /** Tek bir token tarayıp depoya ekler. Kaynak bittiyse false döner. */
+    public boolean sonrakiniEkle(BeyKaTokenKaynagi hedef) {
+        if (!tara()) return false;
+        hedef.ekle(tokTip, tokLexeme, tokSatir, tokSutun);
+        return true;
+    }
+
+    /**
+     * Bir sonraki tokenı tarar ve tok* alanlarına yazar. Dosya bittiğinde false döner.
+     */
+    private boolean tara() {
+        kaydirilabilir = true;
+        skipWhitespace();
+        if (!var(0)) return false;
+        kaydirilabilir = false;
+        if (okuyucu != null && pos > buf.length / 2) kaydir(); // Tarama başlamadan yer aç
+
+        char ch = buf[pos];
+        int start = pos;
+        int line = lineNumber;
+        int column = pos - lineStart;
+
+        // --- String (tırnak içinde) desteği ---
+        if (ch == '"') {
+            pos++;
+            StringBuilder sb = null; // Yalnızca satır sonu içeren stringlerde gerekir
+            int parca = pos;
+            boolean closed = false;
+            while (var(0)) {
+                char c = buf[pos];
+                if (c == '"') {
+                    closed = true;
+                    break;
                 }
-                pos++;
-                return new TokenInfo(Token.TOPLA, "+", lineNumber, startPos);
-            } else if (ch == '-') {
-                if (pos + 1 < line.length() && line.charAt(pos + 1) == '-') {
-                    pos += 2;
-                    return new TokenInfo(Token.AZALT, "--", lineNumber, startPos);
+                if (c == '\n' || c == '\r') {
+                    if (sb == null) sb = new StringBuilder();
+                    sb.append(buf, parca, pos - parca);
+                    satirSonu();
+                    if (var(0)) sb.append('\n'); // Dosya sonundaki satır sonu stringe eklenmez
+                    parca = pos;
+                    continue;
                 }
                 pos++;
-                return new TokenInfo(Token.CIKAR, "-", lineNumber, startPos);
-            } else if (ch == '*') {
-                pos++;
-                return new TokenInfo(Token.CARP, "*", lineNumber, startPos);
-            } else if (ch == '/') {
-                pos++;
-                return new TokenInfo(Token.BOL, "/", lineNumber, startPos);
-            } else if (ch == '%') {
-                pos++;
-                return new TokenInfo(Token.MOD, "%", lineNumber, startPos);
-            } else if (ch == '(') {
-                pos++;
-                return new TokenInfo(Token.PARANTEZ_AC, "(", lineNumber, startPos);
-            } else if (ch == ')') {
-                pos++;
-                return new TokenInfo(Token.PARANTEZ_KAPA, ")", lineNumber, startPos);
-            } else if (ch == '{') {
-                pos++;
-                return new TokenInfo(Token.SURET_AC, "{", lineNumber, startPos);
-            } else if (ch == '}') {
-                pos++;
-                return new TokenInfo(Token.SURET_KAPA, "}", lineNumber, startPos);
-            } else if (ch == ';') {
-                pos++;
-                return new TokenInfo(Token.NOKTALI_VIRGUL, ";", lineNumber, startPos);
-            } else if (ch == ',') {
-                pos++;
-                return new TokenInfo(Token.VIRGUL, ",", lineNumber, startPos);
-            } else if (ch == '.') {
-                pos++;
-                return new TokenInfo(Token.NOKTA, ".", lineNumber, startPos);
             }
+            String deger = (sb == null) ? new String(buf, parca, pos - parca)
+                    : sb.append(buf, parca, pos - parca).toString();
+            if (closed) pos++;
+            // Kapanmamış string hatalıdır
+            return token(closed ? Token.STRING : Token.DIGER, deger, line, column, start, pos - start);
+        }
 
-            // --- Anahtar kelime veya değişken/identifier ayrıştırma ---
-            if (Character.isLetter(ch) || isTurkishLetter(ch) || ch == '_') {
-                int start = pos;
-                while (pos < line.length() &&
-                        (Character.isLetterOrDigit(line.charAt(pos)) || isTurkishLetter(line.charAt(pos)) || line.charAt(pos) == '_')) {
-                    pos++;
-                }
-                String word = line.substring(start, pos);
-
-                if (keywords.contains(word)) {
-                    int keywordToken = switch (word) {
-                        case "tamsayı"   -> Token.TAMSAYI;
-                        case "ondalikli" -> Token.ONDALIKLI;
-                        case "kelime"    -> Token.KELIME;
-                        case "yaz"       -> Token.YAZ;
-                        case "ise"       -> Token.ISE;
-                        case "değilse"   -> Token.DEGILSE;
-                        case "döngü"     -> Token.DONGU;
-                        case "durdur"    -> Token.DURDUR;
-                        case "devam"     -> Token.DEVAM;
-                        case "eğer"      -> Token.EGER;
-                        case "fonksiyon" -> Token.FONKSIYON;
-                        case "dön"       -> Token.DON;
-                        default          -> Token.DEGISKEN;
-                    };
-                    return new TokenInfo(keywordToken, word, lineNumber, start);
-                } else {
-                    // Değişken adı
-                    return new TokenInfo(Token.DEGISKEN, word, lineNumber, start);
+        // --- Operatör ve sembol ayrıştırma ---
+        char next = var(1) ? buf[pos + 1] : '\0';
+        switch (ch) {
+            case '=': return next == '=' ? sembol(Token.ESIT_ESIT, "==", 2, line, column) : sembol(Token.ESITTIR, "=", 1, line, column);
+            case '!': return next == '=' ? sembol(Token.ESIT_DEGIL, "!=", 2, line, column) : sembol(Token.DIGER, "!", 1, line, column);
+            case '<': return next == '=' ? sembol(Token.KUCUK_ESIT, "<=", 2, line, column) : sembol(Token.KUCUK, "<", 1, line, column);
+            case '>': return next == '=' ? sembol(Token.BUYUK_ESIT, ">=", 2, line, column) : sembol(Token.BUYUK, ">", 1, line, column);
+            case '&': return next == '&' ? sembol(Token.VE, "&&", 2, line, column) : sembol(Token.DIGER, "&", 1, line, column);
+            case '|': return next == '|' ? sembol(Token.VEYA, "||", 2, line, column) : sembol(Token.DIGER, "|", 1, line, column);
+            case '+': return next == '+' ? sembol(Token.ARTTIR, "++", 2, line, column) : sembol(Token.TOPLA, "+", 1, line, column);
+            case '-': return next == '-' ? sembol(Token.AZALT, "--", 2, line, column) : sembol(Token.CIKAR, "-", 1, line, column);
+            case '*': return sembol(Token.CARP, "*", 1, line, column);
+            case '/': return sembol(Token.BOL, "/", 1, line, column);
+            case '%': return sembol(Token.MOD, "%", 1, line, column);
+            case '(': return sembol(Token.PARANTEZ_AC, "(", 1, line, column);
+            case ')': return sembol(Token.PARANTEZ_KAPA, ")", 1, line, column);
+            case '{': return sembol(Token.SURET_AC, "{", 1, line, column);
+            case '}': return sembol(Token.SURET_KAPA, "}", 1, line, column);
+            case '[': return sembol(Token.KOSELI_AC, "[", 1, line, column);
+            case ']': return sembol(Token.KOSELI_KAPA, "]", 1, line, column);
+            case ';': return sembol(Token.NOKTALI_VIRGUL, ";", 1, line, column);
+            case ',': return sembol(Token.VIRGUL, ",", 1, line, column);
+            case '.': return sembol(Token.NOKTA, ".", 1, line, column);
+            default: break;
+        }
+
+        // --- Anahtar kelime veya değişken/identifier ayrıştırma ---
+        if (Character.isLetter(ch) || isTurkishLetter(ch) || ch == '_') {
+            while (var(0) && (Character.isLetterOrDigit(buf[pos]) || isTurkishLetter(buf[pos]) || buf[pos] == '_')) {
+                pos++;
+            }
+            int len = pos - start;
+            for (int k = 0; k < KEYWORDS.length; k++) {
+                if (esit(KEYWORDS[k], start, len)) {
+                    return token(KEYWORD_TOKENS[k], KEYWORDS[k], line, column, start, len);
                 }
             }
+            // Değişken adı
+            return token(Token.DEGISKEN, new String(buf, start, len), line, column, start, len);
+        }
 
-            // --- Sayı (tamsayı veya ondalıklı) ayrıştırma ---
-            if (Character.isDigit(ch)) {
-                int start = pos;
-                boolean hasDot = false;
-                while (pos < line.length() && (Character.isDigit(line.charAt(pos)) || (!hasDot && line.charAt(pos) == '.'))) {
-                    if (line.charAt(pos) == '.') hasDot = true;
-                    pos++;
-                }
-                String number = line.substring(start, pos);
-                return new TokenInfo(Token.SAYI, number, lineNumber, start);
+        // --- Sayı (tamsayı veya ondalıklı) ayrıştırma ---
+        if (Character.isDigit(ch)) {
+            boolean hasDot = false;
+            while (var(0) && (Character.isDigit(buf[pos]) || (!hasDot && buf[pos] == '.'))) {
+                if (buf[pos] == '.') hasDot = true;
+                pos++;
             }
+            return token(Token.SAYI, new String(buf, start, pos - start), line, column, start, pos - start);
+        }
 
-            // --- Tanınmayan karakterler ---
-            pos++;
-            return new TokenInfo(Token.DIGER, String.valueOf(ch), lineNumber, startPos);
+        // --- Tanınmayan karakterler ---
+        pos++;
+        return token(Token.DIGER, String.valueOf(ch), line, column, start, 1);
+    }
+
+    /** Sabit lexeme'li operatör/sembol tokenı üretir ve uzunluğu kadar ilerler. */
+    private boolean sembol(int token, String lexeme, int len, int line, int column) {
+        int start = pos;
+        pos += len;
+        return token(token, lexeme, line, column, start, len);
+    }
+
+    /** Taranan tokenı tok* alanlarına yazar. */
+    private boolean token(int token, String lexeme, int line, int column, int offset, int length) {
+        tokTip = token;
+        tokLexeme = lexeme;
+        tokSatir = line;
+        tokSutun = column;
+        tokOffset = taban + offset;
+        tokUzunluk = length;
+        return true;
+    }
+
+    /** Kaynağın [start, start + len) aralığı verilen kelimeyle aynı mı? (String üretmeden) */
+    private boolean esit(String kelime, int start, int len) {
+        if (kelime.length() != len) return false;
+        for (int i = 0; i < len; i++) {
+            if (buf[start + i] != kelime.charAt(i)) return false;
         }
+        return true;
     }
 
     /**
      * Türkçe karakter kontrolü
      */
-    private boolean isTurkishLetter(char ch) {
-        return "ğĞşŞöÖüÜçÇıİ".indexOf(ch) >= 0;
+    private static boolean isTurkishLetter(char ch) {
+        switch (ch) {
+            case 'ğ': case 'Ğ': case 'ş': case 'Ş': case 'ö': case 'Ö':
+            case 'ü': case 'Ü': case 'ç': case 'Ç': case 'ı': case 'İ':
+                return true;
+            default:
+                return false;
+        }
     }
 
     /**
-     * Kaynak dosyayı kapatır.
+     * Akış modunda okuyucuyu kapatır. Dosya modunda kaynak bellekte olduğu için kapatılacak
+     * dosya yoktur.
      */
     @Override
     public void close() throws IOException {
-        reader.close();
+        if (okuyucu != null) okuyucu.close();
     }
 
     /**
      * TokenInfo iç sınıfı: her tokenin tipini, içeriğini ve konumunu tutar.
+     * offset ve length tokenın kaynak metindeki yeridir.
      */
     public static class TokenInfo {
         public int token;
         public String lexeme;
         public int line;
         public int column;
+        public int offset;
+        public int length;
 
         public TokenInfo(int token, String lexeme, int line, int column) {
+            this(token, lexeme, line, column, -1, 0);
+        }
+
+        public TokenInfo(int token, String lexeme, int line, int column, int offset, int length) {
             this.token = token;
             this.lexeme = lexeme;
             this.line = line;
             this.column = column;
+            this.offset = offset;
+            this.length = length;
         }
     }
 }
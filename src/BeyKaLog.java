@@ -0,0 +1,245 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * BeyKaLog.java
+ *
+ * Token ve hata loglarının asenkron, toplu yazıcısı. Kayıtlar sınırlı bir halka tampona
+ * (paralel diziler) eklenir; arka plandaki "beyka-log" iş parçacığı biriken kayıtları
+ * toplu olarak biçimlendirip dosyalara yazar. Böylece yorumlayıcının iş parçacığı
+ * biçimlendirme ve dosya G/Ç'si için beklemez. Tampon dolarsa ekleyen taraf yer açılana
+ * kadar bekler; kayıt kaybolmaz.
+ *
+ * Seviyeler:
+ *   HATA     Yalnızca logs/errors.txt yazılır; token logu kapalıdır.
+ *   BILGI    Tokenlar seçilen biçimde logs/ altına yazılır.
+ *   AYRINTI  Ayrıca token listesi ekrana da basılır (varsayılan).
+ * Token biçimleri: METIN (tokens.txt, ekrandakiyle aynı satırlar), CSV (tokens.csv),
+ * IKILI (tokens.bin: "BKT1" başlığı, ardından token başına tip, satır, sütun ve UTF lexeme).
+ * errors.txt ve seçilen token dosyası (token logu kapalıyken de) oluşturulurken açılıp
+ * boşaltılır; hata veya token olmayan bir çalıştırmada önceki çalıştırmanın logları kalmaz.
+ */
+public final class BeyKaLog implements AutoCloseable {
+    public static final int HATA = 1;
+    public static final int BILGI = 2;
+    public static final int AYRINTI = 3;
+
+    public static final int METIN = 0;
+    public static final int CSV = 1;
+    public static final int IKILI = 2;
+
+    // Kayıt türleri
+    private static final int TOKEN = 1;         // Tek token (akış modu)
+    private static final int TOKEN_DEPOSU = 2;  // Depodaki bütün tokenlar tek kayıtta
+    private static final int HATA_KAYDI = 3;
+
+    private static final int KAPASITE = 4096;
+
+    private final File logDir;
+    private final int seviye;
+    private final int tokenBicimi;
+
+    // Halka tampon: kayıt başına tür, üç int alan ve bir nesne (lexeme, mesaj veya depo)
+    private final int[] turler = new int[KAPASITE];
+    private final int[] tipler = new int[KAPASITE];
+    private final int[] satirlar = new int[KAPASITE];
+    private final int[] sutunlar = new int[KAPASITE];
+    private final Object[] nesneler = new Object[KAPASITE];
+    private int bas = 0;    // Yazıcının okuyacağı ilk kayıt
+    private int sayi = 0;   // Tampondaki kayıt sayısı
+    private boolean kapandi = false;
+
+    private final Thread yazici;
+
+    // Oluşturulurken açılan, sonra yalnızca yazıcı iş parçacığının kullandığı dosyalar
+    // (açılamayan null kalır ve kayıtları atlanır)
+    private PrintWriter tokenMetin;
+    private DataOutputStream tokenIkili;
+    private PrintWriter hataLog;
+
+    public BeyKaLog(File logDir, int seviye, int tokenBicimi) {
+        this.logDir = logDir;
+        this.seviye = seviye;
+        this.tokenBicimi = tokenBicimi;
+        dosyalariAc();
+        this.yazici = new Thread(this::calis, "beyka-log");
+        yazici.setDaemon(true);
+        yazici.start();
+    }
+
+    /** errors.txt'yi ve seçilen token dosyasını oluşturur veya boşaltır. */
+    private void dosyalariAc() {
+        try {
+            hataLog = new PrintWriter(new BufferedWriter(new FileWriter(new File(logDir, "errors.txt"))));
+            switch (tokenBicimi) {
+                case CSV:
+                    tokenMetin = new PrintWriter(new BufferedWriter(new FileWriter(new File(logDir, "tokens.csv"))));
+                    tokenMetin.println("token,lexeme,satir,sutun");
+                    break;
+                case IKILI:
+                    tokenIkili = new DataOutputStream(new BufferedOutputStream(
+                            new FileOutputStream(new File(logDir, "tokens.bin"))));
+                    tokenIkili.write("BKT1".getBytes(StandardCharsets.US_ASCII));
+                    break;
+                default:
+                    tokenMetin = new PrintWriter(new BufferedWriter(new FileWriter(new File(logDir, "tokens.txt"))));
+                    break;
+            }
+        } catch (IOException e) {
+            System.err.println("Log dosyasına yazılamadı: " + e.getMessage());
+        }
+    }
+
+    /** Token listesi ekrana basılacak mı? */
+    public boolean ekranAcik() {
+        return seviye >= AYRINTI;
+    }
+
+    /** Tokenlar dosyaya yazılacak mı? */
+    public boolean tokenAcik() {
+        return seviye >= BILGI;
+    }
+
+    /** Tek bir tokenı loglar (akış modu). */
+    public void token(int tip, String lexeme, int satir, int sutun) {
+        if (tokenAcik()) ekle(TOKEN, tip, satir, sutun, lexeme);
+    }
+
+    /** Depodaki bütün tokenları tek kayıtta loglar; depo bundan sonra değişmemelidir. */
+    public void tokenlar(BeyKaTokenBuffer tokens) {
+        if (tokenAcik()) ekle(TOKEN_DEPOSU, 0, 0, 0, tokens);
+    }
+
+    /** logs/errors.txt'ye bir hata satırı ekler. */
+    public void hata(String mesaj) {
+        ekle(HATA_KAYDI, 0, 0, 0, mesaj);
+    }
+
+    private synchronized void ekle(int tur, int tip, int satir, int sutun, Object nesne) {
+        while (sayi == KAPASITE && !kapandi) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (kapandi) return;
+        int i = (bas + sayi) % KAPASITE;
+        turler[i] = tur;
+        tipler[i] = tip;
+        satirlar[i] = satir;
+        sutunlar[i] = sutun;
+        nesneler[i] = nesne;
+        sayi++;
+        if (sayi == 1) notifyAll(); // Yazıcı boş tamponu bekliyor olabilir
+    }
+
+    /** Yazıcı iş parçacığı: kayıtları toplu olarak alır, kilidin dışında yazar. */
+    private void calis() {
+        int[] tur = new int[KAPASITE], tip = new int[KAPASITE], satir = new int[KAPASITE], sutun = new int[KAPASITE];
+        Object[] nesne = new Object[KAPASITE];
+        while (true) {
+            int n;
+            synchronized (this) {
+                while (sayi == 0 && !kapandi) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (sayi == 0) break; // Kapandı ve tampon boş
+                n = sayi;
+                for (int k = 0; k < n; k++) {
+                    int i = (bas + k) % KAPASITE;
+                    tur[k] = turler[i];
+                    tip[k] = tipler[i];
+                    satir[k] = satirlar[i];
+                    sutun[k] = sutunlar[i];
+                    nesne[k] = nesneler[i];
+                    nesneler[i] = null;
+                }
+                bas = (bas + n) % KAPASITE;
+                sayi = 0;
+                notifyAll(); // Bekleyen ekleyiciler devam edebilir
+            }
+            try {
+                for (int k = 0; k < n; k++) {
+                    yaz(tur[k], tip[k], satir[k], sutun[k], nesne[k]);
+                    nesne[k] = null;
+                }
+                if (tokenMetin != null) tokenMetin.flush();
+                if (tokenIkili != null) tokenIkili.flush();
+                if (hataLog != null) hataLog.flush();
+            } catch (IOException e) {
+                System.err.println("Log dosyasına yazılamadı: " + e.getMessage());
+            }
+        }
+        if (tokenMetin != null) tokenMetin.close();
+        if (hataLog != null) hataLog.close();
+        if (tokenIkili != null) {
+            try {
+                tokenIkili.close();
+            } catch (IOException e) {
+                System.err.println("Log dosyasına yazılamadı: " + e.getMessage());
+            }
+        }
+    }
+
+    private void yaz(int tur, int tip, int satir, int sutun, Object nesne) throws IOException {
+        switch (tur) {
+            case TOKEN:
+                tokenYaz(tip, (String) nesne, satir, sutun);
+                break;
+            case TOKEN_DEPOSU: {
+                BeyKaTokenBuffer tokens = (BeyKaTokenBuffer) nesne;
+                for (int i = 0; i < tokens.boyut(); i++) {
+                    tokenYaz(tokens.tip(i), tokens.lexeme(i), tokens.satir(i), tokens.sutun(i));
+                }
+                break;
+            }
+            case HATA_KAYDI:
+                if (hataLog != null) hataLog.println(nesne);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void tokenYaz(int tip, String lexeme, int satir, int sutun) throws IOException {
+        switch (tokenBicimi) {
+            case CSV:
+                if (tokenMetin == null) break;
+                tokenMetin.append(Integer.toString(tip)).append(',')
+                        .append('"').append(lexeme.replace("\"", "\"\"")).append('"').append(',')
+                        .append(Integer.toString(satir)).append(',')
+                        .append(Integer.toString(sutun)).println();
+                break;
+            case IKILI:
+                if (tokenIkili == null) break;
+                tokenIkili.writeInt(tip);
+                tokenIkili.writeInt(satir);
+                tokenIkili.writeInt(sutun);
+                tokenIkili.writeUTF(lexeme);
+                break;
+            default:
+                if (tokenMetin != null) tokenMetin.println(BeyKaTokenKaynagi.bicimle(tip, lexeme, satir, sutun));
+                break;
+        }
+    }
+
+    /** Kalan kayıtları yazdırır ve yazıcı iş parçacığının bitmesini bekler. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            kapandi = true;
+            notifyAll();
+        }
+        try {
+            yazici.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
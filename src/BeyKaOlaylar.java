@@ -0,0 +1,203 @@
+import jdk.jfr.*;
+
+/**
+ * BeyKaOlaylar.java
+ *
+ * Java Flight Recorder olayları. Çalıştırıcı ve motorlar BeyKa düzeyindeki işleri birer JFR
+ * olayı olarak yayar; böylece aynı kayıtta (ör. -XX:StartFlightRecording ya da jcmd JFR.start)
+ * GC, bellek ayırma ve G/Ç olaylarıyla yan yana görülürler. Olaylar "BeyKa" kategorisindedir
+ * ve adları beyka. önekiyle başlar (ör. jfr print --events beyka.FonksiyonCagrisi kayit.jfr).
+ *
+ *   beyka.Tokenizasyon     kaynağın tokenlara ayrılması (önbellekten okunursa yayılmaz)
+ *   beyka.Ayristirma       token listesinin program ağacına ayrıştırılması
+ *   beyka.FonksiyonKaydi   fonksiyonların tabloya kaydı ve değişkenlerin slotlara çözümlenmesi
+ *   beyka.Calistirma       programın baştan sona çalışması (görevlerin beklenmesi dahil)
+ *   beyka.FonksiyonCagrisi bir kullanıcı fonksiyonu çağrısı: fonksiyon, argüman sayısı, çağrı satırı
+ *   beyka.DosyaOkuma       oku ile dosya okunması: dosya yolu ve bayt sayısı
+ *
+ * Akış modunda tokenizasyon, ayrıştırma ve çalıştırma iç içe geçtiğinden yalnızca
+ * beyka.Calistirma ve ondan sonrakiler yayılır. JIT ile derlenmiş bir fonksiyonun kendi
+ * içinden yaptığı çağrılar derlenmiş kodda kaldığından olay yaymaz, dışarıdan yapılan
+ * çağrısı yayar.
+ *
+ * Bir olay sınıfının ilk kullanımı JFR altyapısını ayağa kaldırır (yüzlerce ms); bu yüzden
+ * olaylar yalnızca JVM'de JFR başlatılmışsa oluşturulur. Fabrika metotları aksi halde null
+ * döndürür ve motorlar olay nesnesi oluşturmadan devam eder. Kayıt program çalışırken
+ * (jcmd JFR.start) başlatılırsa sonraki olaylar yayılır.
+ */
+public final class BeyKaOlaylar {
+    private BeyKaOlaylar() {
+    }
+
+    @Name("beyka.Tokenizasyon")
+    @Label("BeyKa Tokenizasyon")
+    @Category("BeyKa")
+    @Description("Kaynak dosyanın tokenlara ayrılması")
+    static final class Tokenizasyon extends Event {
+        @Label("Kaynak")
+        String kaynak;
+        @Label("Token Sayısı")
+        int tokenSayisi;
+
+        void bitir(String kaynak, int tokenSayisi) {
+            this.kaynak = kaynak;
+            this.tokenSayisi = tokenSayisi;
+            commit();
+        }
+    }
+
+    @Name("beyka.Ayristirma")
+    @Label("BeyKa Ayrıştırma")
+    @Category("BeyKa")
+    @Description("Token listesinin program ağacına ayrıştırılması")
+    static final class Ayristirma extends Event {
+        @Label("Kaynak")
+        String kaynak;
+        @Label("Komut Sayısı")
+        int komutSayisi;
+        @Label("Hata Sayısı")
+        int hataSayisi;
+
+        void bitir(String kaynak, int komutSayisi, int hataSayisi) {
+            this.kaynak = kaynak;
+            this.komutSayisi = komutSayisi;
+            this.hataSayisi = hataSayisi;
+            commit();
+        }
+    }
+
+    @Name("beyka.FonksiyonKaydi")
+    @Label("BeyKa Fonksiyon Kaydı")
+    @Category("BeyKa")
+    @Description("Fonksiyonların tabloya kaydı ve değişkenlerin slotlara çözümlenmesi")
+    static final class FonksiyonKaydi extends Event {
+        @Label("Kaynak")
+        String kaynak;
+        @Label("Fonksiyon Sayısı")
+        int fonksiyonSayisi;
+
+        void bitir(String kaynak, int fonksiyonSayisi) {
+            this.kaynak = kaynak;
+            this.fonksiyonSayisi = fonksiyonSayisi;
+            commit();
+        }
+    }
+
+    @Name("beyka.Calistirma")
+    @Label("BeyKa Çalıştırma")
+    @Category("BeyKa")
+    @Description("Programın çalışması; başlatılan görevlerin beklenmesi dahil")
+    static final class Calistirma extends Event {
+        @Label("Kaynak")
+        String kaynak;
+        @Label("Motor")
+        String motor;
+        @Label("Hata Sayısı")
+        int hataSayisi;
+
+        void bitir(String kaynak, String motor, int hataSayisi) {
+            this.kaynak = kaynak;
+            this.motor = motor;
+            this.hataSayisi = hataSayisi;
+            commit();
+        }
+    }
+
+    @Name("beyka.FonksiyonCagrisi")
+    @Label("BeyKa Fonksiyon Çağrısı")
+    @Category("BeyKa")
+    @Description("Kullanıcı fonksiyonu çağrısı; süre çağrılan fonksiyonların süresini de kapsar")
+    static final class FonksiyonCagrisi extends Event {
+        @Label("Kaynak")
+        String kaynak;
+        @Label("Fonksiyon")
+        String fonksiyon;
+        @Label("Argüman Sayısı")
+        int argumanSayisi;
+        @Label("Satır")
+        int satir;
+
+        void bitir() {
+            commit();
+        }
+    }
+
+    @Name("beyka.DosyaOkuma")
+    @Label("BeyKa Dosya Okuma")
+    @Category("BeyKa")
+    @Description("oku yerleşik fonksiyonuyla dosya okunması")
+    static final class DosyaOkuma extends Event {
+        @Label("Dosya")
+        String dosya;
+        @Label("Bayt")
+        @DataAmount
+        long bayt; // Okunamadıysa -1
+
+        void bitir(String dosya, long bayt) {
+            this.dosya = dosya;
+            this.bayt = bayt;
+            commit();
+        }
+    }
+
+    /** JVM'de JFR başlatılmış mı; değilse hiçbir olay oluşturulmaz. */
+    static boolean kayitVar() {
+        return FlightRecorder.isInitialized();
+    }
+
+    /** Başlatılmış tokenizasyon olayı; JFR yoksa null. Alanlar bitir() ile doldurulur. */
+    static Tokenizasyon tokenizasyon() {
+        if (!kayitVar()) return null;
+        Tokenizasyon olay = new Tokenizasyon();
+        olay.begin();
+        return olay;
+    }
+
+    /** Başlatılmış ayrıştırma olayı; JFR yoksa null. */
+    static Ayristirma ayristirma() {
+        if (!kayitVar()) return null;
+        Ayristirma olay = new Ayristirma();
+        olay.begin();
+        return olay;
+    }
+
+    /** Başlatılmış fonksiyon kaydı olayı; JFR yoksa null. */
+    static FonksiyonKaydi fonksiyonKaydi() {
+        if (!kayitVar()) return null;
+        FonksiyonKaydi olay = new FonksiyonKaydi();
+        olay.begin();
+        return olay;
+    }
+
+    /** Başlatılmış çalıştırma olayı; JFR yoksa null. */
+    static Calistirma calistirma() {
+        if (!kayitVar()) return null;
+        Calistirma olay = new Calistirma();
+        olay.begin();
+        return olay;
+    }
+
+    /** Başlatılmış dosya okuma olayı; JFR yoksa null. */
+    static DosyaOkuma dosyaOkuma() {
+        if (!kayitVar()) return null;
+        DosyaOkuma olay = new DosyaOkuma();
+        olay.begin();
+        return olay;
+    }
+
+    /**
+     * Çağrı olayını başlatır; JFR yoksa veya hiçbir kayıt bu olayı istemiyorsa null döner.
+     * Dönüşte olay bitir() ile kaydedilir.
+     */
+    static FonksiyonCagrisi cagri(String kaynak, String fonksiyon, int argumanSayisi, int satir) {
+        if (!kayitVar()) return null;
+        FonksiyonCagrisi olay = new FonksiyonCagrisi();
+        if (!olay.isEnabled()) return null;
+        olay.kaynak = kaynak;
+        olay.fonksiyon = fonksiyon;
+        olay.argumanSayisi = argumanSayisi;
+        olay.satir = satir;
+        olay.begin();
+        return olay;
+    }
+}
@@ -0,0 +1,813 @@
+import java.util.*;
+
+/**
+ * BeyKaOptimizer.java
+ *
+ * Parse ile çözümleme (BeyKaResolver) arasında program ağacını iyileştiren geçiş:
+ *   - Sabit katlama: sabit işlenenli aritmetik ve karşılaştırmalar, sabit argümanlı uzunluk
+ *     ve karesi tek bir sabite dönüşür (5 + 3 * 2 -> 11).
+ *   - Ölü dal eleme: koşulu her zaman doğru olan eğer'in gövdesi yerine konur, her zaman
+ *     yanlış olan eğer ve hiç dönmeyecek döngü silinir; dön, durdur ve devam'dan sonra
+ *     aynı blokta kalan komutlar atılır.
+ *   - Döngüde değişmeyen ifadelerin taşınması: döngü içinde değişkenleri değişmeyen sayısal
+ *     ifadeler döngüden önce bir kez "#gN" geçici değişkenine hesaplanır.
+ *
+ * Dil anlamı birebir korunur; çıktı, hata mesajları ve sonsuz döngü koruması değişmez:
+ *   - Katlama yorumlayıcının hesap kurallarını (BeyKaValue) kullanır. Kelime işlenenli
+ *     işlem sol değeri verir, kelime içeren karşılaştırma yanlıştır.
+ *   - Koşullar kendi kurallarıyla değerlendirilir: karşılaştırma olmayan koşul her zaman
+ *     yanlıştır ve ve/veya iki tarafı da hesaplar. Bir koşul ancak hesaplanması yan etkisizse,
+ *     yani fonksiyon çağrısı içermiyorsa bilinen sayılır ve atılır.
+ *   - Yalnızca fonksiyon çağrısı içermeyen ve sonucu kesinlikle sayı olan ifadeler taşınır.
+ *     Geçici değişken ondalikli tanımlanır; ondalikli değişken tamsayı ve ondalıklı değeri
+ *     etiketiyle aynen saklar. Sayı kabul edilen değişkenler gövdede yalnızca tamsayı veya
+ *     ondalikli olarak tanımlanmış, parametre ve paralel döngü değişkeni olmayanlardır.
+ *   - Dil blok kapsamı tanımadığından bir tanım çerçevede bir kez çalışmalıdır. Bu yüzden
+ *     iç döngüden taşınan geçici değişken en dıştaki döngüden önce 0 ile tanımlanır ve iç
+ *     döngüden hemen önce atanır. Paralel döngü gövdesindeki tanımlar her turda yenilendiğinden
+ *     gövde kendi başına bir bölge sayılır.
+ *
+ * Girdi ağacı değiştirilmez; değişen düğümler yeniden oluşturulur (önbelleğe yazılan ağaç
+ * aynı kalır). Akış modunda program bütünüyle elde olmadığından kullanılmaz.
+ */
+public class BeyKaOptimizer {
+    // Koşulun derleme zamanında bilinen değeri
+    private static final int BILINMIYOR = 0;
+    private static final int DOGRU      = 1;
+    private static final int YANLIS     = 2;
+
+    static final String GECICI = "#g"; // Taşınan ifadelerin geçici değişken öneki (kullanıcı ismiyle çakışmaz)
+
+    private final BeyKaAst.Program program;
+    private int katlanan; // Sabite dönüşen ifade sayısı
+    private int elenen;   // Silinen veya gövdesi yerine konan komut sayısı
+    private int tasinan;  // Döngüden önceye taşınan ifade sayısı
+    private int geciciSayisi;
+    private Set<String> sayisal; // Taşımada sayı kabul edilen değişkenler (çalışılan gövde için)
+
+    public BeyKaOptimizer(BeyKaAst.Program program) {
+        this.program = program;
+    }
+
+    /** İyileştirilmiş programı döndürür; fonksiyonlar aynı sırayla yeniden oluşturulur. */
+    public BeyKaAst.Program optimize() {
+        Map<String, BeyKaAst.FonksiyonTanimi> fonksiyonlar = new LinkedHashMap<>();
+        for (BeyKaAst.FonksiyonTanimi f : program.fonksiyonlar.values()) {
+            List<BeyKaAst.Stmt> govde = govde(f.parametreler, f.govde);
+            fonksiyonlar.put(f.ad, new BeyKaAst.FonksiyonTanimi(f.ad, f.parametreler, govde, f.line, f.column));
+        }
+        BeyKaAst.Program sonuc = new BeyKaAst.Program(fonksiyonlar, govde(List.of(), program.komutlar));
+        sonuc.kaynak = program.kaynak;
+        return sonuc;
+    }
+
+    /** Yapılan iyileştirmelerin tek satırlık özeti. */
+    public String ozet() {
+        return katlanan + " ifade katlandı, " + elenen + " komut elendi, " + tasinan + " ifade döngüden taşındı";
+    }
+
+    /** Bir fonksiyonun veya ana programın gövdesini katlar, sonra döngülerden ifade taşır. */
+    private List<BeyKaAst.Stmt> govde(List<String> parametreler, List<BeyKaAst.Stmt> govde) {
+        List<BeyKaAst.Stmt> katli = blok(govde);
+        Map<String, Boolean> tanimlar = new HashMap<>(); // İsim -> yalnızca sayı tipiyle mi tanımlandı
+        tanimlariTopla(katli, tanimlar);
+        sayisal = new HashSet<>();
+        for (Map.Entry<String, Boolean> e : tanimlar.entrySet()) {
+            if (e.getValue()) sayisal.add(e.getKey());
+        }
+        sayisal.removeAll(parametreler); // Argümanlar her tipte gelebilir
+        paralelDegiskenleriniCikar(katli);
+        return tasiBlok(katli, null);
+    }
+
+    // --- Sabit katlama ve ölü dal eleme ---
+
+    /** Bloğu komut komut iyileştirir; erişilemeyen komutları atar. */
+    private List<BeyKaAst.Stmt> blok(List<BeyKaAst.Stmt> govde) {
+        List<BeyKaAst.Stmt> sonuc = new ArrayList<>(govde.size());
+        for (int i = 0; i < govde.size(); i++) {
+            BeyKaAst.Stmt komut = govde.get(i);
+            komut(komut, sonuc);
+            int k = komut.kind;
+            if (k == BeyKaAst.DON || k == BeyKaAst.DURDUR || k == BeyKaAst.DEVAM) {
+                elenen += govde.size() - i - 1; // Bloğun kalanı hiç çalışmaz
+                break;
+            }
+        }
+        return sonuc;
+    }
+
+    /** Komutu iyileştirip sonuc'a ekler (elenen komut eklenmez, gövdesi yerine konan eğer gövdesini ekler). */
+    private void komut(BeyKaAst.Stmt komut, List<BeyKaAst.Stmt> sonuc) {
+        switch (komut.kind) {
+            case BeyKaAst.DEGISKEN_TANIMI: {
+                BeyKaAst.DegiskenTanimi t = (BeyKaAst.DegiskenTanimi) komut;
+                BeyKaAst.Expr deger = ifade(t.deger);
+                sonuc.add(deger == t.deger ? t : new BeyKaAst.DegiskenTanimi(t.tip, t.ad, deger, t.line, t.column));
+                break;
+            }
+            case BeyKaAst.ATAMA: {
+                BeyKaAst.Atama a = (BeyKaAst.Atama) komut;
+                BeyKaAst.Expr deger = ifade(a.deger);
+                sonuc.add(deger == a.deger ? a : new BeyKaAst.Atama(a.ad, deger, a.line, a.column));
+                break;
+            }
+            case BeyKaAst.ELEMAN_ATAMA: {
+                BeyKaAst.ElemanAtama a = (BeyKaAst.ElemanAtama) komut;
+                BeyKaAst.Expr indeks = ifade(a.indeks), deger = ifade(a.deger);
+                sonuc.add(indeks == a.indeks && deger == a.deger ? a
+                        : new BeyKaAst.ElemanAtama(a.ad, indeks, deger, a.line, a.column));
+                break;
+            }
+            case BeyKaAst.YAZDIRMA: {
+                BeyKaAst.Yazdirma y = (BeyKaAst.Yazdirma) komut;
+                BeyKaAst.Expr deger = ifade(y.deger);
+                sonuc.add(deger == y.deger ? y : new BeyKaAst.Yazdirma(deger, y.line, y.column));
+                break;
+            }
+            case BeyKaAst.DON: {
+                BeyKaAst.Don d = (BeyKaAst.Don) komut;
+                BeyKaAst.Expr deger = ifade(d.deger);
+                sonuc.add(deger == d.deger ? d : new BeyKaAst.Don(deger, d.line, d.column));
+                break;
+            }
+            case BeyKaAst.EGER: {
+                BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                BeyKaAst.Expr kosul = kosul(e.kosul);
+                int durum = durum(kosul);
+                List<BeyKaAst.Stmt> govde = blok(e.govde);
+                if (durum == DOGRU) {
+                    elenen++;
+                    sonuc.addAll(govde); // Gövdenin dön/durdur/devam sinyali aynen dışarı çıkar
+                } else if (durum == YANLIS || (govde.isEmpty() && saf(kosul))) {
+                    elenen++;
+                } else {
+                    sonuc.add(new BeyKaAst.Eger(kosul, govde, e.line, e.column));
+                }
+                break;
+            }
+            case BeyKaAst.DONGU: {
+                BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                BeyKaAst.Expr kosul = kosul(d.kosul);
+                if (durum(kosul) == YANLIS) { // Hiç dönmez
+                    elenen++;
+                    break;
+                }
+                sonuc.add(new BeyKaAst.Dongu(kosul, blok(d.govde), d.line, d.column));
+                break;
+            }
+            case BeyKaAst.PARALEL_DONGU: {
+                BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                sonuc.add(new BeyKaAst.ParalelDongu(p.degisken, ifade(p.bas), ifade(p.son), p.indirgemeAdlari,
+                        p.indirgemeTurleri, blok(p.govde), p.line, p.column));
+                break;
+            }
+            default: // durdur, devam
+                sonuc.add(komut);
+        }
+    }
+
+    /** İfade bağlamında (değeri kullanılan) ifadeyi katlar. */
+    private BeyKaAst.Expr ifade(BeyKaAst.Expr e) {
+        switch (e.kind) {
+            case BeyKaAst.IKILI_ISLEM: {
+                BeyKaAst.IkiliIslem i = (BeyKaAst.IkiliIslem) e;
+                BeyKaAst.Expr sol = ifade(i.sol), sag = ifade(i.sag);
+                if (sol.kind == BeyKaAst.SABIT && sag.kind == BeyKaAst.SABIT) {
+                    katlanan++;
+                    return new BeyKaAst.Sabit(aritmetik(i.op, ((BeyKaAst.Sabit) sol).deger, ((BeyKaAst.Sabit) sag).deger),
+                            e.line, e.column);
+                }
+                return sol == i.sol && sag == i.sag ? e : new BeyKaAst.IkiliIslem(i.op, sol, sag, e.line, e.column);
+            }
+            case BeyKaAst.KARSILASTIRMA:
+            case BeyKaAst.MANTIKSAL: {
+                // Değer olarak koşul 1 veya 0'dır
+                BeyKaAst.Expr k = kosul(e);
+                int durum = durum(k);
+                if (durum != BILINMIYOR) {
+                    katlanan++;
+                    return new BeyKaAst.Sabit(durum == DOGRU ? 1 : 0, e.line, e.column);
+                }
+                if (k.kind == BeyKaAst.KARSILASTIRMA || k.kind == BeyKaAst.MANTIKSAL) return k;
+                return e; // ve/veya karşılaştırma olmayan tek tarafa indi; değeri 0/1 kalmalı
+            }
+            case BeyKaAst.FONKSIYON_CAGRI: {
+                BeyKaAst.FonksiyonCagri c = (BeyKaAst.FonksiyonCagri) e;
+                List<BeyKaAst.Expr> argumanlar = new ArrayList<>(c.argumanlar.size());
+                boolean degisti = false;
+                for (BeyKaAst.Expr a : c.argumanlar) {
+                    BeyKaAst.Expr y = ifade(a);
+                    degisti |= y != a;
+                    argumanlar.add(y);
+                }
+                if ((c.ad.equals("uzunluk") || c.ad.equals("karesi")) && !program.fonksiyonlar.containsKey(c.ad)
+                        && argumanlar.size() == 1 && argumanlar.get(0).kind == BeyKaAst.SABIT) {
+                    // Yan etkisiz yerleşikler; hata üretmezler
+                    katlanan++;
+                    Object deger = BeyKaInterpreter.yerlesikFonksiyon(c.ad, ((BeyKaAst.Sabit) argumanlar.get(0)).deger, List.of());
+                    return new BeyKaAst.Sabit(deger, e.line, e.column);
+                }
+                return degisti ? new BeyKaAst.FonksiyonCagri(c.ad, argumanlar, e.line, e.column) : e;
+            }
+            case BeyKaAst.DIZI_SABITI: {
+                BeyKaAst.DiziSabiti d = (BeyKaAst.DiziSabiti) e;
+                List<BeyKaAst.Expr> elemanlar = new ArrayList<>(d.elemanlar.size());
+                boolean degisti = false;
+                for (BeyKaAst.Expr a : d.elemanlar) {
+                    BeyKaAst.Expr y = ifade(a);
+                    degisti |= y != a;
+                    elemanlar.add(y);
+                }
+                return degisti ? new BeyKaAst.DiziSabiti(d.eleman, elemanlar, e.line, e.column) : e;
+            }
+            case BeyKaAst.DIZI_ERISIM: {
+                BeyKaAst.DiziErisim d = (BeyKaAst.DiziErisim) e;
+                BeyKaAst.Expr dizi = ifade(d.dizi), indeks = ifade(d.indeks);
+                return dizi == d.dizi && indeks == d.indeks ? e : new BeyKaAst.DiziErisim(dizi, indeks, e.line, e.column);
+            }
+            default: // sabit, değişken
+                return e;
+        }
+    }
+
+    /**
+     * Koşul bağlamındaki ifadeyi katlar. Sonuç koşul olarak aynı değeri ve aynı yan etkileri
+     * verir: ve/veya kısa devre yaptığından sonucu belirleyen sol taraftan sonraki sağ taraf hiç
+     * çalışmaz ve atılır; sağ taraf sonucu belirliyorsa sol taraf yalnızca yan etkisizse atılır.
+     */
+    private BeyKaAst.Expr kosul(BeyKaAst.Expr e) {
+        if (e.kind == BeyKaAst.KARSILASTIRMA) {
+            BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) e;
+            BeyKaAst.Expr sol = ifade(k.sol), sag = ifade(k.sag);
+            return sol == k.sol && sag == k.sag ? e : new BeyKaAst.Karsilastirma(k.op, sol, sag, e.line, e.column);
+        }
+        if (e.kind != BeyKaAst.MANTIKSAL) return ifade(e);
+        BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) e;
+        BeyKaAst.Expr sol = kosul(m.sol), sag = kosul(m.sag);
+        int ds = durum(sol), dg = durum(sag);
+        // VE'de doğru, VEYA'da yanlış taraf sonucu etkilemez; diğeri sonucu belirler
+        int etkisiz = m.op == Token.VE ? DOGRU : YANLIS;
+        if (ds == etkisiz) return sag;
+        if (dg == etkisiz) return sol;
+        // VE'de yanlış, VEYA'da doğru taraf sonucu belirler; soldaysa sağ taraf zaten çalışmaz
+        if (ds != BILINMIYOR) return sol;
+        if (dg != BILINMIYOR && saf(sol)) return sag;
+        return sol == m.sol && sag == m.sag ? e : new BeyKaAst.Mantiksal(m.op, sol, sag, e.line, e.column);
+    }
+
+    /** Katlanmış koşulun bilinen değeri; hesaplanması yan etki taşıyorsa BILINMIYOR. */
+    private static int durum(BeyKaAst.Expr kosul) {
+        switch (kosul.kind) {
+            case BeyKaAst.KARSILASTIRMA: {
+                BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) kosul;
+                if (k.sol.kind != BeyKaAst.SABIT || k.sag.kind != BeyKaAst.SABIT) return BILINMIYOR;
+                return karsilastir(k.op, ((BeyKaAst.Sabit) k.sol).deger, ((BeyKaAst.Sabit) k.sag).deger) ? DOGRU : YANLIS;
+            }
+            case BeyKaAst.MANTIKSAL: {
+                BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) kosul;
+                int ds = durum(m.sol);
+                if (ds == (m.op == Token.VE ? YANLIS : DOGRU)) return ds; // Sağ taraf çalışmaz
+                int dg = durum(m.sag);
+                if (ds == BILINMIYOR || dg == BILINMIYOR) return BILINMIYOR;
+                boolean a = ds == DOGRU, b = dg == DOGRU;
+                return (m.op == Token.VE ? a && b : a || b) ? DOGRU : YANLIS;
+            }
+            default: // Karşılaştırma olmayan koşul her zaman yanlıştır
+                return saf(kosul) ? YANLIS : BILINMIYOR;
+        }
+    }
+
+    /** İfade fonksiyon çağrısı içermiyor mu (hesaplanması hata ve yan etki üretmez). */
+    private static boolean saf(BeyKaAst.Expr e) {
+        switch (e.kind) {
+            case BeyKaAst.SABIT:
+            case BeyKaAst.DEGISKEN:
+                return true;
+            case BeyKaAst.IKILI_ISLEM:
+                return saf(((BeyKaAst.IkiliIslem) e).sol) && saf(((BeyKaAst.IkiliIslem) e).sag);
+            case BeyKaAst.KARSILASTIRMA:
+                return saf(((BeyKaAst.Karsilastirma) e).sol) && saf(((BeyKaAst.Karsilastirma) e).sag);
+            case BeyKaAst.MANTIKSAL:
+                return saf(((BeyKaAst.Mantiksal) e).sol) && saf(((BeyKaAst.Mantiksal) e).sag);
+            default:
+                return false;
+        }
+    }
+
+    /** BeyKaInterpreter.evaluateAritmetik'in sabitler üzerindeki karşılığı. */
+    private static Object aritmetik(int op, Object a, Object b) {
+        int ta = BeyKaValue.etiket(a), tb = BeyKaValue.etiket(b);
+        if (ta == BeyKaValue.TAM && tb == BeyKaValue.TAM && op != Token.BOL && op != Token.MOD) {
+            return BeyKaValue.tamIslem(op, (Integer) a, (Integer) b);
+        }
+        if (ta != BeyKaValue.NESNE && tb != BeyKaValue.NESNE) {
+            double r = BeyKaValue.hesapla(op, ((Number) a).doubleValue(), ((Number) b).doubleValue());
+            if (BeyKaValue.tamSonuc(op, r)) return (int) Math.round(r);
+            return r;
+        }
+        return a; // Sayı olmayan işlenen: sol değer
+    }
+
+    /** BeyKaInterpreter.evaluateKosul'un sabitler üzerindeki karşılığı. */
+    private static boolean karsilastir(int op, Object a, Object b) {
+        if (BeyKaValue.etiket(a) == BeyKaValue.NESNE || BeyKaValue.etiket(b) == BeyKaValue.NESNE) return false;
+        double x = ((Number) a).doubleValue(), y = ((Number) b).doubleValue();
+        switch (op) {
+            case Token.ESIT_ESIT: return x == y;
+            case Token.ESIT_DEGIL: return x != y;
+            case Token.KUCUK: return x < y;
+            case Token.KUCUK_ESIT: return x <= y;
+            case Token.BUYUK: return x > y;
+            case Token.BUYUK_ESIT: return x >= y;
+            default: return false;
+        }
+    }
+
+    // --- Döngüde değişmeyen ifadelerin taşınması ---
+
+    /**
+     * Bloktaki döngülerden değişmeyen ifadeleri taşır. tanimlar null ise blok hiçbir döngünün
+     * içinde değildir; değilse en dıştaki döngüden önce yapılacak geçici değişken tanımları
+     * buraya eklenir.
+     */
+    private List<BeyKaAst.Stmt> tasiBlok(List<BeyKaAst.Stmt> govde, List<BeyKaAst.Stmt> tanimlar) {
+        List<BeyKaAst.Stmt> sonuc = new ArrayList<>(govde.size());
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DONGU: {
+                    BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                    List<BeyKaAst.Stmt> disTanimlar = tanimlar != null ? tanimlar : new ArrayList<>();
+                    Set<String> atanan = new HashSet<>();
+                    atananlar(d.govde, atanan);
+                    Tasima t = new Tasima(atanan, tanimlar == null, disTanimlar, d);
+                    BeyKaAst.Expr kosul = tasi(d.kosul, true, t);
+                    List<BeyKaAst.Stmt> ic = tasiBlok(tasiKomutlar(d.govde, t), disTanimlar);
+                    if (tanimlar == null) sonuc.addAll(disTanimlar); // İç döngülerin geçici değişkenleri
+                    sonuc.addAll(t.once);
+                    sonuc.add(kosul == d.kosul && ic.equals(d.govde) ? d : new BeyKaAst.Dongu(kosul, ic, d.line, d.column));
+                    break;
+                }
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                    sonuc.add(new BeyKaAst.Eger(e.kosul, tasiBlok(e.govde, tanimlar), e.line, e.column));
+                    break;
+                }
+                case BeyKaAst.PARALEL_DONGU: {
+                    // Gövdedeki tanımlar her turda yenilenir: gövde ayrı bir bölgedir
+                    BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                    sonuc.add(new BeyKaAst.ParalelDongu(p.degisken, p.bas, p.son, p.indirgemeAdlari,
+                            p.indirgemeTurleri, tasiBlok(p.govde, null), p.line, p.column));
+                    break;
+                }
+                default:
+                    sonuc.add(komut);
+            }
+        }
+        return sonuc;
+    }
+
+    /** Bir döngü için taşıma durumu. */
+    private static final class Tasima {
+        final Set<String> atanan;           // Döngüde atanan veya tanımlanan değişkenler
+        final boolean enDis;                // Döngü başka bir döngünün içinde değil
+        final List<BeyKaAst.Stmt> tanimlar; // En dıştaki döngüden önceki geçici değişken tanımları
+        final BeyKaAst.Dongu dongu;
+        final List<BeyKaAst.Stmt> once = new ArrayList<>(); // Döngüden hemen önce çalışacak komutlar
+
+        Tasima(Set<String> atanan, boolean enDis, List<BeyKaAst.Stmt> tanimlar, BeyKaAst.Dongu dongu) {
+            this.atanan = atanan;
+            this.enDis = enDis;
+            this.tanimlar = tanimlar;
+            this.dongu = dongu;
+        }
+    }
+
+    /** Döngü gövdesindeki (iç bloklar dahil) komutların ifadelerinde taşıma yapar. */
+    private List<BeyKaAst.Stmt> tasiKomutlar(List<BeyKaAst.Stmt> govde, Tasima t) {
+        List<BeyKaAst.Stmt> sonuc = new ArrayList<>(govde.size());
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi d = (BeyKaAst.DegiskenTanimi) komut;
+                    BeyKaAst.Expr deger = tasi(d.deger, false, t);
+                    sonuc.add(deger == d.deger ? d : new BeyKaAst.DegiskenTanimi(d.tip, d.ad, deger, d.line, d.column));
+                    break;
+                }
+                case BeyKaAst.ATAMA: {
+                    BeyKaAst.Atama a = (BeyKaAst.Atama) komut;
+                    BeyKaAst.Expr deger = tasi(a.deger, false, t);
+                    sonuc.add(deger == a.deger ? a : new BeyKaAst.Atama(a.ad, deger, a.line, a.column));
+                    break;
+                }
+                case BeyKaAst.ELEMAN_ATAMA: {
+                    BeyKaAst.ElemanAtama a = (BeyKaAst.ElemanAtama) komut;
+                    BeyKaAst.Expr indeks = tasi(a.indeks, false, t), deger = tasi(a.deger, false, t);
+                    sonuc.add(indeks == a.indeks && deger == a.deger ? a
+                            : new BeyKaAst.ElemanAtama(a.ad, indeks, deger, a.line, a.column));
+                    break;
+                }
+                case BeyKaAst.YAZDIRMA: {
+                    BeyKaAst.Yazdirma y = (BeyKaAst.Yazdirma) komut;
+                    BeyKaAst.Expr deger = tasi(y.deger, false, t);
+                    sonuc.add(deger == y.deger ? y : new BeyKaAst.Yazdirma(deger, y.line, y.column));
+                    break;
+                }
+                case BeyKaAst.DON: {
+                    BeyKaAst.Don d = (BeyKaAst.Don) komut;
+                    BeyKaAst.Expr deger = tasi(d.deger, false, t);
+                    sonuc.add(deger == d.deger ? d : new BeyKaAst.Don(deger, d.line, d.column));
+                    break;
+                }
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                    sonuc.add(new BeyKaAst.Eger(tasi(e.kosul, true, t), tasiKomutlar(e.govde, t), e.line, e.column));
+                    break;
+                }
+                case BeyKaAst.DONGU: {
+                    BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                    sonuc.add(new BeyKaAst.Dongu(tasi(d.kosul, true, t), tasiKomutlar(d.govde, t), d.line, d.column));
+                    break;
+                }
+                case BeyKaAst.PARALEL_DONGU: {
+                    BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                    sonuc.add(new BeyKaAst.ParalelDongu(p.degisken, tasi(p.bas, false, t), tasi(p.son, false, t),
+                            p.indirgemeAdlari, p.indirgemeTurleri, tasiKomutlar(p.govde, t), p.line, p.column));
+                    break;
+                }
+                default:
+                    sonuc.add(komut);
+            }
+        }
+        return sonuc;
+    }
+
+    /**
+     * İfadenin döngüde değişmeyen en büyük alt ifadelerini geçici değişkenle değiştirir.
+     * Koşul bağlamındaki karşılaştırma ve ve/veya'nın kendisi taşınmaz (değeri koşul
+     * kuralıyla okunur), işlenenleri taşınabilir.
+     */
+    private BeyKaAst.Expr tasi(BeyKaAst.Expr e, boolean kosulBaglami, Tasima t) {
+        boolean islem = e.kind == BeyKaAst.IKILI_ISLEM
+                || (!kosulBaglami && (e.kind == BeyKaAst.KARSILASTIRMA || e.kind == BeyKaAst.MANTIKSAL));
+        if (islem && saf(e) && degismez(e, t.atanan) && sayiMi(e)) {
+            String ad = GECICI + geciciSayisi++;
+            sayisal.add(ad);
+            tasinan++;
+            BeyKaAst.Dongu d = t.dongu;
+            if (t.enDis) {
+                t.once.add(new BeyKaAst.DegiskenTanimi(BeyKaAst.Type.ONDALIKLI, ad, e, d.line, d.column));
+            } else {
+                // Tanım çerçevede bir kez çalışmalı: en dıştaki döngüden önce tanımlanır, burada atanır
+                t.tanimlar.add(new BeyKaAst.DegiskenTanimi(BeyKaAst.Type.ONDALIKLI, ad,
+                        new BeyKaAst.Sabit(0, d.line, d.column), d.line, d.column));
+                t.once.add(new BeyKaAst.Atama(ad, e, d.line, d.column));
+            }
+            return new BeyKaAst.Degisken(ad, e.line, e.column);
+        }
+        switch (e.kind) {
+            case BeyKaAst.IKILI_ISLEM: {
+                BeyKaAst.IkiliIslem i = (BeyKaAst.IkiliIslem) e;
+                BeyKaAst.Expr sol = tasi(i.sol, false, t), sag = tasi(i.sag, false, t);
+                return sol == i.sol && sag == i.sag ? e : new BeyKaAst.IkiliIslem(i.op, sol, sag, e.line, e.column);
+            }
+            case BeyKaAst.KARSILASTIRMA: {
+                BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) e;
+                BeyKaAst.Expr sol = tasi(k.sol, false, t), sag = tasi(k.sag, false, t);
+                return sol == k.sol && sag == k.sag ? e : new BeyKaAst.Karsilastirma(k.op, sol, sag, e.line, e.column);
+            }
+            case BeyKaAst.MANTIKSAL: {
+                BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) e;
+                BeyKaAst.Expr sol = tasi(m.sol, true, t), sag = tasi(m.sag, true, t);
+                return sol == m.sol && sag == m.sag ? e : new BeyKaAst.Mantiksal(m.op, sol, sag, e.line, e.column);
+            }
+            case BeyKaAst.FONKSIYON_CAGRI: {
+                BeyKaAst.FonksiyonCagri c = (BeyKaAst.FonksiyonCagri) e;
+                List<BeyKaAst.Expr> argumanlar = new ArrayList<>(c.argumanlar.size());
+                boolean degisti = false;
+                for (BeyKaAst.Expr a : c.argumanlar) {
+                    BeyKaAst.Expr y = tasi(a, false, t);
+                    degisti |= y != a;
+                    argumanlar.add(y);
+                }
+                return degisti ? new BeyKaAst.FonksiyonCagri(c.ad, argumanlar, e.line, e.column) : e;
+            }
+            case BeyKaAst.DIZI_SABITI: {
+                BeyKaAst.DiziSabiti d = (BeyKaAst.DiziSabiti) e;
+                List<BeyKaAst.Expr> elemanlar = new ArrayList<>(d.elemanlar.size());
+                boolean degisti = false;
+                for (BeyKaAst.Expr a : d.elemanlar) {
+                    BeyKaAst.Expr y = tasi(a, false, t);
+                    degisti |= y != a;
+                    elemanlar.add(y);
+                }
+                return degisti ? new BeyKaAst.DiziSabiti(d.eleman, elemanlar, e.line, e.column) : e;
+            }
+            case BeyKaAst.DIZI_ERISIM: {
+                // Okunan eleman döngüde değişebilir; yalnızca dizi ve indeks ifadeleri taşınabilir
+                BeyKaAst.DiziErisim d = (BeyKaAst.DiziErisim) e;
+                BeyKaAst.Expr dizi = tasi(d.dizi, false, t), indeks = tasi(d.indeks, false, t);
+                return dizi == d.dizi && indeks == d.indeks ? e : new BeyKaAst.DiziErisim(dizi, indeks, e.line, e.column);
+            }
+            default:
+                return e;
+        }
+    }
+
+    /** İfadedeki değişkenlerin hiçbiri döngüde atanmıyor mu. */
+    private static boolean degismez(BeyKaAst.Expr e, Set<String> atanan) {
+        switch (e.kind) {
+            case BeyKaAst.DEGISKEN:
+                return !atanan.contains(((BeyKaAst.Degisken) e).ad);
+            case BeyKaAst.IKILI_ISLEM:
+                return degismez(((BeyKaAst.IkiliIslem) e).sol, atanan) && degismez(((BeyKaAst.IkiliIslem) e).sag, atanan);
+            case BeyKaAst.KARSILASTIRMA:
+                return degismez(((BeyKaAst.Karsilastirma) e).sol, atanan) && degismez(((BeyKaAst.Karsilastirma) e).sag, atanan);
+            case BeyKaAst.MANTIKSAL:
+                return degismez(((BeyKaAst.Mantiksal) e).sol, atanan) && degismez(((BeyKaAst.Mantiksal) e).sag, atanan);
+            default:
+                return true;
+        }
+    }
+
+    /** İfadenin değeri kesinlikle sayı mı (geçici ondalikli değişkene tip hatası olmadan yazılır). */
+    private boolean sayiMi(BeyKaAst.Expr e) {
+        switch (e.kind) {
+            case BeyKaAst.SABIT:
+                return BeyKaValue.etiket(((BeyKaAst.Sabit) e).deger) != BeyKaValue.NESNE;
+            case BeyKaAst.DEGISKEN:
+                return sayisal.contains(((BeyKaAst.Degisken) e).ad);
+            case BeyKaAst.IKILI_ISLEM:
+                return sayiMi(((BeyKaAst.IkiliIslem) e).sol); // Sayı olmayan işlenende sonuç sol değerdir
+            case BeyKaAst.KARSILASTIRMA:
+            case BeyKaAst.MANTIKSAL:
+                return true; // 1 veya 0
+            default:
+                return false;
+        }
+    }
+
+    /** Gövdede (iç bloklar dahil) atanan, tanımlanan veya paralel döngüde yazılan değişkenler. */
+    private static void atananlar(List<BeyKaAst.Stmt> govde, Set<String> adlar) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI:
+                    adlar.add(((BeyKaAst.DegiskenTanimi) komut).ad);
+                    break;
+                case BeyKaAst.ATAMA:
+                    adlar.add(((BeyKaAst.Atama) komut).ad);
+                    break;
+                case BeyKaAst.EGER:
+                    atananlar(((BeyKaAst.Eger) komut).govde, adlar);
+                    break;
+                case BeyKaAst.DONGU:
+                    atananlar(((BeyKaAst.Dongu) komut).govde, adlar);
+                    break;
+                case BeyKaAst.PARALEL_DONGU: {
+                    BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                    adlar.add(p.degisken);
+                    adlar.addAll(p.indirgemeAdlari);
+                    atananlar(p.govde, adlar);
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+    }
+
+    /** Gövdedeki tanımları toplar: isim -> bütün tanımları tamsayı veya ondalikli mı. */
+    private static void tanimlariTopla(List<BeyKaAst.Stmt> govde, Map<String, Boolean> tanimlar) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi d = (BeyKaAst.DegiskenTanimi) komut;
+                    tanimlar.merge(d.ad, d.tip.sayisal(), Boolean::logicalAnd);
+                    break;
+                }
+                case BeyKaAst.EGER:
+                    tanimlariTopla(((BeyKaAst.Eger) komut).govde, tanimlar);
+                    break;
+                case BeyKaAst.DONGU:
+                    tanimlariTopla(((BeyKaAst.Dongu) komut).govde, tanimlar);
+                    break;
+                case BeyKaAst.PARALEL_DONGU:
+                    tanimlariTopla(((BeyKaAst.ParalelDongu) komut).govde, tanimlar);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /** Paralel döngü değişkenlerini sayı kabul edilenlerden çıkarır. */
+    private void paralelDegiskenleriniCikar(List<BeyKaAst.Stmt> govde) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.EGER:
+                    paralelDegiskenleriniCikar(((BeyKaAst.Eger) komut).govde);
+                    break;
+                case BeyKaAst.DONGU:
+                    paralelDegiskenleriniCikar(((BeyKaAst.Dongu) komut).govde);
+                    break;
+                case BeyKaAst.PARALEL_DONGU:
+                    sayisal.remove(((BeyKaAst.ParalelDongu) komut).degisken);
+                    paralelDegiskenleriniCikar(((BeyKaAst.ParalelDongu) komut).govde);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    // --- Döküm ---
+
+    /** Programı BeyKa sözdizimiyle yazar (--opt-dump); geçici değişkenler #gN adını taşır. */
+    public static String kaynak(BeyKaAst.Program program) {
+        StringBuilder sb = new StringBuilder();
+        for (BeyKaAst.FonksiyonTanimi f : program.fonksiyonlar.values()) {
+            sb.append("fonksiyon ").append(f.ad).append('(').append(String.join(", ", f.parametreler)).append(") {\n");
+            kaynakBlok(sb, f.govde, 1);
+            sb.append("}\n");
+        }
+        kaynakBlok(sb, program.komutlar, 0);
+        return sb.toString();
+    }
+
+    private static void kaynakBlok(StringBuilder sb, List<BeyKaAst.Stmt> govde, int girinti) {
+        for (BeyKaAst.Stmt komut : govde) {
+            sb.append("    ".repeat(girinti));
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi d = (BeyKaAst.DegiskenTanimi) komut;
+                    if (d.tip.elemani() != null) sb.append("dizi ").append(tipAdi(d.tip.elemani()));
+                    else sb.append(tipAdi(d.tip));
+                    sb.append(' ').append(d.ad).append(" = ");
+                    kaynakIfade(sb, d.deger);
+                    sb.append(";\n");
+                    break;
+                }
+                case BeyKaAst.ATAMA: {
+                    BeyKaAst.Atama a = (BeyKaAst.Atama) komut;
+                    sb.append(a.ad).append(" = ");
+                    kaynakIfade(sb, a.deger);
+                    sb.append(";\n");
+                    break;
+                }
+                case BeyKaAst.ELEMAN_ATAMA: {
+                    BeyKaAst.ElemanAtama a = (BeyKaAst.ElemanAtama) komut;
+                    sb.append(a.ad).append('[');
+                    kaynakIfade(sb, a.indeks);
+                    sb.append("] = ");
+                    kaynakIfade(sb, a.deger);
+                    sb.append(";\n");
+                    break;
+                }
+                case BeyKaAst.YAZDIRMA:
+                    sb.append("yaz(");
+                    kaynakIfade(sb, ((BeyKaAst.Yazdirma) komut).deger);
+                    sb.append(");\n");
+                    break;
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                    sb.append("eğer (");
+                    kaynakIfade(sb, e.kosul);
+                    sb.append(") ise {\n");
+                    kaynakBlok(sb, e.govde, girinti + 1);
+                    sb.append("    ".repeat(girinti)).append("}\n");
+                    break;
+                }
+                case BeyKaAst.DONGU: {
+                    BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                    sb.append("döngü (");
+                    kaynakIfade(sb, d.kosul);
+                    sb.append(") {\n");
+                    kaynakBlok(sb, d.govde, girinti + 1);
+                    sb.append("    ".repeat(girinti)).append("}\n");
+                    break;
+                }
+                case BeyKaAst.PARALEL_DONGU: {
+                    BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                    sb.append("paralel döngü (").append(p.degisken).append(", ");
+                    kaynakIfade(sb, p.bas);
+                    sb.append(", ");
+                    kaynakIfade(sb, p.son);
+                    sb.append(')');
+                    for (int i = 0; i < p.indirgemeAdlari.size(); i++) {
+                        sb.append(' ').append(BeyKaParalel.INDIRGEMELER[p.indirgemeTurleri[i]])
+                                .append('(').append(p.indirgemeAdlari.get(i)).append(')');
+                    }
+                    sb.append(" {\n");
+                    kaynakBlok(sb, p.govde, girinti + 1);
+                    sb.append("    ".repeat(girinti)).append("}\n");
+                    break;
+                }
+                case BeyKaAst.DON:
+                    sb.append("dön ");
+                    kaynakIfade(sb, ((BeyKaAst.Don) komut).deger);
+                    sb.append(";\n");
+                    break;
+                case BeyKaAst.DURDUR:
+                    sb.append("durdur;\n");
+                    break;
+                default:
+                    sb.append("devam;\n");
+            }
+        }
+    }
+
+    private static void kaynakIfade(StringBuilder sb, BeyKaAst.Expr e) {
+        switch (e.kind) {
+            case BeyKaAst.SABIT: {
+                Object d = ((BeyKaAst.Sabit) e).deger;
+                if (d instanceof String s) sb.append('"').append(s).append('"');
+                else sb.append(d);
+                break;
+            }
+            case BeyKaAst.DEGISKEN:
+                sb.append(((BeyKaAst.Degisken) e).ad);
+                break;
+            case BeyKaAst.IKILI_ISLEM: {
+                BeyKaAst.IkiliIslem i = (BeyKaAst.IkiliIslem) e;
+                kaynakIsleyen(sb, i.sol);
+                sb.append(' ').append(islec(i.op)).append(' ');
+                kaynakIsleyen(sb, i.sag);
+                break;
+            }
+            case BeyKaAst.KARSILASTIRMA: {
+                BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) e;
+                kaynakIsleyen(sb, k.sol);
+                sb.append(' ').append(islec(k.op)).append(' ');
+                kaynakIsleyen(sb, k.sag);
+                break;
+            }
+            case BeyKaAst.MANTIKSAL: {
+                BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) e;
+                kaynakIsleyen(sb, m.sol);
+                sb.append(m.op == Token.VE ? " && " : " || ");
+                kaynakIsleyen(sb, m.sag);
+                break;
+            }
+            case BeyKaAst.DIZI_SABITI: {
+                List<BeyKaAst.Expr> elemanlar = ((BeyKaAst.DiziSabiti) e).elemanlar;
+                sb.append('[');
+                for (int i = 0; i < elemanlar.size(); i++) {
+                    if (i > 0) sb.append(", ");
+                    kaynakIfade(sb, elemanlar.get(i));
+                }
+                sb.append(']');
+                break;
+            }
+            case BeyKaAst.DIZI_ERISIM: {
+                BeyKaAst.DiziErisim d = (BeyKaAst.DiziErisim) e;
+                kaynakIsleyen(sb, d.dizi);
+                sb.append('[');
+                kaynakIfade(sb, d.indeks);
+                sb.append(']');
+                break;
+            }
+            default: {
+                BeyKaAst.FonksiyonCagri c = (BeyKaAst.FonksiyonCagri) e;
+                sb.append(c.ad).append('(');
+                for (int i = 0; i < c.argumanlar.size(); i++) {
+                    if (i > 0) sb.append(", ");
+                    kaynakIfade(sb, c.argumanlar.get(i));
+                }
+                sb.append(')');
+            }
+        }
+    }
+
+    /** İşleneni yazar; iç içe işlemler parantezlenir. */
+    private static void kaynakIsleyen(StringBuilder sb, BeyKaAst.Expr e) {
+        boolean parantez = e.kind == BeyKaAst.IKILI_ISLEM || e.kind == BeyKaAst.KARSILASTIRMA || e.kind == BeyKaAst.MANTIKSAL;
+        if (parantez) sb.append('(');
+        kaynakIfade(sb, e);
+        if (parantez) sb.append(')');
+    }
+
+    private static String tipAdi(BeyKaAst.Type t) {
+        switch (t) {
+            case TAMSAYI: return "tamsayı";
+            case ONDALIKLI: return "ondalikli";
+            default: return "kelime";
+        }
+    }
+
+    private static String islec(int op) {
+        switch (op) {
+            case Token.TOPLA: return "+";
+            case Token.CIKAR: return "-";
+            case Token.CARP: return "*";
+            case Token.BOL: return "/";
+            case Token.MOD: return "%";
+            case Token.ESIT_ESIT: return "==";
+            case Token.ESIT_DEGIL: return "!=";
+            case Token.KUCUK: return "<";
+            case Token.KUCUK_ESIT: return "<=";
+            case Token.BUYUK: return ">";
+            case Token.BUYUK_ESIT: return ">=";
+            default: return "?";
+        }
+    }
+}
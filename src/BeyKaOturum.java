@@ -0,0 +1,159 @@
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * BeyKaOturum.java
+ *
+ * Aynı JVM'de birden fazla programın birbirinden yalıtılmış çalışması için iş parçacığı
+ * bağlamı. Bir oturum; göreli yolların çözüleceği dizini, log dizinini ve programın konsol
+ * çıktı/hata akışlarını taşır. Oturum programı çalıştıran iş parçacığına kurulur ve onun
+ * açtığı iş parçacıklarına (log, çıktı, JIT) geçer.
+ *
+ * Oturumlar kullanılmadan önce yonlendir() ile System.out ve System.err bir kez
+ * yönlendiricilerle değiştirilir; bunlar her yazmayı çalışan iş parçacığının oturumuna
+ * iletir. Oturumu olmayan iş parçacıkları (ve tek program çalıştıran komut satırı modu)
+ * doğrudan sürecin akışlarını kullanır. Bağlamı devralmayan havuz iş parçacıklarına
+ * (ForkJoinPool) Baglam ile açıkça taşınır.
+ *
+ * Kullananlar: sunucu modu (BeyKaSunucu) ve toplu çalıştırma (BeyKaToplu).
+ */
+public final class BeyKaOturum {
+    private final Path dizin;
+    private final Path logDizini;     // null: dizin/logs
+    private volatile PrintStream out; // Program çalışırken BeyKaOutput kanalına geçer
+    private final PrintStream err;
+
+    // Programı çalıştıran iş parçacığının ve onun açtığı iş parçacıklarının oturumu (yoksa null)
+    private static final InheritableThreadLocal<BeyKaOturum> aktif = new InheritableThreadLocal<>();
+    private static boolean yonlendirildi = false;
+
+    /**
+     * @param dizin     göreli yolların (kaynak, logs/, önbellek, oku) çözüleceği dizin
+     * @param logDizini logların yazılacağı dizin; null ise dizin/logs
+     */
+    public BeyKaOturum(Path dizin, Path logDizini, PrintStream out, PrintStream err) {
+        this.dizin = dizin;
+        this.logDizini = logDizini;
+        this.out = out;
+        this.err = err;
+    }
+
+    /** System.out ve System.err'i oturuma göre yönlendiren akışlarla değiştirir (bir kez). */
+    public static synchronized void yonlendir() {
+        if (yonlendirildi) return;
+        System.setOut(new PrintStream(new Yonlendirici(System.out, false), true, Charset.defaultCharset()));
+        System.setErr(new PrintStream(new Yonlendirici(System.err, true), true, Charset.defaultCharset()));
+        yonlendirildi = true;
+    }
+
+    /** İşi bu iş parçacığında, bu oturumda çalıştırır ve sonucunu döndürür. */
+    public int calistir(IntSupplier is) {
+        aktif.set(this);
+        try {
+            return is.getAsInt();
+        } finally {
+            aktif.remove();
+        }
+    }
+
+    /** Yolu çözer: oturumda oturumun dizinine göre, aksi halde sürecin çalışma dizinine göre. */
+    static Path yol(String ad) {
+        Path p = Paths.get(ad);
+        BeyKaOturum o = aktif.get();
+        return o == null || p.isAbsolute() ? p : o.dizin.resolve(p);
+    }
+
+    /** Logların yazılacağı dizin. */
+    static File logDizini() {
+        BeyKaOturum o = aktif.get();
+        return o != null && o.logDizini != null ? o.logDizini.toFile() : yol("logs").toFile();
+    }
+
+    /** Bu iş parçacığının konsolu: oturumda oturumun çıktısı, aksi halde System.out. */
+    static PrintStream konsol() {
+        BeyKaOturum o = aktif.get();
+        return o == null ? System.out : o.out;
+    }
+
+    /** System.out'u değiştirir; oturumda yalnızca o oturumun çıktısı değişir. */
+    static void konsoluDegistir(PrintStream yeni) {
+        BeyKaOturum o = aktif.get();
+        if (o == null) {
+            System.setOut(yeni);
+        } else {
+            o.out = yeni;
+        }
+    }
+
+    /**
+     * Bir iş parçacığının oturumu ve yaz kanalı. Yakalandığı iş parçacığından, bunları
+     * devralmayan havuz iş parçacıklarına (paralel döngü parçaları) taşınır.
+     */
+    static final class Baglam {
+        private final BeyKaOturum oturum;
+        private final BeyKaOutput cikis;
+
+        private Baglam(BeyKaOturum oturum, BeyKaOutput cikis) {
+            this.oturum = oturum;
+            this.cikis = cikis;
+        }
+
+        /** Çalışan iş parçacığının bağlamı. */
+        static Baglam yakala() {
+            return new Baglam(aktif.get(), BeyKaOutput.kurulu());
+        }
+
+        /** İşi bu bağlamda çalıştırır; iş parçacığının önceki bağlamı sonra geri kurulur. */
+        <T> T calistir(Supplier<T> is) {
+            Baglam onceki = yakala();
+            kur();
+            try {
+                return is.get();
+            } finally {
+                onceki.kur();
+            }
+        }
+
+        private void kur() {
+            if (oturum == null) aktif.remove();
+            else aktif.set(oturum);
+            BeyKaOutput.kur(cikis);
+        }
+    }
+
+    /** System.out/System.err yerine kurulur; yazmaları çalışan oturumun akışına iletir. */
+    private static final class Yonlendirici extends OutputStream {
+        private final PrintStream varsayilan; // Oturumu olmayan iş parçacıkları
+        private final boolean hata;
+
+        Yonlendirici(PrintStream varsayilan, boolean hata) {
+            this.varsayilan = varsayilan;
+            this.hata = hata;
+        }
+
+        private PrintStream hedef() {
+            BeyKaOturum o = aktif.get();
+            if (o == null) return varsayilan;
+            return hata ? o.err : o.out;
+        }
+
+        @Override
+        public void write(int b) {
+            hedef().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            hedef().write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            hedef().flush();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/**
+ * BeyKaOutput.java
+ *
+ * Program çıktısının (yaz) kanalı. Çıktı sabit boyutlu bir bayt tamponunda toplanır ve
+ * tampon dolduğunda ya da belirli aralıklarla (arka planda) tek seferde hem terminale
+ * hem de FileChannel ile logs/output.txt'ye yazılır. Bütün çıktı bellekte tutulmaz;
+ * çok yazan programlar da sabit bellekle çalışır. Yazmalar bayt bayt değil toplu yapılır
+ * ve her yaz'da flush edilmez.
+ *
+ * yaz komutu (yorumlayıcı, VM ve JIT) kurulu kanala doğrudan yazar; System.out da aynı
+ * kanala yönlendirildiğinden diğer çıktılarla sıra korunur. Kanal iş parçacığına göre
+ * kurulur (programın açtığı iş parçacıkları devralır); sunucu modunda aynı anda çalışan
+ * programların çıktıları karışmaz.
+ */
+public final class BeyKaOutput extends OutputStream {
+    private static final int TAMPON = 8192;        // Bu kadar bayt birikince yazılır
+    private static final long FLUSH_ARALIGI = 100;  // ms; bekleyen çıktı en geç bu sürede görünür
+    private static final byte[] SATIR_SONU = System.lineSeparator().getBytes(Charset.defaultCharset());
+
+    // yaz komutlarının yazdığı kanal (yoksa System.out)
+    private static final InheritableThreadLocal<BeyKaOutput> kurulu = new InheritableThreadLocal<>();
+
+    private final OutputStream terminal;
+    private final FileChannel log; // logs/output.txt (yoksa null)
+    private final Charset charset = Charset.defaultCharset();
+    private final byte[] tampon = new byte[TAMPON];
+    private int dolu = 0;
+    private final ScheduledExecutorService zamanlayici;
+
+    /**
+     * Terminal akışına ve (null değilse) log dosyasına yazan kanal oluşturur.
+     * Log dosyası baştan yazılır.
+     */
+    public BeyKaOutput(OutputStream terminal, Path logDosyasi) throws IOException {
+        this.terminal = terminal;
+        this.log = logDosyasi == null ? null : FileChannel.open(logDosyasi,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.zamanlayici = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "beyka-cikis");
+            t.setDaemon(true);
+            return t;
+        });
+        zamanlayici.scheduleWithFixedDelay(this::zamanliFlush, FLUSH_ARALIGI, FLUSH_ARALIGI, TimeUnit.MILLISECONDS);
+    }
+
+    /** Bu iş parçacığındaki yaz komutlarının çıktısını kanala yönlendirir (null: System.out'a geri döner). */
+    public static void kur(BeyKaOutput cikis) {
+        if (cikis == null) kurulu.remove();
+        else kurulu.set(cikis);
+    }
+
+    /** Bu iş parçacığında kurulu kanal (yoksa null). */
+    static BeyKaOutput kurulu() {
+        return kurulu.get();
+    }
+
+    /** yaz(...) çıktısı: metni ve satır sonunu kurulu kanala, kanal yoksa System.out'a yazar. */
+    static void yaz(String metin) {
+        BeyKaOutput o = kurulu.get();
+        if (o != null) {
+            o.satir(metin);
+        } else {
+            System.out.println(metin);
+        }
+    }
+
+    /** Metni ve satır sonunu tampona ekler. ASCII metin karakter karakter kopyalanır. */
+    public synchronized void satir(String metin) {
+        int n = metin.length();
+        if (n + SATIR_SONU.length <= TAMPON - dolu && ascii(metin)) {
+            for (int i = 0; i < n; i++) tampon[dolu++] = (byte) metin.charAt(i);
+        } else {
+            byte[] b = metin.getBytes(charset);
+            write(b, 0, b.length);
+        }
+        write(SATIR_SONU, 0, SATIR_SONU.length);
+    }
+
+    private static boolean ascii(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            if (s.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (dolu == TAMPON) bosalt();
+        tampon[dolu++] = (byte) b;
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        if (len > TAMPON - dolu) {
+            bosalt();
+            if (len >= TAMPON) { // Büyük blok tampona kopyalanmadan yazılır
+                yazDisari(b, off, len);
+                return;
+            }
+        }
+        System.arraycopy(b, off, tampon, dolu, len);
+        dolu += len;
+    }
+
+    @Override
+    public synchronized void flush() {
+        bosalt();
+        try {
+            terminal.flush();
+        } catch (IOException e) {
+            // Terminal kapanmışsa çıktı yalnızca log dosyasına gider
+        }
+    }
+
+    private void zamanliFlush() {
+        synchronized (this) {
+            if (dolu > 0) flush();
+        }
+    }
+
+    /** Tampondakileri terminale ve log dosyasına yazar. */
+    private void bosalt() {
+        if (dolu == 0) return;
+        yazDisari(tampon, 0, dolu);
+        dolu = 0;
+    }
+
+    private void yazDisari(byte[] b, int off, int len) {
+        try {
+            terminal.write(b, off, len);
+        } catch (IOException e) {
+            // Terminal kapanmışsa çıktı yalnızca log dosyasına gider
+        }
+        if (log != null) {
+            try {
+                ByteBuffer bb = ByteBuffer.wrap(b, off, len);
+                while (bb.hasRemaining()) log.write(bb);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Çıktı dosyasına yazılamadı: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Kalan çıktıyı yazar, zamanlayıcıyı durdurur ve log dosyasını kapatır (terminal açık kalır). */
+    @Override
+    public void close() throws IOException {
+        zamanlayici.shutdownNow();
+        flush();
+        if (log != null) log.close();
+    }
+}
@@ -0,0 +1,244 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * BeyKaParalel.java
+ *
+ * Veri paralel döngü:
+ *   tamsayı s = 0;
+ *   paralel döngü (i, 0, 1000) topla(s) { s = s + i * i; }
+ * Gövde i = bas .. son - 1 için çalışır; aralık ortak ForkJoinPool'da parçalara bölünür ve
+ * her parça kendi yorumlayıcısında (veya VM'inde), çerçevenin bir kopyasıyla çalışır.
+ * Tur sayısı baştan bilindiği için sonsuz döngü koruması (MAX_LOOP_COUNT) uygulanmaz;
+ * gövdedeki iç döngüler korumaya tabidir.
+ *
+ * İndirgeme değişkenleri döngüden önce tanımlı sayı değişkenleridir:
+ *   topla(s)    her parça s = 0 ile başlar; sonunda s = s + parçaların toplamı
+ *   enküçük(m)  her parça m'nin önceki değeriyle başlar; sonunda en küçüğü kalır
+ *   enbüyük(m)  aynı şekilde en büyüğü kalır
+ * Gövdede başka değişkene atanamaz (parser denetler); gövdede tanımlanan değişkenler her
+ * turda yeniden tanımlanır. Çerçevedeki diziler de her parçaya kopyalanır: takma ad veya
+ * fonksiyon argümanı yoluyla dıştaki bir diziye yazılanlar yalnızca o parçanın kopyasını
+ * değiştirir, döngüden sonra görünmez. Parçaların hataları aralık sırasıyla eklenir; yaz çıktısının
+ * sırası ise parçaların çalışma sırasına bağlıdır. ondalıklı toplamlarda toplama sırası
+ * değiştiğinden sonuç sıralı döngüden yuvarlama kadar farklı olabilir.
+ */
+final class BeyKaParalel {
+    static final String PARALEL = "paralel";
+
+    /** İndirgeme türleri (INDIRGEMELER dizisindeki sırayla) */
+    static final int TOPLA    = 0;
+    static final int EN_KUCUK = 1;
+    static final int EN_BUYUK = 2;
+    static final String[] INDIRGEMELER = { "topla", "enküçük", "enbüyük" };
+
+    private static final int PARCA_CARPANI = 4; // İş parçacığı başına parça sayısı (dengesiz turlar için)
+
+    private BeyKaParalel() {
+    }
+
+    /** Döngüye girerken çalışan çerçevenin kopyası; her parça bundan kendi kopyasını alır. */
+    static final class Cerceve {
+        final BeyKaAst.Type[] types;
+        final byte[] tags;
+        final long[] bits;
+        final Object[] refs;
+
+        Cerceve(BeyKaAst.Type[] types, byte[] tags, long[] bits, Object[] refs, int base, int n) {
+            this.types = Arrays.copyOfRange(types, base, base + n);
+            this.tags = Arrays.copyOfRange(tags, base, base + n);
+            this.bits = Arrays.copyOfRange(bits, base, base + n);
+            this.refs = Arrays.copyOfRange(refs, base, base + n);
+        }
+
+        /**
+         * Parçaya özel referanslar: her dizinin kopyası, diğerleri aynen. Aynı diziyi gösteren
+         * slotlar parçada da aynı kopyayı gösterir; parçalar hiçbir diziyi paylaşmaz.
+         */
+        Object[] refler() {
+            Object[] r = refs.clone();
+            Map<BeyKaDizi, BeyKaDizi> kopyalar = null;
+            for (int i = 0; i < r.length; i++) {
+                if (r[i] instanceof BeyKaDizi d) {
+                    if (kopyalar == null) kopyalar = new IdentityHashMap<>();
+                    r[i] = kopyalar.computeIfAbsent(d, BeyKaDizi::kopya);
+                }
+            }
+            return r;
+        }
+    }
+
+    /** Bir parçanın (veya birleştirilmiş parçaların) indirgeme değerleri ve hataları. */
+    static final class Sonuc {
+        final byte[] tags; // İndirgemeler yalnızca sayı olduğundan referans tutulmaz
+        final long[] bits;
+        final List<String> hatalar;
+
+        Sonuc(int n, List<String> hatalar) {
+            this.tags = new byte[n];
+            this.bits = new long[n];
+            this.hatalar = hatalar;
+        }
+    }
+
+    /** [bas, son) turlarını kendi motorunda çalıştırıp parçanın sonucunu döndürür. */
+    interface Govde {
+        Sonuc calistir(int bas, int son, List<String> hatalar);
+    }
+
+    /**
+     * İndirgeme değişkenleri tanımlı ve sayı tipinde mi; değilse hatayı ekler.
+     * Hatalı döngü hiç çalıştırılmaz.
+     */
+    static boolean hazir(List<String> adlar, int[] slotlar, BeyKaAst.Type[] types, int base, List<String> errors) {
+        for (int k = 0; k < slotlar.length; k++) {
+            BeyKaAst.Type t = types[base + slotlar[k]];
+            if (t == null) {
+                errors.add("Tanımsız değişken: " + adlar.get(k));
+                return false;
+            }
+            if (!t.sayisal()) {
+                errors.add("Tip uyuşmazlığı: " + adlar.get(k));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Aralığı ortak havuzda parçalara bölüp çalıştırır ve parçaların sonuçlarını birleştirir. */
+    static Sonuc calistir(int bas, int son, int[] turler, Govde govde) {
+        long tur = (long) son - bas;
+        long parca = (long) ForkJoinPool.getCommonPoolParallelism() * PARCA_CARPANI;
+        long esik = Math.max(1, (tur + parca - 1) / parca);
+        // Havuz iş parçacıkları oturumu ve yaz kanalını devralmaz; her parça bunları kurar
+        return ForkJoinPool.commonPool().invoke(new Bolum(bas, son, esik, turler, govde, BeyKaOturum.Baglam.yakala()));
+    }
+
+    /** Aralığın bir bölümü: eşikten büyükse ikiye bölünür, değilse tek parça olarak çalışır. */
+    @SuppressWarnings("serial") // ForkJoinTask Serializable'dır ama bölümler hiç serileştirilmez
+    private static final class Bolum extends RecursiveTask<Sonuc> {
+        private final int bas;
+        private final int son;
+        private final long esik;
+        private final int[] turler;
+        private final Govde govde;
+        private final BeyKaOturum.Baglam baglam; // Döngüyü çalıştıran iş parçacığının oturumu ve yaz kanalı
+
+        Bolum(int bas, int son, long esik, int[] turler, Govde govde, BeyKaOturum.Baglam baglam) {
+            this.bas = bas;
+            this.son = son;
+            this.esik = esik;
+            this.turler = turler;
+            this.govde = govde;
+            this.baglam = baglam;
+        }
+
+        @Override
+        protected Sonuc compute() {
+            if ((long) son - bas <= esik) {
+                return baglam.calistir(() -> govde.calistir(bas, son, new ArrayList<>()));
+            }
+            int orta = (int) (bas + ((long) son - bas) / 2);
+            Bolum sol = new Bolum(bas, orta, esik, turler, govde, baglam);
+            Bolum sag = new Bolum(orta, son, esik, turler, govde, baglam);
+            sol.fork();
+            Sonuc b = sag.compute();
+            Sonuc a = sol.join();
+            return birlestir(turler, a, b);
+        }
+    }
+
+    /** İki komşu parçanın sonucunu (a soldaki) birleştirir; hatalar aralık sırasıyla kalır. */
+    private static Sonuc birlestir(int[] turler, Sonuc a, Sonuc b) {
+        List<String> hatalar = new ArrayList<>(a.hatalar);
+        hatalar.addAll(b.hatalar);
+        Sonuc s = new Sonuc(turler.length, hatalar);
+        for (int k = 0; k < turler.length; k++) {
+            if (turler[k] == TOPLA) {
+                topla(a.tags[k], a.bits[k], b.tags[k], b.bits[k], s, k);
+            } else {
+                double x = BeyKaValue.sayi(a.tags[k], a.bits[k]), y = BeyKaValue.sayi(b.tags[k], b.bits[k]);
+                boolean sag = turler[k] == EN_KUCUK ? y < x : y > x; // Eşitlikte soldaki kalır
+                s.tags[k] = sag ? b.tags[k] : a.tags[k];
+                s.bits[k] = sag ? b.bits[k] : a.bits[k];
+            }
+        }
+        return s;
+    }
+
+    /** İki sayıyı + ile aynı kurallarla toplayıp sonucun k. indirgemesine yazar. */
+    private static void topla(int ta, long a, int tb, long b, Sonuc s, int k) {
+        if (ta == BeyKaValue.TAM && tb == BeyKaValue.TAM) {
+            s.tags[k] = BeyKaValue.TAM;
+            s.bits[k] = BeyKaValue.tamIslem(Token.TOPLA, (int) a, (int) b);
+            return;
+        }
+        double r = BeyKaValue.sayi(ta, a) + BeyKaValue.sayi(tb, b);
+        if (BeyKaValue.tamSonuc(Token.TOPLA, r)) {
+            s.tags[k] = BeyKaValue.TAM;
+            s.bits[k] = (int) Math.round(r);
+        } else {
+            s.tags[k] = BeyKaValue.ONDALIK;
+            s.bits[k] = BeyKaValue.ondalik(r);
+        }
+    }
+
+    /**
+     * Parçanın çerçevesini (çerçeve kopyası, taban 0) hazırlar: döngü değişkeni bas, gizli
+     * üst sınır slotu son olur; topla değişkenleri sıfırdan başlar.
+     */
+    static void parcaHazirla(int degisken, int sonSlot, int[] slotlar, int[] turler,
+                             BeyKaAst.Type[] types, byte[] tags, long[] bits, int bas, int son) {
+        types[degisken] = BeyKaAst.Type.TAMSAYI;
+        tags[degisken] = BeyKaValue.TAM;
+        bits[degisken] = bas;
+        types[sonSlot] = BeyKaAst.Type.TAMSAYI;
+        tags[sonSlot] = BeyKaValue.TAM;
+        bits[sonSlot] = son;
+        for (int k = 0; k < slotlar.length; k++) {
+            if (turler[k] != TOPLA) continue;
+            if (tags[slotlar[k]] == BeyKaValue.TAM) {
+                bits[slotlar[k]] = 0;
+            } else {
+                bits[slotlar[k]] = BeyKaValue.ondalik(0.0);
+            }
+        }
+    }
+
+    /** Parça bittikten sonra indirgeme değişkenlerinin değerlerini okur. */
+    static Sonuc parcaSonucu(int[] slotlar, byte[] tags, long[] bits, List<String> hatalar) {
+        Sonuc s = new Sonuc(slotlar.length, hatalar);
+        for (int k = 0; k < slotlar.length; k++) {
+            s.tags[k] = tags[slotlar[k]];
+            s.bits[k] = bits[slotlar[k]];
+        }
+        return s;
+    }
+
+    /**
+     * Birleşmiş sonucu çalışan çerçeveye yazar: topla değişkenine önceki değeri eklenir,
+     * enküçük/enbüyük değişkenleri (önceki değer parçalara dahil olduğundan) doğrudan alınır.
+     * Sonuç değişkenin tipine uymuyorsa atamadaki gibi tamsayıya kesilir.
+     */
+    static void uygula(int[] slotlar, int[] turler, Sonuc s,
+                       BeyKaAst.Type[] types, byte[] tags, long[] bits, int base) {
+        Sonuc tek = new Sonuc(1, null);
+        for (int k = 0; k < slotlar.length; k++) {
+            int i = base + slotlar[k];
+            if (turler[k] == TOPLA) {
+                topla(tags[i], bits[i], s.tags[k], s.bits[k], tek, 0);
+            } else {
+                tek.tags[0] = s.tags[k];
+                tek.bits[0] = s.bits[k];
+            }
+            if (BeyKaValue.uyumlu(types[i], tek.tags[0], tek.bits[0], null)) {
+                tags[i] = tek.tags[0];
+                bits[i] = tek.bits[0];
+            } else {
+                tags[i] = BeyKaValue.TAM;
+                bits[i] = (int) Double.longBitsToDouble(tek.bits[0]);
+            }
+        }
+    }
+}
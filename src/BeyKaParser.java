@@ -1,514 +1,592 @@
-import java.time.LocalDate;
 import java.util.*;
-import java.nio.file.*;
 
 /**
  * BeyKaParser.java
  *
- * BeyKa Türkçe programlama dili için recursive descent parser ve interpreter.
- * Fonksiyon tanımlama/çağırma, değişken işlemleri, koşullu ifadeler, döngüler ve tip kontrolü içerir.
- * Token listesini (BeyKaLexer.TokenInfo) alır ve programı yorumlayarak çıktıyı üretir.
+ * BeyKa Türkçe programlama dili için recursive descent parser.
+ * Token kaynağını (BeyKaTokenKaynagi: depo veya akış tamponu) yalnızca bir kez okuyup BeyKaAst düğümlerinden
+ * oluşan bir program ağacı üretir. Tokenlar nesne olarak değil, depodaki sıralarıyla (int) ele alınır. Programın çalıştırılması BeyKaInterpreter'ın işidir;
+ * böylece döngü ve fonksiyon gövdeleri her çalıştırmada yeniden parse edilmez.
+ * Blok sonları ve hatalı bir başlıktan sonra atlanacak yer depodaki parantez eşleşme
+ * tablosundan (eslesen) sabit sürede bulunur; akış modunda tablo olmadığından kapanış
+ * tokenı okunarak aranır.
  */
 public class BeyKaParser {
-    /** Kullanıcı tanımlı fonksiyonları tutan iç sınıf. */
-    private static class Function {
-        List<String> parametreler;
-        List<BeyKaLexer.TokenInfo> govde;
-        Function(List<String> parametreler, List<BeyKaLexer.TokenInfo> govde) {
-            this.parametreler = parametreler;
-            this.govde = govde;
-        }
-    }
-
-    /** Fonksiyondan erken çıkışı simüle eden özel exception. */
-    private static class ReturnValue extends RuntimeException {
-        Object value;
-        ReturnValue(Object value) { this.value = value; }
-    }
-
-    private final List<BeyKaLexer.TokenInfo> tokens; // Token akışı
-    private int pos = 0; // Şu anki token pozisyonu
+    private final BeyKaTokenKaynagi tokens; // Token akışı
+    private int pos = 0; // Şu anki token pozisyonu (imleç)
+    private static final int YOK = -1; // peek() token kalmadığında bunu döndürür
     private final List<String> errors = new ArrayList<>(); // Toplanan hata mesajları
 
-    /** Desteklenen veri tipleri */
-    private enum Type { TAMSAYI, ONDALIKLI, KELIME }
-
-    private final Map<String,Type>      symbolTable     = new HashMap<>(); // Değişken tip tablosu
-    private final Map<String,Object>    memory          = new HashMap<>(); // Değişken değerleri
-    private final Map<String,Function>  fonksiyonTablosu = new HashMap<>(); // Fonksiyonlar
-
-    private static final int MAX_LOOP_COUNT = 100; // Sonsuz döngü koruması
+    private final Map<String, BeyKaAst.FonksiyonTanimi> fonksiyonTablosu = new LinkedHashMap<>(); // Fonksiyonlar (tanım sırasıyla)
+    private int donguDerinlik = 0; // İç içe döngü sayısı (durdur/devam kontrolü için)
+    private int paralelDerinlik = 0; // Çevreleyen paralel döngü sayısı (dön/durdur kontrolü için)
 
     /**
-     * Token listesinden parser nesnesi oluşturur.
+     * Token deposundan parser nesnesi oluşturur.
      */
-    public BeyKaParser(List<BeyKaLexer.TokenInfo> tokens) {
+    public BeyKaParser(BeyKaTokenKaynagi tokens) {
         this.tokens = tokens;
     }
 
+    /** Parse sırasında toplanan hata mesajları. Yorumlayıcı çalışma hatalarını bu listeye ekler. */
+    public List<String> getErrors() {
+        return errors;
+    }
+
     /**
-     * Tüm fonksiyon tanımlarını baştan bulup fonksiyon tablosuna ekler.
-     * (Parser'ın ilk geçişi)
+     * Token listesini baştan sona parse ederek program ağacını oluşturur.
+     * Fonksiyon tanımları nerede yazılmış olursa olsun fonksiyon tablosuna eklenir,
+     * diğer komutlar sırasıyla program gövdesine eklenir.
      */
-    public void ilkPassFonksiyonlariKaydet() {
-        int tmpPos = 0;
-        while (tmpPos < tokens.size()) {
-            BeyKaLexer.TokenInfo cur = tokens.get(tmpPos);
-            if (cur.token == Token.FONKSIYON) {
-                tmpPos++; // fonksiyon adı
-                String fname = tokens.get(tmpPos).lexeme;
-                tmpPos++; // (
-                List<String> params = new ArrayList<>();
-                if (tokens.get(tmpPos).token == Token.PARANTEZ_AC) {
-                    tmpPos++;
-                    while (tokens.get(tmpPos).token != Token.PARANTEZ_KAPA) {
-                        if (tokens.get(tmpPos).token == Token.DEGISKEN) {
-                            params.add(tokens.get(tmpPos).lexeme);
-                            tmpPos++;
-                            if (tokens.get(tmpPos).token == Token.VIRGUL) tmpPos++;
-                        } else break;
-                    }
-                    tmpPos++; // )
-                }
-                if (tokens.get(tmpPos).token == Token.SURET_AC) {
-                    int bodyStart = tmpPos + 1;
-                    int depth = 1;
-                    tmpPos++;
-                    while (tmpPos < tokens.size() && depth > 0) {
-                        if (tokens.get(tmpPos).token == Token.SURET_AC) depth++;
-                        else if (tokens.get(tmpPos).token == Token.SURET_KAPA) depth--;
-                        tmpPos++;
-                    }
-                    int bodyEnd = tmpPos - 1;
-                    fonksiyonTablosu.put(fname,
-                            new Function(params, new ArrayList<>(tokens.subList(bodyStart, bodyEnd)))
-                    );
-                }
-            } else {
-                tmpPos++;
-            }
+    public BeyKaAst.Program parseProgram() {
+        pos = 0;
+        List<BeyKaAst.Stmt> komutlar = new ArrayList<>();
+        BeyKaAst.Stmt komut;
+        while ((komut = parseSonrakiKomut()) != null) {
+            komutlar.add(komut);
         }
+        return new BeyKaAst.Program(fonksiyonTablosu, komutlar);
     }
 
     /**
-     * Token listesini baştan sona parse ederek programı çalıştırır.
-     * Hataları toplar ve ekrana basar.
+     * Sıradaki üst seviye komutu parse eder; akış modunda komutlar bununla tek tek
+     * alınıp çalıştırılır. Araya giren fonksiyon tanımları tabloya eklenir.
+     * Token kalmadığında null döner. Önceki komutların tokenları serbest bırakılır.
      */
-    public void parseProgram() {
-        ilkPassFonksiyonlariKaydet();
-        pos = 0;
+    public BeyKaAst.Stmt parseSonrakiKomut() {
         while (!isAtEnd()) {
-            parseKomut();
-        }
-        if (errors.isEmpty()) {
-            System.out.println("Program geçerli.");
-        } else {
-            System.out.println("Programda " + errors.size() + " hata bulundu:");
-            for (String e : errors) {
-                System.err.println(e);
-            }
+            tokens.serbestBirak(pos);
+            int before = pos;
+            BeyKaAst.Stmt komut = parseKomut();
+            if (pos == before) pos++;
+            if (komut != null) return komut;
         }
+        return null;
+    }
+
+    /** Şimdiye kadar tanımlanmış fonksiyonlar (tanım sırasıyla; akış modunda büyür). */
+    public Map<String, BeyKaAst.FonksiyonTanimi> getFonksiyonlar() {
+        return fonksiyonTablosu;
     }
 
-    /** Komutları parse eder: değişken tanımı, atama, yazdırma, koşul, döngü, fonksiyon çağrısı, vs. */
-    private void parseKomut() {
-        BeyKaLexer.TokenInfo cur = peek();
-        if (cur == null) return;
-        switch (cur.token) {
+    /**
+     * Komutları parse eder: değişken ve dizi tanımı, atama, dizi elemanına atama, yazdırma,
+     * koşul, döngü, paralel döngü, dön, durdur, devam.
+     * Fonksiyon tanımları tabloya eklenir ve null döner.
+     */
+    private BeyKaAst.Stmt parseKomut() {
+        int cur = peek();
+        if (cur == YOK) return null;
+        switch (tokens.tip(cur)) {
             case Token.FONKSIYON:
-                skipFonksiyonTanimi();
-                return;
+                parseFonksiyonTanimi();
+                return null;
             case Token.TAMSAYI:
             case Token.ONDALIKLI:
             case Token.KELIME:
-                parseDegiskenTanimla(cur.token);
-                break;
+                return parseDegiskenTanimla(tokens.tip(cur));
+            case Token.DIZI:
+                return parseDiziTanimla();
             case Token.DEGISKEN:
-                parseAtama();
-                break;
+                // paralel anahtar kelime değildir: yalnızca ardından döngü gelirse paralel döngüdür
+                if (tokens.lexeme(cur).equals(BeyKaParalel.PARALEL) && tokens.hazir(cur + 1)
+                        && tokens.tip(cur + 1) == Token.DONGU) {
+                    return parseParalelDongu();
+                }
+                if (tokens.hazir(cur + 1) && tokens.tip(cur + 1) == Token.KOSELI_AC) {
+                    return parseElemanAtama();
+                }
+                return parseAtama();
             case Token.YAZ:
-                parseYazdirma();
-                break;
+                return parseYazdirma();
             case Token.EGER:
             case Token.ISE:
-                parseEger();
-                break;
+                return parseEger();
             case Token.DONGU:
-                parseIken();
-                break;
+                return parseIken();
             case Token.DON:
-                parseDon();
-                break;
+                return parseDon();
+            case Token.DURDUR:
+            case Token.DEVAM:
+                return parseDonguKontrol();
             default:
-                error("Beklenmeyen komut: " + cur.lexeme);
+                error("Beklenmeyen komut: " + tokens.lexeme(cur));
+                advance();
+                return null;
         }
     }
 
-    /** Fonksiyon tanımını (çalışma sırasında) atlar, fonksiyonlar ilk geçişte kaydedilir. */
-    private void skipFonksiyonTanimi() {
-        advance(); // fonksiyon
-        advance(); // ad
-        if (match(Token.PARANTEZ_AC)) {
-            while (!check(Token.PARANTEZ_KAPA) && !isAtEnd()) advance();
-            match(Token.PARANTEZ_KAPA);
-        }
-        if (match(Token.SURET_AC)) {
-            int depth = 1;
-            while (depth > 0 && !isAtEnd()) {
-                if (check(Token.SURET_AC)) depth++;
-                else if (check(Token.SURET_KAPA)) depth--;
-                advance();
-            }
+    /**
+     * { komut* } bloğunu parse eder. ac açılış parantezinin sırasıdır ve çağıran tarafından
+     * tüketilmiş olmalıdır (yoksa YOK). Eşi biliniyorsa blok tam olarak eşleşen } tokenında biter.
+     */
+    private List<BeyKaAst.Stmt> parseBlok(int ac) {
+        List<BeyKaAst.Stmt> govde = new ArrayList<>();
+        int son = ac != YOK ? tokens.eslesen(ac) : -1;
+        while (son >= 0 ? pos < son : !check(Token.SURET_KAPA) && !isAtEnd()) {
+            int before = pos;
+            BeyKaAst.Stmt komut = parseKomut();
+            if (komut != null) govde.add(komut);
+            if (pos == before) pos++;
         }
+        expect(Token.SURET_KAPA);
+        return govde;
     }
 
-    /** Değişken tanımlarını parse eder. (ör. tamsayı a = 5;) */
-    private void parseDegiskenTanimla(int tipToken) {
-        Type veriTipi = null;
-        if (tipToken == Token.TAMSAYI) veriTipi = Type.TAMSAYI;
-        else if (tipToken == Token.ONDALIKLI) veriTipi = Type.ONDALIKLI;
-        else if (tipToken == Token.KELIME) veriTipi = Type.KELIME;
-
-        advance();
-        BeyKaLexer.TokenInfo name = peek();
+    /** fonksiyon ad(p1, p2) { ... } tanımını parse edip fonksiyon tablosuna ekler. */
+    private void parseFonksiyonTanimi() {
+        int start = advance(); // fonksiyon
+        int name = peek();
         if (!match(Token.DEGISKEN)) {
-            error("Geçerli değişken ismi bekleniyor.");
+            error("Geçerli fonksiyon ismi bekleniyor.");
+            atla(Token.PARANTEZ_AC);
+            atla(Token.SURET_AC); // Gövde üst seviye komutlar gibi çalıştırılmasın
             return;
         }
-        if (symbolTable.containsKey(name.lexeme)) {
-            errors.add("Değişken önceden tanımlı: " + name.lexeme);
+        List<String> params = new ArrayList<>();
+        int ac = peek();
+        if (match(Token.PARANTEZ_AC)) {
+            while (check(Token.DEGISKEN)) {
+                params.add(tokens.lexeme(advance()));
+                if (!match(Token.VIRGUL)) break;
+            }
+            kapat(ac, Token.PARANTEZ_KAPA);
+        }
+        List<BeyKaAst.Stmt> govde = new ArrayList<>();
+        int disDerinlik = donguDerinlik; // Fonksiyon gövdesi çevreleyen döngünün parçası değildir
+        int disParalel = paralelDerinlik;
+        donguDerinlik = 0;
+        paralelDerinlik = 0;
+        if (check(Token.SURET_AC)) {
+            govde = parseBlok(advance());
         } else {
-            symbolTable.put(name.lexeme, veriTipi);
+            expect(Token.SURET_AC);
         }
+        donguDerinlik = disDerinlik;
+        paralelDerinlik = disParalel;
+        fonksiyonTablosu.put(tokens.lexeme(name),
+                new BeyKaAst.FonksiyonTanimi(tokens.lexeme(name), params, govde, tokens.satir(start), tokens.sutun(start)));
+    }
 
-        expect(Token.ESITTIR);
-        Object val = evaluateIfade();
+    /** Değişken tanımlarını parse eder. (ör. tamsayı a = 5;) */
+    private BeyKaAst.Stmt parseDegiskenTanimla(int tipToken) {
+        int start = advance();
+        return parseTanim(veriTipi(tipToken), start);
+    }
 
-        if (!isValueCompatible(veriTipi, val)) {
-            if (veriTipi == Type.TAMSAYI && val instanceof Double) {
-                int newVal = ((Double) val).intValue();
-                memory.put(name.lexeme, newVal);
-            } else {
-                errors.add("Tip uyuşmazlığı: " + name.lexeme);
-            }
-        } else {
-            memory.put(name.lexeme, val);
+    /** Dizi tanımlarını parse eder. (ör. dizi tamsayı a = [1, 2, 3];) */
+    private BeyKaAst.Stmt parseDiziTanimla() {
+        int start = advance(); // dizi
+        int t = peek();
+        BeyKaAst.Type eleman = t != YOK ? veriTipi(tokens.tip(t)) : null;
+        if (eleman == null) {
+            error("Dizi eleman tipi bekleniyor (tamsayı, ondalikli veya kelime).");
+            return null;
         }
-        expect(Token.NOKTALI_VIRGUL);
+        advance();
+        return parseTanim(eleman.dizisi(), start);
     }
 
-    /** Değişken atamalarını işler. (ör. a = 3 + 2;) */
-    private void parseAtama() {
-        BeyKaLexer.TokenInfo varTok = peek();
-        if (!symbolTable.containsKey(varTok.lexeme)) {
-            errors.add("Tanımsız değişken: " + varTok.lexeme);
-            expect(Token.DEGISKEN);
-            expect(Token.ESITTIR);
-            evaluateIfade();
-            expect(Token.NOKTALI_VIRGUL);
-            return;
+    /** Tip token'ının veri tipi; tip token'ı değilse null. */
+    private static BeyKaAst.Type veriTipi(int tipToken) {
+        switch (tipToken) {
+            case Token.TAMSAYI: return BeyKaAst.Type.TAMSAYI;
+            case Token.ONDALIKLI: return BeyKaAst.Type.ONDALIKLI;
+            case Token.KELIME: return BeyKaAst.Type.KELIME;
+            default: return null;
         }
-        expect(Token.DEGISKEN);
-        expect(Token.ESITTIR);
-        Object val = evaluateIfade();
-        Type expected = symbolTable.get(varTok.lexeme);
+    }
 
-        if (expected == null) {
-            errors.add("Tip bilgisi bulunamıyor: " + varTok.lexeme + " | Semboller: " + symbolTable);
-            expect(Token.NOKTALI_VIRGUL);
-            return;
+    /**
+     * Tipten sonraki "ad = deger;" kısmını parse eder. Dizi tanımındaki [ ... ] sabiti
+     * eleman tipini tanımdan alır.
+     */
+    private BeyKaAst.Stmt parseTanim(BeyKaAst.Type veriTipi, int start) {
+        int name = peek();
+        if (!match(Token.DEGISKEN)) {
+            error("Geçerli değişken ismi bekleniyor.");
+            return null;
         }
+        expect(Token.ESITTIR);
+        BeyKaAst.Expr val = veriTipi.elemani() != null && check(Token.KOSELI_AC)
+                ? parseDiziSabiti(veriTipi.elemani()) : parseIfade();
+        expect(Token.NOKTALI_VIRGUL);
+        return new BeyKaAst.DegiskenTanimi(veriTipi, tokens.lexeme(name), val, tokens.satir(start), tokens.sutun(start));
+    }
 
-        if (!isValueCompatible(expected, val)) {
-            if (expected == Type.TAMSAYI && val instanceof Double) {
-                int newVal = ((Double) val).intValue();
-                memory.put(varTok.lexeme, newVal);
-            } else {
-                errors.add("Tip uyuşmazlığı: " + varTok.lexeme);
-            }
-        } else {
-            memory.put(varTok.lexeme, val);
-        }
+    /** Değişken atamalarını parse eder. (ör. a = 3 + 2;) */
+    private BeyKaAst.Stmt parseAtama() {
+        int varTok = advance();
+        expect(Token.ESITTIR);
+        BeyKaAst.Expr val = parseIfade();
+        expect(Token.NOKTALI_VIRGUL);
+        return new BeyKaAst.Atama(tokens.lexeme(varTok), val, tokens.satir(varTok), tokens.sutun(varTok));
+    }
+
+    /** Dizi elemanına atamayı parse eder. (ör. a[i] = 5;) */
+    private BeyKaAst.Stmt parseElemanAtama() {
+        int varTok = advance();
+        advance(); // [
+        BeyKaAst.Expr indeks = parseIfade();
+        expect(Token.KOSELI_KAPA);
+        expect(Token.ESITTIR);
+        BeyKaAst.Expr val = parseIfade();
         expect(Token.NOKTALI_VIRGUL);
+        return new BeyKaAst.ElemanAtama(tokens.lexeme(varTok), indeks, val, tokens.satir(varTok), tokens.sutun(varTok));
     }
 
-    /** yaz(...) ifadesini işler, ekrana çıktı verir. */
-    private void parseYazdirma() {
+    /** yaz(...) ifadesini parse eder. */
+    private BeyKaAst.Stmt parseYazdirma() {
+        int start = peek();
         expect(Token.YAZ);
+        int ac = peek();
         expect(Token.PARANTEZ_AC);
-        Object value = evaluateIfade();
-        System.out.println(value);
-        expect(Token.PARANTEZ_KAPA);
+        BeyKaAst.Expr value = parseIfade();
+        kapat(ac, Token.PARANTEZ_KAPA);
         expect(Token.NOKTALI_VIRGUL);
+        return new BeyKaAst.Yazdirma(value, tokens.satir(start), tokens.sutun(start));
     }
 
-    /** Eğer/ise bloklarını işler, koşullu çalıştırma yapar. */
-    private void parseEger() {
+    /** Eğer/ise bloklarını parse eder. */
+    private BeyKaAst.Stmt parseEger() {
+        int start = peek();
         expect(Token.EGER);
+        int ac = peek();
         expect(Token.PARANTEZ_AC);
-        boolean cond = evaluateMantiksalIfade();
-        expect(Token.PARANTEZ_KAPA);
+        BeyKaAst.Expr cond = parseMantiksalIfade();
+        kapat(ac, Token.PARANTEZ_KAPA);
         expect(Token.ISE);
+        int suret = peek();
         expect(Token.SURET_AC);
-
-        if (cond) {
-            while (!check(Token.SURET_KAPA) && !isAtEnd()) {
-                parseKomut();
-            }
-        } else {
-            while (!check(Token.SURET_KAPA) && !isAtEnd()) {
-                advance();
-            }
-        }
-        expect(Token.SURET_KAPA);
+        List<BeyKaAst.Stmt> govde = parseBlok(suret);
+        return new BeyKaAst.Eger(cond, govde, tokens.satir(start), tokens.sutun(start));
     }
 
-    /** döngü (...) { ... } bloklarını işler (while mantığı) */
-    private void parseIken() {
+    /** döngü (...) { ... } bloklarını parse eder (while mantığı). */
+    private BeyKaAst.Stmt parseIken() {
+        int start = peek();
         expect(Token.DONGU);
+        int ac = peek();
         expect(Token.PARANTEZ_AC);
+        BeyKaAst.Expr cond = parseMantiksalIfade();
+        kapat(ac, Token.PARANTEZ_KAPA);
+        int suret = peek();
+        expect(Token.SURET_AC);
+        donguDerinlik++;
+        List<BeyKaAst.Stmt> govde = parseBlok(suret);
+        donguDerinlik--;
+        return new BeyKaAst.Dongu(cond, govde, tokens.satir(start), tokens.sutun(start));
+    }
 
-        int condStart = pos;
-        int depth = 1;
-        while (depth > 0 && !isAtEnd()) {
-            if (check(Token.PARANTEZ_AC))      depth++;
-            else if (check(Token.PARANTEZ_KAPA)) depth--;
-            if (depth == 0) break;
-            advance();
+    /**
+     * paralel döngü (i, bas, son) topla(a) enküçük(b) enbüyük(c) { ... } bloklarını parse eder.
+     * İndirgeme listeleri isteğe bağlıdır ve herhangi bir sırayla yazılabilir. Gövdede devam
+     * kullanılabilir; durdur ve dön kullanılamaz, atama yalnızca indirgeme değişkenlerine ve
+     * gövdede tanımlanan değişkenlere, dizi elemanına atama yalnızca gövdede tanımlanan
+     * dizilere yapılabilir (turlar birbirinden bağımsızdır).
+     */
+    private BeyKaAst.Stmt parseParalelDongu() {
+        int start = advance(); // paralel
+        expect(Token.DONGU);
+        int ac = peek();
+        expect(Token.PARANTEZ_AC);
+        int ad = peek();
+        if (!match(Token.DEGISKEN)) {
+            error("Döngü değişkeni bekleniyor.");
+            int kapanis = ac != YOK ? tokens.eslesen(ac) : -1;
+            if (kapanis >= pos) { // Başlığın geri kalanı ve gövde üst seviye komut sayılmasın
+                pos = kapanis + 1;
+                while (check(Token.DEGISKEN)) {
+                    advance();
+                    atla(Token.PARANTEZ_AC);
+                }
+                atla(Token.SURET_AC);
+            }
+            return null;
+        }
+        expect(Token.VIRGUL);
+        BeyKaAst.Expr bas = parseIfade();
+        expect(Token.VIRGUL);
+        BeyKaAst.Expr son = parseIfade();
+        kapat(ac, Token.PARANTEZ_KAPA);
+
+        List<String> adlar = new ArrayList<>();
+        List<Integer> turler = new ArrayList<>();
+        while (check(Token.DEGISKEN)) {
+            int t = advance();
+            int tur = Arrays.asList(BeyKaParalel.INDIRGEMELER).indexOf(tokens.lexeme(t));
+            if (tur < 0) errorAt(t, "Bilinmeyen indirgeme: " + tokens.lexeme(t));
+            int liste = peek();
+            expect(Token.PARANTEZ_AC);
+            while (check(Token.DEGISKEN)) {
+                int v = advance();
+                if (adlar.contains(tokens.lexeme(v))) {
+                    errorAt(v, "İndirgeme değişkeni tekrar edildi: " + tokens.lexeme(v));
+                } else if (tur >= 0) {
+                    adlar.add(tokens.lexeme(v));
+                    turler.add(tur);
+                }
+                if (!match(Token.VIRGUL)) break;
+            }
+            kapat(liste, Token.PARANTEZ_KAPA);
         }
-        expect(Token.PARANTEZ_KAPA);
-
+        int suret = peek();
         expect(Token.SURET_AC);
-        int bodyStart = pos;
-        depth = 1;
-        while (depth > 0 && !isAtEnd()) {
-            if (check(Token.SURET_AC))      depth++;
-            else if (check(Token.SURET_KAPA)) depth--;
-            advance();
-        }
-        int bodyEnd = pos - 1;
-        int afterLoop = pos;
-
-        int iter = 0;
-        while (true) {
-            pos = condStart;
-            boolean cond = evaluateMantiksalIfade();
-            if (!cond) break;
-
-            pos = bodyStart;
-            while (pos < bodyEnd) {
-                int before = pos;
-                parseKomut();
-                if (pos == before) pos++;
+        int disDerinlik = donguDerinlik; // durdur/devam artık paralel döngüye değil iç döngüye aittir
+        donguDerinlik = 0;
+        paralelDerinlik++;
+        List<BeyKaAst.Stmt> govde = parseBlok(suret);
+        paralelDerinlik--;
+        donguDerinlik = disDerinlik;
+
+        Set<String> izinli = new HashSet<>(adlar);
+        tanimlariTopla(govde, izinli);
+        izinli.remove(tokens.lexeme(ad)); // Döngü değişkenine atanamaz
+        atamalariDenetle(govde, izinli);
+        int[] tur = new int[turler.size()];
+        for (int i = 0; i < tur.length; i++) tur[i] = turler.get(i);
+        return new BeyKaAst.ParalelDongu(tokens.lexeme(ad), bas, son, adlar, tur, govde,
+                tokens.satir(start), tokens.sutun(start));
+    }
+
+    /** Gövdede (iç bloklar dahil) tanımlanan değişken isimlerini toplar. */
+    private static void tanimlariTopla(List<BeyKaAst.Stmt> govde, Set<String> adlar) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI:
+                    adlar.add(((BeyKaAst.DegiskenTanimi) komut).ad);
+                    break;
+                case BeyKaAst.EGER:
+                    tanimlariTopla(((BeyKaAst.Eger) komut).govde, adlar);
+                    break;
+                case BeyKaAst.DONGU:
+                    tanimlariTopla(((BeyKaAst.Dongu) komut).govde, adlar);
+                    break;
+                case BeyKaAst.PARALEL_DONGU:
+                    tanimlariTopla(((BeyKaAst.ParalelDongu) komut).govde, adlar);
+                    break;
+                default:
+                    break;
             }
+        }
+    }
 
-            if (++iter >= MAX_LOOP_COUNT) {
-                errors.add("Sonsuz döngü şüphesi: " + MAX_LOOP_COUNT + " kez tekrar edildi.");
-                break;
+    /**
+     * Paralel döngü gövdesindeki atamaların yalnızca izinli değişkenlere yapıldığını denetler.
+     * Dışarıdaki dizinin elemanına da atanamaz: turlar aynı diziyi aynı anda büyütebilirdi.
+     */
+    private void atamalariDenetle(List<BeyKaAst.Stmt> govde, Set<String> izinli) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.ATAMA: {
+                    BeyKaAst.Atama a = (BeyKaAst.Atama) komut;
+                    if (!izinli.contains(a.ad)) {
+                        errors.add("Paralel döngüde yalnızca indirgeme değişkenlerine atanabilir: " + a.ad
+                                + " [" + a.line + "," + a.column + "]");
+                    }
+                    break;
+                }
+                case BeyKaAst.ELEMAN_ATAMA: {
+                    BeyKaAst.ElemanAtama a = (BeyKaAst.ElemanAtama) komut;
+                    if (!izinli.contains(a.ad)) {
+                        errors.add("Paralel döngüde yalnızca gövdede tanımlanan dizilerin elemanlarına atanabilir: "
+                                + a.ad + " [" + a.line + "," + a.column + "]");
+                    }
+                    break;
+                }
+                case BeyKaAst.EGER:
+                    atamalariDenetle(((BeyKaAst.Eger) komut).govde, izinli);
+                    break;
+                case BeyKaAst.DONGU:
+                    atamalariDenetle(((BeyKaAst.Dongu) komut).govde, izinli);
+                    break;
+                default:
+                    break; // İç paralel döngü kendi gövdesini denetlemiştir
             }
         }
+    }
 
-        pos = afterLoop;
+    /** durdur; ve devam; komutlarını parse eder. Döngü dışında kullanılırsa hata verir. */
+    private BeyKaAst.Stmt parseDonguKontrol() {
+        int start = advance();
+        expect(Token.NOKTALI_VIRGUL);
+        if (donguDerinlik == 0 && paralelDerinlik > 0) { // Doğrudan paralel döngü gövdesinde
+            if (tokens.tip(start) == Token.DURDUR) {
+                errorAt(start, "'durdur' paralel döngüde kullanılamaz.");
+                return null;
+            }
+            return new BeyKaAst.DonguKontrol(BeyKaAst.DEVAM, tokens.satir(start), tokens.sutun(start));
+        }
+        if (donguDerinlik == 0) {
+            errorAt(start, "'" + tokens.lexeme(start) + "' yalnızca döngü içinde kullanılabilir.");
+            return null;
+        }
+        int kind = tokens.tip(start) == Token.DURDUR ? BeyKaAst.DURDUR : BeyKaAst.DEVAM;
+        return new BeyKaAst.DonguKontrol(kind, tokens.satir(start), tokens.sutun(start));
     }
 
-    /** Fonksiyonlardan dön ifadesini işler, üst fonksiyona dönüş sağlar. */
-    private void parseDon() {
+    /** Fonksiyonlardan dön ifadesini parse eder. */
+    private BeyKaAst.Stmt parseDon() {
+        int start = peek();
         expect(Token.DON);
-        Object val = evaluateIfade();
+        BeyKaAst.Expr val = parseIfade();
         expect(Token.NOKTALI_VIRGUL);
-        throw new ReturnValue(val);
+        if (paralelDerinlik > 0) {
+            errorAt(start, "'dön' paralel döngüde kullanılamaz.");
+            return null;
+        }
+        return new BeyKaAst.Don(val, tokens.satir(start), tokens.sutun(start));
     }
 
-    /** Mantıksal ifadeleri (ve/veya ile birleştirilen) parse eder. */
-    private boolean evaluateMantiksalIfade() {
-        boolean res = evaluateKosul();
+    /** Mantıksal ifadeleri (ve/veya ile birleştirilen) soldan sağa parse eder. */
+    private BeyKaAst.Expr parseMantiksalIfade() {
+        BeyKaAst.Expr res = parseKosul();
         while (check(Token.VE) || check(Token.VEYA)) {
-            int op = advance().token;
-            boolean rhs = evaluateKosul();
-            res = (op == Token.VE) ? res && rhs : res || rhs;
+            int op = advance();
+            BeyKaAst.Expr rhs = parseKosul();
+            res = new BeyKaAst.Mantiksal(tokens.tip(op), res, rhs, tokens.satir(op), tokens.sutun(op));
         }
         return res;
     }
 
     /** Tek bir koşul ifadesini (a == b vb) parse eder. */
-    private boolean evaluateKosul() {
-        Object l = evaluateIfade();
-        BeyKaLexer.TokenInfo t = peek();
-        if (t == null) {
+    private BeyKaAst.Expr parseKosul() {
+        BeyKaAst.Expr l = parseIfade();
+        int t = peek();
+        if (t == YOK) {
             error("Koşul bekleniyor, ama token yok.");
-            return false;
+            return new BeyKaAst.Sabit(0, l.line, l.column);
         }
-        int op = t.token; advance();
-        Object r = evaluateIfade();
-        if (l instanceof Number ln && r instanceof Number rn) {
-            double a = ln.doubleValue(), b = rn.doubleValue();
-            switch (op) {
-                case Token.ESIT_ESIT: return a == b;
-                case Token.ESIT_DEGIL: return a != b;
-                case Token.KUCUK: return a < b;
-                case Token.KUCUK_ESIT: return a <= b;
-                case Token.BUYUK: return a > b;
-                case Token.BUYUK_ESIT: return a >= b;
-                default: return false;
-            }
+        if (!isKarsilastirma(tokens.tip(t))) {
+            error("Karşılaştırma operatörü bekleniyor, gelen: " + tokens.lexeme(t));
+            return new BeyKaAst.Karsilastirma(Token.DIGER, l, l, tokens.satir(t), tokens.sutun(t));
         }
-        return false;
+        advance();
+        BeyKaAst.Expr r = parseIfade();
+        return new BeyKaAst.Karsilastirma(tokens.tip(t), l, r, tokens.satir(t), tokens.sutun(t));
+    }
+
+    /**
+     * Matematiksel ifadeleri parse eder. (Örn: 2 + 3 * 5)
+     * İşlem önceliği: önce *, /, % (parseTerim), sonra + ve -; aynı seviyede soldan sağa.
+     */
+    private BeyKaAst.Expr parseIfade() {
+        BeyKaAst.Expr res = parseTerim();
+        while (check(Token.TOPLA) || check(Token.CIKAR)) {
+            int op = advance();
+            BeyKaAst.Expr right = parseTerim();
+            res = new BeyKaAst.IkiliIslem(tokens.tip(op), res, right, tokens.satir(op), tokens.sutun(op));
+        }
+        return res;
+    }
+
+    /** Çarpma, bölme ve mod işlemlerini parse eder. */
+    private BeyKaAst.Expr parseTerim() {
+        BeyKaAst.Expr res = parseBirincil();
+        while (check(Token.CARP) || check(Token.BOL) || check(Token.MOD)) {
+            int op = advance();
+            BeyKaAst.Expr right = parseBirincil();
+            res = new BeyKaAst.IkiliIslem(tokens.tip(op), res, right, tokens.satir(op), tokens.sutun(op));
+        }
+        return res;
     }
 
     /**
-     * Matematiksel ifadeleri parse ve evaluate eder. (Örn: 2 + 3 * 5)
-     * Not: İşlem önceliği desteği için burada recursive olarak ayrıştırılır.
+     * Sayı, string, değişken, fonksiyon çağrısı, dizi sabiti veya parantezli ifadeyi parse eder.
+     * Sayı ve string dışındakileri dizi indeksleri ([i]) izleyebilir.
      */
-    private Object evaluateIfade() {
-        BeyKaLexer.TokenInfo t = peek();
-        Object res;
+    private BeyKaAst.Expr parseBirincil() {
+        int t = peek();
 
-        // (ifade) desteği eklendi
+        // (ifade) desteği
         if (match(Token.PARANTEZ_AC)) {
-            res = evaluateIfade();
-            expect(Token.PARANTEZ_KAPA);
+            BeyKaAst.Expr res = parseIfade();
+            kapat(t, Token.PARANTEZ_KAPA);
+            return parseIndeksler(res);
+        }
+        if (check(Token.KOSELI_AC)) {
+            return parseIndeksler(parseDiziSabiti(null));
         }
-        else if (match(Token.SAYI)) {
-            if (t.lexeme.contains(".")) {
+        if (match(Token.SAYI)) {
+            Object res;
+            if (tokens.lexeme(t).contains(".")) {
                 try {
-                    res = Double.parseDouble(t.lexeme);
+                    res = Double.parseDouble(tokens.lexeme(t));
                 } catch (NumberFormatException e) {
-                    error("Geçersiz ondalıklı sayı: " + t.lexeme);
+                    errorAt(t, "Geçersiz ondalıklı sayı: " + tokens.lexeme(t));
                     res = 0;
                 }
             } else {
                 try {
-                    res = Integer.parseInt(t.lexeme);
+                    res = Integer.parseInt(tokens.lexeme(t));
                 } catch (NumberFormatException e) {
-                    error("Geçersiz tamsayı: " + t.lexeme);
+                    errorAt(t, "Geçersiz tamsayı: " + tokens.lexeme(t));
                     res = 0;
                 }
             }
-        } else if (match(Token.STRING)) {
-            res = t.lexeme;
+            return new BeyKaAst.Sabit(res, tokens.satir(t), tokens.sutun(t));
         }
-        else if (check(Token.DEGISKEN)) {
-            // Fonksiyon çağrısı mı? (ismini parametre listesi takip ediyor mu?)
-            if (pos+1 < tokens.size() && tokens.get(pos+1).token == Token.PARANTEZ_AC) {
-                if (fonksiyonTablosu.containsKey(t.lexeme)) return evaluateFonksiyonCagri();
-                return evaluateYerlesikFonksiyon();
-            } else {
-                match(Token.DEGISKEN);
-                res = memory.getOrDefault(t.lexeme, 0);
-            }
+        if (match(Token.STRING)) {
+            return new BeyKaAst.Sabit(tokens.lexeme(t), tokens.satir(t), tokens.sutun(t));
         }
-        else {
-            error("İfade bekleniyor, gelen: " + (t != null ? t.lexeme : "EOF"));
-            return 0;
-        }
-        while (match(Token.TOPLA) || match(Token.CIKAR) ||
-                match(Token.CARP)  || match(Token.BOL)   ||
-                match(Token.MOD)) {
-            int op = tokens.get(pos-1).token;
-            Object right = evaluateIfade();
-            if (res instanceof Number ln && right instanceof Number rn) {
-                double a = ln.doubleValue(), b = rn.doubleValue();
-                switch (op) {
-                    case Token.TOPLA: res = a + b; break;
-                    case Token.CIKAR: res = a - b; break;
-                    case Token.CARP:  res = a * b; break;
-                    case Token.BOL:   res = b != 0 ? a/b : 0; break;
-                    case Token.MOD:   res = a % b; break;
-                    default:          res = 0;
-                }
-                if (op != Token.BOL && op != Token.MOD && ((double) res) % 1 == 0) {
-                    res = (int) Math.round((double) res);
+        if (match(Token.DEGISKEN)) {
+            // Fonksiyon çağrısı mı? (ismini parametre listesi takip ediyor mu?)
+            int ac = peek();
+            if (match(Token.PARANTEZ_AC)) {
+                List<BeyKaAst.Expr> args = new ArrayList<>();
+                if (!check(Token.PARANTEZ_KAPA)) {
+                    do args.add(parseIfade());
+                    while (match(Token.VIRGUL));
                 }
+                kapat(ac, Token.PARANTEZ_KAPA);
+                return parseIndeksler(new BeyKaAst.FonksiyonCagri(tokens.lexeme(t), args, tokens.satir(t), tokens.sutun(t)));
             }
+            return parseIndeksler(new BeyKaAst.Degisken(tokens.lexeme(t), tokens.satir(t), tokens.sutun(t)));
         }
-        return res;
+        error("İfade bekleniyor, gelen: " + (t != YOK ? tokens.lexeme(t) : "EOF"));
+        int line = t != YOK ? tokens.satir(t) : 0;
+        int column = t != YOK ? tokens.sutun(t) : 0;
+        return new BeyKaAst.Sabit(0, line, column);
     }
 
-    /** Yerleşik fonksiyon çağrılarını işler (uzunluk, karesi, tarih, oku). */
-    private Object evaluateYerlesikFonksiyon() {
-        BeyKaLexer.TokenInfo fn = peek(); advance();
-        expect(Token.PARANTEZ_AC);
-        Object arg = check(Token.PARANTEZ_KAPA) ? null : evaluateIfade();
-        expect(Token.PARANTEZ_KAPA);
-        switch (fn.lexeme) {
-            case "uzunluk": return (arg instanceof String s) ? s.length() : 0;
-            case "karesi":  return (arg instanceof Number n) ? Math.pow(n.doubleValue(),2) : 0;
-            case "tarih":   return LocalDate.now().toString();
-            case "oku":
-                if (arg instanceof String filename) {
-                    try {
-                        return Files.readString(Path.of(filename));
-                    } catch (Exception e) {
-                        errors.add("Dosya okunamadı: " + filename);
-                        return "";
-                    }
-                }
-                return "";
-            default:
-                errors.add("Bilinmeyen fonksiyon: " + fn.lexeme);
-                return 0;
+    /** İfadeyi izleyen [indeks] erişimlerini soldan sağa parse eder. (ör. a[i], f(x)[0]) */
+    private BeyKaAst.Expr parseIndeksler(BeyKaAst.Expr res) {
+        while (check(Token.KOSELI_AC)) {
+            int ac = advance();
+            BeyKaAst.Expr indeks = parseIfade();
+            expect(Token.KOSELI_KAPA);
+            res = new BeyKaAst.DiziErisim(res, indeks, tokens.satir(ac), tokens.sutun(ac));
         }
+        return res;
     }
 
-    /** Kullanıcı tanımlı fonksiyon çağrısını işler. */
-    private Object evaluateFonksiyonCagri() {
-        BeyKaLexer.TokenInfo fn = peek(); advance();
-        expect(Token.PARANTEZ_AC);
-        List<Object> args = new ArrayList<>();
-        if (!check(Token.PARANTEZ_KAPA)) {
-            do args.add(evaluateIfade());
+    /**
+     * [e1, e2, ...] dizi sabitini parse eder. eleman dizi tanımından gelen eleman tipidir;
+     * başka yerde null'dır ve tip çalışırken elemanlardan çıkarılır.
+     */
+    private BeyKaAst.Expr parseDiziSabiti(BeyKaAst.Type eleman) {
+        int start = advance(); // [
+        List<BeyKaAst.Expr> elemanlar = new ArrayList<>();
+        if (!check(Token.KOSELI_KAPA)) {
+            do elemanlar.add(parseIfade());
             while (match(Token.VIRGUL));
         }
-        expect(Token.PARANTEZ_KAPA);
-
-        Function f = fonksiyonTablosu.get(fn.lexeme);
-        if (f==null || f.parametreler.size()!=args.size()) {
-            errors.add("Fonksiyon hatası/argüman sayısı: " + fn.lexeme);
-            return 0;
-        }
-
-        // --- FONKSİYON LOKALİTESİ BURADA ---
-        // Her çağrıda YENİ bir parser, lokal symbolTable ve memory:
-        BeyKaParser sub = new BeyKaParser(f.govde);
+        expect(Token.KOSELI_KAPA);
+        return new BeyKaAst.DiziSabiti(eleman, elemanlar, tokens.satir(start), tokens.sutun(start));
+    }
 
-        // Parametre isimlerini tip olarak KELIME kabul edelim (veya ek tip aktarabilirsin).
-        for (int i = 0; i < f.parametreler.size(); i++) {
-            sub.symbolTable.put(f.parametreler.get(i), Type.TAMSAYI); // Genellikle tamsayı bekleniyor, gerekirse geliştir.
-            sub.memory.put(f.parametreler.get(i), args.get(i));
-        }
-        // Fonksiyonun tanımlarını aktar (recursive fonksiyonlar için):
-        sub.fonksiyonTablosu.putAll(fonksiyonTablosu);
-
-        try {
-            sub.parseProgram();
-        } catch (ReturnValue r) {
-            errors.addAll(sub.errors);
-            return r.value;
-        }
-        errors.addAll(sub.errors);
-        return 0;
-    }
-
-    /** İfade ve tip uyuşmazlık kontrolü. */
-    private boolean isValueCompatible(Type t, Object v) {
-        if (t == null || v == null) return false;
-        switch (t) {
-            case TAMSAYI:
-                return v instanceof Integer || (v instanceof Double && ((Double) v) % 1 == 0);
-            case ONDALIKLI:
-                return v instanceof Double || v instanceof Integer;
-            case KELIME:
-                return v instanceof String;
-        }
-        return false;
+    private static boolean isKarsilastirma(int token) {
+        return token == Token.ESIT_ESIT || token == Token.ESIT_DEGIL
+                || token == Token.KUCUK || token == Token.KUCUK_ESIT
+                || token == Token.BUYUK || token == Token.BUYUK_ESIT;
     }
 
     // --- Yardımcı fonksiyonlar ---
-    private BeyKaLexer.TokenInfo peek() {
-        return isAtEnd() ? null : tokens.get(pos);
+    private int peek() {
+        return isAtEnd() ? YOK : pos;
     }
-    private BeyKaLexer.TokenInfo advance() {
-        return tokens.get(pos++);
+    private int advance() {
+        return pos++;
     }
     private boolean match(int exp) {
         if (check(exp)) {
@@ -518,23 +596,47 @@ public class BeyKaParser {
         return false;
     }
     private boolean check(int exp) {
-        return !isAtEnd() && peek().token == exp;
+        return !isAtEnd() && tokens.tip(peek()) == exp;
     }
     private void expect(int exp) {
-        if (!match(exp)) {
-            BeyKaLexer.TokenInfo t = peek();
-            String loc = (t != null) ? " [" + t.line + "," + t.column + "]" : "";
-            errors.add("Beklenen " + exp + ", gelen: "
-                    + (t != null ? t.token + "(" + t.lexeme + ")" : "EOF")
-                    + loc);
+        if (!match(exp)) beklenen(exp);
+    }
+    private void beklenen(int exp) {
+        int t = peek();
+        String loc = (t != YOK) ? " [" + tokens.satir(t) + "," + tokens.sutun(t) + "]" : "";
+        errors.add("Beklenen " + exp + ", gelen: "
+                + (t != YOK ? tokens.tip(t) + "(" + tokens.lexeme(t) + ")" : "EOF")
+                + loc);
+    }
+    /**
+     * ac sırasındaki açılışın kapanışını bekler. Kapanıştan önce tüketilmemiş tokenlar varsa
+     * tek hata verilir ve eşleşme tablosuyla kapanışın ardına atlanır; kalan tokenlar ayrı
+     * ayrı "Beklenmeyen komut" hatası üretmez. Eşi bilinmiyorsa expect gibi davranır.
+     */
+    private void kapat(int ac, int exp) {
+        int son = ac != YOK ? tokens.eslesen(ac) : -1;
+        if (son > pos) {
+            beklenen(exp);
+            pos = son + 1;
+        } else {
+            expect(exp);
         }
     }
+    /** Sıradaki token exp türünden bir açılışsa eşinin ardına atlar. */
+    private void atla(int exp) {
+        if (!check(exp)) return;
+        int son = tokens.eslesen(pos);
+        if (son >= 0) pos = son + 1;
+    }
     private void error(String msg) {
-        BeyKaLexer.TokenInfo t = peek();
-        String loc = (t != null) ? " [" + t.line + "," + t.column + "]" : "";
+        int t = peek();
+        String loc = (t != YOK) ? " [" + tokens.satir(t) + "," + tokens.sutun(t) + "]" : "";
         errors.add(msg + loc);
     }
+    private void errorAt(int t, String msg) {
+        errors.add(msg + " [" + tokens.satir(t) + "," + tokens.sutun(t) + "]");
+    }
     private boolean isAtEnd() {
-        return pos >= tokens.size();
+        return !tokens.hazir(pos);
     }
 }
@@ -0,0 +1,267 @@
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * BeyKaProfil.java
+ *
+ * Profil modu (--profile): kullanıcı fonksiyonlarının çağrı sayısını, kapsayan (çağırdığı
+ * fonksiyonlar dahil) ve özel (yalnızca kendi gövdesi) süresini ve kaynak satırı başına
+ * komut çalışma sayısını toplar. Program bitince iki dosya yazılır:
+ *   logs/profil.txt     fonksiyon ve satır tablolarıyla okunur rapor
+ *   logs/profil.folded  flamegraph araçlarının (flamegraph.pl, speedscope) okuduğu katlanmış
+ *                       yığınlar: her satır "<ana>;f;g N", N o yığında geçen özel süre (ns)
+ *
+ * Her motor (yorumlayıcı, VM ve bunların görev/paralel parça kopyaları) kendi Iz'ini tutar;
+ * Iz yalnızca motorun iş parçacığında güncellenir ve motor bitince ortak profile eklenir.
+ * Profil kapalıyken motorların Iz alanı null'dır: yorumlayıcıda komut ve çağrı başına bir null
+ * karşılaştırması kalır, VM satırları yalnızca profil açıkken derlenen LINE komutlarıyla sayar.
+ * Özyinelemeli bir fonksiyonun kapsayan süresi yalnızca en dıştaki çağrısında sayılır.
+ * Görevler ve paralel döngü parçaları kendi iş parçacıklarında ölçülür ve başlatıldıkları
+ * yığının altına eklenir; paralel çalışan programlarda toplam süre duvar süresini aşabilir.
+ */
+public final class BeyKaProfil {
+    static final String ANA = "<ana>"; // Ana programın yığın çerçevesi
+
+    private static final int SATIR_LIMITI = 30; // Raporda gösterilen en sık çalışan satır sayısı
+
+    private final Map<String, BeyKaAst.FonksiyonTanimi> fonksiyonTablosu; // İndeksten isme (akış modunda büyür)
+    private final Dugum kok = new Dugum(-1); // Birleştirilmiş çağrı ağacı; kök ana programdır
+    private long[] cagrilar = new long[0];
+    private long[] kapsayan = new long[0];
+    private long[] ozel = new long[0];
+    private long[] satirlar = new long[0];
+    private long toplamNs; // Ana programın süresi (görevlerin beklenmesi dahil)
+    private long anaOzelNs; // Ana programın fonksiyonlar dışında geçen süresi
+
+    public BeyKaProfil(Map<String, BeyKaAst.FonksiyonTanimi> fonksiyonTablosu) {
+        this.fonksiyonTablosu = fonksiyonTablosu;
+    }
+
+    /** Ana motorun izi: ölçüm şimdi başlar, bitir() ana programın süresini kaydeder. */
+    Iz iz() {
+        return new Iz(this, new int[0], true);
+    }
+
+    /** Çağrı ağacının düğümü: bir yığın yolu ve o yolda geçen özel süre. */
+    private static final class Dugum {
+        final int fn; // Fonksiyon indeksi; kökte -1
+        long ozel;
+        Dugum[] cocuklar = new Dugum[0];
+
+        Dugum(int fn) {
+            this.fn = fn;
+        }
+
+        Dugum cocuk(int f) {
+            for (Dugum c : cocuklar) {
+                if (c.fn == f) return c;
+            }
+            Dugum c = new Dugum(f);
+            cocuklar = Arrays.copyOf(cocuklar, cocuklar.length + 1);
+            cocuklar[cocuklar.length - 1] = c;
+            return c;
+        }
+    }
+
+    /**
+     * Tek bir motorun kayıtları. Çerçeve 0 motorun kendisidir (ana program, görev veya paralel
+     * parça); gir/cik kullanıcı fonksiyonu çağrılarını, satir çalışan komutları sayar.
+     */
+    static final class Iz {
+        private final BeyKaProfil profil;
+        private final int[] kokYolu; // Başlatıldığı yığın (fonksiyon indeksleri, ana program hariç)
+        private final boolean ana;
+        private final Dugum kok = new Dugum(-1);
+
+        // Çerçeve yığını: ağaçtaki düğüm, giriş zamanı ve çağrılanlarda geçen süre
+        private Dugum[] dugumler = new Dugum[16];
+        private long[] giris = new long[16];
+        private long[] cocukSure = new long[16];
+        private int derinlik = 0;
+
+        // Fonksiyon indeksine göre
+        private long[] cagrilar = new long[8];
+        private long[] kapsayan = new long[8];
+        private long[] ozel = new long[8];
+        private int[] aktif = new int[8]; // Yığındaki çağrı sayısı (özyineleme)
+
+        private long[] satirlar = new long[64];
+
+        private Iz(BeyKaProfil profil, int[] kokYolu, boolean ana) {
+            this.profil = profil;
+            this.kokYolu = kokYolu;
+            this.ana = ana;
+            dugumler[0] = kok;
+            giris[0] = System.nanoTime();
+        }
+
+        /** Satırdaki bir komut çalışmak üzere. */
+        void satir(int line) {
+            if (line >= satirlar.length) satirlar = Arrays.copyOf(satirlar, Math.max(line + 1, satirlar.length * 2));
+            satirlar[line]++;
+        }
+
+        /** fn indeksli kullanıcı fonksiyonunun gövdesine girildi. */
+        void gir(int fn) {
+            if (fn >= cagrilar.length) {
+                int n = Math.max(fn + 1, cagrilar.length * 2);
+                cagrilar = Arrays.copyOf(cagrilar, n);
+                kapsayan = Arrays.copyOf(kapsayan, n);
+                ozel = Arrays.copyOf(ozel, n);
+                aktif = Arrays.copyOf(aktif, n);
+            }
+            cagrilar[fn]++;
+            aktif[fn]++;
+            Dugum d = dugumler[derinlik].cocuk(fn);
+            if (++derinlik == dugumler.length) {
+                dugumler = Arrays.copyOf(dugumler, derinlik * 2);
+                giris = Arrays.copyOf(giris, derinlik * 2);
+                cocukSure = Arrays.copyOf(cocukSure, derinlik * 2);
+            }
+            dugumler[derinlik] = d;
+            cocukSure[derinlik] = 0;
+            giris[derinlik] = System.nanoTime();
+        }
+
+        /** En son girilen fonksiyondan dönüldü. */
+        void cik() {
+            long sure = System.nanoTime() - giris[derinlik];
+            Dugum d = dugumler[derinlik];
+            long kendi = sure - cocukSure[derinlik];
+            dugumler[derinlik--] = null;
+            d.ozel += kendi;
+            ozel[d.fn] += kendi;
+            if (--aktif[d.fn] == 0) kapsayan[d.fn] += sure;
+            cocukSure[derinlik] += sure;
+        }
+
+        /**
+         * Bu yığının altında başlayan görev veya paralel parça için yeni iz. Yığın okunurken
+         * değişmemelidir: görevlerde başlatan, paralel parçalarda döngüyü bekleyen iş parçacığıdır.
+         */
+        Iz cocuk() {
+            int[] yol = Arrays.copyOf(kokYolu, kokYolu.length + derinlik);
+            for (int i = 1; i <= derinlik; i++) yol[kokYolu.length + i - 1] = dugumler[i].fn;
+            return new Iz(profil, yol, false);
+        }
+
+        /** Motor bitti: süreyi kapatır ve kayıtları ortak profile ekler. */
+        void bitir() {
+            long sure = System.nanoTime() - giris[0];
+            kok.ozel += sure - cocukSure[0];
+            profil.ekle(this, sure);
+        }
+    }
+
+    /** Bir motorun kayıtlarını birleştirir; motorlar farklı iş parçacıklarından ekleyebilir. */
+    private synchronized void ekle(Iz iz, long sure) {
+        int n = iz.cagrilar.length;
+        if (n > cagrilar.length) {
+            cagrilar = Arrays.copyOf(cagrilar, n);
+            kapsayan = Arrays.copyOf(kapsayan, n);
+            ozel = Arrays.copyOf(ozel, n);
+        }
+        for (int f = 0; f < n; f++) {
+            cagrilar[f] += iz.cagrilar[f];
+            kapsayan[f] += iz.kapsayan[f];
+            ozel[f] += iz.ozel[f];
+        }
+        if (iz.satirlar.length > satirlar.length) satirlar = Arrays.copyOf(satirlar, iz.satirlar.length);
+        for (int i = 0; i < iz.satirlar.length; i++) satirlar[i] += iz.satirlar[i];
+
+        Dugum hedef = kok;
+        for (int f : iz.kokYolu) hedef = hedef.cocuk(f);
+        birlestir(hedef, iz.kok);
+        if (iz.ana) {
+            toplamNs = sure;
+            anaOzelNs = iz.kok.ozel;
+        }
+    }
+
+    private static void birlestir(Dugum hedef, Dugum kaynak) {
+        hedef.ozel += kaynak.ozel;
+        for (Dugum c : kaynak.cocuklar) birlestir(hedef.cocuk(c.fn), c);
+    }
+
+    /**
+     * Raporu logDir/profil.txt'ye, katlanmış yığınları logDir/profil.folded'a yazar.
+     * kaynak satırları rapordaki satır tablosunda gösterilir (okunamazsa boş kalır).
+     */
+    public synchronized void yaz(File logDir, String kaynak, String motor) {
+        String[] adlar = new String[cagrilar.length];
+        for (BeyKaAst.FonksiyonTanimi f : fonksiyonTablosu.values()) {
+            if (f.indeks >= 0 && f.indeks < adlar.length) adlar[f.indeks] = f.ad;
+        }
+        List<String> satirMetinleri;
+        try {
+            satirMetinleri = Files.readAllLines(Path.of(kaynak), Charset.defaultCharset());
+        } catch (IOException | UncheckedIOException e) {
+            satirMetinleri = List.of();
+        }
+
+        try (PrintWriter w = new PrintWriter(new File(logDir, "profil.txt"), Charset.defaultCharset())) {
+            w.print(rapor(adlar, satirMetinleri, motor));
+        } catch (IOException e) {
+            System.err.println("Profil raporu yazılamadı: " + e.getMessage());
+        }
+        try (PrintWriter w = new PrintWriter(new File(logDir, "profil.folded"), Charset.defaultCharset())) {
+            katla(w, kok, new StringBuilder(ANA), adlar);
+        } catch (IOException e) {
+            System.err.println("Profil yığın dosyası yazılamadı: " + e.getMessage());
+        }
+    }
+
+    /** Fonksiyonlar kapsayan süreye, satırlar çalışma sayısına göre sıralı rapor. */
+    private String rapor(String[] adlar, List<String> satirMetinleri, String motor) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== BEYKA PROFİL RAPORU ===\n");
+        sb.append(String.format(Locale.ROOT, "Motor: %s, toplam süre: %.3f ms%n%n", motor, toplamNs / 1e6));
+
+        sb.append(String.format(Locale.ROOT, "%-30s %10s %15s %15s %8s%n", "Fonksiyon", "Çağrı", "Kapsayan (ms)", "Özel (ms)", "Özel %"));
+        sb.append(String.format(Locale.ROOT, "%-30s %10d %15.3f %15.3f %8.1f%n", ANA, 1, toplamNs / 1e6, anaOzelNs / 1e6, yuzde(anaOzelNs)));
+        Integer[] sira = new Integer[cagrilar.length];
+        for (int f = 0; f < sira.length; f++) sira[f] = f;
+        Arrays.sort(sira, (a, b) -> Long.compare(kapsayan[b], kapsayan[a]));
+        for (int f : sira) {
+            if (cagrilar[f] == 0) continue;
+            String ad = adlar[f] != null ? adlar[f] : "#" + f;
+            sb.append(String.format(Locale.ROOT, "%-30s %10d %15.3f %15.3f %8.1f%n",
+                    ad, cagrilar[f], kapsayan[f] / 1e6, ozel[f] / 1e6, yuzde(ozel[f])));
+        }
+
+        List<Integer> sicak = new ArrayList<>();
+        long toplamKomut = 0;
+        for (int i = 0; i < satirlar.length; i++) {
+            if (satirlar[i] == 0) continue;
+            sicak.add(i);
+            toplamKomut += satirlar[i];
+        }
+        sicak.sort((a, b) -> satirlar[a] != satirlar[b] ? Long.compare(satirlar[b], satirlar[a]) : Integer.compare(a, b));
+        sb.append(String.format(Locale.ROOT, "%nEn sık çalışan satırlar (%d satırda %d komut):%n", sicak.size(), toplamKomut));
+        sb.append(String.format(Locale.ROOT, "%6s %12s  %s%n", "Satır", "Çalışma", "Kaynak"));
+        for (int i = 0; i < Math.min(SATIR_LIMITI, sicak.size()); i++) {
+            int line = sicak.get(i);
+            String metin = line >= 1 && line <= satirMetinleri.size() ? satirMetinleri.get(line - 1).strip() : "";
+            sb.append(String.format(Locale.ROOT, "%6d %12d  %s%n", line, satirlar[line], metin));
+        }
+        return sb.toString();
+    }
+
+    private double yuzde(long ns) {
+        return toplamNs == 0 ? 0.0 : 100.0 * ns / toplamNs;
+    }
+
+    /** Ağacı derinlik öncelikli dolaşıp özel süresi olan her yığını bir satır olarak yazar. */
+    private static void katla(PrintWriter w, Dugum d, StringBuilder yol, String[] adlar) {
+        if (d.ozel > 0) w.println(yol + " " + d.ozel);
+        for (Dugum c : d.cocuklar) {
+            int uzunluk = yol.length();
+            yol.append(';').append(c.fn < adlar.length && adlar[c.fn] != null ? adlar[c.fn] : "#" + c.fn);
+            katla(w, c, yol, adlar);
+            yol.setLength(uzunluk);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * BeyKaProtokol.java
+ *
+ * Sunucu (BeyKaSunucu) ile istemcinin (BeyKaIstemci) ortak sabitleri. İstemci yalnızca bu
+ * sınıfı kullanır; böylece sunucu ve yorumlayıcı sınıfları istemcide yüklenmez.
+ *
+ * Protokol (DataInput/DataOutput):
+ *   İstemci -> sunucu: çalışma dizini (UTF), argüman sayısı (int), argümanlar (UTF).
+ *   Sunucu -> istemci: kanal (byte: CIKIS veya HATA), uzunluk (int), baytlar; en sonda
+ *   BITTI kanalı ve çıkış kodu (int: program hatasız bittiyse 0, aksi halde 1).
+ */
+final class BeyKaProtokol {
+    // Sunucudan istemciye çerçeve kanalları
+    static final int BITTI = 0;
+    static final int CIKIS = 1;
+    static final int HATA = 2;
+
+    private BeyKaProtokol() {
+    }
+
+    /** Sunucu ve istemcinin varsayılan soketi: geçici dizinde kullanıcıya özel dosya. */
+    static Path varsayilanSoket() {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "beyka-" + System.getProperty("user.name") + ".sock");
+    }
+}
@@ -0,0 +1,218 @@
+import java.util.*;
+
+/**
+ * BeyKaResolver.java
+ *
+ * Parse ile çalıştırma arasındaki isim çözümleme geçişi.
+ * Ana programın ve her fonksiyonun değişkenlerine sabit bir slot indeksi verir
+ * (fonksiyonlarda önce parametreler) ve bu indeksi değişken okuma, atama ve tanım
+ * düğümlerine yazar. Böylece çalışma zamanında değişkenler isimle HashMap'te aranmaz;
+ * çerçeveler düz diziler olur. BeyKa'da fonksiyonlar ana programın değişkenlerini görmez,
+ * bu yüzden her gövde kendi slot uzayına sahiptir. Fonksiyon çağrıları da burada bir kez
+ * hedef fonksiyona bağlanır; çalışma zamanında fonksiyon tablosu aranmaz.
+ */
+public class BeyKaResolver {
+    private Map<String, BeyKaAst.FonksiyonTanimi> fonksiyonTablosu;
+    private Map<String, Integer> slotlar; // Çözümlenen gövdenin isim -> slot tablosu
+    private Map<String, Integer> anaSlotlar; // Akış modunda ana programın slot tablosu (komutlar arasında korunur)
+    private int sonrakiIndeks = 0; // Akış modunda yeni tanımlanan fonksiyona verilecek indeks
+
+    /** Programdaki bütün gövdeleri çözümler. */
+    public void resolve(BeyKaAst.Program program) {
+        fonksiyonTablosu = program.fonksiyonlar;
+        int indeks = 0;
+        for (BeyKaAst.FonksiyonTanimi f : fonksiyonTablosu.values()) {
+            f.indeks = indeks++;
+        }
+        program.slotAdlari = resolveGovde(Collections.emptyList(), program.komutlar);
+        for (BeyKaAst.FonksiyonTanimi f : program.fonksiyonlar.values()) {
+            f.slotAdlari = resolveGovde(f.parametreler, f.govde);
+        }
+    }
+
+    /**
+     * Akış modu: ana programın tek bir üst seviye komutunu çözümler. Ana programın slot
+     * tablosu komutlar arasında korunur ve program.slotAdlari güncellenir. O ana kadar
+     * tanımlanmış ama çözümlenmemiş fonksiyonlar önce çözümlenir; bu yüzden bir fonksiyon,
+     * onu ilk çalıştıran üst seviye komuttan önce tanımlanmış olmalıdır.
+     */
+    public void resolveKomut(BeyKaAst.Program program, BeyKaAst.Stmt komut) {
+        fonksiyonTablosu = program.fonksiyonlar;
+        List<BeyKaAst.FonksiyonTanimi> yeniler = new ArrayList<>();
+        for (BeyKaAst.FonksiyonTanimi f : fonksiyonTablosu.values()) {
+            if (f.indeks < 0) {
+                f.indeks = sonrakiIndeks++;
+                yeniler.add(f);
+            }
+        }
+        for (BeyKaAst.FonksiyonTanimi f : yeniler) {
+            f.slotAdlari = resolveGovde(f.parametreler, f.govde);
+        }
+        if (anaSlotlar == null) anaSlotlar = new LinkedHashMap<>();
+        slotlar = anaSlotlar;
+        resolveBlok(List.of(komut));
+        if (program.slotAdlari == null || program.slotAdlari.length != anaSlotlar.size()) {
+            program.slotAdlari = anaSlotlar.keySet().toArray(new String[0]);
+        }
+    }
+
+    /** Bir gövdenin değişkenlerine slot verir ve slot sırasıyla isimleri döndürür. */
+    private String[] resolveGovde(List<String> parametreler, List<BeyKaAst.Stmt> govde) {
+        slotlar = new LinkedHashMap<>();
+        for (String p : parametreler) {
+            slot(p);
+        }
+        resolveBlok(govde);
+        return slotlar.keySet().toArray(new String[0]);
+    }
+
+    private void resolveBlok(List<BeyKaAst.Stmt> govde) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi t = (BeyKaAst.DegiskenTanimi) komut;
+                    resolveIfade(t.deger);
+                    t.slot = slot(t.ad);
+                    break;
+                }
+                case BeyKaAst.ATAMA: {
+                    BeyKaAst.Atama a = (BeyKaAst.Atama) komut;
+                    resolveIfade(a.deger);
+                    a.slot = slot(a.ad);
+                    break;
+                }
+                case BeyKaAst.ELEMAN_ATAMA: {
+                    BeyKaAst.ElemanAtama a = (BeyKaAst.ElemanAtama) komut;
+                    resolveIfade(a.indeks);
+                    resolveIfade(a.deger);
+                    a.slot = slot(a.ad);
+                    break;
+                }
+                case BeyKaAst.YAZDIRMA:
+                    resolveIfade(((BeyKaAst.Yazdirma) komut).deger);
+                    break;
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                    resolveIfade(e.kosul);
+                    resolveBlok(e.govde);
+                    break;
+                }
+                case BeyKaAst.DONGU: {
+                    BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                    resolveIfade(d.kosul);
+                    resolveBlok(d.govde);
+                    break;
+                }
+                case BeyKaAst.PARALEL_DONGU: {
+                    BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                    resolveIfade(p.bas);
+                    resolveIfade(p.son);
+                    p.slot = slot(p.degisken);
+                    p.sonSlot = slot("<son " + p.line + ":" + p.column + ">"); // Kullanıcı ismiyle çakışmaz
+                    p.indirgemeSlotlari = new int[p.indirgemeAdlari.size()];
+                    for (int i = 0; i < p.indirgemeSlotlari.length; i++) {
+                        p.indirgemeSlotlari[i] = slot(p.indirgemeAdlari.get(i));
+                    }
+                    resolveBlok(p.govde);
+                    List<Integer> yereller = new ArrayList<>();
+                    tanimSlotlari(p.govde, yereller);
+                    p.yerelSlotlar = yereller.stream().mapToInt(Integer::intValue).toArray();
+                    break;
+                }
+                case BeyKaAst.DON:
+                    resolveIfade(((BeyKaAst.Don) komut).deger);
+                    break;
+                case BeyKaAst.DURDUR:
+                case BeyKaAst.DEVAM:
+                    break;
+                default:
+                    throw new IllegalStateException("Beklenmeyen komut türü: " + komut.kind);
+            }
+        }
+    }
+
+    private void resolveIfade(BeyKaAst.Expr ifade) {
+        switch (ifade.kind) {
+            case BeyKaAst.SABIT:
+                break;
+            case BeyKaAst.DEGISKEN: {
+                BeyKaAst.Degisken d = (BeyKaAst.Degisken) ifade;
+                d.slot = slot(d.ad);
+                break;
+            }
+            case BeyKaAst.IKILI_ISLEM: {
+                BeyKaAst.IkiliIslem i = (BeyKaAst.IkiliIslem) ifade;
+                resolveIfade(i.sol);
+                resolveIfade(i.sag);
+                break;
+            }
+            case BeyKaAst.KARSILASTIRMA: {
+                BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) ifade;
+                resolveIfade(k.sol);
+                resolveIfade(k.sag);
+                break;
+            }
+            case BeyKaAst.MANTIKSAL: {
+                BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) ifade;
+                resolveIfade(m.sol);
+                resolveIfade(m.sag);
+                break;
+            }
+            case BeyKaAst.FONKSIYON_CAGRI: {
+                BeyKaAst.FonksiyonCagri c = (BeyKaAst.FonksiyonCagri) ifade;
+                for (BeyKaAst.Expr arg : c.argumanlar) {
+                    resolveIfade(arg);
+                }
+                c.hedef = fonksiyonTablosu.get(c.ad);
+                break;
+            }
+            case BeyKaAst.DIZI_SABITI:
+                for (BeyKaAst.Expr e : ((BeyKaAst.DiziSabiti) ifade).elemanlar) {
+                    resolveIfade(e);
+                }
+                break;
+            case BeyKaAst.DIZI_ERISIM: {
+                BeyKaAst.DiziErisim d = (BeyKaAst.DiziErisim) ifade;
+                resolveIfade(d.dizi);
+                resolveIfade(d.indeks);
+                break;
+            }
+            default:
+                throw new IllegalStateException("Beklenmeyen ifade türü: " + ifade.kind);
+        }
+    }
+
+    /** Gövdede (iç bloklar dahil) tanımlanan değişkenlerin slotlarını toplar. */
+    private static void tanimSlotlari(List<BeyKaAst.Stmt> govde, List<Integer> slotlar) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    int s = ((BeyKaAst.DegiskenTanimi) komut).slot;
+                    if (!slotlar.contains(s)) slotlar.add(s);
+                    break;
+                }
+                case BeyKaAst.EGER:
+                    tanimSlotlari(((BeyKaAst.Eger) komut).govde, slotlar);
+                    break;
+                case BeyKaAst.DONGU:
+                    tanimSlotlari(((BeyKaAst.Dongu) komut).govde, slotlar);
+                    break;
+                case BeyKaAst.PARALEL_DONGU:
+                    tanimSlotlari(((BeyKaAst.ParalelDongu) komut).govde, slotlar);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /** İsmin slotunu döndürür; ilk kez görülen isme yeni slot açar. */
+    private int slot(String ad) {
+        Integer s = slotlar.get(ad);
+        if (s == null) {
+            s = slotlar.size();
+            slotlar.put(ad, s);
+        }
+        return s;
+    }
+}
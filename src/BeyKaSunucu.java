@@ -0,0 +1,156 @@
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BeyKaSunucu.java
+ *
+ * Sunucu modu (java BeyKa --sunucu[=SOKET]): JVM açık kalır ve yerel Unix soketinden gelen
+ * çalıştırma isteklerini kabul eder. Her istek (BeyKaIstemci) istemcinin çalışma dizinini
+ * ve BeyKa argümanlarını gönderir; program sunucuda ayrı bir iş parçacığında çalışır ve
+ * çıktısı ile hataları çerçeveler halinde istemciye akar. Böylece JVM açılışı ve soğuk
+ * başlangıç her çalıştırmada tekrar ödenmez: ısınmış yorumlayıcı kodu, JIT'in derlediği
+ * fonksiyonlar ve (varsayılan olarak açık) .bkc önbelleği istekler arasında paylaşılır.
+ *
+ * İstekler aynı anda çalışır ve birbirinden yalıtılmıştır: her istek kendi oturumunda
+ * (BeyKaOturum) çalışır; System.out/System.err, yaz komutlarının kanalı ve göreli dosya
+ * yolları isteğe özeldir. Protokol ve varsayılan soket BeyKaProtokol'dedir.
+ */
+public final class BeyKaSunucu {
+    private BeyKaSunucu() {
+    }
+
+    /** Soketi dinler ve her isteği ayrı bir iş parçacığında çalıştırır. Dönmez. */
+    static void calistir(Path soket) {
+        UnixDomainSocketAddress adres = UnixDomainSocketAddress.of(soket);
+        try {
+            SocketChannel.open(adres).close(); // Bağlanılabiliyorsa sunucu çalışıyor
+            System.err.println("Bu sokette zaten bir BeyKa sunucusu çalışıyor: " + soket);
+            return;
+        } catch (IOException e) {
+            // Sunucu yok; eski soket dosyası kaldıysa silinir
+        }
+
+        ServerSocketChannel sunucu;
+        try {
+            Files.deleteIfExists(soket);
+            sunucu = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            sunucu.bind(adres);
+        } catch (IOException e) {
+            System.err.println("Soket açılamadı: " + e.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                Files.deleteIfExists(soket);
+            } catch (IOException e) {
+                // Soket dosyası bir sonraki açılışta silinir
+            }
+        }));
+
+        // System.out ve System.err, isteği çalıştıran iş parçacığına göre istemciye gider
+        PrintStream sunucuOut = System.out;
+        PrintStream sunucuErr = System.err;
+        BeyKaOturum.yonlendir();
+
+        AtomicInteger sayac = new AtomicInteger();
+        ExecutorService havuz = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "beyka-istek-" + sayac.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        sunucuOut.println("BeyKa sunucusu dinliyor: " + soket);
+        while (true) {
+            try {
+                SocketChannel baglanti = sunucu.accept();
+                havuz.execute(() -> isle(baglanti));
+            } catch (IOException e) {
+                sunucuErr.println("Bağlantı kabul edilemedi: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Tek bir isteği okur, programı çalıştırır ve sonucu istemciye gönderir. */
+    private static void isle(SocketChannel baglanti) {
+        try (baglanti) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(baglanti)));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(baglanti)));
+            Path dizin = Paths.get(in.readUTF());
+            String[] args = new String[in.readInt()];
+            for (int i = 0; i < args.length; i++) args[i] = in.readUTF();
+
+            PrintStream istemciOut = new PrintStream(new Cerceve(out, BeyKaProtokol.CIKIS), false, Charset.defaultCharset());
+            PrintStream istemciErr = new PrintStream(new Cerceve(out, BeyKaProtokol.HATA), true, Charset.defaultCharset());
+            int kod;
+            try {
+                BeyKaOturum oturum = new BeyKaOturum(dizin, null, istemciOut, istemciErr);
+                kod = oturum.calistir(() -> BeyKa.calistir(onbellekli(args))) == 0 ? 0 : 1;
+            } catch (RuntimeException | Error e) {
+                istemciErr.println("Hata: " + e);
+                kod = 1;
+            } finally {
+                istemciOut.flush();
+                istemciErr.flush();
+            }
+            synchronized (out) {
+                out.writeByte(BeyKaProtokol.BITTI);
+                out.writeInt(kod);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // İstemci bağlantıyı kapattı
+        }
+    }
+
+    /** Sunucuda .bkc önbelleği varsayılan olarak açıktır; istek kendi --onbellek seçeneğini verebilir. */
+    private static String[] onbellekli(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--onbellek") || arg.startsWith("--onbellek=")) return args;
+        }
+        String[] yeni = new String[args.length + 1];
+        yeni[0] = "--onbellek";
+        System.arraycopy(args, 0, yeni, 1, args.length);
+        return yeni;
+    }
+
+    /** İstemciye giden akış: her yazma kanal numarası ve uzunlukla tek çerçeve olarak gönderilir. */
+    private static final class Cerceve extends OutputStream {
+        private final DataOutputStream soket; // Aynı isteğin kanalları bu nesne üzerinde kilitlenir
+        private final int kanal;
+
+        Cerceve(DataOutputStream soket, int kanal) {
+            this.soket = soket;
+            this.kanal = kanal;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return;
+            synchronized (soket) {
+                soket.writeByte(kanal);
+                soket.writeInt(len);
+                soket.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (soket) {
+                soket.flush();
+            }
+        }
+    }
+}
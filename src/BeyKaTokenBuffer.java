@@ -0,0 +1,114 @@
+import java.util.*;
+
+/**
+ * BeyKaTokenBuffer.java
+ *
+ * Tokenların paketlenmiş (struct-of-arrays) deposu. Her token için ayrı bir nesne tutmak
+ * yerine tip, satır, sütun ve lexeme numarası paralel int dizilerinde saklanır; lexeme
+ * metinleri ise tekrar etmeyen bir tabloda (intern) bir kez tutulur. Bir token yalnızca
+ * dizideki sırasıyla (int) temsil edilir; parser bu sırayı hafif bir imleç olarak kullanır.
+ * Akış modundaki sınırlı halka tampon BeyKaTokenStream'dir; ikisi de BeyKaTokenKaynagi'dır.
+ *
+ * Parser bir ( veya { tokenının eşleşen kapanışını eslesen() ile sabit sürede bulur. Eşleşme
+ * tablosu ilk sorguda tokenların üzerinden tek geçişte (yığınla) kurulur ve yeni token
+ * eklenene kadar geçerli kalır; böylece blok sonu ve hatadan sonra atlanacak yer için
+ * tokenlar derinlik sayacıyla yeniden taranmaz.
+ */
+public class BeyKaTokenBuffer implements BeyKaTokenKaynagi {
+    private static final int BASLANGIC_KAPASITE = 256;
+
+    private int[] tipler = new int[BASLANGIC_KAPASITE];
+    private int[] satirlar = new int[BASLANGIC_KAPASITE];
+    private int[] sutunlar = new int[BASLANGIC_KAPASITE];
+    private int[] lexemeler = new int[BASLANGIC_KAPASITE]; // lexemeTablosu içindeki sıra
+    private int boyut = 0;
+
+    // Tekrar etmeyen lexeme tablosu: aynı değişken adı veya operatör bir kez saklanır
+    private String[] lexemeTablosu = new String[64];
+    private int lexemeSayisi = 0;
+    private final Map<String, Integer> lexemeIndeksi = new HashMap<>();
+
+    private int[] eslesmeler; // Açılışın eşleşen kapanışı, diğerleri -1 (null: henüz kurulmadı)
+
+    @Override
+    public int ekle(int tip, String lexeme, int satir, int sutun) {
+        if (boyut == tipler.length) buyut();
+        tipler[boyut] = tip;
+        satirlar[boyut] = satir;
+        sutunlar[boyut] = sutun;
+        lexemeler[boyut] = intern(lexeme);
+        eslesmeler = null;
+        return boyut++;
+    }
+
+    private int intern(String lexeme) {
+        Integer i = lexemeIndeksi.get(lexeme);
+        if (i != null) return i;
+        if (lexemeSayisi == lexemeTablosu.length) {
+            lexemeTablosu = Arrays.copyOf(lexemeTablosu, lexemeSayisi * 2);
+        }
+        lexemeTablosu[lexemeSayisi] = lexeme;
+        lexemeIndeksi.put(lexeme, lexemeSayisi);
+        return lexemeSayisi++;
+    }
+
+    private void buyut() {
+        int yeni = boyut * 2;
+        tipler = Arrays.copyOf(tipler, yeni);
+        satirlar = Arrays.copyOf(satirlar, yeni);
+        sutunlar = Arrays.copyOf(sutunlar, yeni);
+        lexemeler = Arrays.copyOf(lexemeler, yeni);
+    }
+
+    @Override
+    public int boyut() { return boyut; }
+
+    @Override
+    public boolean hazir(int i) { return i < boyut; }
+
+    /** Bütün tokenlar tutulduğundan etkisizdir. */
+    @Override
+    public void serbestBirak(int i) { }
+
+    @Override
+    public int tip(int i) { return tipler[i]; }
+    @Override
+    public int satir(int i) { return satirlar[i]; }
+    @Override
+    public int sutun(int i) { return sutunlar[i]; }
+    @Override
+    public String lexeme(int i) { return lexemeTablosu[lexemeler[i]]; }
+
+    /** Eşleşme tablosu ilk sorguda kurulur, yeni token eklenene kadar geçerli kalır. */
+    @Override
+    public int eslesen(int i) {
+        if (eslesmeler == null) eslesmeler = eslestir();
+        return eslesmeler[i];
+    }
+
+    /**
+     * Tek geçişte parantez eşleşme tablosunu kurar. Yanlış türden bir kapanış, yığında kendi
+     * türünden bir açılış varsa onunla eşleşir ve aradaki açılışlar eşsiz kalır; yoksa yok sayılır.
+     */
+    private int[] eslestir() {
+        int[] tablo = new int[boyut];
+        Arrays.fill(tablo, -1);
+        int[] yigin = new int[16];
+        int derinlik = 0;
+        for (int i = 0; i < boyut; i++) {
+            int tip = tipler[i];
+            if (tip == Token.PARANTEZ_AC || tip == Token.SURET_AC) {
+                if (derinlik == yigin.length) yigin = Arrays.copyOf(yigin, derinlik * 2);
+                yigin[derinlik++] = i;
+            } else if (tip == Token.PARANTEZ_KAPA || tip == Token.SURET_KAPA) {
+                int acilis = tip == Token.PARANTEZ_KAPA ? Token.PARANTEZ_AC : Token.SURET_AC;
+                int d = derinlik - 1;
+                while (d >= 0 && tipler[yigin[d]] != acilis) d--;
+                if (d < 0) continue;
+                tablo[yigin[d]] = i;
+                derinlik = d;
+            }
+        }
+        return tablo;
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * BeyKaTokenKaynagi.java
+ *
+ * Parser'ın okuduğu token kaynağı. Bir token yalnızca sırasıyla (int) temsil edilir; parser
+ * bu sırayı hafif bir imleç olarak kullanır. İki gerçekleştirimi vardır: bütün tokenları
+ * tutan paketlenmiş depo (BeyKaTokenBuffer) ve akış modunun lexer'dan tembel olarak çeken
+ * sınırlı halka tamponu (BeyKaTokenStream).
+ */
+public interface BeyKaTokenKaynagi {
+    /** Tokenı sona ekler ve sırasını döndürür (lexer çağırır). */
+    int ekle(int tip, String lexeme, int satir, int sutun);
+
+    /** Şimdiye kadar eklenen token sayısı. */
+    int boyut();
+
+    /** i. token mevcut mu? Parser token sonunu bununla anlar. */
+    boolean hazir(int i);
+
+    /**
+     * i'den önceki tokenlara artık ihtiyaç olmadığını bildirir. Tüm tokenları tutan depoda
+     * etkisizdir; akış tamponu bu alanı yeniden kullanır.
+     */
+    void serbestBirak(int i);
+
+    int tip(int i);
+    int satir(int i);
+    int sutun(int i);
+    String lexeme(int i);
+
+    /**
+     * i. token ( veya { ise eşleşen ) veya } tokenının sırası; açılış değilse ya da eşi
+     * yoksa -1. Akış tamponu tokenları önceden görmediği için her zaman -1 döndürür.
+     */
+    int eslesen(int i);
+
+    /** Tokenın log satırı (token listesi ekran ve tokens.txt çıktısı). */
+    default String bicimle(int i) {
+        return bicimle(tip(i), lexeme(i), satir(i), sutun(i));
+    }
+
+    static String bicimle(int tip, String lexeme, int satir, int sutun) {
+        return "Token: " + tip + "\tLexeme: " + lexeme + " [satır " + satir + ", sütun " + sutun + "]";
+    }
+}
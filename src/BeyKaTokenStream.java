@@ -0,0 +1,103 @@
+/**
+ * BeyKaTokenStream.java
+ *
+ * Akış modunun (--akis) token kaynağı: lexer'dan tokenları tembel olarak, parser istedikçe
+ * çeken sınırlı bir halka tampon. Parser bir tokena baktığında (hazir) o token henüz
+ * üretilmemişse lexer yalnızca gereken kadar ilerletilir; dosyanın tamamı önceden
+ * tokenlara ayrılmaz. Parser her üst seviye komutun başında önceki tokenları serbest
+ * bırakır, böylece tampon yalnızca o an parse edilen komutun tokenlarını tutar.
+ * Tek bir komut tampondan büyükse tampon büyütülür.
+ *
+ * Token sıraları (indeks) mutlaktır; halka içindeki yer indeks & maske ile bulunur.
+ * Lexeme'ler tekrar etmeyen tabloda değil doğrudan halkada tutulur ki bellek sınırlı kalsın.
+ */
+public class BeyKaTokenStream implements BeyKaTokenKaynagi {
+    private static final int BASLANGIC_KAPASITE = 256; // 2'nin kuvveti olmalı
+
+    private final BeyKaLexer lexer;
+    private final BeyKaLog log; // Üretilen tokenların logu (yoksa null)
+
+    private int[] tipler = new int[BASLANGIC_KAPASITE];
+    private int[] satirlar = new int[BASLANGIC_KAPASITE];
+    private int[] sutunlar = new int[BASLANGIC_KAPASITE];
+    private String[] lexemeler = new String[BASLANGIC_KAPASITE];
+    private int maske = BASLANGIC_KAPASITE - 1;
+
+    private int uretilen = 0;  // Şimdiye kadar üretilen token sayısı
+    private int serbest = 0;   // Bu indeksten önceki tokenlar artık okunmaz
+    private boolean bitti = false;
+
+    public BeyKaTokenStream(BeyKaLexer lexer, BeyKaLog log) {
+        this.lexer = lexer;
+        this.log = log;
+    }
+
+    @Override
+    public int ekle(int tip, String lexeme, int satir, int sutun) {
+        if (uretilen - serbest == tipler.length) buyut();
+        int yer = uretilen & maske;
+        tipler[yer] = tip;
+        satirlar[yer] = satir;
+        sutunlar[yer] = sutun;
+        lexemeler[yer] = lexeme;
+        if (log != null) log.token(tip, lexeme, satir, sutun);
+        return uretilen++;
+    }
+
+    /** Halkayı iki katına çıkarır; canlı tokenlar mutlak indekslerine göre yeniden yerleşir. */
+    private void buyut() {
+        int yeniKapasite = tipler.length * 2;
+        int[] yeniTipler = new int[yeniKapasite];
+        int[] yeniSatirlar = new int[yeniKapasite];
+        int[] yeniSutunlar = new int[yeniKapasite];
+        String[] yeniLexemeler = new String[yeniKapasite];
+        int yeniMaske = yeniKapasite - 1;
+        for (int i = serbest; i < uretilen; i++) {
+            yeniTipler[i & yeniMaske] = tipler[i & maske];
+            yeniSatirlar[i & yeniMaske] = satirlar[i & maske];
+            yeniSutunlar[i & yeniMaske] = sutunlar[i & maske];
+            yeniLexemeler[i & yeniMaske] = lexemeler[i & maske];
+        }
+        tipler = yeniTipler;
+        satirlar = yeniSatirlar;
+        sutunlar = yeniSutunlar;
+        lexemeler = yeniLexemeler;
+        maske = yeniMaske;
+    }
+
+    /** i. token gerekiyorsa lexer'ı ilerletir; kaynak bu tokena ulaşmadan bittiyse false. */
+    @Override
+    public boolean hazir(int i) {
+        while (i >= uretilen) {
+            if (bitti || !lexer.sonrakiniEkle(this)) {
+                bitti = true;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void serbestBirak(int i) {
+        int sinir = Math.min(i, uretilen);
+        for (; serbest < sinir; serbest++) {
+            lexemeler[serbest & maske] = null; // Eski lexeme'ler bellekte tutulmasın
+        }
+    }
+
+    @Override
+    public int boyut() { return uretilen; }
+
+    /** Kapanış henüz üretilmemiş olabilir; parser eşleşmeyi tokenları okuyarak bulur. */
+    @Override
+    public int eslesen(int i) { return -1; }
+
+    @Override
+    public int tip(int i) { return tipler[i & maske]; }
+    @Override
+    public int satir(int i) { return satirlar[i & maske]; }
+    @Override
+    public int sutun(int i) { return sutunlar[i & maske]; }
+    @Override
+    public String lexeme(int i) { return lexemeler[i & maske]; }
+}
@@ -0,0 +1,181 @@
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * BeyKaToplu.java
+ *
+ * Toplu çalıştırma (java BeyKa --toplu[=N] [seçenekler] <dizin|dosya...>): verilen dosyaları
+ * ve dizinlerdeki bütün .bka dosyalarını aynı JVM'de, N iş parçacıklı sabit bir havuzda
+ * (varsayılan: işlemci sayısı) paralel çalıştırır. Diğer seçenekler her programa aynen geçer.
+ *
+ * Her program kendi oturumunda (BeyKaOturum) çalışır: konsol çıktısı ve hataları
+ * logs/toplu/NNN-ad/ekran.txt'ye, logları (output.txt, tokens.txt, errors.txt) aynı dizine
+ * yazılır; programlar birbirinin çıktısına karışmaz. Sonunda dosya başına süre, boyut ve
+ * durumu ile toplam verimi gösteren özet ekrana ve logs/toplu/ozet.txt'ye yazılır.
+ */
+public final class BeyKaToplu {
+
+    /** Bir programın çalıştırma sonucu. */
+    private static final class Sonuc {
+        final Path dosya;
+        final long bayt;
+        final long sureNs;
+        final int hatalar;     // Program hataları; -1: başlatılamadı
+        final String istisna;  // Beklenmedik hata (yoksa null)
+
+        Sonuc(Path dosya, long bayt, long sureNs, int hatalar, String istisna) {
+            this.dosya = dosya;
+            this.bayt = bayt;
+            this.sureNs = sureNs;
+            this.hatalar = hatalar;
+            this.istisna = istisna;
+        }
+
+        String durum() {
+            if (istisna != null) return "çöktü: " + istisna;
+            if (hatalar < 0) return "başlatılamadı";
+            return hatalar == 0 ? "tamam" : hatalar + " hata";
+        }
+    }
+
+    private BeyKaToplu() {
+    }
+
+    /** Argümanlardaki programları paralel çalıştırır; hatalı biten program sayısını döndürür. */
+    static int calistir(String[] args) {
+        int paralel = Runtime.getRuntime().availableProcessors();
+        List<String> secenekler = new ArrayList<>();
+        List<Path> dosyalar = new ArrayList<>();
+        boolean gecersiz = false;
+        for (String arg : args) {
+            if (arg.equals("--toplu")) continue;
+            if (arg.startsWith("--toplu=")) {
+                try {
+                    paralel = Integer.parseInt(arg.substring("--toplu=".length()));
+                } catch (NumberFormatException e) {
+                    gecersiz = true;
+                }
+            } else if (arg.startsWith("--")) {
+                secenekler.add(arg);
+            } else {
+                try {
+                    dosyalariTopla(Paths.get(arg), dosyalar);
+                } catch (IOException e) {
+                    System.err.println("Dosya okuma hatası: " + e.getMessage());
+                    gecersiz = true;
+                }
+            }
+        }
+        if (dosyalar.isEmpty() || paralel < 1 || gecersiz) {
+            System.out.println("Kullanım: java BeyKa --toplu[=N] [BeyKa seçenekleri] <dizin|dosya.bka>...");
+            return -1;
+        }
+
+        Path kok = Paths.get("logs", "toplu");
+        BeyKaOturum.yonlendir(); // Programların konsolu kendi ekran.txt'lerine gider
+
+        AtomicInteger sayac = new AtomicInteger();
+        ExecutorService havuz = Executors.newFixedThreadPool(paralel, r -> {
+            Thread t = new Thread(r, "beyka-toplu-" + sayac.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long baslangic = System.nanoTime();
+        List<Future<Sonuc>> isler = new ArrayList<>();
+        for (int i = 0; i < dosyalar.size(); i++) {
+            Path dosya = dosyalar.get(i);
+            Path logDizini = kok.resolve(String.format("%03d-%s", i + 1, dosya.getFileName()));
+            isler.add(havuz.submit(() -> tekCalistir(dosya, logDizini, secenekler)));
+        }
+        List<Sonuc> sonuclar = new ArrayList<>();
+        for (Future<Sonuc> is : isler) {
+            try {
+                sonuclar.add(is.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        long duvarNs = System.nanoTime() - baslangic;
+        havuz.shutdown();
+
+        String ozet = ozet(sonuclar, paralel, duvarNs);
+        System.out.print(ozet);
+        try {
+            Files.writeString(kok.resolve("ozet.txt"), ozet, Charset.defaultCharset());
+        } catch (IOException e) {
+            System.err.println("Özet dosyasına yazılamadı: " + e.getMessage());
+        }
+
+        int basarisiz = 0;
+        for (Sonuc s : sonuclar) {
+            if (s.hatalar != 0 || s.istisna != null) basarisiz++;
+        }
+        return basarisiz;
+    }
+
+    /** Dosyayı veya dizindeki bütün .bka dosyalarını (alt dizinler dahil, sıralı) ekler. */
+    private static void dosyalariTopla(Path hedef, List<Path> dosyalar) throws IOException {
+        if (!Files.isDirectory(hedef)) {
+            dosyalar.add(hedef);
+            return;
+        }
+        try (Stream<Path> agac = Files.walk(hedef)) {
+            agac.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(".bka"))
+                    .sorted()
+                    .forEach(dosyalar::add);
+        }
+    }
+
+    /** Tek programı kendi oturumunda çalıştırır; konsolu logDizini/ekran.txt'ye gider. */
+    private static Sonuc tekCalistir(Path dosya, Path logDizini, List<String> secenekler) throws IOException {
+        Files.createDirectories(logDizini);
+        long bayt = Files.isRegularFile(dosya) ? Files.size(dosya) : 0;
+        String[] args = new String[secenekler.size() + 1];
+        secenekler.toArray(args);
+        args[args.length - 1] = dosya.toString();
+
+        try (PrintStream ekran = new PrintStream(new BufferedOutputStream(
+                new FileOutputStream(logDizini.resolve("ekran.txt").toFile())), false, Charset.defaultCharset())) {
+            BeyKaOturum oturum = new BeyKaOturum(Paths.get("").toAbsolutePath(), logDizini, ekran, ekran);
+            long t0 = System.nanoTime();
+            try {
+                int hatalar = oturum.calistir(() -> BeyKa.calistir(args));
+                return new Sonuc(dosya, bayt, System.nanoTime() - t0, hatalar, null);
+            } catch (RuntimeException | Error e) {
+                ekran.println("Hata: " + e);
+                return new Sonuc(dosya, bayt, System.nanoTime() - t0, 0, e.toString());
+            }
+        }
+    }
+
+    /** Dosya başına süre ve durumla toplam verim raporu. */
+    private static String ozet(List<Sonuc> sonuclar, int paralel, long duvarNs) {
+        StringBuilder sb = new StringBuilder();
+        String satirSonu = System.lineSeparator();
+        sb.append("=== TOPLU ÇALIŞTIRMA ÖZETİ ===").append(satirSonu);
+        sb.append(String.format(Locale.ROOT, "%-40s %12s %12s  %s%n", "Dosya", "Süre (ms)", "Boyut (B)", "Durum"));
+        long toplamNs = 0, toplamBayt = 0;
+        for (Sonuc s : sonuclar) {
+            sb.append(String.format(Locale.ROOT, "%-40s %12.1f %12d  %s%n",
+                    s.dosya, s.sureNs / 1e6, s.bayt, s.durum()));
+            toplamNs += s.sureNs;
+            toplamBayt += s.bayt;
+        }
+        double duvarSn = duvarNs / 1e9;
+        sb.append(String.format(Locale.ROOT, "%d program, %d iş parçacığı: duvar süresi %.1f ms,"
+                        + " program süreleri toplamı %.1f ms (%.2fx)%n",
+                sonuclar.size(), paralel, duvarNs / 1e6, toplamNs / 1e6, duvarNs == 0 ? 0.0 : (double) toplamNs / duvarNs));
+        sb.append(String.format(Locale.ROOT, "Verim: %.1f program/sn, %.1f KB/sn kaynak%n",
+                sonuclar.size() / duvarSn, toplamBayt / 1024.0 / duvarSn));
+        sb.append("Her programın çıktısı logs/toplu/ altındaki kendi dizinindedir.").append(satirSonu);
+        return sb.toString();
+    }
+}
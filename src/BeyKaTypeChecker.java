@@ -0,0 +1,417 @@
+import java.util.*;
+
+/**
+ * BeyKaTypeChecker.java
+ *
+ * Çözümlemeden (BeyKaResolver) sonra çalışan statik tip çıkarımı. Her gövdenin (ana program,
+ * fonksiyonlar) her slotu için değişkenin alabileceği değer etiketlerini (tamsayı, ondalıklı,
+ * kelime, dizi), fonksiyon parametrelerinin çağrı yerlerinden gelen etiketlerini ve fonksiyonların
+ * dönüş etiketlerini bütün program üzerinde sabit noktaya kadar yayar. Çalışma zamanı
+ * parametre slotlarını yine tamsayı tipiyle açar; çıkarım yalnızca parametrelerin gerçekte
+ * hangi değerleri taşıdığını izler, dil anlamını değiştirmez.
+ *
+ * Sonuçlar düğümlere yazılır ve motorlar bunlara göre özelleşir:
+ *   - DegiskenTanimi.kontrolsuz / Atama.kontrolsuz: değerin tipi değişkene kesinlikle uyuyor
+ *     (atamada değişken de kesinlikle tanımlı ve tek tipli); tip kontrolü ve dönüşüm atlanır.
+ *   - IkiliIslem.tamIslem: iki işlenen de kesinlikle tamsayı ve işlem + - *; etiket dallanması
+ *     olmadan tamsayı işlemi yapılır (VM'de IADD/ISUB/IMUL).
+ *
+ * Kesin hatalar (hiçbir olası değeri değişkene uymayan atama, hiç tanımlanmayan değişkene
+ * atama, argüman sayısı tutmayan çağrı, hiç dizi olmayan değeri indeksleme) çalıştırmadan önce uyarı olarak raporlanır. Akış
+ * modunda program bütünüyle elde olmadığından kullanılmaz; işaretsiz düğümler her zaman
+ * kontrollü yoldan çalışır.
+ */
+public class BeyKaTypeChecker {
+    // Olası değer etiketleri kümesi: BeyKaValue etiketlerinin bit maskesi
+    static final int TAM     = 1 << BeyKaValue.TAM;
+    static final int ONDALIK = 1 << BeyKaValue.ONDALIK;
+    static final int NESNE   = 1 << BeyKaValue.NESNE; // Kelime
+    static final int DIZI    = 1 << 3; // Dizi: çalışırken NESNE etiketlidir, kelimeden ayrı izlenir
+    static final int SAYI    = TAM | ONDALIK;
+    static final int SAYI_DISI = NESNE | DIZI;
+    static final int HEPSI   = SAYI | SAYI_DISI;
+
+    /** Bir gövdenin çıkarım durumu. */
+    private static final class Govde {
+        final List<BeyKaAst.Stmt> komutlar;
+        final String[] slotAdlari;
+        final int parametreSayisi;
+        final int[] tipler;    // Slot -> olası değişken tipleri (Type.ordinal bit maskesi)
+        final int[] etiketler; // Slot -> olası değer etiketleri
+        final boolean hepDoner; // Son komut dön: akış sona düşmez
+        int donus;             // Olası dönüş etiketleri
+
+        Govde(List<BeyKaAst.Stmt> komutlar, String[] slotAdlari, int parametreSayisi) {
+            this.komutlar = komutlar;
+            this.slotAdlari = slotAdlari;
+            this.parametreSayisi = parametreSayisi;
+            this.tipler = new int[slotAdlari.length];
+            this.etiketler = new int[slotAdlari.length];
+            this.hepDoner = !komutlar.isEmpty() && komutlar.get(komutlar.size() - 1).kind == BeyKaAst.DON;
+        }
+    }
+
+    private record Uyari(int line, int column, String mesaj) {
+    }
+
+    private Govde[] fonksiyonlar; // Fonksiyon indeksine göre
+    private Govde govde;          // Gezilen gövde
+    private boolean degisti;      // Bu turda bir etiket kümesi büyüdü
+    private boolean isaretle;     // Son tur: düğümler işaretlenir, uyarılar toplanır
+    private final List<Uyari> uyarilar = new ArrayList<>();
+
+    /** Programın tiplerini çıkarır, düğümleri işaretler ve kesin hataları satır sırasıyla döndürür. */
+    public List<String> check(BeyKaAst.Program program) {
+        fonksiyonlar = new Govde[program.fonksiyonlar.size()];
+        for (BeyKaAst.FonksiyonTanimi f : program.fonksiyonlar.values()) {
+            Govde g = new Govde(f.govde, f.slotAdlari, f.parametreler.size());
+            for (int i = 0; i < g.parametreSayisi; i++) {
+                g.tipler[i] = bit(BeyKaAst.Type.TAMSAYI); // Çalışma zamanı parametreleri tamsayı açar
+            }
+            tipleriTopla(g, f.govde);
+            fonksiyonlar[f.indeks] = g;
+        }
+        Govde ana = new Govde(program.komutlar, program.slotAdlari, 0);
+        tipleriTopla(ana, program.komutlar);
+
+        // Etiket kümeleri yalnızca büyür; değişmeyen bir turda sabit noktaya ulaşılmıştır
+        do {
+            degisti = false;
+            gez(ana);
+            for (Govde g : fonksiyonlar) {
+                gez(g);
+            }
+        } while (degisti);
+        isaretle = true;
+        gez(ana);
+        for (Govde g : fonksiyonlar) {
+            gez(g);
+        }
+
+        uyarilar.sort(Comparator.comparingInt(Uyari::line).thenComparingInt(Uyari::column));
+        List<String> sonuc = new ArrayList<>(uyarilar.size());
+        for (Uyari u : uyarilar) {
+            sonuc.add(u.mesaj() + " [" + u.line() + "," + u.column() + "]");
+        }
+        return sonuc;
+    }
+
+    private void gez(Govde g) {
+        govde = g;
+        boolean[] tanimli = new boolean[g.slotAdlari.length];
+        Arrays.fill(tanimli, 0, g.parametreSayisi, true);
+        blok(g.komutlar, tanimli);
+    }
+
+    /** Gövdedeki tanımların ve paralel döngü değişkenlerinin tiplerini slotlara toplar. */
+    private static void tipleriTopla(Govde g, List<BeyKaAst.Stmt> govde) {
+        for (BeyKaAst.Stmt komut : govde) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi t = (BeyKaAst.DegiskenTanimi) komut;
+                    g.tipler[t.slot] |= bit(t.tip);
+                    break;
+                }
+                case BeyKaAst.EGER:
+                    tipleriTopla(g, ((BeyKaAst.Eger) komut).govde);
+                    break;
+                case BeyKaAst.DONGU:
+                    tipleriTopla(g, ((BeyKaAst.Dongu) komut).govde);
+                    break;
+                case BeyKaAst.PARALEL_DONGU: {
+                    BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                    g.tipler[p.slot] |= bit(BeyKaAst.Type.TAMSAYI);
+                    tipleriTopla(g, p.govde);
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Bloğu gezer. tanimli, bu noktaya her yoldan tanımlanmış olarak gelinen slotlardır;
+     * iç bloklar kopyasıyla gezilir (koşullu veya hiç çalışmayabilirler).
+     */
+    private void blok(List<BeyKaAst.Stmt> komutlar, boolean[] tanimli) {
+        for (BeyKaAst.Stmt komut : komutlar) {
+            switch (komut.kind) {
+                case BeyKaAst.DEGISKEN_TANIMI: {
+                    BeyKaAst.DegiskenTanimi t = (BeyKaAst.DegiskenTanimi) komut;
+                    int e = ifade(t.deger, tanimli);
+                    sakla(t.slot, t.tip, e);
+                    if (isaretle) {
+                        t.kontrolsuz = (e & ~kesin(t.tip)) == 0;
+                        if (e != 0 && (e & izinli(t.tip)) == 0) {
+                            uyari(t, "Tip uyuşmazlığı: " + t.ad + " (" + tipAdi(t.tip) + " değişkene " + etiketAdi(e) + ")");
+                        }
+                    }
+                    tanimli[t.slot] = true;
+                    break;
+                }
+                case BeyKaAst.ATAMA: {
+                    BeyKaAst.Atama a = (BeyKaAst.Atama) komut;
+                    int e = ifade(a.deger, tanimli);
+                    int tipler = govde.tipler[a.slot];
+                    for (BeyKaAst.Type t : BeyKaAst.Type.values()) {
+                        if ((tipler & bit(t)) != 0) sakla(a.slot, t, e);
+                    }
+                    if (isaretle) atamaIsaretle(a, e, tipler, tanimli[a.slot]);
+                    break;
+                }
+                case BeyKaAst.ELEMAN_ATAMA: {
+                    BeyKaAst.ElemanAtama a = (BeyKaAst.ElemanAtama) komut;
+                    ifade(a.indeks, tanimli);
+                    ifade(a.deger, tanimli);
+                    if (isaretle) {
+                        if (govde.tipler[a.slot] == 0) {
+                            uyari(a, "Tanımsız değişken: " + a.ad);
+                        } else if (govde.etiketler[a.slot] != 0 && (govde.etiketler[a.slot] & DIZI) == 0) {
+                            uyari(a, BeyKaDizi.DIZI_DEGIL + ": " + a.ad);
+                        }
+                    }
+                    break;
+                }
+                case BeyKaAst.YAZDIRMA:
+                    ifade(((BeyKaAst.Yazdirma) komut).deger, tanimli);
+                    break;
+                case BeyKaAst.EGER: {
+                    BeyKaAst.Eger e = (BeyKaAst.Eger) komut;
+                    ifade(e.kosul, tanimli);
+                    blok(e.govde, tanimli.clone());
+                    break;
+                }
+                case BeyKaAst.DONGU: {
+                    BeyKaAst.Dongu d = (BeyKaAst.Dongu) komut;
+                    ifade(d.kosul, tanimli);
+                    blok(d.govde, tanimli.clone());
+                    break;
+                }
+                case BeyKaAst.PARALEL_DONGU: {
+                    BeyKaAst.ParalelDongu p = (BeyKaAst.ParalelDongu) komut;
+                    ifade(p.bas, tanimli);
+                    ifade(p.son, tanimli);
+                    ekle(govde.etiketler, p.slot, TAM);
+                    for (int s : p.indirgemeSlotlari) {
+                        ekle(govde.etiketler, s, SAYI); // Parçaların birleşmiş sonucu
+                    }
+                    boolean[] ic = tanimli.clone();
+                    ic[p.slot] = true;
+                    blok(p.govde, ic);
+                    break;
+                }
+                case BeyKaAst.DON: {
+                    int e = ifade(((BeyKaAst.Don) komut).deger, tanimli);
+                    if ((govde.donus | e) != govde.donus) {
+                        govde.donus |= e;
+                        degisti = true;
+                    }
+                    break;
+                }
+                default: // durdur, devam
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Atamanın kontrolsüz çalışıp çalışamayacağını belirler: değişken bu noktada kesinlikle
+     * tanımlı ve tek tipli olmalı, değer bu tipe dönüşümsüz uymalıdır.
+     */
+    private void atamaIsaretle(BeyKaAst.Atama a, int e, int tipler, boolean tanimli) {
+        a.kontrolsuz = false;
+        if (tipler == 0) {
+            uyari(a, "Tanımsız değişken: " + a.ad);
+            return;
+        }
+        boolean uyan = false;
+        for (BeyKaAst.Type t : BeyKaAst.Type.values()) {
+            if ((tipler & bit(t)) == 0) continue;
+            if ((e & izinli(t)) != 0) uyan = true;
+            if (tanimli && tipler == bit(t)) a.kontrolsuz = (e & ~kesin(t)) == 0;
+        }
+        if (e != 0 && !uyan) {
+            uyari(a, "Tip uyuşmazlığı: " + a.ad + " (" + tipAdi(tipler) + " değişkene " + etiketAdi(e) + ")");
+        }
+    }
+
+    /** t tipindeki slota e etiketli değer yazılmasının etkisi. Reddedilen değerde slot eski (veya boş, tamsayı 0) kalır. */
+    private void sakla(int slot, BeyKaAst.Type t, int e) {
+        int yazilan = e & izinli(t);
+        if (t == BeyKaAst.Type.TAMSAYI && (yazilan & ONDALIK) != 0) yazilan |= TAM; // Kesirli değer tamsayıya kesilir
+        if ((e & ~izinli(t)) != 0) yazilan |= TAM;
+        ekle(govde.etiketler, slot, yazilan);
+    }
+
+    /** İfadenin olası etiketleri; işaretleme turunda aritmetik düğümleri işaretler. */
+    private int ifade(BeyKaAst.Expr e, boolean[] tanimli) {
+        switch (e.kind) {
+            case BeyKaAst.SABIT:
+                return 1 << BeyKaValue.etiket(((BeyKaAst.Sabit) e).deger);
+            case BeyKaAst.DEGISKEN: {
+                int slot = ((BeyKaAst.Degisken) e).slot;
+                if (!tanimli[slot]) ekle(govde.etiketler, slot, TAM); // Değer atanmamış slot tamsayı 0 okunur
+                return govde.etiketler[slot];
+            }
+            case BeyKaAst.IKILI_ISLEM: {
+                BeyKaAst.IkiliIslem i = (BeyKaAst.IkiliIslem) e;
+                int a = ifade(i.sol, tanimli), b = ifade(i.sag, tanimli);
+                boolean bolme = i.op == Token.BOL || i.op == Token.MOD;
+                if (isaretle) i.tamIslem = !bolme && a == TAM && b == TAM;
+                return aritmetik(bolme, a, b);
+            }
+            case BeyKaAst.KARSILASTIRMA: {
+                BeyKaAst.Karsilastirma k = (BeyKaAst.Karsilastirma) e;
+                ifade(k.sol, tanimli);
+                ifade(k.sag, tanimli);
+                return TAM; // Değer olarak 1 veya 0
+            }
+            case BeyKaAst.MANTIKSAL: {
+                BeyKaAst.Mantiksal m = (BeyKaAst.Mantiksal) e;
+                ifade(m.sol, tanimli);
+                ifade(m.sag, tanimli);
+                return TAM;
+            }
+            case BeyKaAst.DIZI_SABITI:
+                for (BeyKaAst.Expr eleman : ((BeyKaAst.DiziSabiti) e).elemanlar) {
+                    ifade(eleman, tanimli);
+                }
+                return DIZI;
+            case BeyKaAst.DIZI_ERISIM: {
+                BeyKaAst.DiziErisim d = (BeyKaAst.DiziErisim) e;
+                int dizi = ifade(d.dizi, tanimli);
+                ifade(d.indeks, tanimli);
+                if (isaretle && dizi != 0 && (dizi & DIZI) == 0) uyari(d, BeyKaDizi.DIZI_DEGIL);
+                return SAYI | NESNE; // Eleman; hatada tamsayı 0
+            }
+            default:
+                return cagri((BeyKaAst.FonksiyonCagri) e, tanimli);
+        }
+    }
+
+    /** Aritmetik işlemin olası etiketleri (BeyKaInterpreter.evaluateAritmetik ile aynı kurallar). */
+    private static int aritmetik(boolean bolme, int a, int b) {
+        int r = 0;
+        if ((a & SAYI_DISI) != 0 && b != 0) r |= a & SAYI_DISI; // Sayı olmayan işlenen: sol değer
+        if ((b & SAYI_DISI) != 0) r |= a & SAYI;
+        if ((a & SAYI) != 0 && (b & SAYI) != 0) {
+            if (bolme) {
+                r |= ONDALIK;
+            } else {
+                if ((a & TAM) != 0 && (b & TAM) != 0) r |= TAM;
+                if ((a & ONDALIK) != 0 || (b & ONDALIK) != 0) r |= SAYI; // double üzerinden; tam sonuç tamsayı olur
+            }
+        }
+        return r;
+    }
+
+    /** Fonksiyon çağrısının olası etiketleri; kullanıcı fonksiyonunun parametrelerine argümanların etiketlerini yayar. */
+    private int cagri(BeyKaAst.FonksiyonCagri c, boolean[] tanimli) {
+        if (BeyKaGorevler.baslatma(c)) {
+            kullaniciCagrisi((BeyKaAst.FonksiyonCagri) c.argumanlar.get(0), tanimli);
+            return TAM; // Görev numarası
+        }
+        if (c.hedef != null) return kullaniciCagrisi(c, tanimli);
+        int son = 0;
+        for (BeyKaAst.Expr a : c.argumanlar) {
+            son = ifade(a, tanimli);
+        }
+        if (BeyKaGorevler.bekleme(c)) return HEPSI; // Görevin dönüş değeri
+        if (c.argumanlar.size() > 1) {
+            if (isaretle) uyari(c, "Fonksiyon hatası/argüman sayısı: " + c.ad);
+            return TAM; // Hatalı çağrı 0 verir
+        }
+        switch (c.ad) {
+            case "uzunluk":
+                return TAM;
+            case "karesi":
+                return ONDALIK; // Sayı olmayan argümanda da 0.0
+            case "tarih":
+            case "oku":
+                return NESNE;
+            case BeyKaGorevler.BASLAT:
+            case BeyKaGorevler.BEKLE:
+                return TAM; // Hatalı biçim: 0
+            default:
+                if (isaretle) uyari(c, "Bilinmeyen fonksiyon: " + c.ad);
+                return TAM;
+        }
+    }
+
+    private int kullaniciCagrisi(BeyKaAst.FonksiyonCagri c, boolean[] tanimli) {
+        Govde f = fonksiyonlar[c.hedef.indeks];
+        int argc = c.argumanlar.size();
+        boolean sayiTutar = argc == f.parametreSayisi;
+        for (int i = 0; i < argc; i++) {
+            int e = ifade(c.argumanlar.get(i), tanimli);
+            if (sayiTutar) ekle(f.etiketler, i, e);
+        }
+        if (!sayiTutar) {
+            if (isaretle) uyari(c, "Fonksiyon hatası/argüman sayısı: " + c.ad);
+            return TAM;
+        }
+        return f.hepDoner ? f.donus : f.donus | TAM; // Sona düşen akış 0 döndürür
+    }
+
+    private void ekle(int[] kume, int i, int e) {
+        if ((kume[i] | e) != kume[i]) {
+            kume[i] |= e;
+            degisti = true;
+        }
+    }
+
+    private void uyari(BeyKaAst.Node dugum, String mesaj) {
+        uyarilar.add(new Uyari(dugum.line, dugum.column, mesaj));
+    }
+
+    private static int bit(BeyKaAst.Type t) {
+        return 1 << t.ordinal();
+    }
+
+    /** Tipli değişkene yazılabilen (gerekirse dönüştürülerek) etiketler. */
+    private static int izinli(BeyKaAst.Type t) {
+        if (t.elemani() != null) return DIZI;
+        return t == BeyKaAst.Type.KELIME ? NESNE : SAYI;
+    }
+
+    /**
+     * Tipli değişkene kontrolsüz, olduğu gibi yazılabilen etiketler. Dizinin eleman tipi
+     * etiketlerden bilinmediğinden dizi değişkenine yazma her zaman kontrollüdür.
+     */
+    private static int kesin(BeyKaAst.Type t) {
+        switch (t) {
+            case TAMSAYI: return TAM;
+            case ONDALIKLI: return SAYI;
+            case KELIME: return NESNE;
+            default: return 0;
+        }
+    }
+
+    private static String tipAdi(BeyKaAst.Type t) {
+        switch (t) {
+            case TAMSAYI: return "tamsayı";
+            case ONDALIKLI: return "ondalikli";
+            case KELIME: return "kelime";
+            default: return "dizi " + tipAdi(t.elemani());
+        }
+    }
+
+    /** Tip maskesinin adı (birden fazla tipte "tamsayı/kelime" gibi). */
+    private static String tipAdi(int tipler) {
+        StringJoiner adlar = new StringJoiner("/");
+        for (BeyKaAst.Type t : BeyKaAst.Type.values()) {
+            if ((tipler & bit(t)) != 0) adlar.add(tipAdi(t));
+        }
+        return adlar.toString();
+    }
+
+    /** Etiket kümesinin adı (ör. "kelime veya sayı"). */
+    private static String etiketAdi(int e) {
+        StringJoiner adlar = new StringJoiner(" veya ");
+        if ((e & NESNE) != 0) adlar.add("kelime");
+        if ((e & SAYI) != 0) adlar.add("sayı");
+        if ((e & DIZI) != 0) adlar.add("dizi");
+        return adlar.toString();
+    }
+}
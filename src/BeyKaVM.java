@@ -0,0 +1,587 @@
+import java.util.*;
+
+/**
+ * BeyKaVM.java
+ *
+ * BeyKaCompiler'ın ürettiği bytecode'u çalıştıran yığın tabanlı sanal makine.
+ * Tek bir switch-dispatch döngüsü komutları sırayla işler; fonksiyon çağrıları Java
+ * özyinelemesi yerine açık bir çağrı yığını (call stack) ile yürütülür.
+ * Dil anlamı (tip kontrolü, hata mesajları, sonsuz döngü koruması) BeyKaInterpreter ile aynıdır.
+ */
+public class BeyKaVM {
+    private static final BeyKaAst.Type[] TYPES = BeyKaAst.Type.values();
+
+    /** Aritmetik opcode'ların (ADD..MOD) Token karşılıkları */
+    private static final int[] ISLEM = new int[BeyKaBytecode.MOD + 1];
+    static {
+        ISLEM[BeyKaBytecode.ADD] = Token.TOPLA;
+        ISLEM[BeyKaBytecode.SUB] = Token.CIKAR;
+        ISLEM[BeyKaBytecode.MUL] = Token.CARP;
+        ISLEM[BeyKaBytecode.DIV] = Token.BOL;
+        ISLEM[BeyKaBytecode.MOD] = Token.MOD;
+    }
+
+    private final BeyKaBytecode.Program program;
+    private final byte[] constTags; // Sabit havuzunun önceden açılmış etiketleri
+    private final long[] constBits; // Sabit havuzunun önceden açılmış sayısal değerleri
+    private final List<String> errors; // Toplanan hata mesajları
+    private final BeyKaJit jit; // Sıcak fonksiyonlar için JIT (kapalıysa null)
+    private final BeyKaJit.Entry[] jitEntries; // Fonksiyon indeksine göre JIT kayıtları
+    private final BeyKaGorevler gorevler; // başlat ile açılan görevler (ana program ve görevleri ortak kullanır)
+    private final BeyKaProfil.Iz profil; // --profile kayıtları (kapalıysa null)
+
+    // Görev olarak çalışan fonksiyonun dönüş değeri (execute'un en dış RETURN'ü yazar)
+    private int donusTag = BeyKaValue.TAM;
+    private long donusBits;
+    private Object donusRef;
+
+    // HALT'ta çerçevenin son hali (paralel döngü parçası indirgeme değerlerini buradan okur)
+    private byte[] sonTags;
+    private long[] sonBits;
+
+    /**
+     * Derlenmiş programdan sanal makine oluşturur. Çalışma hataları verilen listeye
+     * (genellikle parser'ın hata listesi) eklenir. jit null ise bütün çağrılar yorumlanır.
+     */
+    public BeyKaVM(BeyKaBytecode.Program program, List<String> errors, BeyKaJit jit) {
+        this(program, errors, jit, null);
+    }
+
+    /**
+     * Profil açıkken (profil null değil) çağrıları da kaydeder; satırlar program
+     * BeyKaCompiler'ın profil seçeneğiyle derlendiyse (LINE komutları) sayılır.
+     */
+    public BeyKaVM(BeyKaBytecode.Program program, List<String> errors, BeyKaJit jit, BeyKaProfil profil) {
+        this.program = program;
+        this.errors = errors;
+        this.jit = jit;
+        this.constTags = new byte[program.constants.length];
+        this.constBits = new long[program.constants.length];
+        for (int i = 0; i < program.constants.length; i++) {
+            constTags[i] = (byte) BeyKaValue.etiket(program.constants[i]);
+            constBits[i] = BeyKaValue.bitler(program.constants[i]);
+        }
+        this.jitEntries = new BeyKaJit.Entry[program.functions.length];
+        if (jit != null) {
+            for (int i = 0; i < program.functions.length; i++) {
+                jitEntries[i] = jit.entry(program.functions[i].name);
+            }
+        }
+        this.gorevler = new BeyKaGorevler();
+        this.profil = profil != null ? profil.iz() : null;
+    }
+
+    /**
+     * başlat ile açılan bir görevin (veya paralel döngü parçasının) VM'i: program ve görevler
+     * ortak, yığın, hatalar ve profil izi kendine ait.
+     */
+    private BeyKaVM(BeyKaVM ana, List<String> errors, BeyKaProfil.Iz profil) {
+        this.program = ana.program;
+        this.errors = errors;
+        this.jit = ana.jit != null ? ana.jit.gorev(errors) : null;
+        this.constTags = ana.constTags;
+        this.constBits = ana.constBits;
+        this.jitEntries = ana.jitEntries;
+        this.gorevler = ana.gorevler;
+        this.profil = profil;
+    }
+
+    /**
+     * Programı ana giriş noktasından çalıştırır.
+     * Hataları toplar ve ekrana basar.
+     */
+    public void run() {
+        execute(program.main, null, new byte[0], new long[0], new Object[0]);
+        gorevler.hepsiniBekle(errors);
+        if (profil != null) profil.bitir();
+        BeyKaInterpreter.raporla(errors);
+    }
+
+    /**
+     * Görevin gövdesi: fonksiyonu verilen argümanlarla kendi yığınında çalıştırır, sonucu göreve
+     * yazar. satir başlat'ın satırıdır.
+     */
+    private void gorevCalistir(int fn, byte[] argTags, long[] argBits, Object[] argRefs, BeyKaGorevler.Gorev g,
+                               int satir) {
+        BeyKaOlaylar.FonksiyonCagrisi olay = BeyKaOlaylar.cagri(program.kaynak, program.functions[fn].name,
+                argTags.length, satir);
+        int tag = jit != null ? jit.cagir(jitEntries[fn], argTags, argBits, 0, argTags.length) : BeyKaJit.YORUMLA;
+        if (tag != BeyKaJit.YORUMLA) {
+            g.tag = tag;
+            g.bits = jit.sonucBits();
+            if (olay != null) olay.bitir();
+            return;
+        }
+        if (profil != null) profil.gir(fn);
+        execute(program.functions[fn], null, argTags, argBits, argRefs);
+        if (profil != null) profil.cik();
+        if (olay != null) olay.bitir();
+        g.tag = donusTag;
+        g.bits = donusBits;
+        g.ref = donusRef;
+    }
+
+    /**
+     * PARALLEL: yığındaki [sp, sp + 1] sınırlarıyla paralel döngüyü çalıştırır. Çerçevenin
+     * kopyası her parçada ayrı bir VM'e verilir; indirgemeler birleştirilip çerçeveye yazılır.
+     */
+    private void paralelCalistir(BeyKaBytecode.Paralel p, BeyKaAst.Type[] types, byte[] tags, long[] bits,
+                                 Object[] refs, int base, int sp) {
+        if (tags[sp] != BeyKaValue.TAM || tags[sp + 1] != BeyKaValue.TAM) {
+            errors.add("Paralel döngü sınırları tamsayı olmalı");
+            return;
+        }
+        int bas = (int) bits[sp], son = (int) bits[sp + 1];
+        if (bas >= son || !BeyKaParalel.hazir(p.indirgemeAdlari, p.indirgemeSlotlari, types, base, errors)) return;
+        BeyKaParalel.Cerceve cerceve = new BeyKaParalel.Cerceve(types, tags, bits, refs, base, p.govde.slotAdlari.length);
+        BeyKaVM ana = this;
+        BeyKaParalel.Sonuc sonuc = BeyKaParalel.calistir(bas, son, p.indirgemeTurleri,
+                (lo, hi, hatalar) -> new BeyKaVM(ana, hatalar, profil != null ? profil.cocuk() : null)
+                        .paralelParca(p, cerceve, lo, hi));
+        errors.addAll(sonuc.hatalar);
+        BeyKaParalel.uygula(p.indirgemeSlotlari, p.indirgemeTurleri, sonuc, types, tags, bits, base);
+    }
+
+    /** Paralel döngünün [bas, son) turlarını çerçevenin kopyasıyla gövdenin giriş noktasından çalıştırır. */
+    private BeyKaParalel.Sonuc paralelParca(BeyKaBytecode.Paralel p, BeyKaParalel.Cerceve c, int bas, int son) {
+        BeyKaAst.Type[] types = c.types.clone();
+        byte[] tags = c.tags.clone();
+        long[] bits = c.bits.clone();
+        BeyKaParalel.parcaHazirla(p.degisken, p.sonSlot, p.indirgemeSlotlari, p.indirgemeTurleri,
+                types, tags, bits, bas, son);
+        execute(p.govde, types, tags, bits, c.refler());
+        if (profil != null) profil.bitir();
+        return BeyKaParalel.parcaSonucu(p.indirgemeSlotlari, sonTags, sonBits, errors);
+    }
+
+    /**
+     * Dispatch döngüsü. Yığın üç paralel diziden oluşur (etiket, ham bit, kelime referansı);
+     * sayılar hiçbir zaman kutulanmaz. Koşul sonuçları tamsayı 1/0 olarak taşınır.
+     *
+     * Çağrı çerçeveleri ayrı nesneler değildir: bir çağrının yerel değişken slotları aynı
+     * yığında, argümanların bulunduğu yerden başlar (parametreler kopyalanmadan slot olur),
+     * ardından o çağrının işlem yığını gelir. Çerçeve başına yalnızca dönüş adresi, slot
+     * tabanı, fonksiyon ve döngü sayacı tabanı int dizilerinde saklanır. JFR çağrı olayları
+     * ayrı bir dizide tutulur; bu dizi ancak bir kayıt çağrı olaylarını istediğinde ayrılır.
+     *
+     * giris ana program, (görevde) argümanları verilen bir kullanıcı fonksiyonu veya (paralel
+     * döngü parçasında) bütün çerçevesi verilen bir paralel gövdedir; argTypes null ise
+     * argümanlar tamsayı parametrelerdir. Fonksiyonun en dış dönüşünün değeri
+     * donusTag/donusBits/donusRef'e, HALT'taki çerçeve sonTags/sonBits'e yazılır.
+     */
+    private void execute(BeyKaBytecode.Function giris, BeyKaAst.Type[] argTypes,
+                         byte[] argTags, long[] argBits, Object[] argRefs) {
+        final int[] code = program.code;
+        final Object[] constants = program.constants;
+        final BeyKaBytecode.Function[] functions = program.functions;
+
+        int kapasite = Math.max(64, (giris.slotAdlari.length + giris.maxStack) * 2);
+        BeyKaAst.Type[] types = new BeyKaAst.Type[kapasite]; // Slot başına değişken tipi (yalnızca slotlarda anlamlı)
+        byte[] tags = new byte[kapasite];
+        long[] bits = new long[kapasite];
+        Object[] refs = new Object[kapasite];
+        int[] sayaclar = new int[Math.max(16, giris.loopCount)]; // Döngü tekrar sayaçları
+        for (int i = 0; i < argTags.length; i++) {
+            types[i] = argTypes != null ? argTypes[i] : BeyKaAst.Type.TAMSAYI; // Genellikle tamsayı bekleniyor.
+            tags[i] = argTags[i];
+            bits[i] = argBits[i];
+            refs[i] = argRefs[i];
+        }
+
+        // Çerçeve yığını
+        int[] frameReturnPc = new int[16];
+        int[] frameBase = new int[16];
+        int[] frameLoopBase = new int[16];
+        BeyKaBytecode.Function[] frameFunction = new BeyKaBytecode.Function[16];
+        BeyKaOlaylar.FonksiyonCagrisi[] frameOlay = null; // Çerçeve başına açık çağrı olayı
+        int fp = 0;
+        BeyKaBytecode.Function fonk = giris; // Çalışan fonksiyon
+        int base = 0;      // Çalışan çağrının ilk slotu
+        int loopBase = 0;  // Çalışan çağrının ilk döngü sayacı
+        int loopTop = giris.loopCount;
+        frameFunction[0] = fonk;
+
+        int sp = fonk.slotAdlari.length;
+        int pc = fonk.entry;
+
+        while (true) {
+            int op = code[pc++];
+            switch (op) {
+                case BeyKaBytecode.HALT:
+                    sonTags = tags;
+                    sonBits = bits;
+                    return;
+                case BeyKaBytecode.CONST: {
+                    int k = code[pc++];
+                    tags[sp] = constTags[k];
+                    bits[sp] = constBits[k];
+                    refs[sp++] = constants[k];
+                    break;
+                }
+                case BeyKaBytecode.LOAD: {
+                    int i = base + code[pc++];
+                    tags[sp] = tags[i]; // Değer atanmamış slot tamsayı 0 okunur
+                    bits[sp] = bits[i];
+                    refs[sp++] = refs[i];
+                    break;
+                }
+                case BeyKaBytecode.STORE: {
+                    int slot = code[pc++];
+                    sp--;
+                    BeyKaAst.Type expected = types[base + slot];
+                    if (expected == null) {
+                        errors.add("Tanımsız değişken: " + fonk.slotAdlari[slot]);
+                    } else if (!store(tags, bits, refs, base + slot, expected, sp)) {
+                        errors.add("Tip uyuşmazlığı: " + fonk.slotAdlari[slot]);
+                    }
+                    break;
+                }
+                case BeyKaBytecode.DECLARE: {
+                    int slot = code[pc++];
+                    BeyKaAst.Type tip = TYPES[code[pc++]];
+                    if (types[base + slot] != null) {
+                        errors.add("Değişken önceden tanımlı: " + fonk.slotAdlari[slot]);
+                    } else {
+                        types[base + slot] = tip;
+                    }
+                    break;
+                }
+                case BeyKaBytecode.INIT: {
+                    int slot = code[pc++];
+                    BeyKaAst.Type tip = TYPES[code[pc++]]; // Yeniden tanımda slotun eski tipi değil
+                    sp--;
+                    if (!store(tags, bits, refs, base + slot, tip, sp)) {
+                        errors.add("Tip uyuşmazlığı: " + fonk.slotAdlari[slot]);
+                    }
+                    break;
+                }
+                case BeyKaBytecode.STORE_FAST: {
+                    int i = base + code[pc++];
+                    sp--;
+                    tags[i] = tags[sp];
+                    bits[i] = bits[sp];
+                    refs[i] = refs[sp];
+                    break;
+                }
+                case BeyKaBytecode.STORE_INDEX: {
+                    int slot = code[pc++];
+                    int i = base + slot;
+                    sp -= 2;
+                    long indeks = BeyKaDizi.indeks(tags[sp], bits[sp]);
+                    String hata;
+                    if (types[i] == null) {
+                        hata = "Tanımsız değişken";
+                    } else if (tags[i] != BeyKaValue.NESNE || !(refs[i] instanceof BeyKaDizi d)) {
+                        hata = BeyKaDizi.DIZI_DEGIL;
+                    } else if (indeks == BeyKaDizi.YOK) {
+                        hata = BeyKaDizi.INDEKS_HATASI;
+                    } else {
+                        hata = d.yaz(indeks, tags[sp + 1], bits[sp + 1], refs[sp + 1]);
+                    }
+                    if (hata != null) errors.add(hata + ": " + fonk.slotAdlari[slot]);
+                    break;
+                }
+                case BeyKaBytecode.NEW_ARRAY: {
+                    int tip = code[pc++];
+                    int n = code[pc++];
+                    sp -= n;
+                    refs[sp] = BeyKaDizi.sabit(tip >= 0 ? TYPES[tip] : null, tags, bits, refs, sp, n, errors);
+                    tags[sp] = BeyKaValue.NESNE;
+                    bits[sp++] = 0;
+                    break;
+                }
+                case BeyKaBytecode.INDEX: {
+                    sp--;
+                    long indeks = BeyKaDizi.indeks(tags[sp], bits[sp]);
+                    String hata;
+                    if (tags[sp - 1] != BeyKaValue.NESNE || !(refs[sp - 1] instanceof BeyKaDizi d)) {
+                        hata = BeyKaDizi.DIZI_DEGIL;
+                    } else if (indeks == BeyKaDizi.YOK) {
+                        hata = BeyKaDizi.INDEKS_HATASI;
+                    } else if ((hata = d.sinirHatasi(indeks)) == null) {
+                        tags[sp - 1] = (byte) d.etiket();
+                        bits[sp - 1] = d.bitler((int) indeks);
+                        refs[sp - 1] = d.ref((int) indeks);
+                        break;
+                    }
+                    errors.add(hata);
+                    tags[sp - 1] = BeyKaValue.TAM;
+                    bits[sp - 1] = 0;
+                    break;
+                }
+                case BeyKaBytecode.POP:
+                    sp--;
+                    break;
+                case BeyKaBytecode.ADD:
+                case BeyKaBytecode.SUB:
+                case BeyKaBytecode.MUL:
+                case BeyKaBytecode.DIV:
+                case BeyKaBytecode.MOD: {
+                    sp--;
+                    int islem = ISLEM[op];
+                    int ta = tags[sp - 1], tb = tags[sp];
+                    if (ta == BeyKaValue.TAM && tb == BeyKaValue.TAM && op <= BeyKaBytecode.MUL) {
+                        bits[sp - 1] = BeyKaValue.tamIslem(islem, (int) bits[sp - 1], (int) bits[sp]);
+                    } else if (ta != BeyKaValue.NESNE && tb != BeyKaValue.NESNE) {
+                        double r = BeyKaValue.hesapla(islem, BeyKaValue.sayi(ta, bits[sp - 1]), BeyKaValue.sayi(tb, bits[sp]));
+                        if (BeyKaValue.tamSonuc(islem, r)) {
+                            tags[sp - 1] = BeyKaValue.TAM;
+                            bits[sp - 1] = (int) Math.round(r);
+                        } else {
+                            tags[sp - 1] = BeyKaValue.ONDALIK;
+                            bits[sp - 1] = BeyKaValue.ondalik(r);
+                        }
+                    }
+                    // Sayı olmayan işlenen: sol değer yerinde kalır.
+                    break;
+                }
+                case BeyKaBytecode.IADD:
+                    sp--;
+                    bits[sp - 1] = (int) bits[sp - 1] + (int) bits[sp];
+                    tags[sp - 1] = BeyKaValue.TAM;
+                    break;
+                case BeyKaBytecode.ISUB:
+                    sp--;
+                    bits[sp - 1] = (int) bits[sp - 1] - (int) bits[sp];
+                    tags[sp - 1] = BeyKaValue.TAM;
+                    break;
+                case BeyKaBytecode.IMUL:
+                    sp--;
+                    bits[sp - 1] = BeyKaValue.tamIslem(Token.CARP, (int) bits[sp - 1], (int) bits[sp]);
+                    tags[sp - 1] = BeyKaValue.TAM;
+                    break;
+                case BeyKaBytecode.EQ:
+                case BeyKaBytecode.NE:
+                case BeyKaBytecode.LT:
+                case BeyKaBytecode.LE:
+                case BeyKaBytecode.GT:
+                case BeyKaBytecode.GE:
+                    sp--;
+                    bits[sp - 1] = karsilastir(op, tags[sp - 1], bits[sp - 1], tags[sp], bits[sp]) ? 1 : 0;
+                    tags[sp - 1] = BeyKaValue.TAM;
+                    break;
+                case BeyKaBytecode.JUMP:
+                    pc = code[pc];
+                    break;
+                case BeyKaBytecode.JUMP_IF_FALSE:
+                    if (bits[--sp] != 0) pc++;
+                    else pc = code[pc];
+                    break;
+                case BeyKaBytecode.LOOP_INIT:
+                    sayaclar[loopBase + code[pc++]] = 0;
+                    break;
+                case BeyKaBytecode.LOOP_GUARD:
+                    if (++sayaclar[loopBase + code[pc]] >= BeyKaInterpreter.MAX_LOOP_COUNT) {
+                        errors.add("Sonsuz döngü şüphesi: " + BeyKaInterpreter.MAX_LOOP_COUNT + " kez tekrar edildi.");
+                        pc = code[pc + 1];
+                    } else {
+                        pc += 2;
+                    }
+                    break;
+                case BeyKaBytecode.PRINT:
+                    sp--;
+                    BeyKaValue.yazdir(tags[sp], bits[sp], refs[sp]);
+                    break;
+                case BeyKaBytecode.CALL: {
+                    int fn = code[pc++];
+                    BeyKaBytecode.Function f = functions[fn];
+                    int argc = code[pc++];
+                    sp -= argc;
+                    if (f.parametreler.length != argc) {
+                        errors.add("Fonksiyon hatası/argüman sayısı: " + f.name);
+                        tags[sp] = BeyKaValue.TAM;
+                        bits[sp++] = 0;
+                        break;
+                    }
+                    BeyKaOlaylar.FonksiyonCagrisi olay = BeyKaOlaylar.cagri(program.kaynak, f.name, argc,
+                            program.lines[pc - 1]); // Kayıt yoksa null
+                    if (jit != null) {
+                        // Sıcak fonksiyon derlenmişse doğrudan JVM kodu çalışır
+                        int tag = jit.cagir(jitEntries[fn], tags, bits, sp, argc);
+                        if (tag != BeyKaJit.YORUMLA) {
+                            tags[sp] = (byte) tag;
+                            bits[sp++] = jit.sonucBits();
+                            if (olay != null) olay.bitir();
+                            break;
+                        }
+                    }
+                    // --- FONKSİYON LOKALİTESİ BURADA ---
+                    // Argümanların durduğu yer çağrının slot tabanı olur: parametreler ilk slotlardır.
+                    int slotSayisi = f.slotAdlari.length;
+                    int gerekli = sp + slotSayisi + f.maxStack;
+                    if (gerekli >= tags.length) {
+                        int yeni = gerekli * 2;
+                        types = Arrays.copyOf(types, yeni);
+                        tags = Arrays.copyOf(tags, yeni);
+                        bits = Arrays.copyOf(bits, yeni);
+                        refs = Arrays.copyOf(refs, yeni);
+                    }
+                    for (int i = sp; i < sp + argc; i++) {
+                        types[i] = BeyKaAst.Type.TAMSAYI; // Genellikle tamsayı bekleniyor.
+                    }
+                    for (int i = sp + argc; i < sp + slotSayisi; i++) {
+                        types[i] = null;
+                        tags[i] = BeyKaValue.TAM;
+                        bits[i] = 0;
+                        refs[i] = null; // Önceki çağrıların kelime/dizi değerleri tutulmaz
+                    }
+                    if (++fp == frameBase.length) {
+                        frameReturnPc = Arrays.copyOf(frameReturnPc, fp * 2);
+                        frameBase = Arrays.copyOf(frameBase, fp * 2);
+                        frameLoopBase = Arrays.copyOf(frameLoopBase, fp * 2);
+                        frameFunction = Arrays.copyOf(frameFunction, fp * 2);
+                    }
+                    frameReturnPc[fp] = pc;
+                    frameBase[fp] = base = sp;
+                    frameLoopBase[fp] = loopBase = loopTop;
+                    frameFunction[fp] = fonk = f;
+                    if (olay != null) {
+                        if (frameOlay == null || frameOlay.length < frameBase.length) {
+                            frameOlay = frameOlay == null ? new BeyKaOlaylar.FonksiyonCagrisi[frameBase.length]
+                                    : Arrays.copyOf(frameOlay, frameBase.length);
+                        }
+                        frameOlay[fp] = olay; // RETURN'de kaydedilir
+                    }
+                    loopTop += f.loopCount;
+                    if (loopTop > sayaclar.length) sayaclar = Arrays.copyOf(sayaclar, loopTop * 2);
+                    sp += slotSayisi;
+                    pc = f.entry;
+                    if (profil != null) profil.gir(fn);
+                    break;
+                }
+                case BeyKaBytecode.BUILTIN: {
+                    String ad = (String) constants[code[pc++]];
+                    int argc = code[pc++];
+                    sp -= argc;
+                    Object res;
+                    if (argc > 1) {
+                        errors.add("Fonksiyon hatası/argüman sayısı: " + ad);
+                        res = 0;
+                    } else {
+                        Object arg = argc == 0 ? null : BeyKaValue.kutula(tags[sp], bits[sp], refs[sp]);
+                        res = BeyKaInterpreter.yerlesikFonksiyon(ad, arg, errors);
+                    }
+                    tags[sp] = (byte) BeyKaValue.etiket(res);
+                    bits[sp] = BeyKaValue.bitler(res);
+                    refs[sp++] = res;
+                    break;
+                }
+                case BeyKaBytecode.SPAWN: {
+                    int fn = code[pc++];
+                    int argc = code[pc++];
+                    sp -= argc;
+                    if (functions[fn].parametreler.length != argc) {
+                        errors.add("Fonksiyon hatası/argüman sayısı: " + functions[fn].name);
+                        tags[sp] = BeyKaValue.TAM;
+                        bits[sp++] = 0;
+                        break;
+                    }
+                    // Argümanlar (diziler dahil) kopyalanır; görev kendi yığınında çalışır
+                    byte[] argT = Arrays.copyOfRange(tags, sp, sp + argc);
+                    long[] argB = Arrays.copyOfRange(bits, sp, sp + argc);
+                    Object[] argR = new Object[argc];
+                    for (int i = 0; i < argc; i++) argR[i] = BeyKaGorevler.ayri(refs[sp + i]);
+                    BeyKaVM ana = this;
+                    int satir = program.lines[pc - 1];
+                    BeyKaProfil.Iz iz = profil != null ? profil.cocuk() : null; // Başlatanın yığını şimdi okunur
+                    bits[sp] = gorevler.baslat(g -> {
+                        new BeyKaVM(ana, g.hatalar, iz).gorevCalistir(fn, argT, argB, argR, g, satir);
+                        if (iz != null) iz.bitir();
+                    });
+                    tags[sp++] = BeyKaValue.TAM;
+                    break;
+                }
+                case BeyKaBytecode.AWAIT: {
+                    BeyKaGorevler.Gorev g = gorevler.bekle(tags[sp - 1], bits[sp - 1], refs[sp - 1], errors);
+                    if (g == null) {
+                        tags[sp - 1] = BeyKaValue.TAM;
+                        bits[sp - 1] = 0;
+                    } else {
+                        tags[sp - 1] = (byte) g.tag;
+                        bits[sp - 1] = g.bits;
+                        refs[sp - 1] = BeyKaGorevler.ayri(g.ref);
+                    }
+                    break;
+                }
+                case BeyKaBytecode.PARALLEL: {
+                    BeyKaBytecode.Paralel p = program.paraleller[code[pc++]];
+                    int sonra = code[pc];
+                    sp -= 2;
+                    paralelCalistir(p, types, tags, bits, refs, base, sp);
+                    pc = sonra;
+                    break;
+                }
+                case BeyKaBytecode.UNDECLARE:
+                    types[base + code[pc++]] = null;
+                    break;
+                case BeyKaBytecode.LINE: // Yalnızca profil için derlenen programlarda bulunur
+                    if (profil != null) profil.satir(code[pc]);
+                    pc++;
+                    break;
+                case BeyKaBytecode.RETURN: {
+                    if (fp == 0) { // Üst seviyede dön: program (veya görev) sonlanır.
+                        sp--;
+                        donusTag = tags[sp];
+                        donusBits = bits[sp];
+                        donusRef = refs[sp];
+                        return;
+                    }
+                    // Dönüş değeri çağrının slot tabanına, yani çağıranın yığın tepesine taşınır.
+                    if (profil != null) profil.cik();
+                    if (frameOlay != null && frameOlay[fp] != null) {
+                        frameOlay[fp].bitir();
+                        frameOlay[fp] = null;
+                    }
+                    sp--;
+                    tags[base] = tags[sp];
+                    bits[base] = bits[sp];
+                    refs[base] = refs[sp];
+                    sp = base + 1;
+                    pc = frameReturnPc[fp];
+                    loopTop = loopBase;
+                    frameFunction[fp--] = null;
+                    base = frameBase[fp];
+                    loopBase = frameLoopBase[fp];
+                    fonk = frameFunction[fp];
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Bilinmeyen opcode " + op + " @" + (pc - 1));
+            }
+        }
+    }
+
+    /**
+     * Yığındaki değeri (src) tip kontrolünden geçirip slota (dst) yazar; ondalıklı değer
+     * tamsayıya kesilebilir. Tip uyuşmazlığında false döner.
+     */
+    private static boolean store(byte[] tags, long[] bits, Object[] refs, int dst, BeyKaAst.Type expected, int src) {
+        int tag = tags[src];
+        if (!BeyKaValue.uyumlu(expected, tag, bits[src], refs[src])) {
+            if (expected == BeyKaAst.Type.TAMSAYI && tag == BeyKaValue.ONDALIK) {
+                tags[dst] = BeyKaValue.TAM;
+                bits[dst] = (int) Double.longBitsToDouble(bits[src]);
+                return true;
+            }
+            return false;
+        }
+        tags[dst] = (byte) tag;
+        bits[dst] = bits[src];
+        refs[dst] = refs[src];
+        return true;
+    }
+    /** Sayısal karşılaştırma; sayı olmayan işlenenler her zaman yanlış verir. */
+    private static boolean karsilastir(int op, int ta, long a, int tb, long b) {
+        if (ta == BeyKaValue.NESNE || tb == BeyKaValue.NESNE) return false;
+        double x = BeyKaValue.sayi(ta, a), y = BeyKaValue.sayi(tb, b);
+        switch (op) {
+            case BeyKaBytecode.EQ: return x == y;
+            case BeyKaBytecode.NE: return x != y;
+            case BeyKaBytecode.LT: return x < y;
+            case BeyKaBytecode.LE: return x <= y;
+            case BeyKaBytecode.GT: return x > y;
+            case BeyKaBytecode.GE: return x >= y;
+            default: return false;
+        }
+    }
+}
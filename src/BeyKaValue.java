@@ -0,0 +1,120 @@
+/**
+ * BeyKaValue.java
+ *
+ * Yorumlayıcı ve sanal makinenin kutulanmamış (unboxed) değer modeli.
+ * Bir değer üç parçayla taşınır: tip etiketi, sayısal değerin ham bitleri (long) ve
+ * yalnızca kelimeler ve diziler (BeyKaDizi) için bir Object referansı. tamsayı değerleri int olarak, ondalıklı
+ * değerler Double.doubleToRawLongBits ile long içinde tutulur; böylece aritmetik yolunda
+ * Integer/Double nesnesi üretilmez. Aritmetik kuralları eski Object tabanlı hesapla aynıdır:
+ * toplama, çıkarma ve çarpmanın tam sonuçları tamsayıya, bölme ve mod ondalıklıya döner.
+ */
+public final class BeyKaValue {
+    private BeyKaValue() {}
+
+    /** Değer etiketleri. TAM sıfırdır: boş bırakılmış slot tamsayı 0 okunur. */
+    public static final int TAM     = 0; // tamsayı: bitlerin alt 32 biti
+    public static final int ONDALIK = 1; // ondalıklı: double'ın ham bitleri
+    public static final int NESNE   = 2; // kelime veya dizi: değer referans dizisinde
+
+    private static final long TAM_DOUBLE_SINIRI = 1L << 53; // double'ın tam gösterebildiği sınır
+
+    /** Etiketli sayının double karşılığı. */
+    static double sayi(int tag, long bits) {
+        return tag == TAM ? (int) bits : Double.longBitsToDouble(bits);
+    }
+
+    static long ondalik(double d) {
+        return Double.doubleToRawLongBits(d);
+    }
+
+    /** r % 1 == 0 ile aynı sonucu verir, ancak yavaş fmod yerine floor kullanır. */
+    static boolean tamMi(double r) {
+        return Math.floor(r) == r && !Double.isInfinite(r);
+    }
+
+    /** İki double üzerinde aritmetik işlem; op Token.TOPLA, CIKAR, CARP, BOL veya MOD'dur. */
+    static double hesapla(int op, double a, double b) {
+        switch (op) {
+            case Token.TOPLA: return a + b;
+            case Token.CIKAR: return a - b;
+            case Token.CARP:  return a * b;
+            case Token.BOL:   return b != 0 ? a / b : 0;
+            case Token.MOD:   return a % b;
+            default:          return 0;
+        }
+    }
+
+    /** hesapla sonucunun tamsayıya dönüşüp dönüşmeyeceği (toplama, çıkarma, çarpma). */
+    static boolean tamSonuc(int op, double r) {
+        return op != Token.BOL && op != Token.MOD && tamMi(r);
+    }
+
+    /**
+     * İki tamsayı üzerinde toplama, çıkarma veya çarpma. double üzerinden hesaplayıp
+     * (int) Math.round ile geri dönmekle aynı sonucu verir, ancak tamsayı yolunda kalır.
+     */
+    static int tamIslem(int op, int a, int b) {
+        switch (op) {
+            case Token.TOPLA: return a + b;
+            case Token.CIKAR: return a - b;
+            default: {
+                long p = (long) a * b;
+                // 2^53'ten büyük çarpımlar double'da yuvarlanır; eski sonucu korumak için aynı yoldan gidilir.
+                if (p > TAM_DOUBLE_SINIRI || p < -TAM_DOUBLE_SINIRI) return (int) Math.round((double) a * b);
+                return (int) p;
+            }
+        }
+    }
+
+    /**
+     * Değerin tipli değişkene yazılıp yazılamayacağı. tamsayı değişkene tam değerli
+     * ondalıklı sayı da yazılabilir (ondalıklı olarak kalır). Dizi değişkenine yalnızca aynı
+     * eleman tipinde dizi, kelime değişkenine de dizi olmayan kelime yazılabilir.
+     */
+    static boolean uyumlu(BeyKaAst.Type t, int tag, long bits, Object ref) {
+        switch (t) {
+            case TAMSAYI:
+                return tag == TAM || (tag == ONDALIK && tamMi(Double.longBitsToDouble(bits)));
+            case ONDALIKLI:
+                return tag == TAM || tag == ONDALIK;
+            case KELIME:
+                return tag == NESNE && !(ref instanceof BeyKaDizi);
+            default:
+                return tag == NESNE && ref instanceof BeyKaDizi d && d.tip == t.elemani();
+        }
+    }
+
+    // --- Kutulu değerlerle sınır: sabitler, yerleşik fonksiyonlar ---
+
+    /** Kutulu değerin etiketi (Integer, Double veya kelime). */
+    static int etiket(Object v) {
+        if (v instanceof Integer) return TAM;
+        if (v instanceof Double) return ONDALIK;
+        return NESNE;
+    }
+
+    /** Kutulu sayının ham bitleri; sayı olmayan değerler için 0. */
+    static long bitler(Object v) {
+        if (v instanceof Integer i) return i;
+        if (v instanceof Double d) return ondalik(d);
+        return 0;
+    }
+
+    /** Etiketli değeri kutular (yalnızca yerleşik fonksiyon sınırında kullanılır). */
+    static Object kutula(int tag, long bits, Object ref) {
+        switch (tag) {
+            case TAM:     return (int) bits;
+            case ONDALIK: return Double.longBitsToDouble(bits);
+            default:      return ref;
+        }
+    }
+
+    /** yaz(...) çıktısı: Integer/Double/String'in toString'i ile aynıdır. Çıktı BeyKaOutput kanalına gider. */
+    static void yazdir(int tag, long bits, Object ref) {
+        switch (tag) {
+            case TAM:     BeyKaOutput.yaz(Integer.toString((int) bits)); break;
+            case ONDALIK: BeyKaOutput.yaz(Double.toString(Double.longBitsToDouble(bits))); break;
+            default:      BeyKaOutput.yaz(String.valueOf(ref));
+        }
+    }
+}
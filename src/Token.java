@@ -7,6 +7,7 @@ public class Token {
     public static final int TAMSAYI         = 32;   // tamsayı anahtar kelimesi
     public static final int ONDALIKLI       = 33;   // ondalıklı anahtar kelimesi
     public static final int KELIME          = 34;   // kelime anahtar kelimesi
+    public static final int DIZI            = 35;   // dizi anahtar kelimesi (dizi tamsayı a = [...])
 
     /** Karşılaştırma ve atama operatörleri */
     public static final int ESITTIR         = 57;   // =
@@ -30,11 +31,13 @@ public class Token {
     public static final int ARTTIR          = 44;   // ++
     public static final int AZALT           = 45;   // --
 
-    /** Parantez ve blok başlangıcı/bitişi tokenları */
+    /** Parantez, blok ve dizi başlangıcı/bitişi tokenları */
     public static final int PARANTEZ_AC     = 80;   // (
     public static final int PARANTEZ_KAPA   = 81;   // )
     public static final int SURET_AC        = 200;  // {
     public static final int SURET_KAPA      = 201;  // }
+    public static final int KOSELI_AC       = 83;   // [
+    public static final int KOSELI_KAPA     = 84;   // ]
 
     /** Noktalama işaretleri */
     public static final int NOKTALI_VIRGUL  = 60;   // ;
@@ -0,0 +1,139 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * BeyKaMotorTest.java
+ *
+ * Aynı programın ağaç yorumlayıcıda (--ast) ve bytecode VM'de (--no-jit, varsayılan)
+ * aynı çıktıyı ve hataları verdiğini denetler. Her çalıştırma kendi oturumunda (BeyKaOturum)
+ * ve log dizininde yapılır; karşılaştırılanlar logs/output.txt ve logs/errors.txt'dir.
+ */
+class BeyKaMotorTest {
+    @TempDir
+    Path dizin;
+
+    /** Tip denetimi karesi'nin sonucunu tamsayı sanıp VM'de hızlı yolları seçmemeli. */
+    @Test
+    void karesiSayiOlmayanArgumanla() throws IOException {
+        String kaynak = """
+                kelime s = "a";
+                tamsayı x = karesi(s);
+                yaz(x + 1);
+                yaz((karesi("s3") - 6));
+                tamsayı y = 3;
+                yaz(y * y + karesi(2));
+                """;
+        motorlarAyni(kaynak, "1\n-6\n13\n");
+        motorlarAyni(kaynak, "1\n-6\n13\n", "--no-opt");
+    }
+
+    /** Göreve geçen ve bekle'den dönen diziler kopyadır; görevler aynı diziye yazmaz. */
+    @Test
+    void gorevlereDiziKopyasiGecer() throws IOException {
+        String kaynak = """
+                fonksiyon ekle(a, n) {
+                    a[uzunluk(a)] = n;
+                    dön a;
+                }
+                dizi tamsayı a = [1, 2];
+                tamsayı g1 = başlat(ekle(a, 3));
+                tamsayı g2 = başlat(ekle(a, 4));
+                dizi tamsayı b = bekle(g1);
+                dizi tamsayı c = bekle(g2);
+                c[0] = 9;
+                yaz(a);
+                yaz(b);
+                yaz(c);
+                """;
+        motorlarAyni(kaynak, "[1, 2]\n[1, 2, 3]\n[9, 2, 4]\n");
+    }
+
+    /**
+     * Paralel döngünün her parçası dıştaki dizilerin kendi kopyasını alır: takma ad ve fonksiyon
+     * yoluyla yapılan eklemeler parçalar arasında yarışmaz ve döngüden sonra görünmez. Parçada
+     * takma ad ile asıl değişken aynı kopyayı gösterir.
+     */
+    @Test
+    void paralelParcalaraDiziKopyasiGecer() throws IOException {
+        String kaynak = """
+                fonksiyon ekle(a, n) {
+                    a[uzunluk(a)] = n;
+                    dön 0;
+                }
+                dizi tamsayı d = [0];
+                tamsayı s = 0;
+                paralel döngü (i, 0, 2000) topla(s) {
+                    dizi tamsayı e = d;
+                    e[uzunluk(e)] = i;
+                    tamsayı r = ekle(d, i);
+                    s = s + uzunluk(e) - uzunluk(d);
+                }
+                yaz(uzunluk(d));
+                yaz(s);
+                """;
+        motorlarAyni(kaynak, "1\n0\n");
+        logAyni(kaynak, "errors.txt", "");
+    }
+
+    /** Yeniden tanım hatası, tanımın değerindeki hatalardan önce bildirilir. */
+    @Test
+    void yenidenTanimDegerdenOnce() throws IOException {
+        String kaynak = """
+                tamsayı a = 1;
+                tamsayı a = tanımsızFonk();
+                fonksiyon f(n) {
+                    tamsayı b = n;
+                    tamsayı b = g(n);
+                    dön b;
+                }
+                yaz(f(2));
+                """;
+        String beklenen = """
+                Değişken önceden tanımlı: a
+                Bilinmeyen fonksiyon: tanımsızFonk
+                Değişken önceden tanımlı: b
+                Bilinmeyen fonksiyon: g
+                """;
+        logAyni(kaynak, "errors.txt", beklenen);
+        logAyni(kaynak, "errors.txt", beklenen, "--jit-esik=1");
+    }
+
+    /** Programı her motorda çalıştırır; çıktılar beklenene eşit olmalı. */
+    private void motorlarAyni(String kaynak, String beklenen, String... secenekler) throws IOException {
+        logAyni(kaynak, "output.txt", beklenen, secenekler);
+    }
+
+    /** Programı her motorda çalıştırır; log dizinindeki log dosyası beklenene eşit olmalı. */
+    private void logAyni(String kaynak, String log, String beklenen, String... secenekler) throws IOException {
+        Path dosya = dizin.resolve("program.bka");
+        Files.writeString(dosya, kaynak, StandardCharsets.UTF_8);
+        for (String motor : new String[] {"--ast", "--no-jit", null}) {
+            assertEquals(beklenen, calistir(dosya, motor, secenekler, log), motor == null ? "varsayılan" : motor);
+        }
+    }
+
+    private String calistir(Path dosya, String motor, String[] secenekler, String log) throws IOException {
+        Path logDizini = Files.createTempDirectory(dizin, "logs");
+        String[] args = new String[secenekler.length + (motor == null ? 2 : 3)];
+        int k = 0;
+        args[k++] = "--log=hata";
+        if (motor != null) args[k++] = motor;
+        for (String s : secenekler) args[k++] = s;
+        args[k] = dosya.toString();
+
+        PrintStream ekran = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        BeyKaOturum oturum = new BeyKaOturum(dizin, logDizini, ekran, ekran);
+        oturum.calistir(() -> BeyKa.calistir(args));
+        return Files.readString(logDizini.resolve(log), StandardCharsets.UTF_8)
+                .replace(System.lineSeparator(), "\n");
+    }
+}